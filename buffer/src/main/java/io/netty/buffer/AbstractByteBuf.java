@@ -16,6 +16,7 @@
 package io.netty.buffer;
 
 import io.netty.util.AsciiString;
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 import io.netty.util.CharsetUtil;
 import io.netty.util.IllegalReferenceCountException;
@@ -1212,6 +1213,9 @@ public abstract class AbstractByteBuf extends ByteBuf {
         }
         checkIndex(fromIndex, toIndex - fromIndex);
 
+        if (toIndex - fromIndex >= Long.BYTES && ByteBufUtil.isSwarSearchable(this)) {
+            return ByteBufUtil.swarIndexOf(this, fromIndex, toIndex, value);
+        }
         for (int i = fromIndex; i < toIndex; i ++) {
             if (_getByte(i) == value) {
                 return i;
@@ -1281,6 +1285,10 @@ public abstract class AbstractByteBuf extends ByteBuf {
     }
 
     int forEachByteAsc0(int start, int end, ByteProcessor processor) throws Exception {
+        if (end - start >= Long.BYTES && ByteBufUtil.isSwarProcessor(processor) &&
+                ByteBufUtil.isSwarSearchable(this)) {
+            return ByteBufUtil.swarForEachByte(this, start, end, processor);
+        }
         for (; start < end; ++start) {
             if (!processor.process(_getByte(start))) {
                 return start;
@@ -1290,6 +1298,26 @@ public abstract class AbstractByteBuf extends ByteBuf {
         return -1;
     }
 
+    @Override
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        checkIndex(index, length);
+        if (!hasArray()) {
+            return super.searchAll(index, length, processor, matchIndexes, needleIds);
+        }
+        ByteBufUtil.checkSearchAllArrays(processor, matchIndexes, needleIds);
+        // Search the backing array directly, so no copy is needed.
+        final int arrayOffset = arrayOffset();
+        final int from = arrayOffset + index;
+        final int to = from + length;
+        final int count = processor.findAll(array(), from, to, to, matchIndexes, needleIds, 0);
+        if (arrayOffset != 0) {
+            for (int i = 0; i < count; i++) {
+                matchIndexes[i] -= arrayOffset;
+            }
+        }
+        return count;
+    }
+
     @Override
     public int forEachByteDesc(ByteProcessor processor) {
         ensureAccessible();
@@ -47,6 +47,7 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
                 break;
             case ADVANCED:
             case PARANOID:
+            case LIGHTWEIGHT:
                 leak = AbstractByteBuf.leakDetector.track(buf);
                 if (leak != null) {
                     buf = new AdvancedLeakAwareByteBuf(buf, leak);
@@ -69,6 +70,7 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
                 break;
             case ADVANCED:
             case PARANOID:
+            case LIGHTWEIGHT:
                 leak = AbstractByteBuf.leakDetector.track(buf);
                 if (leak != null) {
                     buf = new AdvancedLeakAwareCompositeByteBuf(buf, leak);
@@ -82,6 +84,7 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
 
     private final boolean directByDefault;
     private final ByteBuf emptyBuf;
+    private final AllocationProfiler allocationProfiler = new AllocationProfiler();
 
     /**
      * Instance use heap buffers by default
@@ -165,7 +168,7 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
             return emptyBuf;
         }
         validate(initialCapacity, maxCapacity);
-        return newHeapBuffer(initialCapacity, maxCapacity);
+        return allocationProfiler.track(newHeapBuffer(initialCapacity, maxCapacity));
     }
 
     @Override
@@ -184,7 +187,7 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
             return emptyBuf;
         }
         validate(initialCapacity, maxCapacity);
-        return newDirectBuffer(initialCapacity, maxCapacity);
+        return allocationProfiler.track(newDirectBuffer(initialCapacity, maxCapacity));
     }
 
     @Override
@@ -232,6 +235,13 @@ public abstract class AbstractByteBufAllocator implements ByteBufAllocator {
         }
     }
 
+    /**
+     * Returns the {@link AllocationProfiler} which samples the heap and direct buffers allocated by this instance.
+     */
+    public final AllocationProfiler allocationProfiler() {
+        return allocationProfiler;
+    }
+
     /**
      * Create a heap {@link ByteBuf} with the given initialCapacity and maxCapacity.
      */
@@ -75,14 +75,48 @@ public abstract class AbstractReferenceCountedByteBuf extends AbstractByteBuf {
         updater.resetRefCnt(this);
     }
 
+    /**
+     * Returns the {@link Thread} the reference count is confined to, or {@code null} if it is always updated
+     * atomically. Only buffers that can store the owner override this, so that no other buffer pays for the field.
+     * The owner is fixed before the buffer is handed out and never changes while it is in use.
+     */
+    Thread confinedTo() {
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if the reference count is confined to the calling thread and can be updated without atomic
+     * operations.
+     *
+     * @throws IllegalStateException if the reference count is confined to another thread, in which case it is left
+     *                               untouched.
+     */
+    private boolean isConfined() {
+        Thread owner = confinedTo();
+        if (owner == null) {
+            return false;
+        }
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException("reference count is confined to thread " + owner.getName());
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the reference count of this buffer is confined to a single thread.
+     */
+    final boolean isThreadConfined() {
+        return confinedTo() != null;
+    }
+
     @Override
     public ByteBuf retain() {
-        return updater.retain(this);
+        return isConfined() ? updater.retainNonAtomic(this) : updater.retain(this);
     }
 
     @Override
     public ByteBuf retain(int increment) {
-        return updater.retain(this, increment);
+        return isConfined() ? updater.retainNonAtomic(this, increment) : updater.retain(this, increment);
     }
 
     @Override
@@ -97,12 +131,13 @@ public abstract class AbstractReferenceCountedByteBuf extends AbstractByteBuf {
 
     @Override
     public boolean release() {
-        return handleRelease(updater.release(this));
+        return handleRelease(isConfined() ? updater.releaseNonAtomic(this) : updater.release(this));
     }
 
     @Override
     public boolean release(int decrement) {
-        return handleRelease(updater.release(this, decrement));
+        return handleRelease(isConfined() ? updater.releaseNonAtomic(this, decrement)
+                : updater.release(this, decrement));
     }
 
     private boolean handleRelease(boolean result) {
@@ -440,6 +440,12 @@ abstract class AbstractUnpooledSlicedByteBuf extends AbstractDerivedByteBuf {
         return unwrap().nioBuffers(idx(index), length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        checkIndex0(index, length);
+        return unwrap().forEachRegion(idx(index), length, processor);
+    }
+
     @Override
     public int forEachByte(int index, int length, ByteProcessor processor) {
         checkIndex0(index, length);
@@ -16,6 +16,7 @@
 package io.netty.buffer;
 
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 import io.netty.util.ResourceLeakTracker;
 
@@ -663,6 +664,12 @@ final class AdvancedLeakAwareCompositeByteBuf extends SimpleLeakAwareCompositeBy
         return super.forEachByte(index, length, processor);
     }
 
+    @Override
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        recordLeakNonRefCountingOperation(leak);
+        return super.searchAll(index, length, processor, matchIndexes, needleIds);
+    }
+
     @Override
     public int forEachByteDesc(ByteProcessor processor) {
         recordLeakNonRefCountingOperation(leak);
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.util.ResourceLeakTracker;
+import io.netty.util.internal.StringUtil;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.UnstableApi;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * Sampling profiler which attributes the buffers allocated by an {@link AbstractByteBufAllocator} to the call sites
+ * that allocated them. Like the {@link io.netty.util.ResourceLeakDetector}, only every {@link #samplingInterval()}th
+ * allocation on average is recorded, and the recorded values are extrapolated. Sampled buffers are tracked until they
+ * are released so the profiler can report the bytes that are still live per call site.
+ * <p>
+ * The call site is the first stack frame outside of this package, which is usually the {@code ChannelHandler} or the
+ * transport code that called the allocator. The profiler is disabled by default, in which case each allocation only
+ * costs a single volatile read.
+ */
+@UnstableApi
+public final class AllocationProfiler {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(AllocationProfiler.class);
+
+    private static final String BUFFER_PACKAGE = AllocationProfiler.class.getPackage().getName() + '.';
+    private static final String UNKNOWN_SITE = "unknown";
+    private static final int DEFAULT_SAMPLING_INTERVAL;
+
+    static {
+        DEFAULT_SAMPLING_INTERVAL = Math.max(0, SystemPropertyUtil.getInt(
+                "io.netty.allocator.profilerSamplingInterval", 0));
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.allocator.profilerSamplingInterval: {}", DEFAULT_SAMPLING_INTERVAL);
+        }
+    }
+
+    private final ConcurrentMap<String, Site> sites = new ConcurrentHashMap<>();
+    private volatile int samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+
+    AllocationProfiler() { }
+
+    /**
+     * Default sampling interval of all profilers - System Property: io.netty.allocator.profilerSamplingInterval -
+     * default 0 (disabled)
+     */
+    public static int defaultSamplingInterval() {
+        return DEFAULT_SAMPLING_INTERVAL;
+    }
+
+    /**
+     * Returns the average number of allocations per recorded sample, or {@code 0} if the profiler is disabled.
+     */
+    public int samplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * Set the average number of allocations per recorded sample. {@code 1} records every allocation and {@code 0}
+     * disables the profiler. Buffers that were sampled before keep being tracked until they are released.
+     */
+    public void setSamplingInterval(int samplingInterval) {
+        this.samplingInterval = checkPositiveOrZero(samplingInterval, "samplingInterval");
+    }
+
+    /**
+     * Returns a snapshot of the metrics of all call sites that were sampled so far, ordered by the number of live
+     * bytes in descending order.
+     */
+    public List<AllocationSiteMetric> snapshot() {
+        List<AllocationSiteMetric> snapshot = new ArrayList<>(sites.size());
+        for (Site site : sites.values()) {
+            snapshot.add(new SiteSnapshot(site));
+        }
+        snapshot.sort((a, b) -> Long.compare(b.liveBytes(), a.liveBytes()));
+        return snapshot;
+    }
+
+    /**
+     * Removes all call sites. Buffers that were sampled before are no longer accounted when released.
+     */
+    public void reset() {
+        sites.clear();
+    }
+
+    ByteBuf track(ByteBuf buf) {
+        int interval = samplingInterval;
+        if (interval == 0 || interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0) {
+            return buf;
+        }
+        String callSite = callSite();
+        Site site = sites.get(callSite);
+        if (site == null) {
+            Site newSite = new Site(callSite);
+            site = sites.putIfAbsent(callSite, newSite);
+            if (site == null) {
+                site = newSite;
+            }
+        }
+        return new SimpleLeakAwareByteBuf(buf, site.allocated(interval, (long) buf.capacity() * interval));
+    }
+
+    private static String callSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!element.getClassName().startsWith(BUFFER_PACKAGE)) {
+                return element.getClassName() + '.' + element.getMethodName() + '(' +
+                        element.getFileName() + ':' + element.getLineNumber() + ')';
+            }
+        }
+        return UNKNOWN_SITE;
+    }
+
+    private static final class Site {
+        final String site;
+        final LongAdder allocations = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder liveBytes = new LongAdder();
+
+        Site(String site) {
+            this.site = site;
+        }
+
+        Sample allocated(int interval, long bytes) {
+            allocations.add(interval);
+            allocatedBytes.add(bytes);
+            liveBytes.add(bytes);
+            return new Sample(this, bytes);
+        }
+    }
+
+    /**
+     * Tracks a sampled buffer until it is released.
+     */
+    private static final class Sample extends AtomicBoolean implements ResourceLeakTracker<ByteBuf> {
+        private static final long serialVersionUID = -6291917463493939468L;
+
+        private final Site site;
+        private final long bytes;
+
+        Sample(Site site, long bytes) {
+            this.site = site;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void record() {
+            // NOOP
+        }
+
+        @Override
+        public void record(Object hint) {
+            // NOOP
+        }
+
+        @Override
+        public boolean close(ByteBuf trackedObject) {
+            if (compareAndSet(false, true)) {
+                site.liveBytes.add(-bytes);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class SiteSnapshot implements AllocationSiteMetric {
+        private final String site;
+        private final long allocations;
+        private final long allocatedBytes;
+        private final long liveBytes;
+
+        SiteSnapshot(Site site) {
+            this.site = site.site;
+            allocations = site.allocations.sum();
+            allocatedBytes = site.allocatedBytes.sum();
+            liveBytes = site.liveBytes.sum();
+        }
+
+        @Override
+        public String site() {
+            return site;
+        }
+
+        @Override
+        public long allocations() {
+            return allocations;
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public long liveBytes() {
+            return liveBytes;
+        }
+
+        @Override
+        public String toString() {
+            return StringUtil.simpleClassName(this) + "(site: " + site + "; allocations: " + allocations +
+                    "; allocatedBytes: " + allocatedBytes + "; liveBytes: " + liveBytes + ')';
+        }
+    }
+}
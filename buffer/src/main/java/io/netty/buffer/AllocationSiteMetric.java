@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.util.internal.UnstableApi;
+
+/**
+ * Metrics of a single call site that allocated buffers, as sampled by an {@link AllocationProfiler}. All values are
+ * estimates which are extrapolated from the sampled allocations.
+ */
+@UnstableApi
+public interface AllocationSiteMetric {
+
+    /**
+     * Returns the call site, which is the first stack frame outside of the buffer package that allocated a buffer.
+     */
+    String site();
+
+    /**
+     * Returns the estimated number of buffers that were allocated by this call site.
+     */
+    long allocations();
+
+    /**
+     * Returns the estimated number of bytes that were allocated by this call site.
+     */
+    long allocatedBytes();
+
+    /**
+     * Returns the estimated number of bytes allocated by this call site which were not released yet.
+     */
+    long liveBytes();
+}
@@ -15,6 +15,7 @@
  */
 package io.netty.buffer;
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 import io.netty.util.ReferenceCounted;
 
@@ -2094,6 +2095,48 @@ public abstract class ByteBuf implements ReferenceCounted, Comparable<ByteBuf> {
      */
     public abstract int forEachByte(int index, int length, ByteProcessor processor);
 
+    /**
+     * Searches the specified area of this buffer for all occurrences of the {@code needles} of the given
+     * {@link BulkSearchProcessor} at once, without a callback per byte. The start index of every occurrence is
+     * stored in {@code matchIndexes} and the index of the found {@code needle} in {@code needleIds}, in the order
+     * of the start index. Only occurrences which are completely contained in the area are found.
+     * <p>
+     * If the returned value is greater than {@code matchIndexes.length - processor.maxMatchesPerIndex()} the
+     * arrays may have been too small to hold all occurrences, and the search can be continued at
+     * {@code matchIndexes[count - 1] + 1}.
+     *
+     * @return the number of occurrences stored in the arrays.
+     *
+     * @throws IllegalArgumentException
+     *         if the arrays can not hold at least {@link BulkSearchProcessor#maxMatchesPerIndex()} occurrences
+     * @throws IndexOutOfBoundsException
+     *         if {@code index + length} is greater than {@code this.capacity}
+     */
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        final int capacity = ByteBufUtil.checkSearchAllArrays(processor, matchIndexes, needleIds);
+        // Copy the area in chunks to a byte array. Consecutive chunks overlap by the length of the longest needle
+        // minus one byte, so occurrences which span two chunks are found in the latter one.
+        final int overlap = processor.maxNeedleLength() - 1;
+        final byte[] chunk = ByteBufUtil.threadLocalTempArray(Math.min(length, Math.max(1024, overlap << 1)));
+        final int endIndex = index + length;
+        int count = 0;
+        for (int start = index;;) {
+            final int chunkLength = Math.min(chunk.length, endIndex - start);
+            getBytes(start, chunk, 0, chunkLength);
+            final boolean last = start + chunkLength == endIndex;
+            final int startLimit = last ? chunkLength : chunkLength - overlap;
+            final int newCount = processor.findAll(chunk, 0, startLimit, chunkLength, matchIndexes, needleIds, count);
+            for (int i = count; i < newCount; i++) {
+                matchIndexes[i] += start;
+            }
+            count = newCount;
+            if (last || capacity - count < processor.maxMatchesPerIndex()) {
+                return count;
+            }
+            start += startLimit;
+        }
+    }
+
     /**
      * Iterates over the readable bytes of this buffer with the specified {@code processor} in descending order.
      *
@@ -2300,6 +2343,30 @@ public abstract class ByteBuf implements ReferenceCounted, Comparable<ByteBuf> {
      */
     public abstract ByteBuffer[] nioBuffers(int index, int length);
 
+    /**
+     * Iterates over the contiguous memory regions of this buffer in the specified range and passes each of them to
+     * the {@link ByteBufRegionProcessor} in ascending order. In contrast to {@link #nioBuffers(int, int)} this does not
+     * create any array or {@link ByteBuffer} for buffers which are composed of other buffers, like a
+     * {@link CompositeByteBuf}, which makes it suitable to fill the {@code iovec}s of a gathering write.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     *
+     * @return {@code true} if all regions were processed, {@code false} if the processor stopped the iteration.
+     *
+     * @throws UnsupportedOperationException
+     *         if this buffer cannot expose its content as NIO {@link ByteBuffer}s
+     */
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        if (nioBufferCount() == 1) {
+            return processor.process(this, index, length);
+        }
+        for (ByteBuffer buffer : nioBuffers(index, length)) {
+            if (!processor.process(Unpooled.wrappedBuffer(buffer), 0, buffer.remaining())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns {@code true} if and only if this buffer has a backing byte array.
      * If this method returns true, you can safely call {@link #array()} and
@@ -15,6 +15,9 @@
  */
 package io.netty.buffer;
 
+import java.util.Collections;
+import java.util.List;
+
 public interface ByteBufAllocatorMetric {
     /**
      * Returns the number of bytes of heap memory used by a {@link ByteBufAllocator} or {@code -1} if unknown.
@@ -25,4 +28,12 @@ public interface ByteBufAllocatorMetric {
      * Returns the number of bytes of direct memory used by a {@link ByteBufAllocator} or {@code -1} if unknown.
      */
     long usedDirectMemory();
+
+    /**
+     * Returns the metrics of the call sites that allocated buffers, as sampled by the {@link AllocationProfiler} of
+     * a {@link ByteBufAllocator}, or an empty {@link List} if not supported or not enabled.
+     */
+    default List<AllocationSiteMetric> allocationSites() {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+/**
+ * Processes the contiguous memory regions of a {@link ByteBuf}, for example to fill an {@code iovec} array or the
+ * {@link java.nio.ByteBuffer}s of a gathering write.
+ *
+ * @see ByteBuf#forEachRegion(int, int, ByteBufRegionProcessor)
+ */
+public interface ByteBufRegionProcessor {
+
+    /**
+     * Processes a region of {@code length} bytes starting at {@code index} of {@code buf}. The buffer is backed by a
+     * single contiguous region of memory, which means its {@link ByteBuf#nioBufferCount()} is {@code 1}, so
+     * {@link ByteBuf#memoryAddress()}, {@link ByteBuf#array()} or {@link ByteBuf#internalNioBuffer(int, int)} can be
+     * used to access it without copying. The buffer must not be retained or released.
+     *
+     * @return {@code true} if the processor wants to continue the loop and handle the next region.
+     *         {@code false} if the processor wants to stop handling the remaining regions.
+     */
+    boolean process(ByteBuf buf, int index, int length);
+}
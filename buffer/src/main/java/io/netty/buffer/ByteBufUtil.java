@@ -15,6 +15,7 @@
  */
 package io.netty.buffer;
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.AsciiString;
 import io.netty.util.ByteProcessor;
 import io.netty.util.CharsetUtil;
@@ -479,6 +480,11 @@ public final class ByteBufUtil {
             return -1;
         }
 
+        if (buffer instanceof AbstractByteBuf && isSwarSearchable((AbstractByteBuf) buffer)) {
+            AbstractByteBuf buf = (AbstractByteBuf) buffer;
+            buf.checkIndex(fromIndex, toIndex - fromIndex);
+            return swarIndexOf(buf, fromIndex, toIndex, value);
+        }
         return buffer.forEachByte(fromIndex, toIndex - fromIndex, new ByteProcessor.IndexOfProcessor(value));
     }
 
@@ -492,6 +498,171 @@ public final class ByteBufUtil {
         return buffer.forEachByteDesc(toIndex, fromIndex - toIndex, new ByteProcessor.IndexOfProcessor(value));
     }
 
+    /**
+     * Returns the index of the {@code CR ('\r')} of the first {@code CRLF ("\r\n")} sequence in the given range of
+     * the buffer, or {@code -1} if the range does not contain a {@code CRLF}.
+     */
+    public static int indexOfCrlf(ByteBuf buffer, int fromIndex, int toIndex) {
+        // Search for the CR, which is done 8 bytes at once by most buffers, and then check the byte that follows.
+        final int crToIndex = toIndex - 1;
+        for (int i = fromIndex; i < crToIndex;) {
+            int cr = buffer.indexOf(i, crToIndex, (byte) '\r');
+            if (cr < 0) {
+                return -1;
+            }
+            if (buffer.getByte(cr + 1) == '\n') {
+                return cr;
+            }
+            i = cr + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks that the arrays passed to {@link ByteBuf#searchAll(int, int, BulkSearchProcessor, int[], int[])} can
+     * hold the occurrences of at least a single index and returns the number of occurrences they can hold.
+     */
+    static int checkSearchAllArrays(BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        final int capacity = Math.min(matchIndexes.length, needleIds.length);
+        if (capacity < processor.maxMatchesPerIndex()) {
+            throw new IllegalArgumentException("matchIndexes.length and needleIds.length must be at least " +
+                    processor.maxMatchesPerIndex() + " (maxMatchesPerIndex), got: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns {@code true} if the given buffer can be searched via {@link #swarIndexOf(AbstractByteBuf, int, int,
+     * byte)} and friends. This is the case for heap and unsafe direct buffers, which allow to read 8 bytes at once
+     * cheaply.
+     */
+    static boolean isSwarSearchable(AbstractByteBuf buffer) {
+        return PlatformDependent.isUnaligned() && (buffer.hasArray() || buffer.hasMemoryAddress());
+    }
+
+    /**
+     * Returns {@code true} if {@link #swarForEachByte(AbstractByteBuf, int, int, ByteProcessor)} supports the given
+     * {@link ByteProcessor}.
+     */
+    static boolean isSwarProcessor(ByteProcessor processor) {
+        return processor == ByteProcessor.FIND_LF || processor == ByteProcessor.FIND_CR ||
+                processor == ByteProcessor.FIND_CRLF || processor == ByteProcessor.FIND_NUL ||
+                processor == ByteProcessor.FIND_NON_ASCII || processor == ByteProcessor.FIND_SEMI_COLON ||
+                processor == ByteProcessor.FIND_COMMA || processor == ByteProcessor.FIND_ASCII_SPACE ||
+                processor == ByteProcessor.FIND_LINEAR_WHITESPACE;
+    }
+
+    /**
+     * Equivalent to {@link ByteBuf#forEachByte(int, int, ByteProcessor)} for all the {@link ByteProcessor}s for
+     * which {@link #isSwarProcessor(ByteProcessor)} returns {@code true}, but searches 8 bytes at once.
+     * The caller is responsible to check the bounds.
+     */
+    static int swarForEachByte(AbstractByteBuf buffer, int start, int end, ByteProcessor processor) {
+        if (processor == ByteProcessor.FIND_LF) {
+            return swarIndexOf(buffer, start, end, (byte) '\n');
+        }
+        if (processor == ByteProcessor.FIND_CR) {
+            return swarIndexOf(buffer, start, end, (byte) '\r');
+        }
+        if (processor == ByteProcessor.FIND_CRLF) {
+            return swarIndexOfAny(buffer, start, end, (byte) '\r', (byte) '\n');
+        }
+        if (processor == ByteProcessor.FIND_NUL) {
+            return swarIndexOf(buffer, start, end, (byte) 0);
+        }
+        if (processor == ByteProcessor.FIND_NON_ASCII) {
+            return swarIndexOfNonAscii(buffer, start, end);
+        }
+        if (processor == ByteProcessor.FIND_SEMI_COLON) {
+            return swarIndexOf(buffer, start, end, (byte) ';');
+        }
+        if (processor == ByteProcessor.FIND_COMMA) {
+            return swarIndexOf(buffer, start, end, (byte) ',');
+        }
+        if (processor == ByteProcessor.FIND_ASCII_SPACE) {
+            return swarIndexOf(buffer, start, end, (byte) ' ');
+        }
+        assert processor == ByteProcessor.FIND_LINEAR_WHITESPACE;
+        return swarIndexOfAny(buffer, start, end, (byte) ' ', (byte) '\t');
+    }
+
+    // SWAR (SIMD within a register): the bytes are read as little-endian longs, so the byte with the lowest index
+    // is the least significant one and the first match is found via Long.numberOfTrailingZeros(...).
+    private static final long SWAR_LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long SWAR_HIGH_BITS = 0x8080808080808080L;
+
+    private static long swarPattern(byte value) {
+        return (value & 0xFFL) * 0x0101010101010101L;
+    }
+
+    /**
+     * Returns a word which has the highest bit set of every byte of {@code word} that equals the byte of the
+     * pattern, and all other bits cleared. Unlike the well known {@code (x - 0x01..) & ~x & 0x80..} trick this never
+     * reports false positives, so the result can also be used for a bitwise or of multiple patterns.
+     */
+    private static long swarMatches(long word, long pattern) {
+        long input = word ^ pattern;
+        long tmp = (input & SWAR_LOW_BITS) + SWAR_LOW_BITS;
+        return ~(tmp | input | SWAR_LOW_BITS);
+    }
+
+    private static int swarIndex(int index, long matches) {
+        return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+    }
+
+    static int swarIndexOf(AbstractByteBuf buffer, int start, int end, byte value) {
+        final long pattern = swarPattern(value);
+        int i = start;
+        for (final int longEnd = end - 7; i < longEnd; i += 8) {
+            long matches = swarMatches(buffer._getLongLE(i), pattern);
+            if (matches != 0) {
+                return swarIndex(i, matches);
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer._getByte(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int swarIndexOfAny(AbstractByteBuf buffer, int start, int end, byte value1, byte value2) {
+        final long pattern1 = swarPattern(value1);
+        final long pattern2 = swarPattern(value2);
+        int i = start;
+        for (final int longEnd = end - 7; i < longEnd; i += 8) {
+            long word = buffer._getLongLE(i);
+            long matches = swarMatches(word, pattern1) | swarMatches(word, pattern2);
+            if (matches != 0) {
+                return swarIndex(i, matches);
+            }
+        }
+        for (; i < end; i++) {
+            byte b = buffer._getByte(i);
+            if (b == value1 || b == value2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int swarIndexOfNonAscii(AbstractByteBuf buffer, int start, int end) {
+        int i = start;
+        for (final int longEnd = end - 7; i < longEnd; i += 8) {
+            long matches = buffer._getLongLE(i) & SWAR_HIGH_BITS;
+            if (matches != 0) {
+                return swarIndex(i, matches);
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer._getByte(i) < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private static CharSequence checkCharSequenceBounds(CharSequence seq, int start, int end) {
         if (MathUtil.isOutOfBounds(start, end - start, seq.length())) {
             throw new IndexOutOfBoundsException("expected: 0 <= start(" + start + ") <= end (" + end
@@ -642,10 +813,18 @@ public final class ByteBufUtil {
     private static int safeDirectWriteUtf8(ByteBuffer buffer, int writerIndex, CharSequence seq, int start, int end) {
         assert !(seq instanceof AsciiString);
         int oldWriterIndex = writerIndex;
+        final boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
 
-        // We can use the _set methods as these not need to do any index checks and reference checks.
-        // This is possible as we called ensureWritable(...) before.
-        for (int i = start; i < end; i++) {
+        int i = start;
+        for (final int longEnd = end - 7; i < longEnd; i += 8) {
+            long word = asciiWordLE(seq, i);
+            if (word == -1) {
+                break;
+            }
+            buffer.putLong(writerIndex, littleEndian ? word : Long.reverseBytes(word));
+            writerIndex += 8;
+        }
+        for (; i < end; i++) {
             char c = seq.charAt(i);
             if (c < 0x80) {
                 buffer.put(writerIndex++, (byte) c);
@@ -692,7 +871,16 @@ public final class ByteBufUtil {
 
         // We can use the _set methods as these not need to do any index checks and reference checks.
         // This is possible as we called ensureWritable(...) before.
-        for (int i = start; i < end; i++) {
+        int i = start;
+        for (final int longEnd = end - 7; i < longEnd; i += 8) {
+            long word = asciiWordLE(seq, i);
+            if (word == -1) {
+                break;
+            }
+            buffer._setLongLE(writerIndex, word);
+            writerIndex += 8;
+        }
+        for (; i < end; i++) {
             char c = seq.charAt(i);
             if (c < 0x80) {
                 buffer._setByte(writerIndex++, (byte) c);
@@ -781,7 +969,19 @@ public final class ByteBufUtil {
         assert !(seq instanceof AsciiString);
         long writerOffset = memoryOffset + writerIndex;
         final long oldWriterOffset = writerOffset;
-        for (int i = start; i < end; i++) {
+        int i = start;
+        if (PlatformDependent.isUnaligned()) {
+            for (final int longEnd = end - 7; i < longEnd; i += 8) {
+                long word = asciiWordLE(seq, i);
+                if (word == -1) {
+                    break;
+                }
+                PlatformDependent.putLong(buffer, writerOffset,
+                                          PlatformDependent.BIG_ENDIAN_NATIVE_ORDER ? Long.reverseBytes(word) : word);
+                writerOffset += 8;
+            }
+        }
+        for (; i < end; i++) {
             char c = seq.charAt(i);
             if (c < 0x80) {
                 PlatformDependent.putByte(buffer, writerOffset++, (byte) c);
@@ -822,6 +1022,27 @@ public final class ByteBufUtil {
         return (int) (writerOffset - oldWriterOffset);
     }
 
+    /**
+     * Returns the 8 chars of {@code seq} starting at {@code index} packed into a little-endian {@code long}, or
+     * {@code -1} if any of them is not an ASCII char. This allows to encode a leading run of ASCII chars, which is
+     * the common case, with a single write per 8 chars.
+     */
+    private static long asciiWordLE(CharSequence seq, int index) {
+        final char c0 = seq.charAt(index);
+        final char c1 = seq.charAt(index + 1);
+        final char c2 = seq.charAt(index + 2);
+        final char c3 = seq.charAt(index + 3);
+        final char c4 = seq.charAt(index + 4);
+        final char c5 = seq.charAt(index + 5);
+        final char c6 = seq.charAt(index + 6);
+        final char c7 = seq.charAt(index + 7);
+        if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) >= 0x80) {
+            return -1;
+        }
+        return c0 | (long) c1 << 8 | (long) c2 << 16 | (long) c3 << 24 |
+               (long) c4 << 32 | (long) c5 << 40 | (long) c6 << 48 | (long) c7 << 56;
+    }
+
     /**
      * Returns max bytes length of UTF8 character sequence of the given length.
      */
@@ -1036,13 +1257,37 @@ public final class ByteBufUtil {
             offset = 0;
             src.getBytes(readerIndex, array, 0, len);
         }
-        if (CharsetUtil.US_ASCII.equals(charset)) {
-            // Fast-path for US-ASCII which is used frequently.
+        if (CharsetUtil.US_ASCII.equals(charset) || CharsetUtil.ISO_8859_1.equals(charset) ||
+                CharsetUtil.UTF_8.equals(charset) && isAscii(array, offset, len)) {
+            // Fast-path for US-ASCII and ISO-8859-1 which are used frequently, and for UTF-8 encoded ASCII text
+            // which maps every byte to exactly one char as well.
             return new String(array, 0, offset, len);
         }
         return new String(array, offset, len, charset);
     }
 
+    /**
+     * Returns {@code true} if the given range of the array only contains ASCII bytes, checking 8 bytes at once if
+     * possible.
+     */
+    private static boolean isAscii(byte[] array, int offset, int length) {
+        final int end = offset + length;
+        int i = offset;
+        if (PlatformDependent.hasUnsafe() && PlatformDependent.isUnaligned()) {
+            for (final int longEnd = end - 7; i < longEnd; i += 8) {
+                if ((PlatformDependent.getLong(array, i) & SWAR_HIGH_BITS) != 0) {
+                    return false;
+                }
+            }
+        }
+        for (; i < end; i++) {
+            if (array[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns a cached thread-local direct buffer, if available.
      *
@@ -1486,11 +1731,6 @@ public final class ByteBufUtil {
         }
     }
 
-    /**
-     * Aborts on a byte which is not a valid ASCII character.
-     */
-    private static final ByteProcessor FIND_NON_ASCII = value -> value >= 0;
-
     /**
      * Returns {@code true} if the specified {@link ByteBuf} starting at {@code index} with {@code length} is valid
      * ASCII text, otherwise return {@code false}.
@@ -1500,7 +1740,7 @@ public final class ByteBufUtil {
      * @param length The length of the specified buffer.
      */
     private static boolean isAscii(ByteBuf buf, int index, int length) {
-        return buf.forEachByte(index, length, FIND_NON_ASCII) == -1;
+        return buf.forEachByte(index, length, ByteProcessor.FIND_NON_ASCII) == -1;
     }
 
     /**
@@ -1549,12 +1789,17 @@ public final class ByteBufUtil {
     private static boolean isUtf8(ByteBuf buf, int index, int length) {
         final int endIndex = index + length;
         while (index < endIndex) {
-            byte b1 = buf.getByte(index++);
+            byte b1 = buf.getByte(index);
             byte b2, b3, b4;
-            if ((b1 & 0x80) == 0) {
-                // 1 byte
-                continue;
+            if (b1 >= 0) {
+                // 1 byte, skip the whole run of them which is searched 8 bytes at once if possible.
+                index = buf.forEachByte(index, endIndex - index, ByteProcessor.FIND_NON_ASCII);
+                if (index == -1) {
+                    return true;
+                }
+                b1 = buf.getByte(index);
             }
+            index++;
             if ((b1 & 0xE0) == 0xC0) {
                 // 2 bytes
                 //
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.util.internal.UnstableApi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides the memory that backs the chunks of the direct arenas of a {@link PooledByteBufAllocator}.
+ * <p>
+ * Memory may be split into multiple nodes (for example NUMA nodes). In this case the direct arenas are distributed
+ * evenly across all nodes, and a thread will always use an arena which belongs to the node it is running on when its
+ * thread local cache is created.
+ */
+@UnstableApi
+public interface ChunkMemoryAllocator {
+
+    /**
+     * Returns the number of nodes memory can be allocated from. Must be at least {@code 1}.
+     */
+    int numNodes();
+
+    /**
+     * Returns the node the calling thread is currently running on, between {@code 0} and {@link #numNodes()}
+     * (exclusive).
+     */
+    int currentNode();
+
+    /**
+     * Allocates a new direct {@link ByteBuffer} with the given capacity on the given node.
+     */
+    ByteBuffer allocate(int capacity, int node);
+
+    /**
+     * Releases the memory of a {@link ByteBuffer} that was allocated via {@link #allocate(int, int)}.
+     */
+    void free(ByteBuffer memory);
+}
@@ -15,6 +15,7 @@
  */
 package io.netty.buffer;
 
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
 import static java.util.Objects.requireNonNull;
 
 import io.netty.util.ByteProcessor;
@@ -56,7 +57,14 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
     private final int maxNumComponents;
 
     private int componentCount;
+    private int firstComponent; // index of the first component within the components array
     private Component[] components; // resized when needed
+    // Total number of bytes discarded from the start of this buffer. The offsets of the components are only updated
+    // lazily by comp(int) when they are accessed, so discarding read components does not touch the remaining ones.
+    private long discardedBytes;
+
+    private int smallComponentSize;
+    private int maxSmallComponents;
 
     private boolean freed;
 
@@ -295,7 +303,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             if (readableBytes > 0 && cIndex < componentCount - 1) {
                 updateComponentOffsets(cIndex);
             } else if (cIndex > 0) {
-                c.reposition(components[cIndex - 1].endOffset);
+                c.reposition(comp(cIndex - 1).endOffset);
             }
             if (increaseWriterIndex) {
                 writerIndex += readableBytes;
@@ -385,14 +393,14 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         try {
             checkComponentIndex(cIndex);
             shiftComps(cIndex, count); // will increase componentCount
-            int nextOffset = cIndex > 0 ? components[cIndex - 1].endOffset : 0;
+            int nextOffset = cIndex > 0 ? comp(cIndex - 1).endOffset : 0;
             for (ci = cIndex; arrOffset < len; arrOffset++, ci++) {
                 ByteBuf b = buffers[arrOffset];
                 if (b == null) {
                     break;
                 }
                 Component c = newComponent(ensureAccessible(b), nextOffset);
-                components[ci] = c;
+                setComp(ci, c);
                 nextOffset = c.endOffset;
             }
             return this;
@@ -409,7 +417,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
                 updateComponentOffsets(ci); // only need to do this here for components after the added ones
             }
             if (increaseWriterIndex && ci > cIndex && ci <= componentCount) {
-                writerIndex += components[ci - 1].endOffset - components[cIndex].offset;
+                writerIndex += comp(ci - 1).endOffset - comp(cIndex).offset;
             }
         }
     }
@@ -482,12 +490,11 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             from = (CompositeByteBuf) buffer;
         }
         from.checkIndex(ridx, widx - ridx);
-        final Component[] fromComponents = from.components;
         final int compCountBefore = componentCount;
         final int writerIndexBefore = writerIndex;
         try {
             for (int cidx = from.toComponentIndex0(ridx), newOffset = capacity();; cidx++) {
-                final Component component = fromComponents[cidx];
+                final Component component = from.comp(cidx);
                 final int compOffset = component.offset;
                 final int fromIdx = Math.max(ridx, compOffset);
                 final int toIdx = Math.min(widx, component.endOffset);
@@ -516,7 +523,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
                     writerIndex = writerIndexBefore;
                 }
                 for (int cidx = componentCount - 1; cidx >= compCountBefore; cidx--) {
-                    components[cidx].free();
+                    comp(cidx).free();
                     removeComp(cidx);
                 }
             }
@@ -564,9 +571,22 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int size = componentCount;
         if (size > maxNumComponents) {
             consolidate0(0, size);
+        } else if (smallComponentSize > 0 && size >= maxSmallComponents) {
+            consolidateSmallComponentsIfNeeded(size);
         }
     }
 
+    private void consolidateSmallComponentsIfNeeded(int size) {
+        // Only the components at the end are checked, so this is O(maxSmallComponents) for every added component.
+        final int cIndex = size - maxSmallComponents;
+        for (int i = size - 1; i >= cIndex; i--) {
+            if (comp(i).length() >= smallComponentSize) {
+                return;
+            }
+        }
+        consolidate0(cIndex, maxSmallComponents);
+    }
+
     private void checkComponentIndex(int cIndex) {
         ensureAccessible();
         if (cIndex < 0 || cIndex > componentCount) {
@@ -592,9 +612,9 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return;
         }
 
-        int nextIndex = cIndex > 0 ? components[cIndex - 1].endOffset : 0;
+        int nextIndex = cIndex > 0 ? comp(cIndex - 1).endOffset : 0;
         for (; cIndex < size; cIndex++) {
-            Component c = components[cIndex];
+            Component c = comp(cIndex);
             c.reposition(nextIndex);
             nextIndex = c.endOffset;
         }
@@ -607,15 +627,19 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
      */
     public CompositeByteBuf removeComponent(int cIndex) {
         checkComponentIndex(cIndex);
-        Component comp = components[cIndex];
+        Component comp = comp(cIndex);
         if (lastAccessed == comp) {
             lastAccessed = null;
         }
         comp.free();
         removeComp(cIndex);
         if (comp.length() > 0) {
-            // Only need to call updateComponentOffsets if the length was > 0
-            updateComponentOffsets(cIndex);
+            // Only need to update the offsets if the length was > 0
+            if (cIndex == 0) {
+                discardedBytes += comp.length();
+            } else {
+                updateComponentOffsets(cIndex);
+            }
         }
         return this;
     }
@@ -633,12 +657,10 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return this;
         }
         int endIndex = cIndex + numComponents;
-        boolean needsUpdate = false;
+        int removedBytes = 0;
         for (int i = cIndex; i < endIndex; ++i) {
-            Component c = components[i];
-            if (c.length() > 0) {
-                needsUpdate = true;
-            }
+            Component c = comp(i);
+            removedBytes += c.length();
             if (lastAccessed == c) {
                 lastAccessed = null;
             }
@@ -646,9 +668,13 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         }
         removeCompRange(cIndex, endIndex);
 
-        if (needsUpdate) {
-            // Only need to call updateComponentOffsets if the length was > 0
-            updateComponentOffsets(cIndex);
+        if (removedBytes > 0) {
+            // Only need to update the offsets if the length was > 0
+            if (cIndex == 0) {
+                discardedBytes += removedBytes;
+            } else {
+                updateComponentOffsets(cIndex);
+            }
         }
         return this;
     }
@@ -665,7 +691,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return -1;
         }
         for (int i = toComponentIndex0(start), length = end - start; length > 0; i++) {
-            Component c = components[i];
+            Component c = comp(i);
             if (c.offset == c.endOffset) {
                 continue; // empty
             }
@@ -691,7 +717,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return -1;
         }
         for (int i = toComponentIndex0(rStart), length = 1 + rStart - rEnd; length > 0; i--) {
-            Component c = components[i];
+            Component c = comp(i);
             if (c.offset == c.endOffset) {
                 continue; // empty
             }
@@ -723,7 +749,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int componentId = toComponentIndex0(offset);
         int bytesToSlice = length;
         // The first component
-        Component firstC = components[componentId];
+        Component firstC = comp(componentId);
 
         ByteBuf slice = firstC.buf.slice(firstC.idx(offset), Math.min(firstC.endOffset - offset, bytesToSlice));
         bytesToSlice -= slice.readableBytes();
@@ -737,7 +763,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         // Add all the slices until there is nothing more left and then return the List.
         do {
-            Component component = components[++componentId];
+            Component component = comp(++componentId);
             slice = component.buf.slice(component.idx(component.offset), Math.min(component.length(), bytesToSlice));
             bytesToSlice -= slice.readableBytes();
             sliceList.add(slice);
@@ -753,7 +779,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return false;
         }
         for (int i = 0; i < size; i++) {
-           if (!components[i].buf.isDirect()) {
+           if (!comp(i).buf.isDirect()) {
                return false;
            }
         }
@@ -766,7 +792,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return true;
         case 1:
-            return components[0].buf.hasArray();
+            return comp(0).buf.hasArray();
         default:
             return false;
         }
@@ -778,7 +804,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return EmptyArrays.EMPTY_BYTES;
         case 1:
-            return components[0].buf.array();
+            return comp(0).buf.array();
         default:
             throw new UnsupportedOperationException();
         }
@@ -790,7 +816,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return 0;
         case 1:
-            Component c = components[0];
+            Component c = comp(0);
             return c.idx(c.buf.arrayOffset());
         default:
             throw new UnsupportedOperationException();
@@ -803,7 +829,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return Unpooled.EMPTY_BUFFER.hasMemoryAddress();
         case 1:
-            return components[0].buf.hasMemoryAddress();
+            return comp(0).buf.hasMemoryAddress();
         default:
             return false;
         }
@@ -815,7 +841,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return Unpooled.EMPTY_BUFFER.memoryAddress();
         case 1:
-            Component c = components[0];
+            Component c = comp(0);
             return c.buf.memoryAddress() + c.adjustment;
         default:
             throw new UnsupportedOperationException();
@@ -825,7 +851,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
     @Override
     public int capacity() {
         int size = componentCount;
-        return size > 0 ? components[size - 1].endOffset : 0;
+        return size > 0 ? comp(size - 1).endOffset : 0;
     }
 
     @Override
@@ -846,7 +872,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             lastAccessed = null;
             int i = size - 1;
             for (int bytesToTrim = oldCapacity - newCapacity; i >= 0; i--) {
-                Component c = components[i];
+                Component c = comp(i);
                 final int cLength = c.length();
                 if (bytesToTrim < cLength) {
                     // Trim the last component
@@ -909,17 +935,17 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int size = componentCount;
         if (offset == 0) { // fast-path zero offset
             for (int i = 0; i < size; i++) {
-                if (components[i].endOffset > 0) {
+                if (comp(i).endOffset > 0) {
                     return i;
                 }
             }
         }
         if (size <= 2) { // fast-path for 1 and 2 component count
-            return size == 1 || offset < components[0].endOffset ? 0 : 1;
+            return size == 1 || offset < comp(0).endOffset ? 0 : 1;
         }
         for (int low = 0, high = size; low <= high;) {
             int mid = low + high >>> 1;
-            Component c = components[mid];
+            Component c = comp(mid);
             if (offset >= c.endOffset) {
                 low = mid + 1;
             } else if (offset < c.offset) {
@@ -934,7 +960,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
     public int toByteIndex(int cIndex) {
         checkComponentIndex(cIndex);
-        return components[cIndex].offset;
+        return comp(cIndex).offset;
     }
 
     @Override
@@ -1054,7 +1080,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int i = toComponentIndex0(index);
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.getBytes(c.idx(index), dst, dstIndex, localLength);
             index += localLength;
@@ -1078,7 +1104,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = toComponentIndex0(index);
         try {
             while (length > 0) {
-                Component c = components[i];
+                Component c = comp(i);
                 int localLength = Math.min(length, c.endOffset - index);
                 dst.limit(dst.position() + localLength);
                 c.buf.getBytes(c.idx(index), dst);
@@ -1101,7 +1127,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int i = toComponentIndex0(index);
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.getBytes(c.idx(index), dst, dstIndex, localLength);
             index += localLength;
@@ -1155,7 +1181,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int i = toComponentIndex0(index);
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.getBytes(c.idx(index), out, localLength);
             index += localLength;
@@ -1327,7 +1353,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int i = toComponentIndex0(index);
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.setBytes(c.idx(index), src, srcIndex, localLength);
             index += localLength;
@@ -1351,7 +1377,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = toComponentIndex0(index);
         try {
             while (length > 0) {
-                Component c = components[i];
+                Component c = comp(i);
                 int localLength = Math.min(length, c.endOffset - index);
                 src.limit(src.position() + localLength);
                 c.buf.setBytes(c.idx(index), src);
@@ -1374,7 +1400,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int i = toComponentIndex0(index);
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.setBytes(c.idx(index), src, srcIndex, localLength);
             index += localLength;
@@ -1395,7 +1421,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = toComponentIndex0(index);
         int readBytes = 0;
         do {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             if (localLength == 0) {
                 // Skip empty buffer
@@ -1432,7 +1458,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = toComponentIndex0(index);
         int readBytes = 0;
         do {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             if (localLength == 0) {
                 // Skip empty buffer
@@ -1474,7 +1500,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = toComponentIndex0(index);
         int readBytes = 0;
         do {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             if (localLength == 0) {
                 // Skip empty buffer
@@ -1521,7 +1547,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int i = componentId;
 
         while (length > 0) {
-            Component c = components[i];
+            Component c = comp(i);
             int localLength = Math.min(length, c.endOffset - index);
             c.buf.getBytes(c.idx(index), dst, dstIndex, localLength);
             index += localLength;
@@ -1541,7 +1567,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
      */
     public ByteBuf component(int cIndex) {
         checkComponentIndex(cIndex);
-        return components[cIndex].duplicate();
+        return comp(cIndex).duplicate();
     }
 
     /**
@@ -1562,7 +1588,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
      */
     public ByteBuf internalComponent(int cIndex) {
         checkComponentIndex(cIndex);
-        return components[cIndex].slice();
+        return comp(cIndex).slice();
     }
 
     /**
@@ -1580,7 +1606,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
     private Component findComponent(int offset) {
         Component la = lastAccessed;
-        if (la != null && offset >= la.offset && offset < la.endOffset) {
+        if (la != null && la.discardedBytes == discardedBytes && offset >= la.offset && offset < la.endOffset) {
            ensureAccessible();
            return la;
         }
@@ -1590,7 +1616,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
     private Component findComponent0(int offset) {
         Component la = lastAccessed;
-        if (la != null && offset >= la.offset && offset < la.endOffset) {
+        if (la != null && la.discardedBytes == discardedBytes && offset >= la.offset && offset < la.endOffset) {
            return la;
         }
         return findIt(offset);
@@ -1599,7 +1625,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
     private Component findIt(int offset) {
         for (int low = 0, high = componentCount; low <= high;) {
             int mid = low + high >>> 1;
-            Component c = components[mid];
+            Component c = comp(mid);
             if (offset >= c.endOffset) {
                 low = mid + 1;
             } else if (offset < c.offset) {
@@ -1620,11 +1646,11 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return 1;
         case 1:
-            return components[0].buf.nioBufferCount();
+            return comp(0).buf.nioBufferCount();
         default:
             int count = 0;
             for (int i = 0; i < size; i++) {
-                count += components[i].buf.nioBufferCount();
+                count += comp(i).buf.nioBufferCount();
             }
             return count;
         }
@@ -1636,7 +1662,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return EMPTY_NIO_BUFFER;
         case 1:
-            return components[0].internalNioBuffer(index, length);
+            return comp(0).internalNioBuffer(index, length);
         default:
             throw new UnsupportedOperationException();
         }
@@ -1650,7 +1676,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         case 0:
             return EMPTY_NIO_BUFFER;
         case 1:
-            Component c = components[0];
+            Component c = comp(0);
             ByteBuf buf = c.buf;
             if (buf.nioBufferCount() == 1) {
                 return buf.nioBuffer(c.idx(index), length);
@@ -1683,7 +1709,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         try {
             int i = toComponentIndex0(index);
             while (length > 0) {
-                Component c = components[i];
+                Component c = comp(i);
                 ByteBuf s = c.buf;
                 int localLength = Math.min(length, c.endOffset - index);
                 switch (s.nioBufferCount()) {
@@ -1707,6 +1733,48 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         }
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return true;
+        }
+        int i = toComponentIndex0(index);
+        while (length > 0) {
+            Component c = comp(i);
+            int localLength = Math.min(length, c.endOffset - index);
+            if (localLength != 0 && !c.buf.forEachRegion(c.idx(index), localLength, processor)) {
+                return false;
+            }
+            index += localLength;
+            length -= localLength;
+            i ++;
+        }
+        return true;
+    }
+
+    /**
+     * Enables the incremental consolidation of small components. Whenever components are added and the last
+     * {@code maxSmallComponents} components are all smaller than {@code smallComponentSize} bytes, they are merged
+     * into a single buffer allocated via {@link #alloc()}. This bounds the number of components for buffers which
+     * are built up from many small pieces, for example when cumulating small network reads, while the cost of the
+     * consolidation is spread over the added components.
+     *
+     * @param smallComponentSize the size in bytes below which a component is considered small, or {@code 0} to
+     *                           disable the incremental consolidation
+     * @param maxSmallComponents the number of small components at the end which are merged into one
+     */
+    public CompositeByteBuf incrementalConsolidation(int smallComponentSize, int maxSmallComponents) {
+        checkPositiveOrZero(smallComponentSize, "smallComponentSize");
+        if (maxSmallComponents < 2) {
+            throw new IllegalArgumentException(
+                    "maxSmallComponents: " + maxSmallComponents + " (expected: >= 2)");
+        }
+        this.smallComponentSize = smallComponentSize;
+        this.maxSmallComponents = maxSmallComponents;
+        return this;
+    }
+
     /**
      * Consolidate the composed {@link ByteBuf}s
      */
@@ -1734,16 +1802,16 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         }
 
         final int endCIndex = cIndex + numComponents;
-        final int startOffset = cIndex != 0 ? components[cIndex].offset : 0;
-        final int capacity = components[endCIndex - 1].endOffset - startOffset;
+        final int startOffset = cIndex != 0 ? comp(cIndex).offset : 0;
+        final int capacity = comp(endCIndex - 1).endOffset - startOffset;
         final ByteBuf consolidated = allocBuffer(capacity);
 
         for (int i = cIndex; i < endCIndex; i ++) {
-            components[i].transferTo(consolidated);
+            comp(i).transferTo(consolidated);
         }
         lastAccessed = null;
         removeCompRange(cIndex + 1, endCIndex);
-        components[cIndex] = newComponent(consolidated, 0);
+        setComp(cIndex, newComponent(consolidated, 0));
         if (cIndex != 0 || numComponents != componentCount) {
             updateComponentOffsets(cIndex);
         }
@@ -1763,7 +1831,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int writerIndex = writerIndex();
         if (readerIndex == writerIndex && writerIndex == capacity()) {
             for (int i = 0, size = componentCount; i < size; i++) {
-                components[i].free();
+                comp(i).free();
             }
             lastAccessed = null;
             clearComps();
@@ -1775,7 +1843,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int firstComponentId = 0;
         Component c = null;
         for (int size = componentCount; firstComponentId < size; firstComponentId++) {
-            c = components[firstComponentId];
+            c = comp(firstComponentId);
             if (c.endOffset > readerIndex) {
                 break;
             }
@@ -1785,14 +1853,14 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             return this; // Nothing to discard
         }
         Component la = lastAccessed;
-        if (la != null && la.endOffset <= readerIndex) {
+        if (la != null && (la.discardedBytes != discardedBytes || la.endOffset <= readerIndex)) {
             lastAccessed = null;
         }
         removeCompRange(0, firstComponentId);
 
-        // Update indexes and markers.
+        // Update indexes and markers, the offsets of the remaining components are updated lazily.
         int offset = c.offset;
-        updateComponentOffsets(0);
+        discardedBytes += offset;
         setIndex(readerIndex - offset, writerIndex - offset);
         return this;
     }
@@ -1809,7 +1877,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int writerIndex = writerIndex();
         if (readerIndex == writerIndex && writerIndex == capacity()) {
             for (int i = 0, size = componentCount; i < size; i++) {
-                components[i].free();
+                comp(i).free();
             }
             lastAccessed = null;
             clearComps();
@@ -1820,19 +1888,17 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         int firstComponentId = 0;
         Component c = null;
         for (int size = componentCount; firstComponentId < size; firstComponentId++) {
-            c = components[firstComponentId];
+            c = comp(firstComponentId);
             if (c.endOffset > readerIndex) {
                 break;
             }
             c.free();
         }
 
-        // Replace the first readable component with a new slice.
+        // Replace the first readable component with a new slice, it will be moved to offset 0 together with the
+        // remaining components.
         int trimmedBytes = readerIndex - c.offset;
-        c.offset = 0;
-        c.endOffset -= readerIndex;
-        c.srcAdjustment += readerIndex;
-        c.adjustment += readerIndex;
+        c.offset = readerIndex;
         ByteBuf slice = c.slice;
         if (slice != null) {
             // We must replace the cached slice with a derived one to ensure that
@@ -1840,14 +1906,14 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
             c.slice = slice.slice(trimmedBytes, c.length());
         }
         Component la = lastAccessed;
-        if (la != null && la.endOffset <= readerIndex) {
+        if (la != null && (la.discardedBytes != discardedBytes || la.endOffset <= readerIndex)) {
             lastAccessed = null;
         }
 
         removeCompRange(0, firstComponentId);
 
-        // Update indexes and markers.
-        updateComponentOffsets(0);
+        // Update indexes and markers, the offsets of the remaining components are updated lazily.
+        discardedBytes += readerIndex;
         setIndex(0, writerIndex - readerIndex);
         return this;
     }
@@ -1872,6 +1938,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
         int offset; // offset of this component within this CompositeByteBuf
         int endOffset; // end offset of this component within this CompositeByteBuf
+        long discardedBytes; // discarded bytes of the CompositeByteBuf when offset was last updated
 
         private ByteBuf slice; // cached slice, may be null
 
@@ -2214,7 +2281,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         // We're not using foreach to avoid creating an iterator.
         // see https://github.com/netty/netty/issues/2642
         for (int i = 0, size = componentCount; i < size; i++) {
-            components[i].free();
+            comp(i).free();
         }
     }
 
@@ -2246,7 +2313,7 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
                 throw new NoSuchElementException();
             }
             try {
-                return components[index++].slice();
+                return comp(index++).slice();
             } catch (IndexOutOfBoundsException e) {
                 throw new ConcurrentModificationException();
             }
@@ -2260,6 +2327,22 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
 
     // Component array manipulation - range checking omitted
 
+    private Component comp(int i) {
+        Component c = components[firstComponent + i];
+        long discarded = discardedBytes - c.discardedBytes;
+        if (discarded != 0) {
+            // Bytes were discarded before this component since its offsets were updated the last time.
+            c.reposition(c.offset - (int) discarded);
+            c.discardedBytes = discardedBytes;
+        }
+        return c;
+    }
+
+    private void setComp(int i, Component c) {
+        c.discardedBytes = discardedBytes;
+        components[firstComponent + i] = c;
+    }
+
     private void clearComps() {
         removeCompRange(0, componentCount);
     }
@@ -2272,44 +2355,61 @@ public class CompositeByteBuf extends AbstractReferenceCountedByteBuf implements
         if (from >= to) {
             return;
         }
-        final int size = componentCount;
+        final int size = componentCount, first = firstComponent;
         assert from >= 0 && to <= size;
+        if (from == 0 && to < size) {
+            // Removing from the front is O(1) per removed component, the gap is reclaimed by shiftComps.
+            for (int i = first; i < first + to; i++) {
+                components[i] = null;
+            }
+            firstComponent = first + to;
+            componentCount = size - to;
+            return;
+        }
         if (to < size) {
-            System.arraycopy(components, to, components, from, size - to);
+            System.arraycopy(components, first + to, components, first + from, size - to);
         }
         int newSize = size - to + from;
-        for (int i = newSize; i < size; i++) {
+        for (int i = first + newSize; i < first + size; i++) {
             components[i] = null;
         }
         componentCount = newSize;
+        if (newSize == 0) {
+            firstComponent = 0;
+        }
     }
 
     private void addComp(int i, Component c) {
         shiftComps(i, 1);
-        components[i] = c;
+        setComp(i, c);
     }
 
     private void shiftComps(int i, int count) {
-        final int size = componentCount, newSize = size + count;
+        final int size = componentCount, newSize = size + count, first = firstComponent;
         assert i >= 0 && i <= size && count > 0;
-        if (newSize > components.length) {
-            // grow the array
+        if (i == 0 && first >= count) {
+            // Prepend into the gap left by components removed from the front.
+            firstComponent = first - count;
+        } else if (first + newSize > components.length) {
             int newArrSize = Math.max(size + (size >> 1), newSize);
-            Component[] newArr;
-            if (i == size) {
-                newArr = Arrays.copyOf(components, newArrSize, Component[].class);
-            } else {
-                newArr = new Component[newArrSize];
-                if (i > 0) {
-                    System.arraycopy(components, 0, newArr, 0, i);
-                }
-                if (i < size) {
-                    System.arraycopy(components, i, newArr, i + count, size - i);
+            // Reuse the array if at least a third of it is the gap left by components removed from the front,
+            // which keeps removing from the front and adding to the end amortized O(1).
+            Component[] newArr = newArrSize <= components.length ? components : new Component[newArrSize];
+            if (i > 0) {
+                System.arraycopy(components, first, newArr, 0, i);
+            }
+            if (i < size) {
+                System.arraycopy(components, first + i, newArr, i + count, size - i);
+            }
+            if (newArr == components) {
+                for (int j = Math.max(newSize, first); j < first + size; j++) {
+                    components[j] = null;
                 }
             }
             components = newArr;
+            firstComponent = 0;
         } else if (i < size) {
-            System.arraycopy(components, i, components, i + count, size - i);
+            System.arraycopy(components, first + i, components, first + i + count, size - i);
         }
         componentCount = newSize;
     }
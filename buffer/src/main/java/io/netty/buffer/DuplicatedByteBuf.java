@@ -395,6 +395,11 @@ public class DuplicatedByteBuf extends AbstractDerivedByteBuf {
         return unwrap().nioBuffers(index, length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        return unwrap().forEachRegion(index, length, processor);
+    }
+
     @Override
     public int forEachByte(int index, int length, ByteProcessor processor) {
         return unwrap().forEachByte(index, length, processor);
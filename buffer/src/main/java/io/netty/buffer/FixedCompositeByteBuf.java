@@ -599,6 +599,33 @@ final class FixedCompositeByteBuf extends AbstractReferenceCountedByteBuf {
         }
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return true;
+        }
+
+        Component c = findComponent(index);
+        int i = c.index;
+        int adjustment = c.offset;
+        ByteBuf s = c.buf;
+        for (;;) {
+            int localLength = Math.min(length, s.readableBytes() - (index - adjustment));
+            if (localLength != 0 && !s.forEachRegion(index - adjustment, localLength, processor)) {
+                return false;
+            }
+
+            index += localLength;
+            length -= localLength;
+            adjustment += s.readableBytes();
+            if (length <= 0) {
+                return true;
+            }
+            s = buffer(++i);
+        }
+    }
+
     @Override
     public boolean hasArray() {
         switch (buffers.length) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.UnstableApi;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ByteBufAllocator} which backs large direct buffers by memory mapped temporary files instead of memory that
+ * counts against the heap or the direct memory limit of the JVM. This is useful for very large payloads like
+ * uploads or cached blobs, which are paged in and out by the operating system on demand.
+ * <p>
+ * Every direct buffer whose initial capacity is at least the mapping threshold gets its own temporary file, which is
+ * deleted as soon as it is mapped. The mapping is released as soon as the buffer is released, and each change of
+ * the capacity maps a new file. The buffers are normal direct {@link ByteBuf}s, so {@link ByteBuf#nioBuffers()} and
+ * {@link ByteBuf#memoryAddress()} expose the mapped memory itself and writes to a channel do not need to copy it.
+ * <p>
+ * All other allocations, including all heap buffers, are served by a delegate {@link ByteBufAllocator}. On Linux the
+ * directory can point to a {@code tmpfs} like {@code /dev/shm} to get the same behaviour as a {@code memfd}.
+ */
+@UnstableApi
+public final class MappedByteBufAllocator extends AbstractByteBufAllocator {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(MappedByteBufAllocator.class);
+
+    private static final int DEFAULT_MAPPING_THRESHOLD;
+    private static final File DEFAULT_DIRECTORY;
+
+    static {
+        DEFAULT_MAPPING_THRESHOLD = SystemPropertyUtil.getInt("io.netty.allocator.mappingThreshold", 4 * 1024 * 1024);
+        String directory = SystemPropertyUtil.get("io.netty.allocator.mappingDirectory");
+        DEFAULT_DIRECTORY = directory == null ? PlatformDependent.tmpdir() : new File(directory);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.allocator.mappingThreshold: {}", DEFAULT_MAPPING_THRESHOLD);
+            logger.debug("-Dio.netty.allocator.mappingDirectory: {}", DEFAULT_DIRECTORY);
+        }
+    }
+
+    private final ByteBufAllocator delegate;
+    private final File directory;
+    private final int mappingThreshold;
+    private final LongAdder mappedCounter = new LongAdder();
+
+    /**
+     * Creates a new instance which uses {@link ByteBufAllocator#DEFAULT} for small buffers and the default directory
+     * and mapping threshold.
+     */
+    public MappedByteBufAllocator() {
+        this(ByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Creates a new instance which uses the default directory and mapping threshold.
+     *
+     * @param delegate the {@link ByteBufAllocator} used for heap buffers and direct buffers below the threshold.
+     */
+    public MappedByteBufAllocator(ByteBufAllocator delegate) {
+        this(delegate, DEFAULT_DIRECTORY, DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate the {@link ByteBufAllocator} used for heap buffers and direct buffers below the threshold.
+     * @param directory the directory in which the temporary files are created.
+     * @param mappingThreshold the minimum initial capacity of a direct buffer that is memory mapped.
+     */
+    public MappedByteBufAllocator(ByteBufAllocator delegate, File directory, int mappingThreshold) {
+        super(true);
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.directory = requireNonNull(directory, "directory");
+        this.mappingThreshold = checkPositive(mappingThreshold, "mappingThreshold");
+    }
+
+    /**
+     * Default minimum initial capacity of a direct buffer that is memory mapped -
+     * System Property: io.netty.allocator.mappingThreshold - default 4MB
+     */
+    public static int defaultMappingThreshold() {
+        return DEFAULT_MAPPING_THRESHOLD;
+    }
+
+    /**
+     * Default directory of the temporary files - System Property: io.netty.allocator.mappingDirectory - default
+     * {@code io.netty.tmpdir}
+     */
+    public static File defaultDirectory() {
+        return DEFAULT_DIRECTORY;
+    }
+
+    /**
+     * Returns the number of bytes that are currently mapped by buffers of this allocator.
+     */
+    public long usedMappedMemory() {
+        return mappedCounter.longValue();
+    }
+
+    @Override
+    protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+        return delegate.heapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+        if (initialCapacity < mappingThreshold) {
+            return delegate.directBuffer(initialCapacity, maxCapacity);
+        }
+        return toLeakAwareBuffer(newMappedBuffer(initialCapacity, maxCapacity));
+    }
+
+    ByteBuf newMappedBuffer(int initialCapacity, int maxCapacity) {
+        return PlatformDependent.hasUnsafe() ?
+                new UnpooledUnsafeMappedByteBuf(this, initialCapacity, maxCapacity) :
+                new UnpooledMappedByteBuf(this, initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+        return delegate.isDirectBufferPooled();
+    }
+
+    ByteBuffer map(int capacity) {
+        File file = null;
+        try {
+            file = File.createTempFile("netty-mapped-", ".tmp", directory);
+            ByteBuffer buffer;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(capacity);
+                buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+            mappedCounter.add(capacity);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to map " + capacity + " bytes in " + directory, e);
+        } finally {
+            // The mapping stays valid after the file was deleted, which ensures the file is removed even if the
+            // buffer is never released. This is not possible on all platforms while the file is still mapped.
+            if (file != null && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    void unmap(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        PlatformDependent.freeDirectBuffer(buffer);
+        mappedCounter.add(-capacity);
+    }
+
+    private static final class UnpooledUnsafeMappedByteBuf extends UnpooledUnsafeDirectByteBuf {
+        UnpooledUnsafeMappedByteBuf(MappedByteBufAllocator alloc, int initialCapacity, int maxCapacity) {
+            super(alloc, initialCapacity, maxCapacity);
+        }
+
+        @Override
+        protected ByteBuffer allocateDirect(int initialCapacity) {
+            return ((MappedByteBufAllocator) alloc()).map(initialCapacity);
+        }
+
+        @Override
+        protected void freeDirect(ByteBuffer buffer) {
+            ((MappedByteBufAllocator) alloc()).unmap(buffer);
+        }
+    }
+
+    private static final class UnpooledMappedByteBuf extends UnpooledDirectByteBuf {
+        UnpooledMappedByteBuf(MappedByteBufAllocator alloc, int initialCapacity, int maxCapacity) {
+            super(alloc, initialCapacity, maxCapacity);
+        }
+
+        @Override
+        protected ByteBuffer allocateDirect(int initialCapacity) {
+            return ((MappedByteBufAllocator) alloc()).map(initialCapacity);
+        }
+
+        @Override
+        protected void freeDirect(ByteBuffer buffer) {
+            ((MappedByteBufAllocator) alloc()).unmap(buffer);
+        }
+    }
+}
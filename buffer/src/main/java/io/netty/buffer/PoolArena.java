@@ -44,29 +44,30 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
     final int directMemoryCacheAlignmentMask;
     private final PoolSubpage<T>[] smallSubpagePools;
 
-    private final PoolChunkList<T> q050;
-    private final PoolChunkList<T> q025;
-    private final PoolChunkList<T> q000;
-    private final PoolChunkList<T> qInit;
-    private final PoolChunkList<T> q075;
-    private final PoolChunkList<T> q100;
+    // Each stripe owns its own set of PoolChunkLists and is guarded by its own monitor. By default there is
+    // only one stripe, which means all normal allocations and frees of this arena serialize on the same lock.
+    private final ChunkListStripe<T>[] stripes;
 
     private final List<PoolChunkListMetric> chunkListMetrics;
 
     // Metrics for allocations and deallocations
-    private long allocationsNormal;
+    // We need to use the LongAdder here as these are guarded by the lock of the stripe and not by the arena itself.
+    private final LongAdder allocationsNormal = new LongAdder();
+    private final LongAdder deallocationsSmall = new LongAdder();
+    private final LongAdder deallocationsNormal = new LongAdder();
 
     // We need to use the LongAdder here as this is not guarded via synchronized block.
     private final LongAdder allocationsSmall = new LongAdder();
     private final LongAdder allocationsHuge = new LongAdder();
     private final LongAdder activeBytesHuge = new LongAdder();
 
-    private long deallocationsSmall;
-    private long deallocationsNormal;
-
     // We need to use the LongAdder here as this is not guarded via synchronized block.
     private final LongAdder deallocationsHuge = new LongAdder();
 
+    // Bytes of the PoolChunks that are currently held by this arena, and that were released back to the system.
+    private final LongAdder retainedChunkBytes = new LongAdder();
+    private final LongAdder releasedChunkBytes = new LongAdder();
+
     // Number of thread caches backed by this arena.
     final AtomicInteger numThreadCaches = new AtomicInteger();
 
@@ -75,6 +76,11 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
     protected PoolArena(PooledByteBufAllocator parent, int pageSize,
           int pageShifts, int chunkSize, int cacheAlignment) {
+        this(parent, pageSize, pageShifts, chunkSize, cacheAlignment, 1);
+    }
+
+    protected PoolArena(PooledByteBufAllocator parent, int pageSize,
+          int pageShifts, int chunkSize, int cacheAlignment, int numStripes) {
         super(pageSize, pageShifts, chunkSize, cacheAlignment);
         this.parent = parent;
         directMemoryCacheAlignment = cacheAlignment;
@@ -86,27 +92,14 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
             smallSubpagePools[i] = newSubpagePoolHead();
         }
 
-        q100 = new PoolChunkList<>(this, null, 100, Integer.MAX_VALUE, chunkSize);
-        q075 = new PoolChunkList<>(this, q100, 75, 100, chunkSize);
-        q050 = new PoolChunkList<>(this, q075, 50, 100, chunkSize);
-        q025 = new PoolChunkList<>(this, q050, 25, 75, chunkSize);
-        q000 = new PoolChunkList<>(this, q025, 1, 50, chunkSize);
-        qInit = new PoolChunkList<>(this, q000, Integer.MIN_VALUE, 25, chunkSize);
-
-        q100.prevList(q075);
-        q075.prevList(q050);
-        q050.prevList(q025);
-        q025.prevList(q000);
-        q000.prevList(null);
-        qInit.prevList(qInit);
-
-        List<PoolChunkListMetric> metrics = new ArrayList<>(6);
-        metrics.add(qInit);
-        metrics.add(q000);
-        metrics.add(q025);
-        metrics.add(q050);
-        metrics.add(q075);
-        metrics.add(q100);
+        // There is no point in having more stripes than size classes as each size class maps to exactly one stripe.
+        stripes = newStripeArray(Math.min(numStripes, nSizes));
+        List<PoolChunkListMetric> metrics = new ArrayList<>(6 * stripes.length);
+        for (int i = 0; i < stripes.length; i ++) {
+            ChunkListStripe<T> stripe = new ChunkListStripe<>(this, chunkSize);
+            stripes[i] = stripe;
+            stripe.addMetrics(metrics);
+        }
         chunkListMetrics = Collections.unmodifiableList(metrics);
     }
 
@@ -122,10 +115,27 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
         return new PoolSubpage[size];
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T> ChunkListStripe<T>[] newStripeArray(int size) {
+        return new ChunkListStripe[size];
+    }
+
+    /**
+     * Returns the stripe that is responsible for serving allocations of the given size index.
+     */
+    private ChunkListStripe<T> stripe(int sizeIdx) {
+        final ChunkListStripe<T>[] stripes = this.stripes;
+        return stripes.length == 1 ? stripes[0] : stripes[sizeIdx % stripes.length];
+    }
+
+    int numStripes() {
+        return stripes.length;
+    }
+
     abstract boolean isDirect();
 
-    PooledByteBuf<T> allocate(PoolThreadCache cache, int reqCapacity, int maxCapacity) {
-        PooledByteBuf<T> buf = newByteBuf(maxCapacity);
+    PooledByteBuf<T> allocate(PoolThreadCache cache, int reqCapacity, int maxCapacity, boolean threadConfined) {
+        PooledByteBuf<T> buf = newByteBuf(maxCapacity, threadConfined);
         allocate(cache, buf, reqCapacity);
         return buf;
     }
@@ -171,8 +181,9 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
         }
 
         if (needsNormalAllocation) {
-            synchronized (this) {
-                allocateNormal(buf, reqCapacity, sizeIdx, cache);
+            final ChunkListStripe<T> stripe = stripe(sizeIdx);
+            synchronized (stripe) {
+                allocateNormal(stripe, buf, reqCapacity, sizeIdx, cache);
             }
         }
 
@@ -185,27 +196,30 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
             // was able to allocate out of the cache so move on
             return;
         }
-        synchronized (this) {
-            allocateNormal(buf, reqCapacity, sizeIdx, cache);
-            ++allocationsNormal;
+        final ChunkListStripe<T> stripe = stripe(sizeIdx);
+        synchronized (stripe) {
+            allocateNormal(stripe, buf, reqCapacity, sizeIdx, cache);
         }
+        allocationsNormal.increment();
     }
 
-    // Method must be called inside synchronized(this) { ... } block
-    private void allocateNormal(PooledByteBuf<T> buf, int reqCapacity, int sizeIdx, PoolThreadCache threadCache) {
-        if (q050.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
-            q025.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
-            q000.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
-            qInit.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
-            q075.allocate(buf, reqCapacity, sizeIdx, threadCache)) {
+    // Method must be called inside synchronized(stripe) { ... } block
+    private void allocateNormal(ChunkListStripe<T> stripe, PooledByteBuf<T> buf, int reqCapacity, int sizeIdx,
+                                PoolThreadCache threadCache) {
+        if (stripe.q050.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
+            stripe.q025.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
+            stripe.q000.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
+            stripe.qInit.allocate(buf, reqCapacity, sizeIdx, threadCache) ||
+            stripe.q075.allocate(buf, reqCapacity, sizeIdx, threadCache)) {
             return;
         }
 
         // Add a new chunk.
         PoolChunk<T> c = newChunk(pageSize, nPSizes, pageShifts, chunkSize);
+        retainedChunkBytes.add(chunkSize);
         boolean success = c.allocate(buf, reqCapacity, sizeIdx, threadCache);
         assert success;
-        qInit.add(c);
+        stripe.qInit.add(c);
     }
 
     private void incSmallAllocation() {
@@ -242,30 +256,67 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
     void freeChunk(PoolChunk<T> chunk, long handle, int normCapacity, SizeClass sizeClass, ByteBuffer nioBuffer,
                    boolean finalizer) {
-        final boolean destroyChunk;
-        synchronized (this) {
-            // We only call this if freeChunk is not called because of the PoolThreadCache finalizer as otherwise this
-            // may fail due lazy class-loading in for example tomcat.
-            if (!finalizer) {
-                switch (sizeClass) {
-                    case Normal:
-                        ++deallocationsNormal;
-                        break;
-                    case Small:
-                        ++deallocationsSmall;
-                        break;
-                    default:
-                        throw new Error();
-                }
+        // We only call this if freeChunk is not called because of the PoolThreadCache finalizer as otherwise this
+        // may fail due lazy class-loading in for example tomcat.
+        if (!finalizer) {
+            switch (sizeClass) {
+                case Normal:
+                    deallocationsNormal.increment();
+                    break;
+                case Small:
+                    deallocationsSmall.increment();
+                    break;
+                default:
+                    throw new Error();
             }
+        }
+
+        // A chunk never changes its stripe, so it is safe to look it up before acquiring the lock.
+        final ChunkListStripe<T> stripe = chunk.parent.stripe;
+        final boolean destroyChunk;
+        synchronized (stripe) {
             destroyChunk = !chunk.parent.free(chunk, handle, normCapacity, nioBuffer);
         }
         if (destroyChunk) {
             // destroyChunk not need to be called while holding the synchronized lock.
-            destroyChunk(chunk);
+            destroyPooledChunk(chunk);
         }
     }
 
+    private void destroyPooledChunk(PoolChunk<T> chunk) {
+        destroyChunk(chunk);
+        retainedChunkBytes.add(-chunkSize);
+        releasedChunkBytes.add(chunkSize);
+    }
+
+    /**
+     * Destroys all {@link PoolChunk}s that were completely free for at least {@code idleNanos} and returns the number
+     * of bytes that were released.
+     */
+    long releaseIdleChunks(long idleNanos) {
+        final long idleDeadlineNanos = System.nanoTime() - idleNanos;
+        final List<PoolChunk<T>> released = new ArrayList<>();
+        for (ChunkListStripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                // Only qInit can contain completely free chunks, all other lists destroy them immediately.
+                stripe.qInit.removeIdleChunks(idleDeadlineNanos, released);
+            }
+        }
+        for (PoolChunk<T> chunk : released) {
+            // destroyChunk not need to be called while holding the synchronized lock.
+            destroyPooledChunk(chunk);
+        }
+        return (long) released.size() * chunkSize;
+    }
+
+    long retainedChunkBytes() {
+        return retainedChunkBytes.longValue();
+    }
+
+    long releasedChunkBytes() {
+        return releasedChunkBytes.longValue();
+    }
+
     PoolSubpage<T> findSubpagePoolHead(int sizeIdx) {
         return smallSubpagePools[sizeIdx];
     }
@@ -352,12 +403,7 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
     @Override
     public long numAllocations() {
-        final long allocsNormal;
-        synchronized (this) {
-            allocsNormal = allocationsNormal;
-        }
-
-        return allocationsSmall.longValue() + allocsNormal + allocationsHuge.longValue();
+        return allocationsSmall.longValue() + allocationsNormal.longValue() + allocationsHuge.longValue();
     }
 
     @Override
@@ -371,17 +417,13 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
     }
 
     @Override
-    public synchronized long numNormalAllocations() {
-        return allocationsNormal;
+    public long numNormalAllocations() {
+        return allocationsNormal.longValue();
     }
 
     @Override
     public long numDeallocations() {
-        final long deallocs;
-        synchronized (this) {
-            deallocs = deallocationsSmall + deallocationsNormal;
-        }
-        return deallocs + deallocationsHuge.longValue();
+        return deallocationsSmall.longValue() + deallocationsNormal.longValue() + deallocationsHuge.longValue();
     }
 
     @Override
@@ -390,13 +432,13 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
     }
 
     @Override
-    public synchronized long numSmallDeallocations() {
-        return deallocationsSmall;
+    public long numSmallDeallocations() {
+        return deallocationsSmall.longValue();
     }
 
     @Override
-    public synchronized long numNormalDeallocations() {
-        return deallocationsNormal;
+    public long numNormalDeallocations() {
+        return deallocationsNormal.longValue();
     }
 
     @Override
@@ -414,9 +456,7 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
         long val = allocationsSmall.longValue() + allocationsHuge.longValue()
                 - deallocationsHuge.longValue();
-        synchronized (this) {
-            val += allocationsNormal - (deallocationsSmall + deallocationsNormal);
-        }
+        val += allocationsNormal.longValue() - (deallocationsSmall.longValue() + deallocationsNormal.longValue());
         return max(val, 0);
     }
 
@@ -432,10 +472,7 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
     @Override
     public long numActiveNormalAllocations() {
-        final long val;
-        synchronized (this) {
-            val = allocationsNormal - deallocationsNormal;
-        }
+        final long val = allocationsNormal.longValue() - deallocationsNormal.longValue();
         return max(val, 0);
     }
 
@@ -447,50 +484,29 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
     @Override
     public long numActiveBytes() {
         long val = activeBytesHuge.longValue();
-        synchronized (this) {
-            for (int i = 0; i < chunkListMetrics.size(); i++) {
-                for (PoolChunkMetric m: chunkListMetrics.get(i)) {
-                    val += m.chunkSize();
-                }
-            }
+        for (ChunkListStripe<T> stripe : stripes) {
+            val += stripe.activeBytes();
         }
         return max(0, val);
     }
 
     protected abstract PoolChunk<T> newChunk(int pageSize, int maxPageIdx, int pageShifts, int chunkSize);
     protected abstract PoolChunk<T> newUnpooledChunk(int capacity);
-    protected abstract PooledByteBuf<T> newByteBuf(int maxCapacity);
+    /**
+     * Creates a new {@link PooledByteBuf}. If {@code threadConfined} is {@code true} its reference count is confined
+     * to the calling thread, see {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+     */
+    protected abstract PooledByteBuf<T> newByteBuf(int maxCapacity, boolean threadConfined);
     protected abstract void memoryCopy(T src, int srcOffset, PooledByteBuf<T> dst, int length);
     protected abstract void destroyChunk(PoolChunk<T> chunk);
 
     @Override
-    public synchronized String toString() {
-        StringBuilder buf = new StringBuilder()
-            .append("Chunk(s) at 0~25%:")
-            .append(StringUtil.NEWLINE)
-            .append(qInit)
-            .append(StringUtil.NEWLINE)
-            .append("Chunk(s) at 0~50%:")
-            .append(StringUtil.NEWLINE)
-            .append(q000)
-            .append(StringUtil.NEWLINE)
-            .append("Chunk(s) at 25~75%:")
-            .append(StringUtil.NEWLINE)
-            .append(q025)
-            .append(StringUtil.NEWLINE)
-            .append("Chunk(s) at 50~100%:")
-            .append(StringUtil.NEWLINE)
-            .append(q050)
-            .append(StringUtil.NEWLINE)
-            .append("Chunk(s) at 75~100%:")
-            .append(StringUtil.NEWLINE)
-            .append(q075)
-            .append(StringUtil.NEWLINE)
-            .append("Chunk(s) at 100%:")
-            .append(StringUtil.NEWLINE)
-            .append(q100)
-            .append(StringUtil.NEWLINE)
-            .append("small subpages:");
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        for (ChunkListStripe<T> stripe : stripes) {
+            stripe.appendTo(buf);
+        }
+        buf.append("small subpages:");
         appendPoolSubPages(buf, smallSubpagePools);
         buf.append(StringUtil.NEWLINE);
 
@@ -521,7 +537,9 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
             super.finalize();
         } finally {
             destroyPoolSubPages(smallSubpagePools);
-            destroyPoolChunkLists(qInit, q000, q025, q050, q075, q100);
+            for (ChunkListStripe<T> stripe : stripes) {
+                stripe.destroy(this);
+            }
         }
     }
 
@@ -531,9 +549,91 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
         }
     }
 
-    private void destroyPoolChunkLists(PoolChunkList<T>... chunkLists) {
-        for (PoolChunkList<T> chunkList: chunkLists) {
-            chunkList.destroy(this);
+    /**
+     * A set of {@link PoolChunkList}s which is guarded by the monitor of the stripe itself. Each size class is
+     * mapped to exactly one stripe, so threads that allocate different size classes from the same arena only
+     * contend when they end up in the same stripe.
+     */
+    static final class ChunkListStripe<T> {
+        final PoolChunkList<T> q050;
+        final PoolChunkList<T> q025;
+        final PoolChunkList<T> q000;
+        final PoolChunkList<T> qInit;
+        final PoolChunkList<T> q075;
+        final PoolChunkList<T> q100;
+
+        ChunkListStripe(PoolArena<T> arena, int chunkSize) {
+            q100 = new PoolChunkList<>(arena, this, null, 100, Integer.MAX_VALUE, chunkSize);
+            q075 = new PoolChunkList<>(arena, this, q100, 75, 100, chunkSize);
+            q050 = new PoolChunkList<>(arena, this, q075, 50, 100, chunkSize);
+            q025 = new PoolChunkList<>(arena, this, q050, 25, 75, chunkSize);
+            q000 = new PoolChunkList<>(arena, this, q025, 1, 50, chunkSize);
+            qInit = new PoolChunkList<>(arena, this, q000, Integer.MIN_VALUE, 25, chunkSize);
+
+            q100.prevList(q075);
+            q075.prevList(q050);
+            q050.prevList(q025);
+            q025.prevList(q000);
+            q000.prevList(null);
+            qInit.prevList(qInit);
+        }
+
+        void addMetrics(List<PoolChunkListMetric> metrics) {
+            metrics.add(qInit);
+            metrics.add(q000);
+            metrics.add(q025);
+            metrics.add(q050);
+            metrics.add(q075);
+            metrics.add(q100);
+        }
+
+        synchronized long activeBytes() {
+            return activeBytes(qInit) + activeBytes(q000) + activeBytes(q025) +
+                    activeBytes(q050) + activeBytes(q075) + activeBytes(q100);
+        }
+
+        private static long activeBytes(PoolChunkList<?> list) {
+            long val = 0;
+            for (PoolChunkMetric m: list) {
+                val += m.chunkSize();
+            }
+            return val;
+        }
+
+        synchronized void appendTo(StringBuilder buf) {
+            buf.append("Chunk(s) at 0~25%:")
+               .append(StringUtil.NEWLINE)
+               .append(qInit)
+               .append(StringUtil.NEWLINE)
+               .append("Chunk(s) at 0~50%:")
+               .append(StringUtil.NEWLINE)
+               .append(q000)
+               .append(StringUtil.NEWLINE)
+               .append("Chunk(s) at 25~75%:")
+               .append(StringUtil.NEWLINE)
+               .append(q025)
+               .append(StringUtil.NEWLINE)
+               .append("Chunk(s) at 50~100%:")
+               .append(StringUtil.NEWLINE)
+               .append(q050)
+               .append(StringUtil.NEWLINE)
+               .append("Chunk(s) at 75~100%:")
+               .append(StringUtil.NEWLINE)
+               .append(q075)
+               .append(StringUtil.NEWLINE)
+               .append("Chunk(s) at 100%:")
+               .append(StringUtil.NEWLINE)
+               .append(q100)
+               .append(StringUtil.NEWLINE);
+        }
+
+        void destroy(PoolArena<T> arena) {
+            qInit.destroy(arena);
+            q000.destroy(arena);
+            q025.destroy(arena);
+            q050.destroy(arena);
+            q075.destroy(arena);
+            q100.destroy(arena);
         }
     }
 
@@ -541,8 +641,13 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
         HeapArena(PooledByteBufAllocator parent, int pageSize, int pageShifts,
                   int chunkSize, int directMemoryCacheAlignment) {
+            this(parent, pageSize, pageShifts, chunkSize, directMemoryCacheAlignment, 1);
+        }
+
+        HeapArena(PooledByteBufAllocator parent, int pageSize, int pageShifts,
+                  int chunkSize, int directMemoryCacheAlignment, int numStripes) {
             super(parent, pageSize, pageShifts, chunkSize,
-                  directMemoryCacheAlignment);
+                  directMemoryCacheAlignment, numStripes);
         }
 
         private static byte[] newByteArray(int size) {
@@ -570,7 +675,11 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
         }
 
         @Override
-        protected PooledByteBuf<byte[]> newByteBuf(int maxCapacity) {
+        protected PooledByteBuf<byte[]> newByteBuf(int maxCapacity, boolean threadConfined) {
+            if (threadConfined) {
+                return HAS_UNSAFE ? PooledUnsafeHeapByteBuf.ThreadConfined.newInstance(maxCapacity)
+                        : PooledHeapByteBuf.ThreadConfined.newInstance(maxCapacity);
+            }
             return HAS_UNSAFE ? PooledUnsafeHeapByteBuf.newUnsafeInstance(maxCapacity)
                     : PooledHeapByteBuf.newInstance(maxCapacity);
         }
@@ -587,10 +696,23 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
 
     static final class DirectArena extends PoolArena<ByteBuffer> {
 
+        // May be null, in which case the memory is allocated via PlatformDependent.
+        private final ChunkMemoryAllocator chunkMemoryAllocator;
+        // The node of the chunkMemoryAllocator this arena allocates its memory from.
+        final int node;
+
         DirectArena(PooledByteBufAllocator parent, int pageSize, int pageShifts,
                     int chunkSize, int directMemoryCacheAlignment) {
+            this(parent, pageSize, pageShifts, chunkSize, directMemoryCacheAlignment, 1, null, 0);
+        }
+
+        DirectArena(PooledByteBufAllocator parent, int pageSize, int pageShifts,
+                    int chunkSize, int directMemoryCacheAlignment, int numStripes,
+                    ChunkMemoryAllocator chunkMemoryAllocator, int node) {
             super(parent, pageSize, pageShifts, chunkSize,
-                  directMemoryCacheAlignment);
+                  directMemoryCacheAlignment, numStripes);
+            this.chunkMemoryAllocator = chunkMemoryAllocator;
+            this.node = node;
         }
 
         @Override
@@ -637,14 +759,19 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
                     offsetCacheLine(memory));
         }
 
-        private static ByteBuffer allocateDirect(int capacity) {
+        private ByteBuffer allocateDirect(int capacity) {
+            if (chunkMemoryAllocator != null) {
+                return chunkMemoryAllocator.allocate(capacity, node);
+            }
             return PlatformDependent.useDirectBufferNoCleaner() ?
                     PlatformDependent.allocateDirectNoCleaner(capacity) : ByteBuffer.allocateDirect(capacity);
         }
 
         @Override
         protected void destroyChunk(PoolChunk<ByteBuffer> chunk) {
-            if (PlatformDependent.useDirectBufferNoCleaner()) {
+            if (chunkMemoryAllocator != null) {
+                chunkMemoryAllocator.free(chunk.memory);
+            } else if (PlatformDependent.useDirectBufferNoCleaner()) {
                 PlatformDependent.freeDirectNoCleaner(chunk.memory);
             } else {
                 PlatformDependent.freeDirectBuffer(chunk.memory);
@@ -652,7 +779,11 @@ abstract class PoolArena<T> extends SizeClasses implements PoolArenaMetric {
         }
 
         @Override
-        protected PooledByteBuf<ByteBuffer> newByteBuf(int maxCapacity) {
+        protected PooledByteBuf<ByteBuffer> newByteBuf(int maxCapacity, boolean threadConfined) {
+            if (threadConfined) {
+                return HAS_UNSAFE ? PooledUnsafeDirectByteBuf.ThreadConfined.newInstance(maxCapacity)
+                        : PooledDirectByteBuf.ThreadConfined.newInstance(maxCapacity);
+            }
             if (HAS_UNSAFE) {
                 return PooledUnsafeDirectByteBuf.newInstance(maxCapacity);
             } else {
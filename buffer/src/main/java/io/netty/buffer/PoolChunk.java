@@ -178,6 +178,9 @@ final class PoolChunk<T> implements PoolChunkMetric {
 
     int freeBytes;
 
+    // The value of System.nanoTime() when this chunk became completely free the last time.
+    long idleSinceNanos;
+
     PoolChunkList<T> parent;
     PoolChunk<T> prev;
     PoolChunk<T> next;
@@ -279,11 +282,7 @@ final class PoolChunk<T> implements PoolChunkMetric {
 
     @Override
     public int usage() {
-        final int freeBytes;
-        synchronized (arena) {
-            freeBytes = this.freeBytes;
-        }
-        return usage(freeBytes);
+        return usage(freeBytes());
     }
 
     private int usage(int freeBytes) {
@@ -582,17 +581,18 @@ final class PoolChunk<T> implements PoolChunkMetric {
 
     @Override
     public int freeBytes() {
-        synchronized (arena) {
+        if (unpooled) {
+            return freeBytes;
+        }
+        // freeBytes is only ever modified while holding the runsAvail lock.
+        synchronized (runsAvail) {
             return freeBytes;
         }
     }
 
     @Override
     public String toString() {
-        final int freeBytes;
-        synchronized (arena) {
-            freeBytes = this.freeBytes;
-        }
+        final int freeBytes = freeBytes();
 
         return new StringBuilder()
                 .append("Chunk(")
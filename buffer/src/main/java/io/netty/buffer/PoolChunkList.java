@@ -30,6 +30,8 @@ import java.nio.ByteBuffer;
 final class PoolChunkList<T> implements PoolChunkListMetric {
     private static final Iterator<PoolChunkMetric> EMPTY_METRICS = Collections.<PoolChunkMetric>emptyList().iterator();
     private final PoolArena<T> arena;
+    // The stripe this list belongs to. Its monitor guards this list and all the PoolChunks it contains.
+    final PoolArena.ChunkListStripe<T> stripe;
     private final PoolChunkList<T> nextList;
     private final int minUsage;
     private final int maxUsage;
@@ -44,9 +46,11 @@ final class PoolChunkList<T> implements PoolChunkListMetric {
     // TODO: Test if adding padding helps under contention
     //private long pad0, pad1, pad2, pad3, pad4, pad5, pad6, pad7;
 
-    PoolChunkList(PoolArena<T> arena, PoolChunkList<T> nextList, int minUsage, int maxUsage, int chunkSize) {
+    PoolChunkList(PoolArena<T> arena, PoolArena.ChunkListStripe<T> stripe, PoolChunkList<T> nextList,
+                  int minUsage, int maxUsage, int chunkSize) {
         assert minUsage <= maxUsage;
         this.arena = arena;
+        this.stripe = stripe;
         this.nextList = nextList;
         this.minUsage = minUsage;
         this.maxUsage = maxUsage;
@@ -118,6 +122,9 @@ final class PoolChunkList<T> implements PoolChunkListMetric {
 
     boolean free(PoolChunk<T> chunk, long handle, int normCapacity, ByteBuffer nioBuffer) {
         chunk.free(handle, normCapacity, nioBuffer);
+        if (chunk.freeBytes == chunk.chunkSize()) {
+            chunk.idleSinceNanos = System.nanoTime();
+        }
         if (chunk.freeBytes > freeMaxThreshold) {
             remove(chunk);
             // Move the PoolChunk down the PoolChunkList linked-list.
@@ -209,7 +216,7 @@ final class PoolChunkList<T> implements PoolChunkListMetric {
 
     @Override
     public Iterator<PoolChunkMetric> iterator() {
-        synchronized (arena) {
+        synchronized (stripe) {
             if (head == null) {
                 return EMPTY_METRICS;
             }
@@ -228,7 +235,7 @@ final class PoolChunkList<T> implements PoolChunkListMetric {
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder();
-        synchronized (arena) {
+        synchronized (stripe) {
             if (head == null) {
                 return "none";
             }
@@ -245,6 +252,22 @@ final class PoolChunkList<T> implements PoolChunkListMetric {
         return buf.toString();
     }
 
+    /**
+     * Removes all {@link PoolChunk}s that are completely free since {@code idleDeadlineNanos} or earlier from this
+     * {@link PoolChunkList} and adds them to {@code released}, so they can be destroyed once the lock was released.
+     */
+    void removeIdleChunks(long idleDeadlineNanos, List<PoolChunk<T>> released) {
+        PoolChunk<T> cur = head;
+        while (cur != null) {
+            PoolChunk<T> next = cur.next;
+            if (cur.freeBytes == cur.chunkSize() && cur.idleSinceNanos - idleDeadlineNanos <= 0) {
+                remove(cur);
+                released.add(cur);
+            }
+            cur = next;
+        }
+    }
+
     void destroy(PoolArena<T> arena) {
         PoolChunk<T> chunk = head;
         while (chunk != null) {
@@ -28,8 +28,11 @@ import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Acts a Thread cache for allocations. This implementation is moduled after
@@ -37,12 +40,20 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * technics of
  * <a href="https://www.facebook.com/notes/facebook-engineering/scalable-memory-allocation-using-jemalloc/480222803919">
  * Scalable memory allocation using jemalloc</a>.
+ *
+ * When created with an {@link AdaptiveBudget} the cache works in adaptive mode: every {@link MemoryRegionCache}
+ * counts how often its size class was requested since the last trim and uses this histogram to grow or shrink
+ * the number of entries it is allowed to retain. The number of bytes retained by all adaptive caches that share
+ * the same {@link AdaptiveBudget} is bounded by {@link AdaptiveBudget#maxBytes}.
  */
 final class PoolThreadCache {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(PoolThreadCache.class);
     private static final int INTEGER_SIZE_MINUS_ONE = Integer.SIZE - 1;
 
+    // In adaptive mode a MemoryRegionCache may grow up to this factor of the configured cache size.
+    static final int ADAPTIVE_MAX_GROWTH_FACTOR = 4;
+
     final PoolArena<byte[]> heapArena;
     final PoolArena<ByteBuffer> directArena;
 
@@ -58,6 +69,11 @@ final class PoolThreadCache {
     private final int freeSweepAllocationThreshold;
     private final AtomicBoolean freed = new AtomicBoolean();
 
+    // Only set in adaptive mode.
+    private final AdaptiveBudget budget;
+    // The number of bytes this cache reported to the budget during the last trim.
+    private long reportedBytes;
+
     private int allocations;
 
     // TODO: Test if adding padding helps under contention
@@ -66,17 +82,26 @@ final class PoolThreadCache {
     PoolThreadCache(PoolArena<byte[]> heapArena, PoolArena<ByteBuffer> directArena,
                     int smallCacheSize, int normalCacheSize, int maxCachedBufferCapacity,
                     int freeSweepAllocationThreshold) {
+        this(heapArena, directArena, smallCacheSize, normalCacheSize, maxCachedBufferCapacity,
+             freeSweepAllocationThreshold, null);
+    }
+
+    PoolThreadCache(PoolArena<byte[]> heapArena, PoolArena<ByteBuffer> directArena,
+                    int smallCacheSize, int normalCacheSize, int maxCachedBufferCapacity,
+                    int freeSweepAllocationThreshold, AdaptiveBudget budget) {
         checkPositiveOrZero(maxCachedBufferCapacity, "maxCachedBufferCapacity");
         this.freeSweepAllocationThreshold = freeSweepAllocationThreshold;
         this.heapArena = heapArena;
         this.directArena = directArena;
+        this.budget = budget;
+        final boolean adaptive = budget != null;
         if (directArena != null) {
             smallSubPageDirectCaches = createSubPageCaches(
-                    smallCacheSize, directArena.numSmallSubpagePools);
+                    smallCacheSize, directArena, adaptive);
 
             numShiftsNormalDirect = log2(directArena.pageSize);
             normalDirectCaches = createNormalCaches(
-                    normalCacheSize, maxCachedBufferCapacity, directArena);
+                    normalCacheSize, maxCachedBufferCapacity, directArena, adaptive);
 
             directArena.numThreadCaches.getAndIncrement();
         } else {
@@ -88,11 +113,11 @@ final class PoolThreadCache {
         if (heapArena != null) {
             // Create the caches for the heap allocations
             smallSubPageHeapCaches = createSubPageCaches(
-                    smallCacheSize, heapArena.numSmallSubpagePools);
+                    smallCacheSize, heapArena, adaptive);
 
             numShiftsNormalHeap = log2(heapArena.pageSize);
             normalHeapCaches = createNormalCaches(
-                    normalCacheSize, maxCachedBufferCapacity, heapArena);
+                    normalCacheSize, maxCachedBufferCapacity, heapArena, adaptive);
 
             heapArena.numThreadCaches.getAndIncrement();
         } else {
@@ -112,13 +137,14 @@ final class PoolThreadCache {
     }
 
     private static <T> MemoryRegionCache<T>[] createSubPageCaches(
-            int cacheSize, int numCaches) {
+            int cacheSize, PoolArena<T> area, boolean adaptive) {
+        int numCaches = area.numSmallSubpagePools;
         if (cacheSize > 0 && numCaches > 0) {
             @SuppressWarnings("unchecked")
             MemoryRegionCache<T>[] cache = new MemoryRegionCache[numCaches];
             for (int i = 0; i < cache.length; i++) {
                 // TODO: maybe use cacheSize / cache.length
-                cache[i] = new SubPageMemoryRegionCache<>(cacheSize);
+                cache[i] = new SubPageMemoryRegionCache<>(cacheSize, area.sizeIdx2size(i), adaptive);
             }
             return cache;
         } else {
@@ -126,18 +152,18 @@ final class PoolThreadCache {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private static <T> MemoryRegionCache<T>[] createNormalCaches(
-            int cacheSize, int maxCachedBufferCapacity, PoolArena<T> area) {
+            int cacheSize, int maxCachedBufferCapacity, PoolArena<T> area, boolean adaptive) {
         if (cacheSize > 0 && maxCachedBufferCapacity > 0) {
             int max = Math.min(area.chunkSize, maxCachedBufferCapacity);
-            int arraySize = Math.max(1, log2(max / area.pageSize) + 1);
 
-            @SuppressWarnings("unchecked")
-            MemoryRegionCache<T>[] cache = new MemoryRegionCache[arraySize];
-            for (int i = 0; i < cache.length; i++) {
-                cache[i] = new NormalMemoryRegionCache<>(cacheSize);
+            // Create one cache per normal size class up to the maximum capacity we want to cache.
+            List<MemoryRegionCache<T>> cache = new ArrayList<>();
+            for (int idx = area.numSmallSubpagePools; idx < area.nSizes && area.sizeIdx2size(idx) <= max; idx++) {
+                cache.add(new NormalMemoryRegionCache<>(cacheSize, area.sizeIdx2size(idx), adaptive));
             }
-            return cache;
+            return cache.isEmpty() ? null : cache.toArray(new MemoryRegionCache[0]);
         } else {
             return null;
         }
@@ -236,6 +262,11 @@ final class PoolThreadCache {
             if (heapArena != null) {
                 heapArena.numThreadCaches.getAndDecrement();
             }
+
+            if (budget != null) {
+                budget.usedBytes.addAndGet(-reportedBytes);
+                reportedBytes = 0;
+            }
         }
     }
 
@@ -263,6 +294,79 @@ final class PoolThreadCache {
         trim(normalDirectCaches);
         trim(smallSubPageHeapCaches);
         trim(normalHeapCaches);
+
+        if (budget != null) {
+            enforceBudget();
+        }
+
+        // Piggyback on the trim to give back chunks that are not needed anymore, which happens after a burst of
+        // traffic when the thread caches were trimmed and released their memory back to the arenas.
+        PoolArena<?> arena = directArena != null ? directArena : heapArena;
+        if (arena != null) {
+            arena.parent.releaseIdleChunksIfDue();
+        }
+    }
+
+    /**
+     * Report the number of bytes retained by this cache to the shared {@link AdaptiveBudget} and shrink the caches
+     * if all adaptive caches together retain more than allowed.
+     */
+    private void enforceBudget() {
+        long retained = retainedBytes();
+        long used = budget.usedBytes.addAndGet(retained - reportedBytes);
+        reportedBytes = retained;
+
+        if (used > budget.maxBytes && retained > 0) {
+            // Give back the share of memory by which the budget is exceeded, starting with the size classes that
+            // were requested least often.
+            long toRelease = Math.min(retained, used - budget.maxBytes);
+            toRelease -= shrink(smallSubPageDirectCaches, toRelease);
+            toRelease -= shrink(normalDirectCaches, toRelease);
+            toRelease -= shrink(smallSubPageHeapCaches, toRelease);
+            shrink(normalHeapCaches, toRelease);
+
+            retained = retainedBytes();
+            budget.usedBytes.addAndGet(retained - reportedBytes);
+            reportedBytes = retained;
+        }
+    }
+
+    /**
+     * Returns the number of bytes that are currently retained by this cache. Only tracked in adaptive mode.
+     */
+    long retainedBytes() {
+        return retainedBytes(smallSubPageDirectCaches) + retainedBytes(normalDirectCaches) +
+                retainedBytes(smallSubPageHeapCaches) + retainedBytes(normalHeapCaches);
+    }
+
+    private static long retainedBytes(MemoryRegionCache<?>[] caches) {
+        if (caches == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (MemoryRegionCache<?> c: caches) {
+            bytes += c.retainedBytes();
+        }
+        return bytes;
+    }
+
+    private static long shrink(MemoryRegionCache<?>[] caches, long bytes) {
+        if (caches == null || bytes <= 0) {
+            return 0;
+        }
+        long released = 0;
+        // The caches that did not see any requests since the last trim go first.
+        for (int pass = 0; pass < 2 && released < bytes; pass++) {
+            for (MemoryRegionCache<?> c: caches) {
+                if (released >= bytes) {
+                    break;
+                }
+                if (pass == 1 || c.lastRequests == 0) {
+                    released += c.shrink(bytes - released);
+                }
+            }
+        }
+        return released;
     }
 
     private static void trim(MemoryRegionCache<?>[] caches) {
@@ -289,10 +393,12 @@ final class PoolThreadCache {
     }
 
     private MemoryRegionCache<?> cacheForNormal(PoolArena<?> area, int sizeIdx) {
+        // We need to subtract area.numSmallSubpagePools as sizeIdx is the overall index for all sizes.
+        int idx = sizeIdx - area.numSmallSubpagePools;
         if (area.isDirect()) {
-            return cache(normalDirectCaches, sizeIdx);
+            return cache(normalDirectCaches, idx);
         }
-        return cache(normalHeapCaches, sizeIdx);
+        return cache(normalHeapCaches, idx);
     }
 
     private static <T> MemoryRegionCache<T> cache(MemoryRegionCache<T>[] cache, int sizeIdx) {
@@ -302,12 +408,25 @@ final class PoolThreadCache {
         return cache[sizeIdx];
     }
 
+    /**
+     * Shared state of all adaptive {@link PoolThreadCache}s of a {@link PooledByteBufAllocator}, used to bound the
+     * memory retained by all of them.
+     */
+    static final class AdaptiveBudget {
+        final long maxBytes;
+        final AtomicLong usedBytes = new AtomicLong();
+
+        AdaptiveBudget(long maxBytes) {
+            this.maxBytes = maxBytes <= 0 ? Long.MAX_VALUE : maxBytes;
+        }
+    }
+
     /**
      * Cache used for buffers which are backed by TINY or SMALL size.
      */
     private static final class SubPageMemoryRegionCache<T> extends MemoryRegionCache<T> {
-        SubPageMemoryRegionCache(int size) {
-            super(size, SizeClass.Small);
+        SubPageMemoryRegionCache(int size, int elemSize, boolean adaptive) {
+            super(size, elemSize, SizeClass.Small, adaptive);
         }
 
         @Override
@@ -322,8 +441,8 @@ final class PoolThreadCache {
      * Cache used for buffers which are backed by NORMAL size.
      */
     private static final class NormalMemoryRegionCache<T> extends MemoryRegionCache<T> {
-        NormalMemoryRegionCache(int size) {
-            super(size, SizeClass.Normal);
+        NormalMemoryRegionCache(int size, int elemSize, boolean adaptive) {
+            super(size, elemSize, SizeClass.Normal, adaptive);
         }
 
         @Override
@@ -336,14 +455,33 @@ final class PoolThreadCache {
 
     private abstract static class MemoryRegionCache<T> {
         private final int size;
+        private final int elemSize;
         private final Queue<Entry<T>> queue;
         private final SizeClass sizeClass;
+        private final boolean adaptive;
         private int allocations;
 
-        MemoryRegionCache(int size, SizeClass sizeClass) {
-            this.size = MathUtil.safeFindNextPositivePowerOfTwo(size);
-            queue = PlatformDependent.newFixedMpscQueue(this.size);
+        // The number of times this size class was requested since the last trim, hit or miss. Only used in
+        // adaptive mode and only accessed from the thread that owns the cache.
+        private int requests;
+        int lastRequests;
+
+        // The number of entries this cache is allowed to retain. In adaptive mode this changes with the observed
+        // demand, it's read from other threads when they add entries.
+        private volatile int limit;
+
+        MemoryRegionCache(int size, int elemSize, SizeClass sizeClass, boolean adaptive) {
+            this.elemSize = elemSize;
             this.sizeClass = sizeClass;
+            this.adaptive = adaptive;
+            int initialSize = MathUtil.safeFindNextPositivePowerOfTwo(size);
+            if (adaptive) {
+                this.size = MathUtil.safeFindNextPositivePowerOfTwo(size * ADAPTIVE_MAX_GROWTH_FACTOR);
+            } else {
+                this.size = initialSize;
+            }
+            limit = initialSize;
+            queue = PlatformDependent.newFixedMpscQueue(this.size);
         }
 
         /**
@@ -357,6 +495,9 @@ final class PoolThreadCache {
          */
         @SuppressWarnings("unchecked")
         public final boolean add(PoolChunk<T> chunk, ByteBuffer nioBuffer, long handle, int normCapacity) {
+            if (adaptive && queue.size() >= limit) {
+                return false;
+            }
             Entry<T> entry = newEntry(chunk, nioBuffer, handle, normCapacity);
             boolean queued = queue.offer(entry);
             if (!queued) {
@@ -371,6 +512,8 @@ final class PoolThreadCache {
          * Allocate something out of the cache if possible and remove the entry from the cache.
          */
         public final boolean allocate(PooledByteBuf<T> buf, int reqCapacity, PoolThreadCache threadCache) {
+            // requests is not thread-safe which is fine as this is only called from the same thread all time.
+            ++ requests;
             Entry<T> entry = queue.poll();
             if (entry == null) {
                 return false;
@@ -408,6 +551,10 @@ final class PoolThreadCache {
          * Free up cached {@link PoolChunk}s if not allocated frequently enough.
          */
         public final void trim() {
+            if (adaptive) {
+                adapt();
+                return;
+            }
             int free = size - allocations;
             allocations = 0;
 
@@ -417,6 +564,44 @@ final class PoolThreadCache {
             }
         }
 
+        /**
+         * Resize this cache based on how often its size class was requested since the last trim. The new limit is
+         * the average of the previous limit and the observed demand, so hot size classes grow quickly while size
+         * classes that are no longer used decay to zero.
+         */
+        private void adapt() {
+            // Round up as long as there is demand so a size class that is requested once per trim interval keeps at
+            // least one entry.
+            int newLimit = Math.min(size, (limit + requests + (requests > 0 ? 1 : 0)) >>> 1);
+            lastRequests = requests;
+            requests = 0;
+            allocations = 0;
+            limit = newLimit;
+
+            int free = queue.size() - newLimit;
+            if (free > 0) {
+                free(free, false);
+            }
+        }
+
+        /**
+         * Release up to {@code bytes} bytes of cached memory and lower the limit accordingly.
+         * Returns the number of bytes that were released.
+         */
+        final long shrink(long bytes) {
+            int entries = (int) Math.min(queue.size(), (bytes + elemSize - 1) / elemSize);
+            if (entries <= 0) {
+                return 0;
+            }
+            int freed = free(entries, false);
+            limit = Math.max(0, limit - freed);
+            return (long) freed * elemSize;
+        }
+
+        final long retainedBytes() {
+            return (long) queue.size() * elemSize;
+        }
+
         @SuppressWarnings({ "unchecked", "rawtypes" })
         private  void freeEntry(Entry entry, boolean finalizer) {
             PoolChunk chunk = entry.chunk;
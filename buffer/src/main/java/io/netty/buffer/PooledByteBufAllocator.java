@@ -16,6 +16,7 @@
 
 package io.netty.buffer;
 
+import static io.netty.util.internal.ObjectUtil.checkPositive;
 import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
 
 import io.netty.util.NettyRuntime;
@@ -34,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PooledByteBufAllocator extends AbstractByteBufAllocator implements ByteBufAllocatorMetricProvider {
 
@@ -50,12 +52,19 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
     private static final long DEFAULT_CACHE_TRIM_INTERVAL_MILLIS;
     private static final boolean DEFAULT_USE_CACHE_FOR_ALL_THREADS;
     private static final int DEFAULT_DIRECT_MEMORY_CACHE_ALIGNMENT;
+    private static final int DEFAULT_ARENA_LOCK_STRIPES;
+    private static final boolean DEFAULT_ADAPTIVE_THREAD_CACHE;
+    private static final long DEFAULT_THREAD_CACHE_MAX_BYTES;
+    private static final long DEFAULT_CHUNK_RELEASE_IDLE_TIME_MILLIS;
+    private static final long DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS;
+    private static final boolean DEFAULT_THREAD_CONFINED_REF_CNT;
     static final int DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK;
 
     private static final int MIN_PAGE_SIZE = 4096;
     private static final int MAX_CHUNK_SIZE = (int) (((long) Integer.MAX_VALUE + 1) / 2);
 
     private final Runnable trimTask = this::trimCurrentThreadCache;
+    private final Runnable releaseIdleChunksTask = this::releaseIdleChunksIfDue;
 
     static {
         int defaultPageSize = SystemPropertyUtil.getInt("io.netty.allocator.pageSize", 8192);
@@ -126,6 +135,34 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
         DEFAULT_DIRECT_MEMORY_CACHE_ALIGNMENT = SystemPropertyUtil.getInt(
                 "io.netty.allocator.directMemoryCacheAlignment", 0);
 
+        // Use a single lock per arena by default. Using more stripes reduces contention on the arena when the thread
+        // caches miss, at the cost of some additional fragmentation as each stripe maintains its own PoolChunks.
+        DEFAULT_ARENA_LOCK_STRIPES = SystemPropertyUtil.getInt(
+                "io.netty.allocator.arenaLockStripes", 1);
+
+        // Size the thread caches based on the observed demand per size class instead of using fixed sizes.
+        DEFAULT_ADAPTIVE_THREAD_CACHE = SystemPropertyUtil.getBoolean(
+                "io.netty.allocator.adaptiveThreadCache", false);
+
+        // The maximum number of bytes all adaptive thread caches of an allocator may retain. 0 means unbounded.
+        DEFAULT_THREAD_CACHE_MAX_BYTES = Math.max(0, SystemPropertyUtil.getLong(
+                "io.netty.allocator.threadCacheMaxBytes", 0));
+
+        // Release completely free chunks back to the system once they were not used for the given time.
+        // 0 means chunks are retained forever.
+        DEFAULT_CHUNK_RELEASE_IDLE_TIME_MILLIS = Math.max(0, SystemPropertyUtil.getLong(
+                "io.netty.allocator.chunkReleaseIdleTimeMillis", 0));
+
+        // Interval in which each EventLoop that uses the allocator checks for idle chunks. 0 means the check is only
+        // done while allocating.
+        DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS = SystemPropertyUtil.getLong(
+                "io.netty.allocator.chunkReleaseCheckIntervalMillis", 0);
+
+        // Update the reference count of allocated buffers without atomic operations. Only safe for buffers that are
+        // never retained or released by a thread other than the allocating one.
+        DEFAULT_THREAD_CONFINED_REF_CNT = SystemPropertyUtil.getBoolean(
+                "io.netty.allocator.threadConfinedRefCnt", false);
+
         // Use 1023 by default as we use an ArrayDeque as backing storage which will then allocate an internal array
         // of 1024 elements. Otherwise we would allocate 2048 and only use 1024 which is wasteful.
         DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK = SystemPropertyUtil.getInt(
@@ -153,6 +190,14 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
             logger.debug("-Dio.netty.allocator.useCacheForAllThreads: {}", DEFAULT_USE_CACHE_FOR_ALL_THREADS);
             logger.debug("-Dio.netty.allocator.maxCachedByteBuffersPerChunk: {}",
                     DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK);
+            logger.debug("-Dio.netty.allocator.arenaLockStripes: {}", DEFAULT_ARENA_LOCK_STRIPES);
+            logger.debug("-Dio.netty.allocator.adaptiveThreadCache: {}", DEFAULT_ADAPTIVE_THREAD_CACHE);
+            logger.debug("-Dio.netty.allocator.threadCacheMaxBytes: {}", DEFAULT_THREAD_CACHE_MAX_BYTES);
+            logger.debug("-Dio.netty.allocator.chunkReleaseIdleTimeMillis: {}",
+                    DEFAULT_CHUNK_RELEASE_IDLE_TIME_MILLIS);
+            logger.debug("-Dio.netty.allocator.chunkReleaseCheckIntervalMillis: {}",
+                    DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS);
+            logger.debug("-Dio.netty.allocator.threadConfinedRefCnt: {}", DEFAULT_THREAD_CONFINED_REF_CNT);
         }
     }
 
@@ -167,7 +212,13 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
     private final List<PoolArenaMetric> directArenaMetrics;
     private final PoolThreadLocalCache threadCache;
     private final int chunkSize;
+    private final PoolThreadCache.AdaptiveBudget threadCacheBudget;
+    private final ChunkMemoryAllocator chunkMemoryAllocator;
     private final PooledByteBufAllocatorMetric metric;
+    private final AtomicLong nextChunkReleaseNanos = new AtomicLong(System.nanoTime());
+    private volatile long chunkReleaseIdleTimeNanos = TimeUnit.MILLISECONDS.toNanos(
+            DEFAULT_CHUNK_RELEASE_IDLE_TIME_MILLIS);
+    private volatile boolean threadConfinedRefCnt = DEFAULT_THREAD_CONFINED_REF_CNT;
 
     public PooledByteBufAllocator() {
         this(false);
@@ -243,6 +294,66 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
     public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
                                   int smallCacheSize, int normalCacheSize,
                                   boolean useCacheForAllThreads, int directMemoryCacheAlignment) {
+        this(preferDirect, nHeapArena, nDirectArena, pageSize, maxOrder,
+             smallCacheSize, normalCacheSize,
+             useCacheForAllThreads, directMemoryCacheAlignment, DEFAULT_ARENA_LOCK_STRIPES);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param arenaLockStripes the number of lock stripes used by each arena. Each size class is mapped to one stripe
+     *                         which owns its own {@link PoolChunk}s, so allocations of different size classes that
+     *                         miss the thread local cache do not contend on the same arena lock.
+     */
+    public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
+                                  int smallCacheSize, int normalCacheSize,
+                                  boolean useCacheForAllThreads, int directMemoryCacheAlignment,
+                                  int arenaLockStripes) {
+        this(preferDirect, nHeapArena, nDirectArena, pageSize, maxOrder,
+             smallCacheSize, normalCacheSize,
+             useCacheForAllThreads, directMemoryCacheAlignment, arenaLockStripes,
+             DEFAULT_ADAPTIVE_THREAD_CACHE, DEFAULT_THREAD_CACHE_MAX_BYTES);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param arenaLockStripes the number of lock stripes used by each arena.
+     * @param adaptiveThreadCache {@code true} if the thread local caches should size the cache of each size class
+     *                            according to the observed demand. In this case {@code smallCacheSize} and
+     *                            {@code normalCacheSize} are used as initial sizes.
+     * @param threadCacheMaxBytes the maximum number of bytes that all adaptive thread local caches together may
+     *                            retain, or {@code 0} if unbounded. Only used if {@code adaptiveThreadCache} is
+     *                            {@code true}.
+     */
+    public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
+                                  int smallCacheSize, int normalCacheSize,
+                                  boolean useCacheForAllThreads, int directMemoryCacheAlignment,
+                                  int arenaLockStripes, boolean adaptiveThreadCache, long threadCacheMaxBytes) {
+        this(preferDirect, nHeapArena, nDirectArena, pageSize, maxOrder,
+             smallCacheSize, normalCacheSize,
+             useCacheForAllThreads, directMemoryCacheAlignment, arenaLockStripes,
+             adaptiveThreadCache, threadCacheMaxBytes, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param arenaLockStripes the number of lock stripes used by each arena.
+     * @param adaptiveThreadCache {@code true} if the thread local caches should be sized according to the observed
+     *                            demand.
+     * @param threadCacheMaxBytes the maximum number of bytes that all adaptive thread local caches together may
+     *                            retain, or {@code 0} if unbounded.
+     * @param chunkMemoryAllocator the {@link ChunkMemoryAllocator} that provides the memory of the direct arenas, or
+     *                             {@code null} if the memory should be allocated by the JDK. If it has more than one
+     *                             node, the direct arenas are distributed evenly across all nodes.
+     */
+    public PooledByteBufAllocator(boolean preferDirect, int nHeapArena, int nDirectArena, int pageSize, int maxOrder,
+                                  int smallCacheSize, int normalCacheSize,
+                                  boolean useCacheForAllThreads, int directMemoryCacheAlignment,
+                                  int arenaLockStripes, boolean adaptiveThreadCache, long threadCacheMaxBytes,
+                                  ChunkMemoryAllocator chunkMemoryAllocator) {
         super(preferDirect);
         threadCache = new PoolThreadLocalCache(useCacheForAllThreads);
         this.smallCacheSize = smallCacheSize;
@@ -251,6 +362,12 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
 
         checkPositiveOrZero(nHeapArena, "nHeapArena");
         checkPositiveOrZero(nDirectArena, "nDirectArena");
+        checkPositive(arenaLockStripes, "arenaLockStripes");
+        checkPositiveOrZero(threadCacheMaxBytes, "threadCacheMaxBytes");
+        threadCacheBudget = adaptiveThreadCache ? new PoolThreadCache.AdaptiveBudget(threadCacheMaxBytes) : null;
+        this.chunkMemoryAllocator = chunkMemoryAllocator;
+        final int numNodes = chunkMemoryAllocator == null ? 1 : checkPositive(
+                chunkMemoryAllocator.numNodes(), "chunkMemoryAllocator.numNodes()");
 
         checkPositiveOrZero(directMemoryCacheAlignment, "directMemoryCacheAlignment");
         if (directMemoryCacheAlignment > 0 && !isDirectMemoryCacheAlignmentSupported()) {
@@ -270,7 +387,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
             for (int i = 0; i < heapArenas.length; i ++) {
                 PoolArena.HeapArena arena = new PoolArena.HeapArena(this,
                         pageSize, pageShifts, chunkSize,
-                        directMemoryCacheAlignment);
+                        directMemoryCacheAlignment, arenaLockStripes);
                 heapArenas[i] = arena;
                 metrics.add(arena);
             }
@@ -285,7 +402,8 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
             List<PoolArenaMetric> metrics = new ArrayList<>(directArenas.length);
             for (int i = 0; i < directArenas.length; i ++) {
                 PoolArena.DirectArena arena = new PoolArena.DirectArena(
-                        this, pageSize, pageShifts, chunkSize, directMemoryCacheAlignment);
+                        this, pageSize, pageShifts, chunkSize, directMemoryCacheAlignment, arenaLockStripes,
+                        chunkMemoryAllocator, i % numNodes);
                 directArenas[i] = arena;
                 metrics.add(arena);
             }
@@ -339,7 +457,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
 
         final ByteBuf buf;
         if (heapArena != null) {
-            buf = heapArena.allocate(cache, initialCapacity, maxCapacity);
+            buf = heapArena.allocate(cache, initialCapacity, maxCapacity, threadConfinedRefCnt);
         } else {
             buf = PlatformDependent.hasUnsafe() ?
                     new UnpooledUnsafeHeapByteBuf(this, initialCapacity, maxCapacity) :
@@ -356,7 +474,7 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
 
         final ByteBuf buf;
         if (directArena != null) {
-            buf = directArena.allocate(cache, initialCapacity, maxCapacity);
+            buf = directArena.allocate(cache, initialCapacity, maxCapacity, threadConfinedRefCnt);
         } else {
             buf = PlatformDependent.hasUnsafe() ?
                     UnsafeByteBufUtil.newUnsafeDirectByteBuf(this, initialCapacity, maxCapacity) :
@@ -432,6 +550,44 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
         return DEFAULT_NORMAL_CACHE_SIZE;
     }
 
+    /**
+     * Default number of lock stripes per arena - System Property: io.netty.allocator.arenaLockStripes - default 1
+     */
+    public static int defaultArenaLockStripes() {
+        return DEFAULT_ARENA_LOCK_STRIPES;
+    }
+
+    /**
+     * Default adaptive thread cache behavior - System Property: io.netty.allocator.adaptiveThreadCache - default false
+     */
+    public static boolean defaultAdaptiveThreadCache() {
+        return DEFAULT_ADAPTIVE_THREAD_CACHE;
+    }
+
+    /**
+     * Default maximum number of bytes retained by all adaptive thread caches -
+     * System Property: io.netty.allocator.threadCacheMaxBytes - default 0 (unbounded)
+     */
+    public static long defaultThreadCacheMaxBytes() {
+        return DEFAULT_THREAD_CACHE_MAX_BYTES;
+    }
+
+    /**
+     * Default time after which completely free chunks are released -
+     * System Property: io.netty.allocator.chunkReleaseIdleTimeMillis - default 0 (never)
+     */
+    public static long defaultChunkReleaseIdleTimeMillis() {
+        return DEFAULT_CHUNK_RELEASE_IDLE_TIME_MILLIS;
+    }
+
+    /**
+     * Default value for updating the reference count of allocated buffers without atomic operations while they are
+     * confined to the allocating thread - System Property: io.netty.allocator.threadConfinedRefCnt - default false
+     */
+    public static boolean defaultThreadConfinedRefCnt() {
+        return DEFAULT_THREAD_CONFINED_REF_CNT;
+    }
+
     /**
      * Return {@code true} if direct memory cache alignment is supported, {@code false} otherwise.
      */
@@ -471,13 +627,13 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
         @Override
         protected synchronized PoolThreadCache initialValue() {
             final PoolArena<byte[]> heapArena = leastUsedArena(heapArenas);
-            final PoolArena<ByteBuffer> directArena = leastUsedArena(directArenas);
+            final PoolArena<ByteBuffer> directArena = leastUsedDirectArena();
 
             final Thread current = Thread.currentThread();
             if (useCacheForAllThreads || current instanceof FastThreadLocalThread) {
                 final PoolThreadCache cache = new PoolThreadCache(
                         heapArena, directArena, smallCacheSize, normalCacheSize,
-                        DEFAULT_MAX_CACHED_BUFFER_CAPACITY, DEFAULT_CACHE_TRIM_INTERVAL);
+                        DEFAULT_MAX_CACHED_BUFFER_CAPACITY, DEFAULT_CACHE_TRIM_INTERVAL, threadCacheBudget);
 
                 if (DEFAULT_CACHE_TRIM_INTERVAL_MILLIS > 0) {
                     final EventExecutor executor = ThreadExecutorMap.currentExecutor();
@@ -486,6 +642,13 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
                                 DEFAULT_CACHE_TRIM_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
                     }
                 }
+                if (DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS > 0) {
+                    final EventExecutor executor = ThreadExecutorMap.currentExecutor();
+                    if (executor != null) {
+                        executor.scheduleAtFixedRate(releaseIdleChunksTask, DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS,
+                                DEFAULT_CHUNK_RELEASE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                }
                 return cache;
             }
             // No caching so just use 0 as sizes.
@@ -497,6 +660,23 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
             threadCache.free(false);
         }
 
+        private PoolArena<ByteBuffer> leastUsedDirectArena() {
+            if (chunkMemoryAllocator == null || directArenas == null || chunkMemoryAllocator.numNodes() == 1) {
+                return leastUsedArena(directArenas);
+            }
+
+            // Prefer the arenas which allocate their memory from the node the current thread is running on.
+            final int node = chunkMemoryAllocator.currentNode();
+            PoolArena<ByteBuffer> minArena = null;
+            for (PoolArena<ByteBuffer> arena : directArenas) {
+                if (((PoolArena.DirectArena) arena).node == node &&
+                        (minArena == null || arena.numThreadCaches.get() < minArena.numThreadCaches.get())) {
+                    minArena = arena;
+                }
+            }
+            return minArena != null ? minArena : leastUsedArena(directArenas);
+        }
+
         private <T> PoolArena<T> leastUsedArena(PoolArena<T>[] arenas) {
             if (arenas == null || arenas.length == 0) {
                 return null;
@@ -619,6 +799,38 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
         return chunkSize;
     }
 
+    final long threadCacheRetainedBytes() {
+        return threadCacheBudget == null ? -1 : threadCacheBudget.usedBytes.get();
+    }
+
+    final long retainedChunkBytes() {
+        return retainedChunkBytes(heapArenas) + retainedChunkBytes(directArenas);
+    }
+
+    private static long retainedChunkBytes(PoolArena<?>[] arenas) {
+        long bytes = 0;
+        if (arenas != null) {
+            for (PoolArena<?> arena : arenas) {
+                bytes += arena.retainedChunkBytes();
+            }
+        }
+        return bytes;
+    }
+
+    final long releasedChunkBytes() {
+        return releasedChunkBytes(heapArenas) + releasedChunkBytes(directArenas);
+    }
+
+    private static long releasedChunkBytes(PoolArena<?>[] arenas) {
+        long bytes = 0;
+        if (arenas != null) {
+            for (PoolArena<?> arena : arenas) {
+                bytes += arena.releasedChunkBytes();
+            }
+        }
+        return bytes;
+    }
+
     final long usedHeapMemory() {
         return usedMemory(heapArenas);
     }
@@ -662,6 +874,87 @@ public class PooledByteBufAllocator extends AbstractByteBufAllocator implements
         return false;
     }
 
+    /**
+     * Set the time after which chunks that are completely free are released back to the system. This can be changed
+     * at any time and takes effect with the next check. A value of {@code 0} disables the release, which means
+     * chunks are retained until the allocator is garbage collected.
+     * <p>
+     * Idle chunks are released while allocating, by {@link #releaseIdleChunks()}, and periodically on each
+     * {@link EventExecutor} that uses this allocator if {@code io.netty.allocator.chunkReleaseCheckIntervalMillis}
+     * is set.
+     */
+    public void setChunkReleaseIdleTime(long idleTime, TimeUnit unit) {
+        checkPositiveOrZero(idleTime, "idleTime");
+        chunkReleaseIdleTimeNanos = unit.toNanos(idleTime);
+    }
+
+    /**
+     * Return the time in milliseconds after which chunks that are completely free are released back to the system,
+     * or {@code 0} if they are never released.
+     */
+    public long chunkReleaseIdleTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(chunkReleaseIdleTimeNanos);
+    }
+
+    /**
+     * Set if the reference count of buffers allocated from now on should be confined to the allocating thread. A
+     * confined buffer is retained and released with plain reads and writes instead of atomic operations.
+     * <p>
+     * Only enable this if the buffers never leave the allocating thread, for example because they are allocated,
+     * used and released within the same {@link EventExecutor} task. Retaining or releasing a confined buffer from any
+     * other thread throws an {@link IllegalStateException} and leaves its reference count untouched, so buffers that
+     * are written to a {@code Channel} of another {@link EventExecutor} or otherwise handed over must not be
+     * allocated in this mode. Buffers that are not allocated from a pooled arena are never confined.
+     */
+    public void setThreadConfinedRefCnt(boolean threadConfinedRefCnt) {
+        this.threadConfinedRefCnt = threadConfinedRefCnt;
+    }
+
+    /**
+     * Return {@code true} if the reference count of newly allocated buffers is confined to the allocating thread.
+     */
+    public boolean isThreadConfinedRefCnt() {
+        return threadConfinedRefCnt;
+    }
+
+    /**
+     * Release all chunks that were completely free for at least {@link #chunkReleaseIdleTimeMillis()} back to the
+     * system and return the number of bytes released. Does nothing if the release of idle chunks is disabled.
+     */
+    public long releaseIdleChunks() {
+        final long idleTimeNanos = chunkReleaseIdleTimeNanos;
+        if (idleTimeNanos == 0) {
+            return 0;
+        }
+        return releaseIdleChunks(heapArenas, idleTimeNanos) + releaseIdleChunks(directArenas, idleTimeNanos);
+    }
+
+    private static long releaseIdleChunks(PoolArena<?>[] arenas, long idleTimeNanos) {
+        long released = 0;
+        if (arenas != null) {
+            for (PoolArena<?> arena : arenas) {
+                released += arena.releaseIdleChunks(idleTimeNanos);
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Calls {@link #releaseIdleChunks()} if it was not called by any thread within the last quarter of the idle time,
+     * so the cost of walking the arenas stays negligible no matter how often this is called.
+     */
+    final void releaseIdleChunksIfDue() {
+        final long idleTimeNanos = chunkReleaseIdleTimeNanos;
+        if (idleTimeNanos == 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long next = nextChunkReleaseNanos.get();
+        if (now - next >= 0 && nextChunkReleaseNanos.compareAndSet(next, now + (idleTimeNanos >>> 2))) {
+            releaseIdleChunks();
+        }
+    }
+
     /**
      * Returns the status of the allocator (which contains all metrics) as string. Be aware this may be expensive
      * and so should not called too frequently.
@@ -45,6 +45,11 @@ public final class PooledByteBufAllocatorMetric implements ByteBufAllocatorMetri
         return allocator.numDirectArenas();
     }
 
+    @Override
+    public List<AllocationSiteMetric> allocationSites() {
+        return allocator.allocationProfiler().snapshot();
+    }
+
     /**
      * Return a {@link List} of all heap {@link PoolArenaMetric}s that are provided by this pool.
      */
@@ -97,6 +102,31 @@ public final class PooledByteBufAllocatorMetric implements ByteBufAllocatorMetri
         return allocator.chunkSize();
     }
 
+    /**
+     * Return the number of bytes retained by all thread local caches, as reported by the caches during their last
+     * trim, or {@code -1} if the allocator does not use adaptive thread local caches.
+     */
+    public long threadCacheRetainedBytes() {
+        return allocator.threadCacheRetainedBytes();
+    }
+
+    /**
+     * Return the number of bytes of all chunks that are currently held by the arenas of this
+     * {@link PooledByteBufAllocator}. This does not include huge allocations, which are never pooled.
+     */
+    public long retainedChunkBytes() {
+        return allocator.retainedChunkBytes();
+    }
+
+    /**
+     * Return the total number of bytes of all chunks that were released back to the system by the arenas of this
+     * {@link PooledByteBufAllocator}, either because they became completely free while in use or because they were
+     * idle for longer than {@link PooledByteBufAllocator#chunkReleaseIdleTimeMillis()}.
+     */
+    public long releasedChunkBytes() {
+        return allocator.releasedChunkBytes();
+    }
+
     @Override
     public long usedHeapMemory() {
         return allocator.usedHeapMemory();
@@ -24,7 +24,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
-final class PooledDirectByteBuf extends PooledByteBuf<ByteBuffer> {
+class PooledDirectByteBuf extends PooledByteBuf<ByteBuffer> {
 
     private static final ObjectPool<PooledDirectByteBuf> RECYCLER = ObjectPool.newPool(
             handle -> new PooledDirectByteBuf(handle, 0));
@@ -35,7 +35,7 @@ final class PooledDirectByteBuf extends PooledByteBuf<ByteBuffer> {
         return buf;
     }
 
-    private PooledDirectByteBuf(Handle<PooledDirectByteBuf> recyclerHandle, int maxCapacity) {
+    private PooledDirectByteBuf(Handle<? extends PooledDirectByteBuf> recyclerHandle, int maxCapacity) {
         super(recyclerHandle, maxCapacity);
     }
 
@@ -304,4 +304,33 @@ final class PooledDirectByteBuf extends PooledByteBuf<ByteBuffer> {
     public long memoryAddress() {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * A {@link PooledDirectByteBuf} whose reference count is confined to the allocating thread, see
+     * {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+     */
+    static final class ThreadConfined extends PooledDirectByteBuf {
+        private static final ObjectPool<ThreadConfined> RECYCLER = ObjectPool.newPool(
+                handle -> new ThreadConfined(handle, 0));
+
+        static ThreadConfined newInstance(int maxCapacity) {
+            ThreadConfined buf = RECYCLER.get();
+            buf.reuse(maxCapacity);
+            buf.owner = Thread.currentThread();
+            return buf;
+        }
+
+        // Only written by the allocating thread before the buffer is handed out and never changed while it is in use,
+        // so a non-volatile field is sufficient.
+        private Thread owner;
+
+        private ThreadConfined(Handle<ThreadConfined> recyclerHandle, int maxCapacity) {
+            super(recyclerHandle, maxCapacity);
+        }
+
+        @Override
+        Thread confinedTo() {
+            return owner;
+        }
+    }
 }
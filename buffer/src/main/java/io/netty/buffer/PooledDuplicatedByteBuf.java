@@ -75,6 +75,11 @@ final class PooledDuplicatedByteBuf extends AbstractPooledDerivedByteBuf {
         return unwrap().nioBuffers(index, length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        return unwrap().forEachRegion(index, length, processor);
+    }
+
     @Override
     public ByteBuf copy(int index, int length) {
         return unwrap().copy(index, length);
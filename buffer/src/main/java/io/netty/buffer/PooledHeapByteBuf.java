@@ -246,4 +246,33 @@ class PooledHeapByteBuf extends PooledByteBuf<byte[]> {
     protected final ByteBuffer newInternalNioBuffer(byte[] memory) {
         return ByteBuffer.wrap(memory);
     }
+
+    /**
+     * A {@link PooledHeapByteBuf} whose reference count is confined to the allocating thread, see
+     * {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+     */
+    static final class ThreadConfined extends PooledHeapByteBuf {
+        private static final ObjectPool<ThreadConfined> RECYCLER = ObjectPool.newPool(
+                handle -> new ThreadConfined(handle, 0));
+
+        static ThreadConfined newInstance(int maxCapacity) {
+            ThreadConfined buf = RECYCLER.get();
+            buf.reuse(maxCapacity);
+            buf.owner = Thread.currentThread();
+            return buf;
+        }
+
+        // Only written by the allocating thread before the buffer is handed out and never changed while it is in use,
+        // so a non-volatile field is sufficient.
+        private Thread owner;
+
+        private ThreadConfined(Handle<ThreadConfined> recyclerHandle, int maxCapacity) {
+            super(recyclerHandle, maxCapacity);
+        }
+
+        @Override
+        Thread confinedTo() {
+            return owner;
+        }
+    }
 }
@@ -87,6 +87,12 @@ final class PooledSlicedByteBuf extends AbstractPooledDerivedByteBuf {
         return unwrap().nioBuffers(idx(index), length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        checkIndex0(index, length);
+        return unwrap().forEachRegion(idx(index), length, processor);
+    }
+
     @Override
     public ByteBuf copy(int index, int length) {
         checkIndex0(index, length);
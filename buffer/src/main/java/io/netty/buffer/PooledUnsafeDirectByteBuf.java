@@ -26,7 +26,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
-final class PooledUnsafeDirectByteBuf extends PooledByteBuf<ByteBuffer> {
+class PooledUnsafeDirectByteBuf extends PooledByteBuf<ByteBuffer> {
     private static final ObjectPool<PooledUnsafeDirectByteBuf> RECYCLER = ObjectPool.newPool(
             handle -> new PooledUnsafeDirectByteBuf(handle, 0));
 
@@ -38,7 +38,7 @@ final class PooledUnsafeDirectByteBuf extends PooledByteBuf<ByteBuffer> {
 
     private long memoryAddress;
 
-    private PooledUnsafeDirectByteBuf(Handle<PooledUnsafeDirectByteBuf> recyclerHandle, int maxCapacity) {
+    private PooledUnsafeDirectByteBuf(Handle<? extends PooledUnsafeDirectByteBuf> recyclerHandle, int maxCapacity) {
         super(recyclerHandle, maxCapacity);
     }
 
@@ -265,4 +265,33 @@ final class PooledUnsafeDirectByteBuf extends PooledByteBuf<ByteBuffer> {
         writerIndex = wIndex + length;
         return this;
     }
+
+    /**
+     * A {@link PooledUnsafeDirectByteBuf} whose reference count is confined to the allocating thread, see
+     * {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+     */
+    static final class ThreadConfined extends PooledUnsafeDirectByteBuf {
+        private static final ObjectPool<ThreadConfined> RECYCLER = ObjectPool.newPool(
+                handle -> new ThreadConfined(handle, 0));
+
+        static ThreadConfined newInstance(int maxCapacity) {
+            ThreadConfined buf = RECYCLER.get();
+            buf.reuse(maxCapacity);
+            buf.owner = Thread.currentThread();
+            return buf;
+        }
+
+        // Only written by the allocating thread before the buffer is handed out and never changed while it is in use,
+        // so a non-volatile field is sufficient.
+        private Thread owner;
+
+        private ThreadConfined(Handle<ThreadConfined> recyclerHandle, int maxCapacity) {
+            super(recyclerHandle, maxCapacity);
+        }
+
+        @Override
+        Thread confinedTo() {
+            return owner;
+        }
+    }
 }
@@ -19,7 +19,7 @@ import io.netty.util.internal.ObjectPool;
 import io.netty.util.internal.ObjectPool.Handle;
 import io.netty.util.internal.PlatformDependent;
 
-final class PooledUnsafeHeapByteBuf extends PooledHeapByteBuf {
+class PooledUnsafeHeapByteBuf extends PooledHeapByteBuf {
 
     private static final ObjectPool<PooledUnsafeHeapByteBuf> RECYCLER = ObjectPool.newPool(
             handle -> new PooledUnsafeHeapByteBuf(handle, 0));
@@ -30,7 +30,7 @@ final class PooledUnsafeHeapByteBuf extends PooledHeapByteBuf {
         return buf;
     }
 
-    private PooledUnsafeHeapByteBuf(Handle<PooledUnsafeHeapByteBuf> recyclerHandle, int maxCapacity) {
+    private PooledUnsafeHeapByteBuf(Handle<? extends PooledUnsafeHeapByteBuf> recyclerHandle, int maxCapacity) {
         super(recyclerHandle, maxCapacity);
     }
 
@@ -149,4 +149,33 @@ final class PooledUnsafeHeapByteBuf extends PooledHeapByteBuf {
         }
         return super.newSwappedByteBuf();
     }
+
+    /**
+     * A {@link PooledUnsafeHeapByteBuf} whose reference count is confined to the allocating thread, see
+     * {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+     */
+    static final class ThreadConfined extends PooledUnsafeHeapByteBuf {
+        private static final ObjectPool<ThreadConfined> RECYCLER = ObjectPool.newPool(
+                handle -> new ThreadConfined(handle, 0));
+
+        static ThreadConfined newInstance(int maxCapacity) {
+            ThreadConfined buf = RECYCLER.get();
+            buf.reuse(maxCapacity);
+            buf.owner = Thread.currentThread();
+            return buf;
+        }
+
+        // Only written by the allocating thread before the buffer is handed out and never changed while it is in use,
+        // so a non-volatile field is sufficient.
+        private Thread owner;
+
+        private ThreadConfined(Handle<ThreadConfined> recyclerHandle, int maxCapacity) {
+            super(recyclerHandle, maxCapacity);
+        }
+
+        @Override
+        Thread confinedTo() {
+            return owner;
+        }
+    }
 }
@@ -43,6 +43,12 @@ import static io.netty.buffer.PoolThreadCache.*;
  *   lookupMaxclass: Maximum size class included in lookup table.
  *   log2NormalMinClass: Log of minimum normal size class.
  * <p>
+ *   Sizes up to lookupMaxclass are mapped to their size class via a table with one entry per quantum. All larger
+ *   sizes and all page counts are mapped via a table with one entry per size doubling, which is indexed by the
+ *   number of leading zeros of (size - 1) and holds the index of the first size class of the group and the log of
+ *   its delta. Both tables are small enough to stay in the CPU cache, so no size class index is computed with
+ *   branches or log2 at allocation time.
+ * <p>
  *   The first size class and spacing are 1 << LOG2_QUANTUM.
  *   Each group has 1 << LOG2_SIZE_CLASS_GROUP of size classes.
  *
@@ -95,6 +101,11 @@ abstract class SizeClasses implements SizeClassesMetric {
 
     private static final byte no = 0, yes = 1;
 
+    // Encoding of the entries of the group lookup tables: (first index of the group << LOG2_DELTA_BITS) | log2Delta
+    private static final int LOG2_DELTA_BITS = 5;
+    private static final int LOG2_DELTA_MASK = (1 << LOG2_DELTA_BITS) - 1;
+    private static final int SIZE_CLASS_GROUP_MASK = (1 << LOG2_SIZE_CLASS_GROUP) - 1;
+
     protected SizeClasses(int pageSize, int pageShifts, int chunkSize, int directMemoryCacheAlignment) {
         this.pageSize = pageSize;
         this.pageShifts = pageShifts;
@@ -113,8 +124,12 @@ abstract class SizeClasses implements SizeClassesMetric {
         pageIdx2sizeTab = new int[nPSizes];
         idx2SizeTab(sizeIdx2sizeTab, pageIdx2sizeTab);
 
-        size2idxTab = new int[lookupMaxSize >> LOG2_QUANTUM];
+        size2idxTab = new byte[lookupMaxSize >> LOG2_QUANTUM];
         size2idxTab(size2idxTab);
+
+        size2idxGroupTab = new int[Integer.SIZE + 1];
+        pages2pageIdxGroupTab = new int[Integer.SIZE + 1];
+        groupTabs(size2idxGroupTab, pages2pageIdxGroupTab);
     }
 
     protected final int pageSize;
@@ -139,7 +154,13 @@ abstract class SizeClasses implements SizeClassesMetric {
 
     // lookup table used for size <= lookupMaxclass
     // spacing is 1 << LOG2_QUANTUM, so the size of array is lookupMaxclass >> LOG2_QUANTUM
-    private final int[] size2idxTab;
+    private final byte[] size2idxTab;
+
+    // lookup table used for size > lookupMaxclass, indexed by the number of leading zeros of (size - 1)
+    private final int[] size2idxGroupTab;
+
+    // lookup table used for pages, indexed by the number of leading zeros of (pages - 1)
+    private final int[] pages2pageIdxGroupTab;
 
     private int sizeClasses() {
         int normalMaxSize = -1;
@@ -245,7 +266,7 @@ abstract class SizeClasses implements SizeClassesMetric {
         }
     }
 
-    private void size2idxTab(int[] size2idxTab) {
+    private void size2idxTab(byte[] size2idxTab) {
         int idx = 0;
         int size = 0;
 
@@ -254,12 +275,30 @@ abstract class SizeClasses implements SizeClassesMetric {
             int times = 1 << log2Delta - LOG2_QUANTUM;
 
             while (size <= lookupMaxSize && times-- > 0) {
-                size2idxTab[idx++] = i;
+                size2idxTab[idx++] = (byte) i;
                 size = idx + 1 << LOG2_QUANTUM;
             }
         }
     }
 
+    private static void groupTabs(int[] size2idxGroupTab, int[] pages2pageIdxGroupTab) {
+        for (int leadingZeros = 0; leadingZeros <= Integer.SIZE; leadingZeros++) {
+            // Log of the size rounded up to the next power of two.
+            int x = Integer.SIZE - leadingZeros;
+
+            int shift = x < LOG2_SIZE_CLASS_GROUP + LOG2_QUANTUM + 1
+                    ? 0 : x - (LOG2_SIZE_CLASS_GROUP + LOG2_QUANTUM);
+            int log2Delta = x < LOG2_SIZE_CLASS_GROUP + LOG2_QUANTUM + 1
+                    ? LOG2_QUANTUM : x - LOG2_SIZE_CLASS_GROUP - 1;
+            size2idxGroupTab[leadingZeros] = shift << LOG2_SIZE_CLASS_GROUP << LOG2_DELTA_BITS | log2Delta;
+
+            // Same for the page count, the page size classes start at a delta of one page.
+            shift = x < LOG2_SIZE_CLASS_GROUP ? 0 : x - LOG2_SIZE_CLASS_GROUP;
+            log2Delta = x < LOG2_SIZE_CLASS_GROUP + 1 ? 0 : x - LOG2_SIZE_CLASS_GROUP - 1;
+            pages2pageIdxGroupTab[leadingZeros] = shift << LOG2_SIZE_CLASS_GROUP << LOG2_DELTA_BITS | log2Delta;
+        }
+    }
+
     @Override
     public int sizeIdx2size(int sizeIdx) {
         return sizeIdx2sizeTab[sizeIdx];
@@ -318,6 +357,25 @@ abstract class SizeClasses implements SizeClassesMetric {
             return size2idxTab[size - 1 >> LOG2_QUANTUM];
         }
 
+        int group = size2idxGroupTab[Integer.numberOfLeadingZeros(size - 1)];
+        return (group >>> LOG2_DELTA_BITS) + (size - 1 >>> (group & LOG2_DELTA_MASK) & SIZE_CLASS_GROUP_MASK);
+    }
+
+    /**
+     * Computes the sizeIdx like {@link #size2SizeIdx(int)} but without the lookup tables.
+     */
+    int size2SizeIdxCompute(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        if (size > chunkSize) {
+            return nSizes;
+        }
+
+        if (directMemoryCacheAlignment > 0) {
+            size = alignSize(size);
+        }
+
         int x = log2((size << 1) - 1);
         int shift = x < LOG2_SIZE_CLASS_GROUP + LOG2_QUANTUM + 1
                 ? 0 : x - (LOG2_SIZE_CLASS_GROUP + LOG2_QUANTUM);
@@ -336,15 +394,34 @@ abstract class SizeClasses implements SizeClassesMetric {
 
     @Override
     public int pages2pageIdx(int pages) {
-        return pages2pageIdxCompute(pages, false);
+        return pages2pageIdx(pages, false);
     }
 
     @Override
     public int pages2pageIdxFloor(int pages) {
-        return pages2pageIdxCompute(pages, true);
+        return pages2pageIdx(pages, true);
     }
 
-    private int pages2pageIdxCompute(int pages, boolean floor) {
+    private int pages2pageIdx(int pages, boolean floor) {
+        if (pages > chunkSize >> pageShifts) {
+            return nPSizes;
+        }
+
+        int group = pages2pageIdxGroupTab[Integer.numberOfLeadingZeros(pages - 1)];
+        int pageIdx = (group >>> LOG2_DELTA_BITS) + (pages - 1 >>> (group & LOG2_DELTA_MASK) & SIZE_CLASS_GROUP_MASK);
+
+        if (floor && pageIdx2sizeTab[pageIdx] > pages << pageShifts) {
+            pageIdx--;
+        }
+
+        return pageIdx;
+    }
+
+    /**
+     * Computes the pageIdx like {@link #pages2pageIdx(int)} and {@link #pages2pageIdxFloor(int)} but without the
+     * lookup tables.
+     */
+    int pages2pageIdxCompute(int pages, boolean floor) {
         int pageSize = pages << pageShifts;
         if (pageSize > chunkSize) {
             return nPSizes;
@@ -393,6 +470,11 @@ abstract class SizeClasses implements SizeClassesMetric {
             assert ret == normalizeSizeCompute(size);
             return ret;
         }
+        if (size <= chunkSize) {
+            int ret = sizeIdx2sizeTab[size2SizeIdx(size)];
+            assert ret == normalizeSizeCompute(size);
+            return ret;
+        }
         return normalizeSizeCompute(size);
     }
 
@@ -17,6 +17,7 @@ package io.netty.buffer;
 
 import static java.util.Objects.requireNonNull;
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 
 import java.io.IOException;
@@ -848,6 +849,11 @@ public class SwappedByteBuf extends ByteBuf {
         return buf.forEachByte(index, length, processor);
     }
 
+    @Override
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        return buf.searchAll(index, length, processor, matchIndexes, needleIds);
+    }
+
     @Override
     public int forEachByteDesc(ByteProcessor processor) {
         return buf.forEachByteDesc(processor);
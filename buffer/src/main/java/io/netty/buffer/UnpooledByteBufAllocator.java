@@ -19,6 +19,7 @@ import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.StringUtil;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -26,7 +27,7 @@ import java.util.concurrent.atomic.LongAdder;
  */
 public final class UnpooledByteBufAllocator extends AbstractByteBufAllocator implements ByteBufAllocatorMetricProvider {
 
-    private final UnpooledByteBufAllocatorMetric metric = new UnpooledByteBufAllocatorMetric();
+    private final UnpooledByteBufAllocatorMetric metric = new UnpooledByteBufAllocatorMetric(this);
     private final boolean disableLeakDetector;
     private final boolean noCleaner;
 
@@ -249,6 +250,11 @@ public final class UnpooledByteBufAllocator extends AbstractByteBufAllocator imp
     private static final class UnpooledByteBufAllocatorMetric implements ByteBufAllocatorMetric {
         final LongAdder directCounter = new LongAdder();
         final LongAdder heapCounter = new LongAdder();
+        private final UnpooledByteBufAllocator allocator;
+
+        UnpooledByteBufAllocatorMetric(UnpooledByteBufAllocator allocator) {
+            this.allocator = allocator;
+        }
 
         @Override
         public long usedHeapMemory() {
@@ -260,6 +266,11 @@ public final class UnpooledByteBufAllocator extends AbstractByteBufAllocator imp
             return directCounter.longValue();
         }
 
+        @Override
+        public List<AllocationSiteMetric> allocationSites() {
+            return allocator.allocationProfiler().snapshot();
+        }
+
         @Override
         public String toString() {
             return StringUtil.simpleClassName(this) +
@@ -18,6 +18,7 @@ package io.netty.buffer;
 
 import static java.util.Objects.requireNonNull;
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 import io.netty.util.internal.StringUtil;
 
@@ -845,6 +846,11 @@ class WrappedByteBuf extends ByteBuf {
         return buf.forEachByte(index, length, processor);
     }
 
+    @Override
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        return buf.searchAll(index, length, processor, matchIndexes, needleIds);
+    }
+
     @Override
     public int forEachByteDesc(ByteProcessor processor) {
         return buf.forEachByteDesc(processor);
@@ -920,6 +926,11 @@ class WrappedByteBuf extends ByteBuf {
         return buf.nioBuffers(index, length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        return buf.forEachRegion(index, length, processor);
+    }
+
     @Override
     public ByteBuffer internalNioBuffer(int index, int length) {
         return buf.internalNioBuffer(index, length);
@@ -15,6 +15,7 @@
  */
 package io.netty.buffer;
 
+import io.netty.buffer.search.BulkSearchProcessor;
 import io.netty.util.ByteProcessor;
 
 import java.io.IOException;
@@ -398,6 +399,11 @@ class WrappedCompositeByteBuf extends CompositeByteBuf {
         return wrapped.forEachByte(index, length, processor);
     }
 
+    @Override
+    public int searchAll(int index, int length, BulkSearchProcessor processor, int[] matchIndexes, int[] needleIds) {
+        return wrapped.searchAll(index, length, processor, matchIndexes, needleIds);
+    }
+
     @Override
     public int forEachByteDesc(ByteProcessor processor) {
         return wrapped.forEachByteDesc(processor);
@@ -879,6 +885,17 @@ class WrappedCompositeByteBuf extends CompositeByteBuf {
         return wrapped.nioBuffers(index, length);
     }
 
+    @Override
+    public boolean forEachRegion(int index, int length, ByteBufRegionProcessor processor) {
+        return wrapped.forEachRegion(index, length, processor);
+    }
+
+    @Override
+    public CompositeByteBuf incrementalConsolidation(int smallComponentSize, int maxSmallComponents) {
+        wrapped.incrementalConsolidation(smallComponentSize, maxSmallComponents);
+        return this;
+    }
+
     @Override
     public CompositeByteBuf consolidate() {
         wrapped.consolidate();
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License, version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.netty.buffer.search;
+
+/**
+ * Base class for precomputed factories that create {@link BulkSearchProcessor}s.
+ * <br>
+ * Unlike a {@link MultiSearchProcessor}, which looks at one byte per {@link io.netty.util.ByteProcessor} callback
+ * and stops at the first occurrence, a {@link BulkSearchProcessor} scans a whole region of the {@code haystack} in a
+ * tight loop and returns the indexes of all occurrences of all {@code needles} in one go. This makes it the better
+ * fit for filtering, where every occurrence needs to be found.
+ * <br>
+ * Usage example (given that the {@code haystack} is a {@link io.netty.buffer.ByteBuf} containing "ABCD" and the
+ * {@code needles} are "AB", "BC" and "CD"):
+ * <pre>
+ *      BulkSearchProcessorFactory factory = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+ *          "AB".getBytes(CharsetUtil.UTF_8), "BC".getBytes(CharsetUtil.UTF_8), "CD".getBytes(CharsetUtil.UTF_8));
+ *      BulkSearchProcessor processor = factory.newBulkSearchProcessor();
+ *
+ *      int[] matchIndexes = new int[16];
+ *      int[] needleIds = new int[16];
+ *      int found = haystack.searchAll(haystack.readerIndex(), haystack.readableBytes(), processor,
+ *          matchIndexes, needleIds);
+ *      // found is 3
+ *      // matchIndexes is {0, 1, 2, ...} (the index of the first character of every occurrence)
+ *      // needleIds is {0, 1, 2, ...} (the index of the found needle in needles[])
+ * </pre>
+ * If {@code found} is greater than {@code matchIndexes.length - processor.maxMatchesPerIndex()} the arrays were
+ * too small to hold all occurrences, and the search can be continued at {@code matchIndexes[found - 1] + 1}.
+ */
+public abstract class AbstractBulkSearchProcessorFactory implements BulkSearchProcessorFactory {
+
+    /**
+     * Creates a {@link BulkSearchProcessorFactory} based on the fingerprint filter of the
+     * <a href="https://github.com/rust-lang/regex/tree/master/src/literal/teddy_ssse3">Teddy</a> algorithm.
+     * <br>
+     * The {@code needles} are distributed across 64 buckets, and a table lookup for each of the first (up to 3)
+     * bytes yields a {@code long} with the bits set of all buckets which may match at the current index. ANDing
+     * those filters out almost all indexes with just a few instructions, no matter how many {@code needles} are
+     * searched for. The remaining candidates are verified by comparing the {@code needles} of the matching buckets.
+     * <br>
+     * Precomputation (this method) time is linear in the size of the input ({@code O(Σ|needles|)}) plus quadratic
+     * in the number of {@code needles}. The factory retains 3 arrays of 256 longs plus the {@code needles}.
+     * <br>
+     * Search time is linear in the size of the {@code haystack} as long as the first bytes of the {@code needles} are
+     * rare in the {@code haystack}. Searching for up to 64 {@code needles} with at least 3 bytes each works best,
+     * as every bucket then holds a single {@code needle}.
+     *
+     * @param needles a varargs array of arrays of bytes to search for
+     * @return a new instance of {@link TeddySearchProcessorFactory} precomputed for the given {@code needles}
+     */
+    public static TeddySearchProcessorFactory newTeddySearchProcessorFactory(byte[]... needles) {
+        return new TeddySearchProcessorFactory(needles);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License, version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.netty.buffer.search;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Searches a whole region of bytes for all occurrences of a set of {@code needles} at once, without calling back for
+ * every single byte like a {@link SearchProcessor} does.
+ * <br>
+ * Implementations are immutable and so can be shared between threads. Usually a {@link BulkSearchProcessor} is
+ * driven via {@link ByteBuf#searchAll(int, int, BulkSearchProcessor, int[], int[])}.
+ */
+public interface BulkSearchProcessor {
+
+    /**
+     * Returns the maximum number of {@code needles} which can be found at a single index of the {@code haystack},
+     * which is the case if some {@code needles} are prefixes of others.
+     */
+    int maxMatchesPerIndex();
+
+    /**
+     * Returns the length of the longest {@code needle}.
+     */
+    int maxNeedleLength();
+
+    /**
+     * Finds all occurrences of the {@code needles} that start at an index in {@code [fromIndex, startLimit)} of the
+     * {@code haystack} and end before {@code toIndex}, in the order of their start index.
+     * <br>
+     * The start index of every occurrence is stored in {@code matchIndexes} and the index of the found {@code needle}
+     * in {@code needleIds}, beginning at {@code matchCount}. The search stops early if fewer than
+     * {@link #maxMatchesPerIndex()} slots are left in the arrays, so that all occurrences at a single index are always
+     * stored together.
+     *
+     * @return the number of occurrences stored in the arrays, including the {@code matchCount} ones that were already
+     *         stored before.
+     */
+    int findAll(byte[] haystack, int fromIndex, int startLimit, int toIndex,
+                int[] matchIndexes, int[] needleIds, int matchCount);
+}
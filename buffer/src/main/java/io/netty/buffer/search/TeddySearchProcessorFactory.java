@@ -0,0 +1,181 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License, version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.netty.buffer.search;
+
+/**
+ * Implements a scalar variant of the fingerprint filter of the
+ * <a href="https://github.com/rust-lang/regex/tree/master/src/literal/teddy_ssse3">Teddy</a> multi string search
+ * algorithm, using the 64 bits of a {@code long} as buckets.
+ * Use static {@link AbstractBulkSearchProcessorFactory#newTeddySearchProcessorFactory}
+ * to create an instance of this factory.
+ * Use {@link TeddySearchProcessorFactory#newBulkSearchProcessor} to get the {@link BulkSearchProcessor} which
+ * performs the actual search.
+ * @see AbstractBulkSearchProcessorFactory
+ */
+public class TeddySearchProcessorFactory extends AbstractBulkSearchProcessorFactory {
+
+    private static final int BUCKETS = 64;
+    private static final int MAX_FINGERPRINT_LENGTH = 3;
+
+    private final Processor processor;
+
+    public static class Processor implements BulkSearchProcessor {
+
+        private final byte[][] needles;
+        private final int[][] bucketNeedles;
+        // fingerprintLength * 256 masks, the bucket mask of the byte b at offset i of a needle is at (i << 8) | b.
+        private final long[] masks;
+        private final int fingerprintLength;
+        private final int minNeedleLength;
+        private final int maxNeedleLength;
+        private final int maxMatchesPerIndex;
+
+        Processor(byte[][] needles, int[][] bucketNeedles, long[] masks, int fingerprintLength,
+                  int minNeedleLength, int maxNeedleLength, int maxMatchesPerIndex) {
+            this.needles = needles;
+            this.bucketNeedles = bucketNeedles;
+            this.masks = masks;
+            this.fingerprintLength = fingerprintLength;
+            this.minNeedleLength = minNeedleLength;
+            this.maxNeedleLength = maxNeedleLength;
+            this.maxMatchesPerIndex = maxMatchesPerIndex;
+        }
+
+        @Override
+        public int maxMatchesPerIndex() {
+            return maxMatchesPerIndex;
+        }
+
+        @Override
+        public int maxNeedleLength() {
+            return maxNeedleLength;
+        }
+
+        @Override
+        public int findAll(byte[] haystack, int fromIndex, int startLimit, int toIndex,
+                           int[] matchIndexes, int[] needleIds, int matchCount) {
+            final int capacity = Math.min(matchIndexes.length, needleIds.length);
+            // No needle can start after this index as it would not fit anymore.
+            final int limit = Math.min(startLimit, toIndex - minNeedleLength + 1);
+
+            for (int i = fromIndex; i < limit; i++) {
+                long candidates = masks[haystack[i] & 0xff];
+                if (candidates == 0) {
+                    continue;
+                }
+                for (int j = 1; j < fingerprintLength && candidates != 0; j++) {
+                    candidates &= masks[(j << 8) | (haystack[i + j] & 0xff)];
+                }
+                if (candidates == 0) {
+                    continue;
+                }
+                if (capacity - matchCount < maxMatchesPerIndex) {
+                    break;
+                }
+                do {
+                    final int bucket = Long.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+                    for (int needleId : bucketNeedles[bucket]) {
+                        if (matches(needles[needleId], haystack, i, toIndex)) {
+                            matchIndexes[matchCount] = i;
+                            needleIds[matchCount] = needleId;
+                            matchCount++;
+                        }
+                    }
+                } while (candidates != 0);
+            }
+            return matchCount;
+        }
+
+        private static boolean matches(byte[] needle, byte[] haystack, int index, int toIndex) {
+            if (needle.length > toIndex - index) {
+                return false;
+            }
+            for (int i = 0; i < needle.length; i++) {
+                if (needle[i] != haystack[index + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    TeddySearchProcessorFactory(byte[]... needles) {
+        if (needles.length == 0) {
+            throw new IllegalArgumentException("At least one needle is required");
+        }
+        int minNeedleLength = Integer.MAX_VALUE;
+        int maxNeedleLength = 0;
+        for (byte[] needle : needles) {
+            if (needle.length == 0) {
+                throw new IllegalArgumentException("Needle must not be empty");
+            }
+            minNeedleLength = Math.min(minNeedleLength, needle.length);
+            maxNeedleLength = Math.max(maxNeedleLength, needle.length);
+        }
+        final byte[][] needlesCopy = new byte[needles.length][];
+        for (int i = 0; i < needles.length; i++) {
+            needlesCopy[i] = needles[i].clone();
+        }
+
+        final int fingerprintLength = Math.min(MAX_FINGERPRINT_LENGTH, minNeedleLength);
+        final long[] masks = new long[fingerprintLength << 8];
+        final int[] bucketSizes = new int[BUCKETS];
+        for (int i = 0; i < needlesCopy.length; i++) {
+            final int bucket = i % BUCKETS;
+            bucketSizes[bucket]++;
+            for (int j = 0; j < fingerprintLength; j++) {
+                masks[(j << 8) | (needlesCopy[i][j] & 0xff)] |= 1L << bucket;
+            }
+        }
+        final int[][] bucketNeedles = new int[BUCKETS][];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bucketNeedles[bucket] = new int[bucketSizes[bucket]];
+        }
+        for (int i = 0; i < needlesCopy.length; i++) {
+            bucketNeedles[i % BUCKETS][i / BUCKETS] = i;
+        }
+
+        processor = new Processor(needlesCopy, bucketNeedles, masks, fingerprintLength,
+                minNeedleLength, maxNeedleLength, maxMatchesPerIndex(needlesCopy));
+    }
+
+    /**
+     * All needles found at the same index are prefixes of the longest one of them, so the maximum number of matches
+     * per index is the maximum number of needles that are a prefix of a single needle (including itself).
+     */
+    private static int maxMatchesPerIndex(byte[][] needles) {
+        int max = 1;
+        for (byte[] needle : needles) {
+            int prefixes = 0;
+            for (byte[] other : needles) {
+                if (Processor.matches(other, needle, 0, needle.length)) {
+                    prefixes++;
+                }
+            }
+            max = Math.max(max, prefixes);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the {@link Processor}, which can be shared as it is immutable.
+     */
+    @Override
+    public Processor newBulkSearchProcessor() {
+        return processor;
+    }
+
+}
@@ -2319,6 +2319,34 @@ public abstract class AbstractByteBufTest {
         }), is(stop));
     }
 
+    @Test
+    public void testForEachByteFindProcessors() {
+        ByteProcessor[] processors = {
+                ByteProcessor.FIND_NUL, ByteProcessor.FIND_CR, ByteProcessor.FIND_LF, ByteProcessor.FIND_CRLF,
+                ByteProcessor.FIND_NON_ASCII, ByteProcessor.FIND_SEMI_COLON, ByteProcessor.FIND_COMMA,
+                ByteProcessor.FIND_ASCII_SPACE, ByteProcessor.FIND_LINEAR_WHITESPACE
+        };
+        byte[] values = { 0, '\r', '\n', '\n', (byte) 0x80, ';', ',', ' ', '\t' };
+        final int end = 40;
+
+        for (int i = 0; i < processors.length; i++) {
+            for (int start = 0; start < 8; start++) {
+                for (int match = start; match <= end; match++) {
+                    buffer.clear();
+                    for (int j = 0; j <= end; j++) {
+                        buffer.writeByte('a');
+                    }
+                    buffer.setByte(match, values[i]);
+
+                    int expected = match < end ? match : -1;
+                    assertEquals(expected, buffer.forEachByte(start, end - start, processors[i]));
+                    assertEquals(expected, buffer.indexOf(start, end, values[i]));
+                    assertEquals(expected, ByteBufUtil.indexOf(buffer, start, end, values[i]));
+                }
+            }
+        }
+    }
+
     @Test
     public void testForEachByteDesc() {
         buffer.clear();
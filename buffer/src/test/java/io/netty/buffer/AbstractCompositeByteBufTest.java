@@ -1604,4 +1604,160 @@ public abstract class AbstractCompositeByteBufTest extends AbstractByteBufTest {
             compositeByteBuf.release();
         }
     }
+
+    @Test
+    public void testQueueLikeUsage() {
+        testQueueLikeUsage(false);
+    }
+
+    @Test
+    public void testQueueLikeUsageDiscardReadBytes() {
+        testQueueLikeUsage(true);
+    }
+
+    private void testQueueLikeUsage(boolean discardReadBytes) {
+        CompositeByteBuf cbuf = newCompositeBuffer();
+        int nextWrite = 0;
+        int nextRead = 0;
+        for (int round = 0; round < 100; round++) {
+            // Add components of varying sizes to the end, reusing the space freed at the front.
+            for (int i = 0; i < 1 + round % 5; i++) {
+                ByteBuf buf = buffer();
+                for (int j = 0; j < 1 + (round + i) % 3; j++) {
+                    buf.writeInt(nextWrite++);
+                }
+                cbuf.addComponent(true, buf);
+            }
+            // Random access must still see the right data.
+            for (int i = cbuf.readerIndex(); i < cbuf.writerIndex(); i += 4) {
+                assertEquals(nextRead + (i - cbuf.readerIndex()) / 4, cbuf.getInt(i));
+            }
+            for (int i = 0; i < 1 + round % 4 && cbuf.isReadable(); i++) {
+                assertEquals(nextRead++, cbuf.readInt());
+            }
+            if (discardReadBytes) {
+                cbuf.discardReadBytes();
+                assertEquals(0, cbuf.readerIndex());
+            } else {
+                cbuf.discardReadComponents();
+            }
+            int last = cbuf.numComponents() - 1;
+            if (last >= 0) {
+                assertEquals(0, cbuf.toByteIndex(0));
+                assertEquals(cbuf.capacity(), cbuf.toByteIndex(last) + cbuf.internalComponent(last).readableBytes());
+            }
+        }
+        // Add a component at the front which reuses the space freed by discarding.
+        cbuf.discardReadBytes();
+        ByteBuf first = buffer().writeInt(-1);
+        cbuf.addComponent(0, first);
+        cbuf.setIndex(0, cbuf.writerIndex() + 4);
+        assertEquals(-1, cbuf.readInt());
+        while (cbuf.isReadable()) {
+            assertEquals(nextRead++, cbuf.readInt());
+        }
+        assertEquals(nextWrite, nextRead);
+        cbuf.release();
+    }
+
+    @Test
+    public void testIncrementalConsolidation() {
+        CompositeByteBuf cbuf = newCompositeBuffer().incrementalConsolidation(16, 4);
+        ByteBuf large = buffer(32).writeZero(32);
+        cbuf.addComponent(true, large);
+        for (int i = 0; i < 7; i++) {
+            cbuf.addComponent(true, buffer(1).writeByte(i));
+        }
+        // The small components were merged whenever there were 4 of them at the end, the large one was left alone.
+        assertEquals(2, cbuf.numComponents());
+        assertSame(large, cbuf.internalComponent(0));
+        assertEquals(7, cbuf.internalComponent(1).readableBytes());
+        assertEquals(39, cbuf.readableBytes());
+        cbuf.skipBytes(32);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i, cbuf.readByte());
+        }
+
+        // Disable it again.
+        cbuf.incrementalConsolidation(0, 2);
+        for (int i = 0; i < 4; i++) {
+            cbuf.addComponent(true, buffer(1).writeByte(i));
+        }
+        assertEquals(6, cbuf.numComponents());
+        cbuf.release();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncrementalConsolidationInvalidMaxSmallComponents() {
+        CompositeByteBuf cbuf = newCompositeBuffer();
+        try {
+            cbuf.incrementalConsolidation(16, 1);
+        } finally {
+            cbuf.release();
+        }
+    }
+
+    @Test
+    public void testForEachRegion() {
+        CompositeByteBuf nested = compositeBuffer();
+        nested.addComponents(true, wrappedBuffer(new byte[] { 4, 5 }), directBuffer(2).writeByte(6).writeByte(7));
+        ByteBuf parent = wrappedBuffer(new byte[] { 0, 1, 2, 3 });
+        CompositeByteBuf cbuf = newCompositeBuffer();
+        cbuf.addComponents(true, parent.retainedSlice(0, 2), parent.retainedSlice(2, 2), nested, EMPTY_BUFFER,
+                wrappedBuffer(new byte[] { 8, 9 }));
+        parent.release();
+
+        final List<ByteBuf> regions = new ArrayList<ByteBuf>();
+        assertTrue(cbuf.forEachRegion(1, 8, new ByteBufRegionProcessor() {
+            @Override
+            public boolean process(ByteBuf buf, int index, int length) {
+                assertEquals(1, buf.nioBufferCount());
+                regions.add(buf.copy(index, length));
+                return true;
+            }
+        }));
+        // The nested composite buffer is split into its components and the empty component is skipped.
+        assertEquals(5, regions.size());
+        byte expected = 1;
+        for (ByteBuf region : regions) {
+            while (region.isReadable()) {
+                assertEquals(expected++, region.readByte());
+            }
+            region.release();
+        }
+        assertEquals(9, expected);
+        cbuf.release();
+    }
+
+    @Test
+    public void testForEachRegionStops() {
+        CompositeByteBuf cbuf = newCompositeBuffer();
+        cbuf.addComponents(true, wrappedBuffer(new byte[] { 1 }), wrappedBuffer(new byte[] { 2 }));
+        final int[] calls = new int[1];
+        assertFalse(cbuf.forEachRegion(0, 2, new ByteBufRegionProcessor() {
+            @Override
+            public boolean process(ByteBuf buf, int index, int length) {
+                calls[0]++;
+                return false;
+            }
+        }));
+        assertEquals(1, calls[0]);
+        cbuf.release();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testForEachRegionOutOfBounds() {
+        CompositeByteBuf cbuf = newCompositeBuffer();
+        cbuf.addComponent(true, wrappedBuffer(new byte[] { 1 }));
+        try {
+            cbuf.forEachRegion(0, 2, new ByteBufRegionProcessor() {
+                @Override
+                public boolean process(ByteBuf buf, int index, int length) {
+                    return true;
+                }
+            });
+        } finally {
+            cbuf.release();
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AllocationProfilerTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        UnpooledByteBufAllocator allocator = new UnpooledByteBufAllocator(false, true);
+        assertEquals(0, allocator.allocationProfiler().samplingInterval());
+        ByteBuf buf = allocator.directBuffer(16);
+        try {
+            assertFalse(buf instanceof SimpleLeakAwareByteBuf);
+            assertTrue(allocator.metric().allocationSites().isEmpty());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testUnpooledAllocator() throws Exception {
+        testAllocationSites(new UnpooledByteBufAllocator(false, true));
+    }
+
+    @Test
+    public void testPooledAllocator() throws Exception {
+        testAllocationSites(new PooledByteBufAllocator(false));
+    }
+
+    private static void testAllocationSites(final AbstractByteBufAllocator allocator) throws Exception {
+        ByteBufAllocatorMetricProvider metricProvider = (ByteBufAllocatorMetricProvider) allocator;
+        allocator.allocationProfiler().setSamplingInterval(1);
+
+        final List<ByteBuf> buffers = new ArrayList<ByteBuf>();
+        buffers.add(allocator.heapBuffer(64));
+        buffers.add(allocator.directBuffer(64));
+        buffers.add(allocator.directBuffer(128));
+        // All frames of this test are in the buffer package, so the call site of these allocations is Thread.run().
+        Thread thread = new Thread(() -> {
+            buffers.add(allocator.heapBuffer(1024));
+            buffers.add(allocator.directBuffer(1024));
+        });
+        thread.start();
+        thread.join();
+
+        List<AllocationSiteMetric> sites = metricProvider.metric().allocationSites();
+        assertEquals(2, sites.size());
+        AllocationSiteMetric threadSite = sites.get(0);
+        assertTrue(threadSite.site(), threadSite.site().startsWith(Thread.class.getName() + ".run("));
+        assertEquals(2, threadSite.allocations());
+        assertEquals(2048, threadSite.allocatedBytes());
+        assertEquals(2048, threadSite.liveBytes());
+        AllocationSiteMetric testSite = sites.get(1);
+        assertNotEquals(threadSite.site(), testSite.site());
+        assertEquals(3, testSite.allocations());
+        assertEquals(256, testSite.allocatedBytes());
+        assertEquals(256, testSite.liveBytes());
+
+        // Derived buffers must not be accounted separately, only the release of the last reference counts.
+        ByteBuf slice = buffers.get(4).retainedSlice();
+        for (ByteBuf buf : buffers) {
+            buf.release();
+        }
+        sites = metricProvider.metric().allocationSites();
+        assertEquals(1024, sites.get(0).liveBytes());
+        assertEquals(0, sites.get(1).liveBytes());
+        slice.release();
+        sites = metricProvider.metric().allocationSites();
+        assertEquals(0, sites.get(0).liveBytes());
+        assertEquals(2048, sites.get(0).allocatedBytes() + sites.get(1).allocatedBytes() - 256);
+
+        allocator.allocationProfiler().setSamplingInterval(0);
+        allocator.directBuffer(16).release();
+        sites = metricProvider.metric().allocationSites();
+        assertEquals(5, sites.get(0).allocations() + sites.get(1).allocations());
+        allocator.allocationProfiler().reset();
+        assertTrue(metricProvider.metric().allocationSites().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingInterval() {
+        new UnpooledByteBufAllocator(false).allocationProfiler().setSamplingInterval(-1);
+    }
+}
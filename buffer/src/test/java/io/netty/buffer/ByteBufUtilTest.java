@@ -909,4 +909,72 @@ public class ByteBufUtilTest {
         assertArrayEquals(expected, ByteBufUtil.getBytes(buf, 1, 2));
         assertArrayEquals(expected, ByteBufUtil.getBytes(buf, 1, 2, false));
     }
+
+    @Test
+    public void testIndexOfCrlf() {
+        ByteBuf buf = buffer(32);
+        try {
+            buf.writeBytes("a\rb\n\r\rcdefghijklmn\r\nopq\r".getBytes(CharsetUtil.US_ASCII));
+            assertEquals(18, ByteBufUtil.indexOfCrlf(buf, 0, buf.writerIndex()));
+            assertEquals(18, ByteBufUtil.indexOfCrlf(buf, 18, buf.writerIndex()));
+            assertEquals(-1, ByteBufUtil.indexOfCrlf(buf, 0, 19));
+            assertEquals(-1, ByteBufUtil.indexOfCrlf(buf, 19, buf.writerIndex()));
+            assertEquals(-1, ByteBufUtil.indexOfCrlf(buf, 0, 0));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testWriteUtf8LongAsciiPrefix() {
+        // Cover ASCII runs which are written 8 chars at once followed by non ASCII chars at every possible position.
+        for (int asciiLength = 0; asciiLength <= 20; asciiLength++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < asciiLength; i++) {
+                sb.append((char) ('a' + i));
+            }
+            String text = sb.append("äÄ∏ŒŒ and some more ASCII").toString();
+            for (CharSequence seq : new CharSequence[] { text, new StringBuilder(text) }) {
+                ByteBuf buf = buffer(16);
+                ByteBuf buf2 = buffer(16);
+                buf.writeBytes(text.getBytes(CharsetUtil.UTF_8));
+                ByteBufUtil.writeUtf8(buf2, seq);
+                assertEquals(buf, buf2);
+                buf.release();
+                buf2.release();
+            }
+        }
+    }
+
+    @Test
+    public void testDecodeLongAsciiAsUtf8() {
+        testDecodeString("This is a test with enough chars to be checked word by word", CharsetUtil.UTF_8);
+        testDecodeString("This is a test with enough chars to be checked word by wordä", CharsetUtil.UTF_8);
+        testDecodeString("äThis is a test with enough chars to be checked word by word", CharsetUtil.UTF_8);
+    }
+
+    @Test
+    public void testDecodeIso88591() {
+        testDecodeString("Some ISO-8859-1 like äÄ and ÿ", CharsetUtil.ISO_8859_1);
+    }
+
+    @Test
+    public void testIsTextWithUtf8LongAsciiRuns() {
+        byte[] ascii = "Some ASCII text which is longer than a single word".getBytes(CharsetUtil.UTF_8);
+        byte[] euro = {(byte) 0xE2, (byte) 0x82, (byte) 0xAC};
+        for (int i = 0; i <= ascii.length; i++) {
+            byte[] valid = new byte[ascii.length + euro.length];
+            System.arraycopy(ascii, 0, valid, 0, i);
+            System.arraycopy(euro, 0, valid, i, euro.length);
+            System.arraycopy(ascii, i, valid, i + euro.length, ascii.length - i);
+            assertIsText(valid, true, CharsetUtil.UTF_8);
+
+            byte[] invalid = valid.clone();
+            invalid[i + 2] = 'a'; // not correct bytes
+            assertIsText(invalid, false, CharsetUtil.UTF_8);
+
+            // not enough bytes
+            assertIsText(Arrays.copyOf(valid, i + 2), false, CharsetUtil.UTF_8);
+        }
+    }
 }
@@ -454,4 +454,22 @@ public class FixedCompositeByteBufTest {
             buf.release();
         }
     }
+
+    @Test
+    public void testForEachRegion() {
+        ByteBuf buf = newBuffer(wrappedBuffer(new byte[] { 1, 2, 3 }),
+                directBuffer(3).writeBytes(new byte[] { 4, 5, 6 }));
+        final ByteBuf collected = buffer();
+        assertTrue(buf.forEachRegion(1, 4, new ByteBufRegionProcessor() {
+            @Override
+            public boolean process(ByteBuf region, int index, int length) {
+                assertEquals(1, region.nioBufferCount());
+                collected.writeBytes(region, index, length);
+                return true;
+            }
+        }));
+        assertEquals(wrappedBuffer(new byte[] { 2, 3, 4, 5 }), collected);
+        collected.release();
+        buf.release();
+    }
 }
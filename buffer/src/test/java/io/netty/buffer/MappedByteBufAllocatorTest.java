@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MappedByteBufAllocatorTest {
+
+    private static final int THRESHOLD = 64 * 1024;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedByteBufAllocator newAllocator() {
+        return new MappedByteBufAllocator(new UnpooledByteBufAllocator(false), folder.getRoot(), THRESHOLD);
+    }
+
+    @Test
+    public void testSmallBuffersUseDelegate() {
+        MappedByteBufAllocator allocator = newAllocator();
+        ByteBuf heap = allocator.heapBuffer(THRESHOLD * 2);
+        ByteBuf direct = allocator.directBuffer(THRESHOLD - 1);
+        try {
+            assertFalse(heap.isDirect());
+            assertTrue(direct.isDirect());
+            assertEquals(0, allocator.usedMappedMemory());
+        } finally {
+            heap.release();
+            direct.release();
+        }
+    }
+
+    @Test
+    public void testLargeBuffersAreMapped() {
+        MappedByteBufAllocator allocator = newAllocator();
+        ByteBuf buf = allocator.buffer(THRESHOLD);
+        try {
+            assertTrue(buf.isDirect());
+            assertEquals(THRESHOLD, allocator.usedMappedMemory());
+            // The temporary file is removed as soon as it is mapped.
+            assertEquals(0, folder.getRoot().list().length);
+
+            for (int i = 0; i < THRESHOLD / 8; i++) {
+                buf.writeLong(i);
+            }
+            ByteBuffer[] nioBuffers = buf.nioBuffers();
+            assertEquals(1, nioBuffers.length);
+            assertTrue(nioBuffers[0].isDirect());
+            assertEquals(THRESHOLD, nioBuffers[0].remaining());
+            assertEquals(THRESHOLD / 8 - 1, nioBuffers[0].getLong(THRESHOLD - 8));
+
+            // Growing the buffer maps a new region and copies the content.
+            buf.writeLong(THRESHOLD / 8);
+            assertEquals(buf.capacity(), allocator.usedMappedMemory());
+            for (int i = 0; i <= THRESHOLD / 8; i++) {
+                assertEquals(i, buf.readLong());
+            }
+        } finally {
+            assertTrue(buf.release());
+        }
+        assertEquals(0, allocator.usedMappedMemory());
+    }
+
+    @Test
+    public void testCompositeOfMappedBuffers() {
+        MappedByteBufAllocator allocator = newAllocator();
+        CompositeByteBuf composite = allocator.compositeDirectBuffer();
+        composite.addComponent(true, allocator.directBuffer(THRESHOLD).writeZero(THRESHOLD));
+        composite.addComponent(true, allocator.directBuffer(THRESHOLD).writeZero(THRESHOLD));
+        try {
+            assertEquals(2L * THRESHOLD, allocator.usedMappedMemory());
+            assertEquals(2, composite.nioBufferCount());
+        } finally {
+            composite.release();
+        }
+        assertEquals(0, allocator.usedMappedMemory());
+    }
+}
@@ -87,6 +87,25 @@ public class PoolArenaTest {
         }
     }
 
+    @Test
+    public void testSize2SizeIdxLookupMatchesCompute() {
+        for (int pageShifts : new int[] { 12, 13, 16 }) {
+            for (int alignment : new int[] { 0, 64 }) {
+                int pageSize = 1 << pageShifts;
+                int chunkSize = pageSize << 8;
+                PoolArena<ByteBuffer> arena = new PoolArena.DirectArena(
+                        null, pageSize, pageShifts, chunkSize, alignment);
+                for (int sz = 0; sz <= chunkSize + 1; sz++) {
+                    assertEquals(arena.size2SizeIdxCompute(sz), arena.size2SizeIdx(sz));
+                }
+                for (int pages = 1; pages <= (chunkSize >> pageShifts) + 1; pages++) {
+                    assertEquals(arena.pages2pageIdxCompute(pages, false), arena.pages2pageIdx(pages));
+                    assertEquals(arena.pages2pageIdxCompute(pages, true), arena.pages2pageIdxFloor(pages));
+                }
+            }
+        }
+    }
+
     @Test
     public void testSizeIdx2size() {
         PoolArena<ByteBuffer> arena = new PoolArena.DirectArena(null, PAGE_SIZE, PAGE_SHIFTS, CHUNK_SIZE, 0);
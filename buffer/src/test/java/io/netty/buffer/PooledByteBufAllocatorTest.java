@@ -16,6 +16,7 @@
 
 package io.netty.buffer;
 
+import io.netty.util.IllegalReferenceCountException;
 import io.netty.util.concurrent.FastThreadLocal;
 import io.netty.util.concurrent.FastThreadLocalThread;
 import io.netty.util.internal.PlatformDependent;
@@ -25,11 +26,14 @@ import org.junit.Test;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 
@@ -39,6 +43,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 public class PooledByteBufAllocatorTest extends AbstractByteBufAllocatorTest<PooledByteBufAllocator> {
@@ -202,6 +207,331 @@ public class PooledByteBufAllocatorTest extends AbstractByteBufAllocatorTest<Poo
         assertEquals(max, m.maxUsage());
     }
 
+    @Test
+    public void testArenaLockStripes() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0, 4);
+        PoolArenaMetric metric = allocator.metric().heapArenas().get(0);
+        assertEquals(4 * 6, metric.numChunkLists());
+
+        // Two different size classes which map to different stripes and so must be served by different chunks.
+        ByteBuf small = allocator.heapBuffer(16);
+        ByteBuf normal = allocator.heapBuffer(32 * 1024);
+        try {
+            assertNotSame(unwrapHeapIfNeeded(small).chunk, unwrapHeapIfNeeded(normal).chunk);
+            assertEquals(2 * allocator.metric().chunkSize(), metric.numActiveBytes());
+            assertEquals(2, metric.numActiveAllocations());
+        } finally {
+            assertTrue(small.release());
+            assertTrue(normal.release());
+        }
+        assertEquals(0, metric.numActiveAllocations());
+        assertEquals(2, metric.numDeallocations());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidArenaLockStripes() {
+        new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0, 0);
+    }
+
+    @Test
+    public void testChunkMemoryAllocator() {
+        final AtomicInteger allocated = new AtomicInteger();
+        final AtomicInteger freed = new AtomicInteger();
+        ChunkMemoryAllocator chunkMemoryAllocator = new ChunkMemoryAllocator() {
+            @Override
+            public int numNodes() {
+                return 2;
+            }
+
+            @Override
+            public int currentNode() {
+                return 1;
+            }
+
+            @Override
+            public ByteBuffer allocate(int capacity, int node) {
+                assertEquals(1, node);
+                allocated.incrementAndGet();
+                return ByteBuffer.allocateDirect(capacity);
+            }
+
+            @Override
+            public void free(ByteBuffer memory) {
+                freed.incrementAndGet();
+            }
+        };
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+                true, 0, 4, 8192, 11, 0, 0, true, 0, 1, false, 0, chunkMemoryAllocator);
+
+        // Only arenas which belong to the node of the current thread should be used.
+        ByteBuf buffer = allocator.directBuffer(1024);
+        assertEquals(1, allocated.get());
+        assertTrue(buffer.release());
+
+        // Huge allocations are not pooled and so must be freed directly.
+        ByteBuf huge = allocator.directBuffer(allocator.metric().chunkSize() + 1);
+        assertEquals(2, allocated.get());
+        assertTrue(huge.release());
+        assertEquals(1, freed.get());
+
+        int usedArenas = 0;
+        for (PoolArenaMetric metric : allocator.metric().directArenas()) {
+            if (metric.numThreadCaches() > 0) {
+                usedArenas++;
+            }
+        }
+        assertEquals(1, usedArenas);
+        assertEquals(1, allocator.metric().directArenas().get(1).numThreadCaches());
+    }
+
+    @Test
+    public void testReleaseIdleChunks() throws Exception {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0);
+        PooledByteBufAllocatorMetric metric = allocator.metric();
+        assertEquals(0, allocator.chunkReleaseIdleTimeMillis());
+
+        ByteBuf buffer = allocator.heapBuffer(64 * 1024);
+        assertEquals(metric.chunkSize(), metric.retainedChunkBytes());
+        assertTrue(buffer.release());
+
+        // Releasing is disabled by default, so the free chunk is retained.
+        assertEquals(0, allocator.releaseIdleChunks());
+        assertEquals(metric.chunkSize(), metric.retainedChunkBytes());
+
+        allocator.setChunkReleaseIdleTime(1, TimeUnit.HOURS);
+        assertEquals(TimeUnit.HOURS.toMillis(1), allocator.chunkReleaseIdleTimeMillis());
+        assertEquals(0, allocator.releaseIdleChunks());
+        assertEquals(metric.chunkSize(), metric.retainedChunkBytes());
+
+        allocator.setChunkReleaseIdleTime(1, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+
+        // A chunk which is in use must never be released.
+        ByteBuf used = allocator.directBuffer(64 * 1024);
+        try {
+            assertEquals(metric.chunkSize(), allocator.releaseIdleChunks());
+            assertEquals(metric.chunkSize(), metric.retainedChunkBytes());
+            assertEquals(metric.chunkSize(), metric.releasedChunkBytes());
+            assertEquals(0, allocator.metric().heapArenas().get(0).numActiveBytes());
+        } finally {
+            assertTrue(used.release());
+        }
+        Thread.sleep(10);
+        assertEquals(metric.chunkSize(), allocator.releaseIdleChunks());
+        assertEquals(0, metric.retainedChunkBytes());
+        assertEquals(2L * metric.chunkSize(), metric.releasedChunkBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkReleaseIdleTime() {
+        new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0)
+                .setChunkReleaseIdleTime(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testThreadConfinedRefCnt() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0);
+        assertFalse(allocator.isThreadConfinedRefCnt());
+        ByteBuf notConfined = allocator.heapBuffer(16);
+        assertFalse(unwrapRefCounted(notConfined).isThreadConfined());
+        assertTrue(notConfined.release());
+
+        allocator.setThreadConfinedRefCnt(true);
+        for (ByteBuf buf : new ByteBuf[] { allocator.heapBuffer(16), allocator.directBuffer(16) }) {
+            AbstractReferenceCountedByteBuf refCounted = unwrapRefCounted(buf);
+            assertTrue(refCounted.isThreadConfined());
+            assertEquals(1, buf.refCnt());
+            buf.retain();
+            buf.retain(3);
+            assertEquals(5, buf.refCnt());
+            assertFalse(buf.release(3));
+            assertFalse(buf.release());
+            assertEquals(1, buf.refCnt());
+            assertTrue(refCounted.isThreadConfined());
+            assertTrue(buf.release());
+            assertEquals(0, buf.refCnt());
+        }
+    }
+
+    @Test(expected = IllegalReferenceCountException.class)
+    public void testThreadConfinedRefCntReleaseTooMuch() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0);
+        allocator.setThreadConfinedRefCnt(true);
+        ByteBuf buf = allocator.heapBuffer(16);
+        try {
+            buf.release(2);
+        } finally {
+            assertTrue(buf.release());
+        }
+    }
+
+    @Test
+    public void testThreadConfinedRefCntRejectsOtherThread() throws Exception {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0);
+        allocator.setThreadConfinedRefCnt(true);
+        final ByteBuf buf = allocator.directBuffer(16);
+        buf.retain(2);
+
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        Thread other = new Thread(() -> {
+            Runnable[] ops = { buf::retain, () -> buf.retain(2), buf::release, () -> buf.release(2) };
+            for (Runnable op : ops) {
+                try {
+                    op.run();
+                    errors.add(new AssertionError("reference count updated by a foreign thread"));
+                } catch (IllegalStateException expected) {
+                    // expected
+                } catch (Throwable cause) {
+                    errors.add(cause);
+                }
+            }
+        });
+        other.start();
+        other.join();
+        assertEquals(Collections.emptyList(), errors);
+
+        // The reference count is untouched and still confined to the allocating thread.
+        assertTrue(unwrapRefCounted(buf).isThreadConfined());
+        assertEquals(3, buf.refCnt());
+        assertFalse(buf.release(2));
+        assertTrue(buf.release());
+
+        // A recycled buffer must be confined again to the thread that allocated it.
+        ByteBuf next = allocator.directBuffer(16);
+        assertTrue(unwrapRefCounted(next).isThreadConfined());
+        assertTrue(next.release());
+    }
+
+    @Test
+    public void testThreadConfinedRefCntConcurrentForeignAccess() throws Exception {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0);
+        allocator.setThreadConfinedRefCnt(true);
+        final ByteBuf buf = allocator.heapBuffer(16);
+        final int iterations = 100000;
+
+        // While the owner keeps updating the reference count another thread tries to do the same. Every foreign
+        // attempt must be rejected without losing any of the owner's updates.
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final AtomicInteger rejected = new AtomicInteger();
+        Thread other = new Thread(() -> {
+            try {
+                start.await();
+                while (!done.get()) {
+                    try {
+                        buf.retain();
+                        error.compareAndSet(null, new AssertionError("retained by a foreign thread"));
+                    } catch (IllegalStateException expected) {
+                        rejected.incrementAndGet();
+                    }
+                    try {
+                        buf.release();
+                        error.compareAndSet(null, new AssertionError("released by a foreign thread"));
+                    } catch (IllegalStateException expected) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            } catch (Throwable cause) {
+                error.compareAndSet(null, cause);
+            }
+        });
+        other.start();
+        start.countDown();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                buf.retain(2);
+                buf.release();
+                assertFalse(buf.release());
+            }
+            buf.retain(iterations);
+            for (int i = 0; i < iterations; i++) {
+                assertFalse(buf.release());
+            }
+            while (rejected.get() == 0 && error.get() == null) {
+                Thread.yield();
+            }
+        } finally {
+            done.set(true);
+            other.join();
+        }
+        assertEquals(null, error.get());
+        assertTrue(rejected.get() > 0);
+        assertEquals(1, buf.refCnt());
+        assertTrue(buf.release());
+    }
+
+    private static AbstractReferenceCountedByteBuf unwrapRefCounted(ByteBuf buf) {
+        ByteBuf unwrapped = buf.unwrap();
+        return (AbstractReferenceCountedByteBuf) (unwrapped == null ? buf : unwrapped);
+    }
+
+    @Test
+    public void testNormalSizeIsCached() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+                true, 1, 1, 8192, 11, 0, 16, true, 0);
+        // 32 KiB is the largest size that is cached by default and a normal size class.
+        int size = 32 * 1024;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(allocator.heapBuffer(size).release());
+            assertTrue(allocator.directBuffer(size).release());
+        }
+        assertEquals(1, allocator.metric().heapArenas().get(0).numNormalAllocations());
+        assertEquals(1, allocator.metric().directArenas().get(0).numNormalAllocations());
+    }
+
+    @Test
+    public void testAdaptiveThreadCache() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+                true, 1, 1, 8192, 11, 16, 16, true, 0, 1, true, 0);
+        // 100 bytes will be normalized to 112 bytes.
+        int elemSize = 112;
+
+        allocateAndRelease(allocator, 100, 64);
+        assertTrue(allocator.trimCurrentThreadCache());
+        // The cache started with a limit of 16 entries.
+        assertEquals(16 * elemSize, allocator.metric().threadCacheRetainedBytes());
+
+        // The size class was requested 64 times so the cache should have grown.
+        allocateAndRelease(allocator, 100, 64);
+        assertTrue(allocator.trimCurrentThreadCache());
+        assertEquals(40 * elemSize, allocator.metric().threadCacheRetainedBytes());
+
+        // Without any more requests the cache should shrink until nothing is retained anymore.
+        for (int i = 0; i < 16; i++) {
+            assertTrue(allocator.trimCurrentThreadCache());
+        }
+        assertEquals(0, allocator.metric().threadCacheRetainedBytes());
+    }
+
+    @Test
+    public void testAdaptiveThreadCacheBudget() {
+        int elemSize = 112;
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+                true, 1, 1, 8192, 11, 16, 16, true, 0, 1, true, 10 * elemSize);
+
+        allocateAndRelease(allocator, 100, 64);
+        assertTrue(allocator.trimCurrentThreadCache());
+        assertEquals(10 * elemSize, allocator.metric().threadCacheRetainedBytes());
+    }
+
+    @Test
+    public void testNonAdaptiveThreadCacheRetainedBytes() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(
+                true, 1, 1, 8192, 11, 16, 16, true, 0, 1, false, 0);
+        assertEquals(-1, allocator.metric().threadCacheRetainedBytes());
+    }
+
+    private static void allocateAndRelease(ByteBufAllocator allocator, int capacity, int num) {
+        List<ByteBuf> buffers = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+            buffers.add(allocator.heapBuffer(capacity));
+        }
+        for (ByteBuf buffer : buffers) {
+            assertTrue(buffer.release());
+        }
+    }
+
     @Test
     public void testSmallSubpageMetric() {
         PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0);
@@ -498,12 +828,20 @@ public class PooledByteBufAllocatorTest extends AbstractByteBufAllocatorTest<Poo
 
     @Test
     public void testConcurrentUsage() throws Throwable {
+        // We use no caches and only one arena to maximize the chance of hitting the race-condition we
+        // had before.
+        testConcurrentUsage(new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0));
+    }
+
+    @Test
+    public void testConcurrentUsageWithArenaLockStripes() throws Throwable {
+        testConcurrentUsage(new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, false, 0, 8));
+    }
+
+    private static void testConcurrentUsage(ByteBufAllocator allocator) throws Throwable {
         long runningTime = MILLISECONDS.toNanos(SystemPropertyUtil.getLong(
                 "io.netty.buffer.PooledByteBufAllocatorTest.testConcurrentUsageTime", 15000));
 
-        // We use no caches and only one arena to maximize the chance of hitting the race-condition we
-        // had before.
-        ByteBufAllocator allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0);
         List<AllocationThread> threads = new ArrayList<>();
         try {
             for (int i = 0; i < 512; i++) {
@@ -625,4 +963,9 @@ public class PooledByteBufAllocatorTest extends AbstractByteBufAllocatorTest<Poo
     private static PooledByteBuf<ByteBuffer> unwrapIfNeeded(ByteBuf buf) {
         return (PooledByteBuf<ByteBuffer>) (buf instanceof PooledByteBuf ? buf : buf.unwrap());
     }
+
+    @SuppressWarnings("unchecked")
+    private static PooledByteBuf<byte[]> unwrapHeapIfNeeded(ByteBuf buf) {
+        return (PooledByteBuf<byte[]>) (buf instanceof PooledByteBuf ? buf : buf.unwrap());
+    }
 }
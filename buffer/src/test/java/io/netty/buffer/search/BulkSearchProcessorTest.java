@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License, version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.netty.buffer.search;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BulkSearchProcessorTest {
+
+    @Test
+    public void testSearchAll() {
+        final BulkSearchProcessor processor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                bytes("one"),
+                bytes("two"),
+                bytes("three")
+        ).newBulkSearchProcessor();
+        final byte[] haystackBytes = bytes("one two three one");
+
+        ByteBuf heap = Unpooled.wrappedBuffer(haystackBytes);
+        ByteBuf direct = Unpooled.directBuffer().writeBytes(haystackBytes);
+        CompositeByteBuf composite = Unpooled.compositeBuffer();
+        for (byte b : haystackBytes) {
+            composite.addComponent(true, Unpooled.wrappedBuffer(new byte[] { b }));
+        }
+        for (ByteBuf haystack : new ByteBuf[] { heap, direct, composite }) {
+            int[] matchIndexes = new int[8];
+            int[] needleIds = new int[8];
+            assertEquals(4, haystack.searchAll(0, haystack.readableBytes(), processor, matchIndexes, needleIds));
+            assertArrayEquals(new int[] { 0, 4, 8, 14 }, Arrays.copyOf(matchIndexes, 4));
+            assertArrayEquals(new int[] { 0, 1, 2, 0 }, Arrays.copyOf(needleIds, 4));
+
+            // Occurrences which are not completely contained in the area must not be found.
+            assertEquals(1, haystack.searchAll(1, 11, processor, matchIndexes, needleIds));
+            assertEquals(4, matchIndexes[0]);
+            assertEquals(1, needleIds[0]);
+            assertEquals(0, haystack.searchAll(5, 7, processor, matchIndexes, needleIds));
+            haystack.release();
+        }
+    }
+
+    @Test
+    public void testSearchAllSlice() {
+        final BulkSearchProcessor processor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                bytes("two")).newBulkSearchProcessor();
+        final ByteBuf buffer = Unpooled.copiedBuffer("one two three two", CharsetUtil.UTF_8);
+        final ByteBuf slice = buffer.slice(4, buffer.readableBytes() - 4);
+
+        int[] matchIndexes = new int[2];
+        int[] needleIds = new int[2];
+        assertEquals(2, slice.searchAll(0, slice.readableBytes(), processor, matchIndexes, needleIds));
+        assertEquals(0, matchIndexes[0]);
+        assertEquals(10, matchIndexes[1]);
+        buffer.release();
+    }
+
+    @Test
+    public void testSearchAllPrefixes() {
+        final BulkSearchProcessor processor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                bytes("a"),
+                bytes("abc"),
+                bytes("ab"),
+                bytes("b")
+        ).newBulkSearchProcessor();
+        assertEquals(3, processor.maxMatchesPerIndex());
+        assertEquals(3, processor.maxNeedleLength());
+
+        final ByteBuf haystack = Unpooled.copiedBuffer("abcab", CharsetUtil.UTF_8);
+        int[] matchIndexes = new int[16];
+        int[] needleIds = new int[16];
+        assertEquals(7, haystack.searchAll(0, haystack.readableBytes(), processor, matchIndexes, needleIds));
+        assertEquals(asList(0, 0, 0, 1, 0, 2, 1, 3, 3, 0, 3, 2, 4, 3), pairs(matchIndexes, needleIds, 7));
+        haystack.release();
+    }
+
+    @Test
+    public void testSearchAllContinue() {
+        final BulkSearchProcessor processor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                bytes("aa")).newBulkSearchProcessor();
+        final ByteBuf haystack = Unpooled.copiedBuffer("aaaaa", CharsetUtil.UTF_8);
+        final int length = haystack.readableBytes();
+        int[] matchIndexes = new int[2];
+        int[] needleIds = new int[2];
+
+        assertEquals(2, haystack.searchAll(0, length, processor, matchIndexes, needleIds));
+        assertArrayEquals(new int[] { 0, 1 }, matchIndexes);
+        int from = matchIndexes[1] + 1;
+        assertEquals(2, haystack.searchAll(from, length - from, processor, matchIndexes, needleIds));
+        assertArrayEquals(new int[] { 2, 3 }, matchIndexes);
+        from = matchIndexes[1] + 1;
+        assertEquals(0, haystack.searchAll(from, length - from, processor, matchIndexes, needleIds));
+        haystack.release();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchAllArraysTooSmall() {
+        final BulkSearchProcessor processor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                bytes("a"), bytes("ab")).newBulkSearchProcessor();
+        final ByteBuf haystack = Unpooled.copiedBuffer("ab", CharsetUtil.UTF_8);
+        try {
+            haystack.searchAll(0, haystack.readableBytes(), processor, new int[1], new int[1]);
+        } finally {
+            haystack.release();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyNeedle() {
+        AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(bytes("a"), new byte[0]);
+    }
+
+    @Test
+    public void testSearchAllRandom() {
+        final Random random = new Random(123);
+        // More needles than buckets and longer than the chunks used to copy non array backed buffers.
+        final byte[][] needles = new byte[100][];
+        for (int i = 0; i < needles.length; i++) {
+            needles[i] = randomBytes(random, 1 + random.nextInt(i == 0 ? 1500 : 6));
+        }
+        final BulkSearchProcessor processor =
+                AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(needles).newBulkSearchProcessor();
+        final byte[] haystackBytes = randomBytes(random, 5000);
+        System.arraycopy(needles[0], 0, haystackBytes, 1000, needles[0].length);
+
+        final List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < haystackBytes.length; i++) {
+            for (int needleId = 0; needleId < needles.length; needleId++) {
+                byte[] needle = needles[needleId];
+                if (i + needle.length <= haystackBytes.length &&
+                        Arrays.equals(needle, Arrays.copyOfRange(haystackBytes, i, i + needle.length))) {
+                    expected.add((long) i << 32 | needleId);
+                }
+            }
+        }
+        assertTrue(expected.contains(1000L << 32));
+
+        final ByteBuf haystack = Unpooled.directBuffer().writeBytes(haystackBytes);
+        // Leave room for the occurrences of one more index, as otherwise the search may stop early.
+        int[] matchIndexes = new int[expected.size() + processor.maxMatchesPerIndex()];
+        int[] needleIds = new int[matchIndexes.length];
+        assertEquals(expected.size(),
+                haystack.searchAll(0, haystack.readableBytes(), processor, matchIndexes, needleIds));
+        List<Long> actual = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            actual.add((long) matchIndexes[i] << 32 | needleIds[i]);
+        }
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+        haystack.release();
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + random.nextInt(3));
+        }
+        return bytes;
+    }
+
+    private static List<Integer> pairs(int[] matchIndexes, int[] needleIds, int count) {
+        List<Integer> pairs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pairs.add(matchIndexes[i]);
+            pairs.add(needleIds[i]);
+        }
+        return pairs;
+    }
+
+    private static List<Integer> asList(Integer... values) {
+        return Arrays.asList(values);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(CharsetUtil.UTF_8);
+    }
+
+}
@@ -70,7 +70,16 @@ final class Utf8Validator implements ByteProcessor {
 
     public void check(ByteBuf buffer) {
         checking = true;
-        buffer.forEachByte(this);
+        int index = buffer.readerIndex();
+        final int endIndex = buffer.writerIndex();
+        if (state == UTF8_ACCEPT) {
+            // Skip the leading ASCII bytes, which are always valid and searched 8 bytes at once if possible.
+            index = buffer.forEachByte(index, endIndex - index, FIND_NON_ASCII);
+            if (index == -1) {
+                return;
+            }
+        }
+        buffer.forEachByte(index, endIndex - index, this);
     }
 
     public void finish() {
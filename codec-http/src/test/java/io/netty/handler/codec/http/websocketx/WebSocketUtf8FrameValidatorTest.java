@@ -19,9 +19,12 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.util.CharsetUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class WebSocketUtf8FrameValidatorTest {
 
     @Test
@@ -34,6 +37,30 @@ public class WebSocketUtf8FrameValidatorTest {
         assertCorruptedFrameExceptionHandling(new byte[]{-8, -120, -128, -128, -128});
     }
 
+    @Test
+    public void testValidFragmentedText() {
+        byte[] bytes = "Some ASCII text with a € split between two frames".getBytes(CharsetUtil.UTF_8);
+        int split = 24; // in the middle of the euro sign
+        EmbeddedChannel channel = new EmbeddedChannel(new Utf8FrameValidator());
+        Assert.assertTrue(channel.writeInbound(
+                new TextWebSocketFrame(false, 0, Unpooled.copiedBuffer(bytes, 0, split))));
+        Assert.assertTrue(channel.writeInbound(
+                new ContinuationWebSocketFrame(true, 0, Unpooled.copiedBuffer(bytes, split, bytes.length - split))));
+        WebSocketFrame frame = channel.readInbound();
+        frame.release();
+        frame = channel.readInbound();
+        frame.release();
+        Assert.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCorruptedFrameExceptionAfterAsciiRun() {
+        byte[] ascii = "Some ASCII text before an invalid byte".getBytes(CharsetUtil.US_ASCII);
+        byte[] data = Arrays.copyOf(ascii, ascii.length + 1);
+        data[ascii.length] = (byte) 0x80;
+        assertCorruptedFrameExceptionHandling(data);
+    }
+
     private void assertCorruptedFrameExceptionHandling(byte[] data) {
         EmbeddedChannel channel = new EmbeddedChannel(new Utf8FrameValidator());
         TextWebSocketFrame frame = new TextWebSocketFrame(Unpooled.copiedBuffer(data));
@@ -110,6 +110,11 @@ public interface ByteProcessor {
      */
     ByteProcessor FIND_NON_CRLF = value -> value == CARRIAGE_RETURN || value == LINE_FEED;
 
+    /**
+     * Aborts on a byte which is not part of the US-ASCII range ({@code 0x80 - 0xFF}).
+     */
+    ByteProcessor FIND_NON_ASCII = value -> value >= 0;
+
     /**
      * Aborts on a linear whitespace (a ({@code ' '} or a {@code '\t'}).
      */
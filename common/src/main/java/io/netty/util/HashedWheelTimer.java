@@ -15,12 +15,15 @@
  */
 package io.netty.util;
 
+import io.netty.util.concurrent.EventExecutorGroup;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -32,6 +35,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static io.netty.util.internal.StringUtil.simpleClassName;
 import static java.util.Objects.requireNonNull;
@@ -60,6 +64,13 @@ import static java.util.Objects.requireNonNull;
  * (i.e. the size of the wheel) is 512.  You could specify a larger value
  * if you are going to schedule a lot of timeouts.
  *
+ * <h3>Task Execution</h3>
+ *
+ * By default every {@link TimerTask} runs on the worker thread of the timer, so a slow task delays all other
+ * timeouts. If an {@link EventExecutorGroup} is given, all timeouts which expire in the same tick are handed over to
+ * one of its executors as a single batch instead, and the worker thread only maintains the wheel. Use
+ * {@link ShardedHashedWheelTimer} to spread the maintenance of a lot of timeouts over several worker threads.
+ *
  * <h3>Do not create many instances.</h3>
  *
  * {@link HashedWheelTimer} creates a new thread whenever it is instantiated and
@@ -86,6 +97,7 @@ public class HashedWheelTimer implements Timer {
     private static final AtomicBoolean WARNED_TOO_MANY_INSTANCES = new AtomicBoolean();
     private static final int INSTANCE_COUNT_LIMIT = 64;
     private static final long MILLISECOND_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Consumer<HashedWheelTimeout> EXPIRE = HashedWheelTimeout::expire;
     /*
     ResourceLeakDetector能对占用资源的对象进行监控，如果对象被GC之前没有主动释放资源，则ResourceLeakDetector会发现这个泄露，
     并会以打印日志的方式告知给开发者。ResourceLeakDetector可以保护任何一个可能出现泄露的资源，在Netty中ResourceLeakDetector
@@ -127,6 +139,12 @@ public class HashedWheelTimer implements Timer {
     private final AtomicLong pendingTimeouts = new AtomicLong(0);
     // 最大可等待执行的任务数量
     private final long maxPendingTimeouts;
+    // 执行到期任务的线程池，为null时在worker线程中执行
+    private final EventExecutorGroup taskExecutor;
+
+    // 只由worker线程写入
+    private volatile long tickLagNanos;
+    private volatile long maxTickLagNanos;
 
     // 第一次调用start方法的时间，即时间轮的启动时间
     private volatile long startTime;
@@ -260,6 +278,36 @@ public class HashedWheelTimer implements Timer {
             ThreadFactory threadFactory,
             long tickDuration, TimeUnit unit, int ticksPerWheel, boolean leakDetection,
             long maxPendingTimeouts) {
+        this(threadFactory, tickDuration, unit, ticksPerWheel, leakDetection, maxPendingTimeouts, null);
+    }
+
+    /**
+     * Creates a new timer.
+     *
+     * @param threadFactory        a {@link ThreadFactory} that creates a
+     *                             background {@link Thread} which is dedicated to
+     *                             maintaining the wheel.
+     * @param tickDuration         the duration between tick
+     * @param unit                 the time unit of the {@code tickDuration}
+     * @param ticksPerWheel        the size of the wheel
+     * @param leakDetection        {@code true} if leak detection should be enabled always,
+     *                             if false it will only be enabled if the worker thread is not
+     *                             a daemon thread.
+     * @param  maxPendingTimeouts  The maximum number of pending timeouts after which call to
+     *                             {@code newTimeout} will result in
+     *                             {@link java.util.concurrent.RejectedExecutionException}
+     *                             being thrown. No maximum pending timeouts limit is assumed if
+     *                             this value is 0 or negative.
+     * @param taskExecutor         the {@link EventExecutorGroup} which executes the expired {@link TimerTask}s, all
+     *                             timeouts that expire in the same tick are submitted as one batch. If {@code null}
+     *                             the {@link TimerTask}s are executed by the worker thread.
+     * @throws NullPointerException     if either of {@code threadFactory} and {@code unit} is {@code null}
+     * @throws IllegalArgumentException if either of {@code tickDuration} and {@code ticksPerWheel} is &lt;= 0
+     */
+    public HashedWheelTimer(
+            ThreadFactory threadFactory,
+            long tickDuration, TimeUnit unit, int ticksPerWheel, boolean leakDetection,
+            long maxPendingTimeouts, EventExecutorGroup taskExecutor) {
         requireNonNull(threadFactory, "threadFactory");
         requireNonNull(unit, "unit");
         // 每个刻度的时间
@@ -303,6 +351,7 @@ public class HashedWheelTimer implements Timer {
 
         // 最大可等待执行的任务数量
         this.maxPendingTimeouts = maxPendingTimeouts;
+        this.taskExecutor = taskExecutor;
 
         // 正常情况下一个进程创建一个HashedWheelTimer对象就够了，这里判断当前进程创建的HashedWheelTimer对象个数是否超过了64个，是
         // 则日志警告
@@ -482,6 +531,21 @@ public class HashedWheelTimer implements Timer {
         return pendingTimeouts.get();
     }
 
+    /**
+     * Returns how many nanoseconds the most recent tick was processed after its scheduled time. A value that keeps
+     * growing means that the worker thread cannot keep up, for example because of slow {@link TimerTask}s.
+     */
+    public long tickLagNanos() {
+        return tickLagNanos;
+    }
+
+    /**
+     * Returns the maximum number of nanoseconds a tick was processed after its scheduled time.
+     */
+    public long maxTickLagNanos() {
+        return maxTickLagNanos;
+    }
+
     private static void reportTooManyInstances() {
         if (logger.isErrorEnabled()) {
             String resourceType = simpleClassName(HashedWheelTimer.class);
@@ -493,6 +557,7 @@ public class HashedWheelTimer implements Timer {
 
     private final class Worker implements Runnable {
         private final Set<Timeout> unprocessedTimeouts = new HashSet<>();
+        private final List<HashedWheelTimeout> expiredTimeouts = new ArrayList<>();
 
         // 时间轮本质上是一个数组，可以把数组想像成一个环，形成了一个时钟，每个数组元素都是时钟的一个刻度，这里tick表示从时间轮启动开始
         // 指针走过的时间轮刻度数量，通过tick & mask就能计算出指针指向的数组下标
@@ -516,6 +581,8 @@ public class HashedWheelTimer implements Timer {
                 // 等待到达下一个刻度的起始时间，通过sleep实现等待，返回值大于0时为时间轮启动后经过的时间，小于0表示时间轮应该停止了
                 final long deadline = waitForNextTick();
                 if (deadline > 0) {
+                    // 记录当前刻度实际处理时间与计划时间的差值
+                    recordTickLag(deadline - tickDuration * (tick + 1));
                     // 计算时间轮中槽数组的下标
                     int idx = (int) (tick & mask);
                     // 将所有被取消的任务从其所在的双向链表中移除
@@ -526,7 +593,15 @@ public class HashedWheelTimer implements Timer {
                     // 时间轮的槽中
                     transferTimeoutsToBuckets();
                     // 运行当前时钟指针指向的槽的所有timeout任务（只运行remainingRounds=0的）
-                    bucket.expireTimeouts(deadline);
+                    if (taskExecutor == null) {
+                        bucket.expireTimeouts(deadline, null);
+                    } else {
+                        // 将同一刻度内到期的所有任务作为一个批次交给taskExecutor执行
+                        bucket.expireTimeouts(deadline, expiredTimeouts);
+                        if (!expiredTimeouts.isEmpty()) {
+                            submitExpiredTimeouts();
+                        }
+                    }
                     // 指针指向下一个刻度
                     tick++;
                 }
@@ -552,6 +627,26 @@ public class HashedWheelTimer implements Timer {
             processCancelledTasks();
         }
 
+        private void recordTickLag(long lagNanos) {
+            tickLagNanos = lagNanos;
+            if (lagNanos > maxTickLagNanos) {
+                maxTickLagNanos = lagNanos;
+            }
+        }
+
+        private void submitExpiredTimeouts() {
+            HashedWheelTimeout[] batch = expiredTimeouts.toArray(new HashedWheelTimeout[0]);
+            expiredTimeouts.clear();
+            try {
+                taskExecutor.next().executeBatch(EXPIRE, batch);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Failed to submit expired timeouts, executing them on the worker thread.", e);
+                for (HashedWheelTimeout timeout : batch) {
+                    timeout.expire();
+                }
+            }
+        }
+
         private void transferTimeoutsToBuckets() {
             // transfer only max. 100000 timeouts per tick to prevent a thread to stale the workerThread when it just
             // adds new timeouts in a loop.
@@ -694,6 +789,12 @@ public class HashedWheelTimer implements Timer {
         // 当前timeout对象所在的时间轮槽，即所在的双向链表
         HashedWheelBucket bucket;
 
+        // Set by the workerThread once the timeout was removed from its bucket to be expired, which already
+        // decremented pendingTimeouts. A cancel() that still wins against expire(), for example while the timeout waits
+        // for the taskExecutor, must not decrement it again. As only the workerThread will act on it there is no need
+        // for synchronization / volatile.
+        boolean unlinked;
+
         HashedWheelTimeout(HashedWheelTimer timer, TimerTask task, long deadline) {
             this.timer = timer;
             this.task = task;
@@ -731,7 +832,7 @@ public class HashedWheelTimer implements Timer {
             if (bucket != null) {
                 // 双向链表移除操作时间复杂度是O(1)
                 bucket.remove(this);
-            } else {
+            } else if (!unlinked) {
                 timer.pendingTimeouts.decrementAndGet();
             }
         }
@@ -828,11 +929,12 @@ public class HashedWheelTimer implements Timer {
         }
 
         /**
-         * Expire all {@link HashedWheelTimeout}s for the given {@code deadline}.
+         * Expire all {@link HashedWheelTimeout}s for the given {@code deadline}. If {@code expired} is not
+         * {@code null} the {@link HashedWheelTimeout}s are added to it instead of being expired directly.
          */
         // 一个HashedWheelBucket对象就是时间轮的一个槽，保存了这个槽里所有任务，这些任务需要被执行的时间是一样的，这里循环调用所有
         // 的timeout对象的expire方法，即运行任务
-        public void expireTimeouts(long deadline) {
+        public void expireTimeouts(long deadline, List<HashedWheelTimeout> expired) {
             HashedWheelTimeout timeout = head;
 
             // process all timeouts
@@ -842,10 +944,15 @@ public class HashedWheelTimer implements Timer {
                 // 如果timeout的remainingRounds <= 0表示该timeout在时间轮的最内层环，需要立即执行
                 if (timeout.remainingRounds <= 0) {
                     next = remove(timeout);
+                    timeout.unlinked = true;
                     // 正常情况下这个if条件都会满足
                     if (timeout.deadline <= deadline) {
                         // 执行timeout任务
-                        timeout.expire();
+                        if (expired == null) {
+                            timeout.expire();
+                        } else {
+                            expired.add(timeout);
+                        }
                     } else {
                         // The timeout was placed into a wrong slot. This should never happen.
                         throw new IllegalStateException(String.format(
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Interns the call sites which are recorded by {@link ResourceLeakDetector.Level#LIGHTWEIGHT} leak detection as
+ * {@code int} identifiers. The call site of an access is the first stack frame outside of the package of the tracked
+ * object and the leak detection itself. On Java 9+ the frames are inspected lazily via {@code StackWalker}, so only
+ * the top of the stack is walked and no stack trace is captured.
+ */
+final class LeakCallSites {
+
+    static final int UNKNOWN_SITE = -1;
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(LeakCallSites.class);
+
+    private static final String DETECTOR_CLASS = ResourceLeakDetector.class.getName();
+    private static final String CALL_SITES_CLASS = LeakCallSites.class.getName();
+
+    private static final MethodHandle WALK;
+    private static final MethodHandle GET_CLASS_NAME;
+    private static final MethodHandle GET_METHOD_NAME;
+    private static final MethodHandle GET_FILE_NAME;
+    private static final MethodHandle GET_LINE_NUMBER;
+
+    private static final ClassValue<String> SKIP_PREFIXES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getName();
+            int i = name.lastIndexOf('.');
+            return i < 0 ? name : name.substring(0, i + 1);
+        }
+    };
+
+    private static final FastThreadLocal<SiteFinder> FINDERS = new FastThreadLocal<SiteFinder>() {
+        @Override
+        protected SiteFinder initialValue() {
+            return new SiteFinder();
+        }
+    };
+
+    // Guarded by IDS.
+    private static final List<String> NAMES = new ArrayList<>();
+    private static final ConcurrentMap<Site, Integer> IDS = new ConcurrentHashMap<>();
+
+    static {
+        MethodHandle walk = null;
+        MethodHandle getClassName = null;
+        MethodHandle getMethodName = null;
+        MethodHandle getFileName = null;
+        MethodHandle getLineNumber = null;
+        if (PlatformDependent.javaVersion() >= 9) {
+            try {
+                Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+                Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+                // StackWalker.walk(...) is caller-sensitive and so can not be looked up via publicLookup().
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                Object walker = walkerClass.getMethod("getInstance").invoke(null);
+                walk = lookup.findVirtual(walkerClass, "walk", methodType(Object.class, Function.class))
+                        .bindTo(walker);
+                getClassName = lookup.findVirtual(frameClass, "getClassName", methodType(String.class))
+                        .asType(methodType(String.class, Object.class));
+                getMethodName = lookup.findVirtual(frameClass, "getMethodName", methodType(String.class))
+                        .asType(methodType(String.class, Object.class));
+                getFileName = lookup.findVirtual(frameClass, "getFileName", methodType(String.class))
+                        .asType(methodType(String.class, Object.class));
+                getLineNumber = lookup.findVirtual(frameClass, "getLineNumber", methodType(int.class))
+                        .asType(methodType(int.class, Object.class));
+            } catch (Throwable cause) {
+                logger.info("StackWalker: unavailable, falling back to Throwable.getStackTrace() to record call sites",
+                        cause);
+                walk = null;
+            }
+        }
+        WALK = walk;
+        GET_CLASS_NAME = getClassName;
+        GET_METHOD_NAME = getMethodName;
+        GET_FILE_NAME = getFileName;
+        GET_LINE_NUMBER = getLineNumber;
+    }
+
+    private LeakCallSites() {
+    }
+
+    /**
+     * Returns {@code true} if the call sites are found via {@code StackWalker} instead of capturing a stack trace.
+     */
+    static boolean isStackWalkerUsed() {
+        return WALK != null;
+    }
+
+    /**
+     * Returns the prefix of the class names which are skipped when looking for the call site of an access to an
+     * instance of {@code type}.
+     */
+    static String skipPrefix(Class<?> type) {
+        return SKIP_PREFIXES.get(type);
+    }
+
+    /**
+     * Returns the identifier of the current call site, or {@link #UNKNOWN_SITE} if all frames were skipped.
+     */
+    static int currentSite(String skipPrefix) {
+        SiteFinder finder = FINDERS.get();
+        finder.skipPrefix = skipPrefix;
+        try {
+            if (WALK != null) {
+                if ((Object) WALK.invokeExact((Function) finder) == null) {
+                    return UNKNOWN_SITE;
+                }
+            } else if (!finder.find(new Throwable().getStackTrace())) {
+                return UNKNOWN_SITE;
+            }
+            return intern(finder);
+        } catch (Throwable cause) {
+            PlatformDependent.throwException(cause);
+            return UNKNOWN_SITE;
+        } finally {
+            finder.clear();
+        }
+    }
+
+    /**
+     * Returns the description of the call site with the given identifier in the format of a
+     * {@link StackTraceElement}.
+     */
+    static String describe(int site) {
+        if (site == UNKNOWN_SITE) {
+            return "<unknown>";
+        }
+        synchronized (IDS) {
+            return NAMES.get(site);
+        }
+    }
+
+    private static int intern(SiteFinder finder) throws Throwable {
+        Integer id = IDS.get(finder.site);
+        if (id != null) {
+            return id;
+        }
+        synchronized (IDS) {
+            id = IDS.get(finder.site);
+            if (id == null) {
+                id = NAMES.size();
+                NAMES.add(finder.describe());
+                IDS.put(finder.site.copy(), id);
+            }
+            return id;
+        }
+    }
+
+    private static boolean skip(String className, String skipPrefix) {
+        return className.startsWith(skipPrefix) || isOrNestedIn(className, DETECTOR_CLASS) ||
+                isOrNestedIn(className, CALL_SITES_CLASS);
+    }
+
+    private static boolean isOrNestedIn(String className, String outerClassName) {
+        return className.startsWith(outerClassName) && (className.length() == outerClassName.length() ||
+                className.charAt(outerClassName.length()) == '$');
+    }
+
+    /**
+     * Key of a call site, which is also used as a reusable lookup key so no key needs to be created for known sites.
+     */
+    private static final class Site {
+        String className;
+        String methodName;
+        int lineNumber;
+
+        Site copy() {
+            Site copy = new Site();
+            copy.className = className;
+            copy.methodName = methodName;
+            copy.lineNumber = lineNumber;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return (className.hashCode() * 31 + methodName.hashCode()) * 31 + lineNumber;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Site)) {
+                return false;
+            }
+            Site other = (Site) obj;
+            return lineNumber == other.lineNumber && className.equals(other.className) &&
+                    methodName.equals(other.methodName);
+        }
+    }
+
+    private static final class SiteFinder implements Function<Stream<?>, Object> {
+        final Site site = new Site();
+        String skipPrefix;
+        private Object frame;
+        private StackTraceElement element;
+
+        @Override
+        public Object apply(Stream<?> frames) {
+            try {
+                Iterator<?> it = frames.iterator();
+                while (it.hasNext()) {
+                    Object frame = it.next();
+                    String className = (String) GET_CLASS_NAME.invokeExact(frame);
+                    if (skip(className, skipPrefix)) {
+                        continue;
+                    }
+                    String methodName = (String) GET_METHOD_NAME.invokeExact(frame);
+                    if (ResourceLeakDetector.isExcluded(className, methodName)) {
+                        continue;
+                    }
+                    site.className = className;
+                    site.methodName = methodName;
+                    site.lineNumber = (int) GET_LINE_NUMBER.invokeExact(frame);
+                    this.frame = frame;
+                    return site;
+                }
+                return null;
+            } catch (Throwable cause) {
+                PlatformDependent.throwException(cause);
+                return null;
+            }
+        }
+
+        boolean find(StackTraceElement[] elements) {
+            for (StackTraceElement element : elements) {
+                String className = element.getClassName();
+                if (skip(className, skipPrefix) ||
+                        ResourceLeakDetector.isExcluded(className, element.getMethodName())) {
+                    continue;
+                }
+                site.className = className;
+                site.methodName = element.getMethodName();
+                site.lineNumber = element.getLineNumber();
+                this.element = element;
+                return true;
+            }
+            return false;
+        }
+
+        String describe() throws Throwable {
+            if (element != null) {
+                return element.toString();
+            }
+            String fileName = (String) GET_FILE_NAME.invokeExact(frame);
+            return new StackTraceElement(site.className, site.methodName, fileName, site.lineNumber).toString();
+        }
+
+        void clear() {
+            skipPrefix = null;
+            frame = null;
+            element = null;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.netty.util;
 
 import io.netty.util.concurrent.FastThreadLocal;
 import io.netty.util.internal.ObjectPool;
+import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.SystemPropertyUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
@@ -25,8 +26,11 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Queue;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static io.netty.util.internal.MathUtil.safeFindNextPositivePowerOfTwo;
 import static java.lang.Math.max;
@@ -34,6 +38,11 @@ import static java.lang.Math.min;
 
 /**
  * Light-weight object pool based on a thread-local stack.
+ * <p>
+ * By default objects which are recycled by another thread than the one that created them are collected in
+ * {@code WeakOrderQueue}s of the recycling thread. If {@code io.netty.recycler.magazines} is {@code true} a simpler
+ * design is used instead: every thread owns a magazine of objects and a bounded MPSC queue through which other threads
+ * return objects to it, which the owner drains once its magazine is empty.
  *
  * @param <T> the type of the pooled object
  */
@@ -55,6 +64,7 @@ public abstract class Recycler<T> {
     private static final int LINK_CAPACITY;
     private static final int RATIO;
     private static final int DELAYED_QUEUE_RATIO;
+    private static final boolean MAGAZINES;
 
     static {
         // In the future, we might have different maxCapacity for different object types.
@@ -85,6 +95,7 @@ public abstract class Recycler<T> {
         // bursts.
         RATIO = max(0, SystemPropertyUtil.getInt("io.netty.recycler.ratio", 8));
         DELAYED_QUEUE_RATIO = max(0, SystemPropertyUtil.getInt("io.netty.recycler.delayedQueue.ratio", RATIO));
+        MAGAZINES = SystemPropertyUtil.getBoolean("io.netty.recycler.magazines", false);
 
         if (logger.isDebugEnabled()) {
             if (DEFAULT_MAX_CAPACITY_PER_THREAD == 0) {
@@ -99,6 +110,7 @@ public abstract class Recycler<T> {
                 logger.debug("-Dio.netty.recycler.linkCapacity: {}", LINK_CAPACITY);
                 logger.debug("-Dio.netty.recycler.ratio: {}", RATIO);
                 logger.debug("-Dio.netty.recycler.delayedQueue.ratio: {}", DELAYED_QUEUE_RATIO);
+                logger.debug("-Dio.netty.recycler.magazines: {}", MAGAZINES);
             }
         }
 
@@ -110,24 +122,12 @@ public abstract class Recycler<T> {
     private final int interval;
     private final int maxDelayedQueuesPerThread;
     private final int delayedQueueInterval;
+    private final boolean magazines;
 
-    private final FastThreadLocal<Stack<T>> threadLocal = new FastThreadLocal<Stack<T>>() {
-        @Override
-        protected Stack<T> initialValue() {
-            return new Stack<>(Recycler.this, Thread.currentThread(), maxCapacityPerThread, maxSharedCapacityFactor,
-                    interval, maxDelayedQueuesPerThread, delayedQueueInterval);
-        }
-
-        @Override
-        protected void onRemoval(Stack<T> value) {
-            // Let us remove the WeakOrderQueue from the WeakHashMap directly if its safe to remove some overhead
-            if (value.threadRef.get() == Thread.currentThread()) {
-               if (DELAYED_RECYCLED.isSet()) {
-                   DELAYED_RECYCLED.get().remove(value);
-               }
-            }
-        }
-    };
+    // Only the FastThreadLocal of the selected design is created, as every FastThreadLocal takes an index in the
+    // InternalThreadLocalMap of each thread that uses it.
+    private final FastThreadLocal<Magazine<T>> magazine;
+    private final FastThreadLocal<Stack<T>> threadLocal;
 
     protected Recycler() {
         this(DEFAULT_MAX_CAPACITY_PER_THREAD);
@@ -149,6 +149,13 @@ public abstract class Recycler<T> {
 
     protected Recycler(int maxCapacityPerThread, int maxSharedCapacityFactor,
                        int ratio, int maxDelayedQueuesPerThread, int delayedQueueRatio) {
+        this(maxCapacityPerThread, maxSharedCapacityFactor, ratio, maxDelayedQueuesPerThread, delayedQueueRatio,
+                MAGAZINES);
+    }
+
+    Recycler(int maxCapacityPerThread, int maxSharedCapacityFactor,
+             int ratio, int maxDelayedQueuesPerThread, int delayedQueueRatio, boolean magazines) {
+        this.magazines = magazines;
         interval = max(0, ratio);
         delayedQueueInterval = max(0, delayedQueueRatio);
         if (maxCapacityPerThread <= 0) {
@@ -160,6 +167,38 @@ public abstract class Recycler<T> {
             this.maxSharedCapacityFactor = max(1, maxSharedCapacityFactor);
             this.maxDelayedQueuesPerThread = max(0, maxDelayedQueuesPerThread);
         }
+        if (magazines) {
+            magazine = new FastThreadLocal<Magazine<T>>() {
+                @Override
+                protected Magazine<T> initialValue() {
+                    return new Magazine<>(Recycler.this, Thread.currentThread(), Recycler.this.maxCapacityPerThread,
+                            max(LINK_CAPACITY, Recycler.this.maxCapacityPerThread /
+                                    Recycler.this.maxSharedCapacityFactor), interval);
+                }
+            };
+            threadLocal = null;
+        } else {
+            magazine = null;
+            threadLocal = new FastThreadLocal<Stack<T>>() {
+                @Override
+                protected Stack<T> initialValue() {
+                    return new Stack<>(Recycler.this, Thread.currentThread(), Recycler.this.maxCapacityPerThread,
+                            Recycler.this.maxSharedCapacityFactor, interval,
+                            Recycler.this.maxDelayedQueuesPerThread, delayedQueueInterval);
+                }
+
+                @Override
+                protected void onRemoval(Stack<T> value) {
+                    // Let us remove the WeakOrderQueue from the WeakHashMap directly if its safe to remove some
+                    // overhead
+                    if (value.threadRef.get() == Thread.currentThread()) {
+                        if (DELAYED_RECYCLED.isSet()) {
+                            DELAYED_RECYCLED.get().remove(value);
+                        }
+                    }
+                }
+            };
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -167,6 +206,15 @@ public abstract class Recycler<T> {
         if (maxCapacityPerThread == 0) {
             return newObject((Handle<T>) NOOP_HANDLE);
         }
+        if (magazines) {
+            Magazine<T> magazine = this.magazine.get();
+            MagazineHandle<T> handle = magazine.claim();
+            if (handle == null) {
+                handle = new MagazineHandle<>(magazine);
+                handle.value = newObject(handle);
+            }
+            return (T) handle.value;
+        }
         Stack<T> stack = threadLocal.get();
         DefaultHandle<T> handle = stack.pop();
         if (handle == null) {
@@ -185,6 +233,15 @@ public abstract class Recycler<T> {
             return false;
         }
 
+        if (handle instanceof MagazineHandle) {
+            MagazineHandle<T> h = (MagazineHandle<T>) handle;
+            if (h.magazine.parent != this) {
+                return false;
+            }
+            h.recycle(o);
+            return true;
+        }
+
         DefaultHandle<T> h = (DefaultHandle<T>) handle;
         if (h.stack.parent != this) {
             return false;
@@ -195,11 +252,11 @@ public abstract class Recycler<T> {
     }
 
     final int threadLocalCapacity() {
-        return threadLocal.get().elements.length;
+        return magazines ? magazine.get().elements.length : threadLocal.get().elements.length;
     }
 
     final int threadLocalSize() {
-        return threadLocal.get().size;
+        return magazines ? magazine.get().size : threadLocal.get().size;
     }
 
     protected abstract T newObject(Handle<T> handle);
@@ -719,4 +776,171 @@ public abstract class Recycler<T> {
             return new DefaultHandle<>(this);
         }
     }
+
+    private static final class MagazineHandle<T> implements Handle<T> {
+        private static final int STATE_CLAIMED = 0;
+        private static final int STATE_AVAILABLE = 1;
+        private static final AtomicIntegerFieldUpdater<MagazineHandle<?>> STATE_UPDATER;
+
+        static {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            AtomicIntegerFieldUpdater<MagazineHandle<?>> updater =
+                    (AtomicIntegerFieldUpdater) AtomicIntegerFieldUpdater.newUpdater(MagazineHandle.class, "state");
+            STATE_UPDATER = updater;
+        }
+
+        final Magazine<?> magazine;
+        Object value;
+        // Only accessed by the owner of the magazine.
+        boolean hasBeenRecycled;
+        private volatile int state; // 0 - claimed, 1 - available
+
+        MagazineHandle(Magazine<?> magazine) {
+            this.magazine = magazine;
+        }
+
+        @Override
+        public void recycle(Object object) {
+            if (object != value) {
+                throw new IllegalArgumentException("object does not belong to handle");
+            }
+            magazine.release(this);
+        }
+
+        void claim() {
+            // Only the owner claims handles and it does so after it received them from the other threads, so there
+            // is no need for a memory barrier.
+            STATE_UPDATER.lazySet(this, STATE_CLAIMED);
+        }
+
+        void toAvailable() {
+            if (!STATE_UPDATER.compareAndSet(this, STATE_CLAIMED, STATE_AVAILABLE)) {
+                throw new IllegalStateException("recycled already");
+            }
+        }
+
+        void toAvailableByOwner() {
+            if (state != STATE_CLAIMED) {
+                throw new IllegalStateException("recycled already");
+            }
+            STATE_UPDATER.lazySet(this, STATE_AVAILABLE);
+        }
+    }
+
+    /**
+     * The objects owned by a single thread. The owner pushes recycled objects to {@link #elements} directly, all
+     * other threads offer them to the bounded {@link #returns} queue, which the owner drains once
+     * {@link #elements} is empty. If the queue is full the object is dropped.
+     */
+    private static final class Magazine<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Magazine, Queue> RETURNS_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Magazine.class, Queue.class, "returns");
+
+        final Recycler<T> parent;
+        // The magazine is referenced by all of its handles, so it must not keep the thread alive.
+        final WeakReference<Thread> owner;
+        private final int maxCapacity;
+        private final int returnCapacity;
+        private final int interval;
+        private int handleRecycleCount;
+        MagazineHandle<?>[] elements;
+        int size;
+
+        // Created on the first return by another thread.
+        private volatile Queue<MagazineHandle<?>> returns;
+
+        Magazine(Recycler<T> parent, Thread owner, int maxCapacity, int returnCapacity, int interval) {
+            this.parent = parent;
+            this.owner = new WeakReference<>(owner);
+            this.maxCapacity = maxCapacity;
+            this.returnCapacity = returnCapacity;
+            this.interval = interval;
+            handleRecycleCount = interval; // Start at interval so the first one will be recycled.
+            elements = new MagazineHandle[min(INITIAL_CAPACITY, maxCapacity)];
+        }
+
+        @SuppressWarnings("unchecked")
+        MagazineHandle<T> claim() {
+            int size = this.size;
+            if (size == 0) {
+                size = drainReturns();
+                if (size == 0) {
+                    return null;
+                }
+            }
+            size--;
+            MagazineHandle<?> handle = elements[size];
+            elements[size] = null;
+            this.size = size;
+            handle.claim();
+            return (MagazineHandle<T>) handle;
+        }
+
+        void release(MagazineHandle<?> handle) {
+            if (owner.get() == Thread.currentThread()) {
+                handle.toAvailableByOwner();
+                push(handle);
+            } else {
+                handle.toAvailable();
+                Queue<MagazineHandle<?>> returns = this.returns;
+                if (returns == null) {
+                    returns = newReturns();
+                }
+                // If the queue is full the object is just dropped and collected by the GC.
+                returns.offer(handle);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Queue<MagazineHandle<?>> newReturns() {
+            Queue<MagazineHandle<?>> returns = PlatformDependent.newFixedMpscQueue(returnCapacity);
+            if (!RETURNS_UPDATER.compareAndSet(this, null, returns)) {
+                returns = this.returns;
+            }
+            return returns;
+        }
+
+        private int drainReturns() {
+            Queue<MagazineHandle<?>> returns = this.returns;
+            if (returns == null) {
+                return 0;
+            }
+            for (int i = 0; i < returnCapacity; i++) {
+                MagazineHandle<?> handle = returns.poll();
+                if (handle == null) {
+                    break;
+                }
+                push(handle);
+                if (size == maxCapacity) {
+                    break;
+                }
+            }
+            return size;
+        }
+
+        private void push(MagazineHandle<?> handle) {
+            int size = this.size;
+            if (size >= maxCapacity || dropHandle(handle)) {
+                return;
+            }
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, min(size << 1, maxCapacity));
+            }
+            elements[size] = handle;
+            this.size = size + 1;
+        }
+
+        private boolean dropHandle(MagazineHandle<?> handle) {
+            if (!handle.hasBeenRecycled) {
+                if (handleRecycleCount < interval) {
+                    handleRecycleCount++;
+                    return true;
+                }
+                handleRecycleCount = 0;
+                handle.hasBeenRecycled = true;
+            }
+            return false;
+        }
+    }
 }
@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -76,12 +77,19 @@ public class ResourceLeakDetector<T> {
          * Enables paranoid resource leak detection which reports where the leaked object was accessed recently,
          * at the cost of the highest possible overhead (for testing purposes only).
          */
-        PARANOID;
+        PARANOID,
+        /**
+         * Enables lightweight sampling resource leak detection which reports the call sites where the leaked object
+         * was created and accessed recently, together with the accessing thread and time. Instead of a stack trace
+         * only an interned identifier of the first call site outside of the package of the leaked object is kept in a
+         * small ring per object, at a fraction of the overhead of {@link #ADVANCED}.
+         */
+        LIGHTWEIGHT;
 
         /**
          * Returns level based on string value. Accepts also string that represents ordinal number of enum.
          *
-         * @param levelStr - level string : DISABLED, SIMPLE, ADVANCED, PARANOID. Ignores case.
+         * @param levelStr - level string : DISABLED, SIMPLE, ADVANCED, PARANOID, LIGHTWEIGHT. Ignores case.
          * @return corresponding level or SIMPLE level in case of no match.
          */
         static Level parseLevel(String levelStr) {
@@ -235,10 +243,11 @@ public class ResourceLeakDetector<T> {
             return null;
         }
 
-        if (level.ordinal() < Level.PARANOID.ordinal()) {
+        if (level != Level.PARANOID) {
             if (ThreadLocalRandom.current().nextInt(samplingInterval) == 0) {
                 reportLeak();
-                return new DefaultResourceLeak(obj, refQueue, allLeaks);
+                return level == Level.LIGHTWEIGHT ? new LightweightResourceLeak(obj, refQueue, allLeaks) :
+                        new DefaultResourceLeak(obj, refQueue, allLeaks);
             }
             return null;
         }
@@ -326,7 +335,7 @@ public class ResourceLeakDetector<T> {
     }
 
     @SuppressWarnings("deprecation")
-    private static final class DefaultResourceLeak<T>
+    private static class DefaultResourceLeak<T>
             extends WeakReference<Object> implements ResourceLeakTracker<T>, ResourceLeak {
 
         @SuppressWarnings("unchecked") // generics and updaters do not mix.
@@ -351,6 +360,15 @@ public class ResourceLeakDetector<T> {
                 Object referent,
                 ReferenceQueue<Object> refQueue,
                 Set<DefaultResourceLeak<?>> allLeaks) {
+            // Create a new Record so we always have the creation stacktrace included.
+            this(referent, refQueue, allLeaks, new TraceRecord(TraceRecord.BOTTOM));
+        }
+
+        DefaultResourceLeak(
+                Object referent,
+                ReferenceQueue<Object> refQueue,
+                Set<DefaultResourceLeak<?>> allLeaks,
+                TraceRecord head) {
             super(referent, refQueue);
 
             assert referent != null;
@@ -360,8 +378,7 @@ public class ResourceLeakDetector<T> {
             // be collected via the WeakReference.
             trackedHash = System.identityHashCode(referent);
             allLeaks.add(this);
-            // Create a new Record so we always have the creation stacktrace included.
-            headUpdater.set(this, new TraceRecord(TraceRecord.BOTTOM));
+            headUpdater.set(this, head);
             this.allLeaks = allLeaks;
         }
 
@@ -543,9 +560,123 @@ public class ResourceLeakDetector<T> {
         }
     }
 
+    /**
+     * {@link DefaultResourceLeak} used by {@link Level#LIGHTWEIGHT}, which records the call site, thread and time of
+     * the most recent accesses in a preallocated ring instead of a linked list of stack traces. Concurrent accesses
+     * may overwrite each other's slots, which is acceptable as the records are only used for the leak report.
+     * Hints are not recorded, as resolving them would allocate on every access.
+     */
+    private static final class LightweightResourceLeak<T> extends DefaultResourceLeak<T> {
+
+        @SuppressWarnings("unchecked") // generics and updaters do not mix.
+        private static final AtomicIntegerFieldUpdater<LightweightResourceLeak<?>> writeIndexUpdater =
+                (AtomicIntegerFieldUpdater)
+                        AtomicIntegerFieldUpdater.newUpdater(LightweightResourceLeak.class, "writeIndex");
+
+        private final String skipPrefix;
+        // Each record consists of the call site in the upper and the thread id in the lower 32 bits, followed by the
+        // value of System.nanoTime().
+        private final long[] records;
+        private final long created;
+        private final long createdNanos;
+        @SuppressWarnings("unused")
+        private volatile int writeIndex;
+
+        LightweightResourceLeak(
+                Object referent,
+                ReferenceQueue<Object> refQueue,
+                Set<DefaultResourceLeak<?>> allLeaks) {
+            // The bottom record just marks this leak as open, the creation is recorded without a stack trace.
+            super(referent, refQueue, allLeaks, TraceRecord.BOTTOM);
+            skipPrefix = LeakCallSites.skipPrefix(referent.getClass());
+            records = new long[Math.max(TARGET_RECORDS, 0) << 1];
+            created = currentRecord();
+            createdNanos = System.nanoTime();
+        }
+
+        private long currentRecord() {
+            return (long) LeakCallSites.currentSite(skipPrefix) << 32 | Thread.currentThread().getId() & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public void record() {
+            record0();
+        }
+
+        @Override
+        public void record(Object hint) {
+            record0();
+        }
+
+        private void record0() {
+            if (records.length == 0 || DefaultResourceLeak.headUpdater.get(this) == null) {
+                // disabled or already closed.
+                return;
+            }
+            long record = currentRecord();
+            int i = (writeIndexUpdater.getAndIncrement(this) & Integer.MAX_VALUE) % TARGET_RECORDS << 1;
+            records[i] = record;
+            records[i + 1] = System.nanoTime();
+        }
+
+        @Override
+        public String toString() {
+            if (DefaultResourceLeak.headUpdater.getAndSet(this, null) == null) {
+                // Already closed
+                return EMPTY_STRING;
+            }
+
+            final int written = writeIndexUpdater.get(this) & Integer.MAX_VALUE;
+            final int present = Math.min(written, records.length >> 1);
+            StringBuilder buf = new StringBuilder((present + 1) * 128).append(NEWLINE);
+            buf.append("Recent access records: ").append(NEWLINE);
+            for (int i = 1; i <= present; i++) {
+                int index = (written - i) % TARGET_RECORDS << 1;
+                buf.append('#').append(i).append(':').append(NEWLINE);
+                appendRecord(buf, records[index], records[index + 1]);
+            }
+            buf.append("Created at:").append(NEWLINE);
+            appendRecord(buf, created, createdNanos);
+
+            if (written > present) {
+                buf.append(": ")
+                   .append(written - present)
+                   .append(" leak records were discarded because the leak record count is targeted to ")
+                   .append(TARGET_RECORDS)
+                   .append(". Use system property ")
+                   .append(PROP_TARGET_RECORDS)
+                   .append(" to increase the limit.")
+                   .append(NEWLINE);
+            }
+
+            buf.setLength(buf.length() - NEWLINE.length());
+            return buf.toString();
+        }
+
+        private void appendRecord(StringBuilder buf, long record, long nanoTime) {
+            buf.append('\t').append(LeakCallSites.describe((int) (record >> 32)))
+               .append(" [thread ").append((int) record)
+               .append(", +").append(TimeUnit.NANOSECONDS.toMicros(nanoTime - createdNanos)).append(" us]")
+               .append(NEWLINE);
+        }
+    }
+
     private static final AtomicReference<String[]> excludedMethods =
             new AtomicReference<>(EmptyArrays.EMPTY_STRINGS);
 
+    /**
+     * Returns {@code true} if the method was excluded via {@link #addExclusions(Class, String...)}.
+     */
+    static boolean isExcluded(String className, String methodName) {
+        String[] exclusions = excludedMethods.get();
+        for (int k = 0; k < exclusions.length; k += 2) {
+            if (exclusions[k].equals(className) && exclusions[k + 1].equals(methodName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static void addExclusions(Class clz, String ... methodNames) {
         Set<String> nameSet = new HashSet<>(Arrays.asList(methodNames));
         // Use loop rather than lookup. This avoids knowing the parameters, and doesn't have to handle
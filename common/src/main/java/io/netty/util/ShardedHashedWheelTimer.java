@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.internal.UnstableApi;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * A {@link Timer} which spreads its timeouts over several {@link HashedWheelTimer}s, each of them with its own worker
+ * thread. This is useful if a lot of timeouts are created concurrently, as the timeouts are added to and cancelled
+ * from the wheels in parallel and a slow {@link TimerTask} only delays the timeouts of its own wheel. If an
+ * {@link EventExecutorGroup} is given, the {@link TimerTask}s do not run on the worker threads at all: all timeouts
+ * which expire in the same tick of a wheel are submitted to the group as a single batch.
+ * <p>
+ * {@link Timeout#timer()} of the returned {@link Timeout}s returns the {@link HashedWheelTimer} which holds the
+ * timeout. Like {@link HashedWheelTimer}, this timer should be shared across the application.
+ */
+@UnstableApi
+public final class ShardedHashedWheelTimer implements Timer {
+
+    private final HashedWheelTimer[] shards;
+
+    /**
+     * Creates a new timer with the default thread factory ({@link Executors#defaultThreadFactory()}), the default
+     * tick duration of 100 milliseconds and 512 ticks per wheel.
+     *
+     * @param shards the number of wheels and worker threads
+     */
+    public ShardedHashedWheelTimer(int shards) {
+        this(Executors.defaultThreadFactory(), 100, TimeUnit.MILLISECONDS, 512, shards);
+    }
+
+    /**
+     * Creates a new timer which executes the {@link TimerTask}s on the worker threads.
+     *
+     * @param threadFactory  a {@link ThreadFactory} that creates the worker threads
+     * @param tickDuration   the duration between tick
+     * @param unit           the time unit of the {@code tickDuration}
+     * @param ticksPerWheel  the size of each wheel
+     * @param shards         the number of wheels and worker threads
+     */
+    public ShardedHashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                                   int shards) {
+        this(threadFactory, tickDuration, unit, ticksPerWheel, shards, -1, null);
+    }
+
+    /**
+     * Creates a new timer.
+     *
+     * @param threadFactory       a {@link ThreadFactory} that creates the worker threads
+     * @param tickDuration        the duration between tick
+     * @param unit                the time unit of the {@code tickDuration}
+     * @param ticksPerWheel       the size of each wheel
+     * @param shards              the number of wheels and worker threads
+     * @param maxPendingTimeouts  the maximum number of pending timeouts, which is divided evenly between the wheels.
+     *                            No maximum is assumed if this value is 0 or negative.
+     * @param taskExecutor        the {@link EventExecutorGroup} which executes the expired {@link TimerTask}s or
+     *                            {@code null} to execute them on the worker threads.
+     */
+    public ShardedHashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                                   int shards, long maxPendingTimeouts, EventExecutorGroup taskExecutor) {
+        checkPositive(shards, "shards");
+        long maxPendingTimeoutsPerShard = maxPendingTimeouts <= 0 ? maxPendingTimeouts :
+                (maxPendingTimeouts + shards - 1) / shards;
+        this.shards = new HashedWheelTimer[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new HashedWheelTimer(threadFactory, tickDuration, unit, ticksPerWheel, true,
+                    maxPendingTimeoutsPerShard, taskExecutor);
+        }
+    }
+
+    /**
+     * Starts all worker threads explicitly. They will start automatically on demand even if you did not call this
+     * method.
+     *
+     * @throws IllegalStateException if this timer has been {@linkplain #stop() stopped} already
+     */
+    public void start() {
+        for (HashedWheelTimer shard : shards) {
+            shard.start();
+        }
+    }
+
+    @Override
+    public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+        HashedWheelTimer shard = shards.length == 1 ? shards[0] :
+                shards[ThreadLocalRandom.current().nextInt(shards.length)];
+        return shard.newTimeout(task, delay, unit);
+    }
+
+    @Override
+    public Set<Timeout> stop() {
+        Set<Timeout> unprocessed = new HashSet<>();
+        for (HashedWheelTimer shard : shards) {
+            unprocessed.addAll(shard.stop());
+        }
+        return unprocessed;
+    }
+
+    /**
+     * Returns the number of pending timeouts of this {@link Timer}.
+     */
+    public long pendingTimeouts() {
+        long pending = 0;
+        for (HashedWheelTimer shard : shards) {
+            pending += shard.pendingTimeouts();
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the largest {@link HashedWheelTimer#tickLagNanos()} of all wheels.
+     */
+    public long tickLagNanos() {
+        long lag = 0;
+        for (HashedWheelTimer shard : shards) {
+            lag = Math.max(lag, shard.tickLagNanos());
+        }
+        return lag;
+    }
+
+    /**
+     * Returns the largest {@link HashedWheelTimer#maxTickLagNanos()} of all wheels.
+     */
+    public long maxTickLagNanos() {
+        long lag = 0;
+        for (HashedWheelTimer shard : shards) {
+            lag = Math.max(lag, shard.maxTickLagNanos());
+        }
+        return lag;
+    }
+}
@@ -15,11 +15,15 @@
  */
 package io.netty.util.concurrent;
 
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
 import static java.util.Objects.requireNonNull;
 
 import io.netty.util.internal.DefaultPriorityQueue;
 import io.netty.util.internal.PriorityQueue;
 import io.netty.util.internal.PriorityQueueNode;
+import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
 import java.util.Comparator;
 import java.util.Queue;
@@ -32,16 +36,58 @@ import java.util.concurrent.TimeoutException;
 
 /**
  * Abstract base class for {@link EventExecutor}s that want to support scheduling.
+ * <p>
+ * Scheduled tasks are kept in a priority queue by default. Optionally the tasks can be kept in a hierarchical timing
+ * wheel instead, which makes scheduling and cancelling a task O(1) at the cost of running it up to one tick after its
+ * deadline. This is useful if a lot of timeouts are scheduled which are cancelled most of the time. Tasks which are
+ * scheduled via {@link #scheduleExact(Runnable, long, TimeUnit)} or {@link #scheduleExact(Callable, long, TimeUnit)}
+ * always run as close to their deadline as possible.
  */
 public abstract class AbstractScheduledEventExecutor extends AbstractEventExecutor {
+    private static final InternalLogger logger =
+            InternalLoggerFactory.getInstance(AbstractScheduledEventExecutor.class);
+
     static final long START_TIME = System.nanoTime();
 
+    private static final long DEFAULT_TIMING_WHEEL_TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(Math.max(0,
+            SystemPropertyUtil.getLong("io.netty.eventexecutor.timingWheelTickMicros", 0)));
+
+    static {
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.eventexecutor.timingWheelTickMicros: {}",
+                    TimeUnit.NANOSECONDS.toMicros(DEFAULT_TIMING_WHEEL_TICK_NANOS));
+        }
+    }
+
     private static final Comparator<RunnableScheduledFutureNode<?>> SCHEDULED_FUTURE_TASK_COMPARATOR =
             Comparable::compareTo;
 
+    private final long timingWheelTickNanos;
     private PriorityQueue<RunnableScheduledFutureNode<?>> scheduledTaskQueue;
+    private ScheduledTaskWheel timingWheel;
 
     protected AbstractScheduledEventExecutor() {
+        timingWheelTickNanos = DEFAULT_TIMING_WHEEL_TICK_NANOS;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param timingWheelTick the duration of a tick of the timing wheel which holds all tasks that do not need an
+     *                        exact deadline or {@code 0} to keep all tasks in a priority queue.
+     * @param unit the {@link TimeUnit} of {@code timingWheelTick}.
+     */
+    protected AbstractScheduledEventExecutor(long timingWheelTick, TimeUnit unit) {
+        timingWheelTickNanos = requireNonNull(unit, "unit").toNanos(
+                checkPositiveOrZero(timingWheelTick, "timingWheelTick"));
+    }
+
+    /**
+     * Default tick duration of the timing wheel in microseconds or {@code 0} if scheduled tasks are kept in a
+     * priority queue - System Property: io.netty.eventexecutor.timingWheelTickMicros - default 0
+     */
+    public static long defaultTimingWheelTickMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(DEFAULT_TIMING_WHEEL_TICK_NANOS);
     }
 
     /**
@@ -71,6 +117,21 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
         return scheduledTaskQueue;
     }
 
+    private ScheduledTaskWheel timingWheel() {
+        if (timingWheel == null) {
+            timingWheel = new ScheduledTaskWheel(timingWheelTickNanos, nanoTime());
+        }
+        return timingWheel;
+    }
+
+    /**
+     * Returns the number of scheduled tasks.
+     */
+    final int scheduledTaskCount() {
+        int count = scheduledTaskQueue == null ? 0 : scheduledTaskQueue.size();
+        return timingWheel == null ? count : count + timingWheel.size();
+    }
+
     private static boolean isNullOrEmpty(Queue<RunnableScheduledFutureNode<?>> queue) {
         return queue == null || queue.isEmpty();
     }
@@ -82,6 +143,9 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      */
     protected final void cancelScheduledTasks() {
         assert inEventLoop();
+        if (timingWheel != null) {
+            timingWheel.cancelAll();
+        }
         PriorityQueue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         if (isNullOrEmpty(scheduledTaskQueue)) {
             return;
@@ -113,6 +177,13 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
     protected final RunnableScheduledFuture<?> pollScheduledTask(long nanoTime) {
         assert inEventLoop();
 
+        if (timingWheel != null) {
+            RunnableScheduledFuture<?> task = timingWheel.poll(nanoTime);
+            if (task != null) {
+                return task;
+            }
+        }
+
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
         if (scheduledTask == null) {
@@ -132,24 +203,30 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      * This method MUST be called only when {@link #inEventLoop()} is {@code true}.
      */
     protected final long nextScheduledTaskNano() {
-        Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
-        RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
-        if (scheduledTask == null) {
+        long deadlineNanos = nextScheduledTaskDeadlineNanos();
+        if (deadlineNanos == -1) {
             return -1;
         }
-        return Math.max(0, scheduledTask.deadlineNanos() - nanoTime());
+        return Math.max(0, deadlineNanos - nanoTime());
     }
 
-    final RunnableScheduledFuture<?> peekScheduledTask() {
+    /**
+     * Return the deadline (in nanoseconds) when the next scheduled task is ready to be run or {@code -1} if no task is
+     * scheduled. If the timing wheel is used this may be a bit before the deadline of the task.
+     *
+     * This method MUST be called only when {@link #inEventLoop()} is {@code true}.
+     */
+    protected final long nextScheduledTaskDeadlineNanos() {
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
-        if (scheduledTaskQueue == null) {
-            return null;
-        }
-        RunnableScheduledFutureNode<?> node = scheduledTaskQueue.peek();
-        if (node == null) {
-            return null;
-        }
-        return node;
+        RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
+        long deadlineNanos = scheduledTask == null ? -1 : scheduledTask.deadlineNanos();
+        if (timingWheel != null) {
+            long wheelDeadlineNanos = timingWheel.nextDeadlineNanos();
+            if (wheelDeadlineNanos != -1 && (deadlineNanos == -1 || wheelDeadlineNanos < deadlineNanos)) {
+                return wheelDeadlineNanos;
+            }
+        }
+        return deadlineNanos;
     }
 
     /**
@@ -159,6 +236,9 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      */
     protected final boolean hasScheduledTasks() {
         assert inEventLoop();
+        if (timingWheel != null && timingWheel.hasExpired(nanoTime())) {
+            return true;
+        }
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
         return scheduledTask != null && scheduledTask.deadlineNanos() <= nanoTime();
@@ -187,6 +267,36 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
         return schedule(task);
     }
 
+    @Override
+    public ScheduledFuture<?> scheduleExact(Runnable command, long delay, TimeUnit unit) {
+        requireNonNull(command, "command");
+        requireNonNull(unit, "unit");
+        if (delay < 0) {
+            delay = 0;
+        }
+        RunnableScheduledFuture<?> task = newScheduledTaskFor(Executors.callable(command),
+                deadlineNanos(unit.toNanos(delay)), 0);
+        return scheduleExact(task);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> scheduleExact(Callable<V> callable, long delay, TimeUnit unit) {
+        requireNonNull(callable, "callable");
+        requireNonNull(unit, "unit");
+        if (delay < 0) {
+            delay = 0;
+        }
+        RunnableScheduledFuture<V> task = newScheduledTaskFor(callable, deadlineNanos(unit.toNanos(delay)), 0);
+        return scheduleExact(task);
+    }
+
+    private <V> ScheduledFuture<V> scheduleExact(RunnableScheduledFuture<V> task) {
+        if (task instanceof RunnableScheduledFutureAdapter) {
+            ((RunnableScheduledFutureAdapter<V>) task).exact = true;
+        }
+        return schedule(task);
+    }
+
     @Override
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
         requireNonNull(command, "command");
@@ -236,6 +346,13 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
     }
 
     private <V> void add0(RunnableScheduledFuture<V> task) {
+        if (timingWheelTickNanos != 0 && task instanceof RunnableScheduledFutureAdapter) {
+            RunnableScheduledFutureAdapter<V> adapter = (RunnableScheduledFutureAdapter<V>) task;
+            if (!adapter.exact) {
+                timingWheel().add(adapter);
+                return;
+            }
+        }
         final RunnableScheduledFutureNode node;
         if (task instanceof RunnableScheduledFutureNode) {
             node = (RunnableScheduledFutureNode) task;
@@ -247,7 +364,12 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
 
     final void removeScheduled(final RunnableScheduledFutureNode<?> task) {
         if (inEventLoop()) {
-            scheduledTaskQueue().removeTyped(task);
+            if (task instanceof RunnableScheduledFutureAdapter &&
+                    ((RunnableScheduledFutureAdapter<?>) task).bucket != null) {
+                timingWheel.remove((RunnableScheduledFutureAdapter<?>) task);
+            } else {
+                scheduledTaskQueue().removeTyped(task);
+            }
         } else {
             execute(() -> removeScheduled(task));
         }
@@ -43,6 +43,11 @@ public class DefaultPromise<V> implements Promise<V> {
             new CancellationException(), DefaultPromise.class, "cancel(...)"));
     private static final StackTraceElement[] CANCELLATION_STACK = CANCELLATION_CAUSE_HOLDER.cause.getStackTrace();
 
+    /**
+     * The state of this promise: {@code null} or {@link #UNCANCELLABLE} while not done and without listeners, a
+     * {@link ListenerNode} while not done and with listeners, or else the result. Adding a listener and completing the
+     * promise are both a single compare-and-set on this field, so listeners never need a lock.
+     */
     private volatile Object result;
     private final EventExecutor executor;
 
@@ -51,16 +56,11 @@ public class DefaultPromise<V> implements Promise<V> {
     private DefaultFutureCompletionStage<V> stage;
 
     /**
-     * One or more listeners. Can be a {@link GenericFutureListener} or a {@link DefaultFutureListeners}.
-     * If {@code null}, it means either 1) no listeners were added yet or 2) all listeners were notified.
-     *
-     * Threading - synchronized(this). We must support adding listeners when there is no EventExecutor.
+     * Only modified while synchronized(this), as we are required to hold the monitor to use Java's underlying
+     * wait()/notifyAll(). Waiters increment it before they check if the promise is done and the completing thread reads
+     * it after setting the result, so only the completion of a promise that is waited for needs the monitor.
      */
-    private Object listeners;
-    /**
-     * Threading - synchronized(this). We are required to hold the monitor to use Java's underlying wait()/notifyAll().
-     */
-    private short waiters;
+    private volatile short waiters;
 
     /**
      * Creates a new instance.
@@ -107,22 +107,34 @@ public class DefaultPromise<V> implements Promise<V> {
 
     @Override
     public boolean setUncancellable() {
-        if (RESULT_UPDATER.compareAndSet(this, null, UNCANCELLABLE)) {
-            return true;
+        for (;;) {
+            Object result = this.result;
+            if (result == null) {
+                if (RESULT_UPDATER.compareAndSet(this, null, UNCANCELLABLE)) {
+                    return true;
+                }
+            } else if (result instanceof ListenerNode) {
+                ListenerNode head = (ListenerNode) result;
+                if (head.uncancellable ||
+                        RESULT_UPDATER.compareAndSet(this, head, new ListenerNode(head.listener, head.next, true))) {
+                    return true;
+                }
+            } else {
+                return !isDone0(result) || !isCancelled0(result);
+            }
         }
-        Object result = this.result;
-        return !isDone0(result) || !isCancelled0(result);
     }
 
     @Override
     public boolean isSuccess() {
         Object result = this.result;
-        return result != null && result != UNCANCELLABLE && !(result instanceof CauseHolder);
+        return isDone0(result) && !(result instanceof CauseHolder);
     }
 
     @Override
     public boolean isCancellable() {
-        return result == null;
+        Object result = this.result;
+        return result == null || result instanceof ListenerNode && !((ListenerNode) result).uncancellable;
     }
 
     private static final class LeanCancellationException extends CancellationException {
@@ -163,14 +175,7 @@ public class DefaultPromise<V> implements Promise<V> {
     public Promise<V> addListener(GenericFutureListener<? extends Future<? super V>> listener) {
         requireNonNull(listener, "listener");
 
-        synchronized (this) {
-            addListener0(listener);
-        }
-
-        if (isDone()) {
-            notifyListeners();
-        }
-
+        addListener0(listener);
         return this;
     }
 
@@ -178,19 +183,12 @@ public class DefaultPromise<V> implements Promise<V> {
     public Promise<V> addListeners(GenericFutureListener<? extends Future<? super V>>... listeners) {
         requireNonNull(listeners, "listeners");
 
-        synchronized (this) {
-            for (GenericFutureListener<? extends Future<? super V>> listener : listeners) {
-                if (listener == null) {
-                    break;
-                }
-                addListener0(listener);
+        for (GenericFutureListener<? extends Future<? super V>> listener : listeners) {
+            if (listener == null) {
+                break;
             }
+            addListener0(listener);
         }
-
-        if (isDone()) {
-            notifyListeners();
-        }
-
         return this;
     }
 
@@ -198,10 +196,7 @@ public class DefaultPromise<V> implements Promise<V> {
     public Promise<V> removeListener(final GenericFutureListener<? extends Future<? super V>> listener) {
         requireNonNull(listener, "listener");
 
-        synchronized (this) {
-            removeListener0(listener);
-        }
-
+        removeListener0(listener);
         return this;
     }
 
@@ -209,15 +204,12 @@ public class DefaultPromise<V> implements Promise<V> {
     public Promise<V> removeListeners(final GenericFutureListener<? extends Future<? super V>>... listeners) {
         requireNonNull(listeners, "listeners");
 
-        synchronized (this) {
-            for (GenericFutureListener<? extends Future<? super V>> listener : listeners) {
-                if (listener == null) {
-                    break;
-                }
-                removeListener0(listener);
+        for (GenericFutureListener<? extends Future<? super V>> listener : listeners) {
+            if (listener == null) {
+                break;
             }
+            removeListener0(listener);
         }
-
         return this;
     }
 
@@ -234,13 +226,14 @@ public class DefaultPromise<V> implements Promise<V> {
         checkDeadLock();
 
         synchronized (this) {
-            while (!isDone()) {
-                incWaiters();
-                try {
+            // Increment the waiters before checking if we are done, see notifyWaiters().
+            incWaiters();
+            try {
+                while (!isDone()) {
                     wait();
-                } finally {
-                    decWaiters();
                 }
+            } finally {
+                decWaiters();
             }
         }
         return this;
@@ -256,16 +249,19 @@ public class DefaultPromise<V> implements Promise<V> {
 
         boolean interrupted = false;
         synchronized (this) {
-            while (!isDone()) {
-                incWaiters();
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    // Interrupted while waiting.
-                    interrupted = true;
-                } finally {
-                    decWaiters();
+            // Increment the waiters before checking if we are done, see notifyWaiters().
+            incWaiters();
+            try {
+                while (!isDone()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Interrupted while waiting.
+                        interrupted = true;
+                    }
                 }
+            } finally {
+                decWaiters();
             }
         }
 
@@ -310,7 +306,7 @@ public class DefaultPromise<V> implements Promise<V> {
     @Override
     public V getNow() {
         Object result = this.result;
-        if (result instanceof CauseHolder || result == SUCCESS || result == UNCANCELLABLE) {
+        if (!isDone0(result) || result instanceof CauseHolder || result == SUCCESS) {
             return null;
         }
         return (V) result;
@@ -367,13 +363,17 @@ public class DefaultPromise<V> implements Promise<V> {
      */
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        if (RESULT_UPDATER.compareAndSet(this, null, CANCELLATION_CAUSE_HOLDER)) {
-            if (checkNotifyWaiters()) {
-                notifyListeners();
+        for (;;) {
+            Object result = this.result;
+            if (result != null &&
+                    (!(result instanceof ListenerNode) || ((ListenerNode) result).uncancellable)) {
+                return false;
+            }
+            if (RESULT_UPDATER.compareAndSet(this, result, CANCELLATION_CAUSE_HOLDER)) {
+                complete(result);
+                return true;
             }
-            return true;
         }
-        return false;
     }
 
     @Override
@@ -414,13 +414,14 @@ public class DefaultPromise<V> implements Promise<V> {
         Object result = this.result;
         if (result == SUCCESS) {
             buf.append("(success)");
-        } else if (result == UNCANCELLABLE) {
+        } else if (result == UNCANCELLABLE ||
+                result instanceof ListenerNode && ((ListenerNode) result).uncancellable) {
             buf.append("(uncancellable)");
         } else if (result instanceof CauseHolder) {
             buf.append("(failure: ")
                     .append(((CauseHolder) result).cause)
                     .append(')');
-        } else if (result != null) {
+        } else if (isDone0(result)) {
             buf.append("(success: ")
                     .append(result)
                     .append(')');
@@ -440,12 +441,12 @@ public class DefaultPromise<V> implements Promise<V> {
      * @return The executor used to notify listeners when this promise is complete.
      */
     @Override
-    public final EventExecutor executor() {
+    public EventExecutor executor() {
         return executor;
     }
 
     protected void checkDeadLock() {
-        checkDeadLock(executor);
+        checkDeadLock(executor());
     }
 
     protected final void checkDeadLock(EventExecutor executor) {
@@ -454,41 +455,28 @@ public class DefaultPromise<V> implements Promise<V> {
         }
     }
 
-    private void notifyListeners() {
-        safeExecute(executor(), this::notifyListenersNow);
-    }
-
-    private void notifyListenersNow() {
-        Object listeners;
-        synchronized (this) {
-            // Only proceed if there are listeners to notify.
-            if (this.listeners == null) {
-                return;
-            }
-            listeners = this.listeners;
-            this.listeners = null;
-        }
-        for (;;) {
-            if (listeners instanceof DefaultFutureListeners) {
-                notifyListeners0((DefaultFutureListeners) listeners);
-            } else {
-                notifyListener0(this, (GenericFutureListener<?>) listeners);
-            }
-            synchronized (this) {
-                if (this.listeners == null) {
-                    return;
-                }
-                listeners = this.listeners;
-                this.listeners = null;
-            }
+    /**
+     * Notifies the waiters and the listeners once the promise is complete.
+     *
+     * @param previous the state of the promise before it was completed.
+     */
+    private void complete(Object previous) {
+        notifyWaiters();
+        if (previous instanceof ListenerNode) {
+            ListenerNode listeners = (ListenerNode) previous;
+            safeExecute(executor(), () -> notifyListeners(listeners));
         }
     }
 
-    private void notifyListeners0(DefaultFutureListeners listeners) {
-        GenericFutureListener<?>[] a = listeners.listeners();
-        int size = listeners.size();
-        for (int i = 0; i < size; i ++) {
-            notifyListener0(this, a[i]);
+    private void notifyListeners(ListenerNode listeners) {
+        if (listeners.next == null) {
+            notifyListener0(this, listeners.listener);
+            return;
+        }
+        // The listeners are a stack, so notify them in the reverse order to notify them in the order they were added.
+        GenericFutureListener<?>[] array = listeners.toArray();
+        for (int i = array.length - 1; i >= 0; i--) {
+            notifyListener0(this, array[i]);
         }
     }
 
@@ -504,20 +492,36 @@ public class DefaultPromise<V> implements Promise<V> {
     }
 
     private void addListener0(GenericFutureListener<? extends Future<? super V>> listener) {
-        if (listeners == null) {
-            listeners = listener;
-        } else if (listeners instanceof DefaultFutureListeners) {
-            ((DefaultFutureListeners) listeners).add(listener);
-        } else {
-            listeners = new DefaultFutureListeners((GenericFutureListener<?>) listeners, listener);
+        for (;;) {
+            Object result = this.result;
+            if (isDone0(result)) {
+                safeExecute(executor(), () -> notifyListener0(this, listener));
+                return;
+            }
+            ListenerNode next = result instanceof ListenerNode ? (ListenerNode) result : null;
+            boolean uncancellable = next == null ? result == UNCANCELLABLE : next.uncancellable;
+            if (RESULT_UPDATER.compareAndSet(this, result, new ListenerNode(listener, next, uncancellable))) {
+                return;
+            }
         }
     }
 
     private void removeListener0(GenericFutureListener<? extends Future<? super V>> listener) {
-        if (listeners instanceof DefaultFutureListeners) {
-            ((DefaultFutureListeners) listeners).remove(listener);
-        } else if (listeners == listener) {
-            listeners = null;
+        for (;;) {
+            Object result = this.result;
+            if (!(result instanceof ListenerNode)) {
+                // Either there are no listeners or all of them were notified already.
+                return;
+            }
+            ListenerNode head = (ListenerNode) result;
+            ListenerNode newHead = head.remove(listener);
+            if (newHead == head) {
+                return;
+            }
+            Object update = newHead != null ? newHead : head.uncancellable ? UNCANCELLABLE : null;
+            if (RESULT_UPDATER.compareAndSet(this, head, update)) {
+                return;
+            }
         }
     }
 
@@ -530,36 +534,40 @@ public class DefaultPromise<V> implements Promise<V> {
     }
 
     private boolean setValue0(Object objResult) {
-        if (RESULT_UPDATER.compareAndSet(this, null, objResult) ||
-            RESULT_UPDATER.compareAndSet(this, UNCANCELLABLE, objResult)) {
-            if (checkNotifyWaiters()) {
-                notifyListeners();
+        for (;;) {
+            Object result = this.result;
+            if (isDone0(result)) {
+                return false;
+            }
+            if (RESULT_UPDATER.compareAndSet(this, result, objResult)) {
+                complete(result);
+                return true;
             }
-            return true;
         }
-        return false;
     }
 
     /**
-     * Check if there are any waiters and if so notify these.
-     * @return {@code true} if there are any listeners attached to the promise, {@code false} otherwise.
+     * Notifies the waiters if there are any. The result was set before, and the waiters increment {@link #waiters}
+     * before they check if the promise is done, so either they see the result or we see them here.
      */
-    private synchronized boolean checkNotifyWaiters() {
+    private void notifyWaiters() {
         if (waiters > 0) {
-            notifyAll();
+            synchronized (this) {
+                notifyAll();
+            }
         }
-        return listeners != null;
     }
 
     private void incWaiters() {
+        short waiters = this.waiters;
         if (waiters == Short.MAX_VALUE) {
             throw new IllegalStateException("too many waiters: " + this);
         }
-        ++waiters;
+        this.waiters = (short) (waiters + 1);
     }
 
     private void decWaiters() {
-        --waiters;
+        waiters = (short) (waiters - 1);
     }
 
     private void rethrowIfFailed() {
@@ -594,11 +602,12 @@ public class DefaultPromise<V> implements Promise<V> {
         try {
             for (;;) {
                 synchronized (this) {
-                    if (isDone()) {
-                        return true;
-                    }
+                    // Increment the waiters before checking if we are done, see notifyWaiters().
                     incWaiters();
                     try {
+                        if (isDone()) {
+                            return true;
+                        }
                         wait(waitTime / 1000000, (int) (waitTime % 1000000));
                     } catch (InterruptedException e) {
                         if (interruptable) {
@@ -660,45 +669,36 @@ public class DefaultPromise<V> implements Promise<V> {
      * Returns a {@link GenericProgressiveFutureListener}, an array of {@link GenericProgressiveFutureListener}, or
      * {@code null}.
      */
-    private synchronized Object progressiveListeners() {
-        Object listeners = this.listeners;
-        if (listeners == null) {
-            // No listeners added
+    private Object progressiveListeners() {
+        Object result = this.result;
+        if (!(result instanceof ListenerNode)) {
+            // No listeners added or all of them were notified already.
             return null;
         }
 
-        if (listeners instanceof DefaultFutureListeners) {
-            // Copy DefaultFutureListeners into an array of listeners.
-            DefaultFutureListeners dfl = (DefaultFutureListeners) listeners;
-            int progressiveSize = dfl.progressiveSize();
-            switch (progressiveSize) {
-                case 0:
-                    return null;
-                case 1:
-                    for (GenericFutureListener<?> l: dfl.listeners()) {
-                        if (l instanceof GenericProgressiveFutureListener) {
-                            return l;
-                        }
-                    }
-                    return null;
+        int progressiveSize = 0;
+        GenericFutureListener<?> first = null;
+        for (ListenerNode node = (ListenerNode) result; node != null; node = node.next) {
+            if (node.listener instanceof GenericProgressiveFutureListener) {
+                progressiveSize++;
+                // The listeners are a stack, so the last one we see was added first.
+                first = node.listener;
             }
+        }
+        switch (progressiveSize) {
+            case 0:
+                return null;
+            case 1:
+                return first;
+        }
 
-            GenericFutureListener<?>[] array = dfl.listeners();
-            GenericProgressiveFutureListener<?>[] copy = new GenericProgressiveFutureListener[progressiveSize];
-            for (int i = 0, j = 0; j < progressiveSize; i ++) {
-                GenericFutureListener<?> l = array[i];
-                if (l instanceof GenericProgressiveFutureListener) {
-                    copy[j ++] = (GenericProgressiveFutureListener<?>) l;
-                }
+        GenericProgressiveFutureListener<?>[] copy = new GenericProgressiveFutureListener[progressiveSize];
+        for (ListenerNode node = (ListenerNode) result; node != null; node = node.next) {
+            if (node.listener instanceof GenericProgressiveFutureListener) {
+                copy[--progressiveSize] = (GenericProgressiveFutureListener<?>) node.listener;
             }
-
-            return copy;
-        } else if (listeners instanceof GenericProgressiveFutureListener) {
-            return listeners;
-        } else {
-            // Only one listener was added and it's not a progressive listener.
-            return null;
         }
+        return copy;
     }
 
     private static void notifyProgressiveListeners0(
@@ -728,7 +728,65 @@ public class DefaultPromise<V> implements Promise<V> {
     }
 
     private static boolean isDone0(Object result) {
-        return result != null && result != UNCANCELLABLE;
+        return result != null && result != UNCANCELLABLE && !(result instanceof ListenerNode);
+    }
+
+    /**
+     * An immutable stack of the listeners of a promise which is not done yet. Only the head of the stack tells if the
+     * promise is uncancellable.
+     */
+    private static final class ListenerNode {
+        final GenericFutureListener<?> listener;
+        final ListenerNode next;
+        final boolean uncancellable;
+
+        ListenerNode(GenericFutureListener<?> listener, ListenerNode next, boolean uncancellable) {
+            this.listener = listener;
+            this.next = next;
+            this.uncancellable = uncancellable;
+        }
+
+        /**
+         * Returns the listeners from the top of the stack, which means the most recently added one comes first.
+         */
+        GenericFutureListener<?>[] toArray() {
+            int size = 0;
+            for (ListenerNode node = this; node != null; node = node.next) {
+                size++;
+            }
+            GenericFutureListener<?>[] array = new GenericFutureListener[size];
+            int i = 0;
+            for (ListenerNode node = this; node != null; node = node.next) {
+                array[i++] = node.listener;
+            }
+            return array;
+        }
+
+        /**
+         * Returns a stack without the listener that was added first of all that are the same as the given one, this
+         * instance if there is none or {@code null} if the stack would be empty.
+         */
+        ListenerNode remove(GenericFutureListener<?> listener) {
+            GenericFutureListener<?>[] array = toArray();
+            int index = -1;
+            for (int i = array.length - 1; i >= 0; i--) {
+                if (array[i] == listener) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index == -1) {
+                return this;
+            }
+            ListenerNode node = this;
+            for (int i = 0; i <= index; i++) {
+                node = node.next;
+            }
+            for (int i = index - 1; i >= 0; i--) {
+                node = new ListenerNode(array[i], node, uncancellable);
+            }
+            return node;
+        }
     }
 
     private static final class CauseHolder {
@@ -15,6 +15,12 @@
  */
 package io.netty.util.concurrent;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * The {@link EventExecutor} is a special {@link EventExecutorGroup} which comes
  * with some handy methods to see if a {@link Thread} is executed in a event loop.
@@ -64,4 +70,45 @@ public interface EventExecutor extends EventExecutorGroup {
      * every call of blocking methods will just return without blocking.
      */
     <V> Future<V> newFailedFuture(Throwable cause);
+
+    /**
+     * Schedules the given task like {@link #schedule(Runnable, long, TimeUnit)}, but ensures that it runs as close to
+     * its deadline as possible even if this {@link EventExecutor} trades precision for cheaper scheduling of other
+     * tasks, for example by using a timing wheel.
+     */
+    default ScheduledFuture<?> scheduleExact(Runnable command, long delay, TimeUnit unit) {
+        return schedule(command, delay, unit);
+    }
+
+    /**
+     * Schedules the given task like {@link #schedule(Callable, long, TimeUnit)}, but ensures that it runs as close to
+     * its deadline as possible even if this {@link EventExecutor} trades precision for cheaper scheduling of other
+     * tasks, for example by using a timing wheel.
+     */
+    default <V> ScheduledFuture<V> scheduleExact(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(callable, delay, unit);
+    }
+
+    /**
+     * Executes the given tasks in order as a single task. This is the same as calling {@link #execute(Runnable)} for
+     * each of them, but submitting the batch from outside of this {@link EventExecutor} costs a single queue
+     * insertion and at most one wakeup. If one of the tasks throws, the exception is logged and the remaining tasks
+     * are still executed.
+     */
+    default void executeBatch(Runnable... tasks) {
+        executeBatch(TaskBatch.RUN, tasks);
+    }
+
+    /**
+     * Executes {@code action} for each of the given arguments in order as a single task, like
+     * {@link #executeBatch(Runnable...)}, without the need to create a {@link Runnable} per argument. The array must
+     * not be modified until the batch was executed.
+     */
+    default <T> void executeBatch(Consumer<? super T> action, T[] args) {
+        requireNonNull(action, "action");
+        requireNonNull(args, "args");
+        if (args.length != 0) {
+            execute(new TaskBatch<>(action, args));
+        }
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.UnstableApi;
+
+import java.util.List;
+
+/**
+ * Factory that creates a new {@link EventExecutorChooser} which decides which {@link EventExecutor} is returned by
+ * {@link MultithreadEventExecutorGroup#next()}. See {@link EventExecutorChoosers} for the provided implementations.
+ */
+@UnstableApi
+public interface EventExecutorChooserFactory {
+
+    /**
+     * Returns a new {@link EventExecutorChooser} for the given {@link EventExecutor}s. The {@link List} is never
+     * empty and never changes.
+     */
+    EventExecutorChooser newChooser(List<EventExecutor> executors);
+
+    /**
+     * Chooses the next {@link EventExecutor} to use.
+     */
+    @UnstableApi
+    interface EventExecutorChooser {
+
+        /**
+         * Returns the next {@link EventExecutor} to use. This method may be called from any thread concurrently.
+         */
+        EventExecutor next();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.concurrent.EventExecutorChooserFactory.EventExecutorChooser;
+import io.netty.util.internal.UnstableApi;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Provides the default {@link EventExecutorChooserFactory} implementations.
+ * <p>
+ * Besides plain round-robin all of them pick the {@link EventExecutor} with the lowest load, as reported by a
+ * load function which is called for every choice and so must be cheap, for example
+ * {@link #pendingTasks(EventExecutor)}. They do not reserve anything, so many choices in a short time may still
+ * end up on the same {@link EventExecutor} until it reports the added load.
+ */
+@UnstableApi
+public final class EventExecutorChoosers {
+
+    private static final EventExecutorChooserFactory ROUND_ROBIN = executors -> {
+        EventExecutor[] array = executors.toArray(new EventExecutor[0]);
+        if (isPowerOfTwo(array.length)) {
+            return new PowerOfTwoRoundRobinChooser(array);
+        }
+        return new RoundRobinChooser(array);
+    };
+
+    private static final EventExecutorChooserFactory LEAST_PENDING_TASKS =
+            leastLoaded(EventExecutorChoosers::pendingTasks);
+
+    private EventExecutorChoosers() { }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which chooses the {@link EventExecutor}s in round-robin order.
+     * This is the default.
+     */
+    public static EventExecutorChooserFactory roundRobin() {
+        return ROUND_ROBIN;
+    }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which chooses the {@link EventExecutor} with the least
+     * {@link #pendingTasks(EventExecutor) pending tasks}.
+     */
+    public static EventExecutorChooserFactory leastPendingTasks() {
+        return LEAST_PENDING_TASKS;
+    }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which chooses the {@link EventExecutor} with the lowest load by
+     * comparing all of them. Ties are resolved in round-robin order, so executors with the same load are used
+     * evenly.
+     *
+     * @param load the function which returns the current load of an {@link EventExecutor}.
+     */
+    public static EventExecutorChooserFactory leastLoaded(ToIntFunction<? super EventExecutor> load) {
+        requireNonNull(load, "load");
+        return executors -> new LeastLoadedChooser(executors.toArray(new EventExecutor[0]), load);
+    }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which compares the load of two randomly picked
+     * {@link EventExecutor}s and chooses the one with the lower load. This needs only two load lookups per choice
+     * while it still avoids the pile up of work on a few executors that round-robin may cause.
+     *
+     * @param load the function which returns the current load of an {@link EventExecutor}.
+     */
+    public static EventExecutorChooserFactory powerOfTwoChoices(ToIntFunction<? super EventExecutor> load) {
+        requireNonNull(load, "load");
+        return executors -> {
+            EventExecutor[] array = executors.toArray(new EventExecutor[0]);
+            if (array.length == 1) {
+                return ROUND_ROBIN.newChooser(executors);
+            }
+            return new PowerOfTwoChoicesChooser(array, load);
+        };
+    }
+
+    /**
+     * Returns the number of pending tasks of the given {@link EventExecutor} if it is a
+     * {@link SingleThreadEventExecutor} and {@code 0} otherwise.
+     */
+    public static int pendingTasks(EventExecutor executor) {
+        return executor instanceof SingleThreadEventExecutor ?
+                ((SingleThreadEventExecutor) executor).pendingTasks() : 0;
+    }
+
+    private static boolean isPowerOfTwo(int val) {
+        return (val & -val) == val;
+    }
+
+    private static final class PowerOfTwoRoundRobinChooser implements EventExecutorChooser {
+        // Use a 'long' counter to avoid non-round-robin behaviour at the 32-bit overflow boundary.
+        // The 64-bit long solves this by placing the overflow so far into the future, that no system
+        // will encounter this in practice.
+        private final AtomicLong idx = new AtomicLong();
+        private final EventExecutor[] executors;
+
+        PowerOfTwoRoundRobinChooser(EventExecutor[] executors) {
+            this.executors = executors;
+        }
+
+        @Override
+        public EventExecutor next() {
+            return executors[(int) idx.getAndIncrement() & executors.length - 1];
+        }
+    }
+
+    private static final class RoundRobinChooser implements EventExecutorChooser {
+        private final AtomicLong idx = new AtomicLong();
+        private final EventExecutor[] executors;
+
+        RoundRobinChooser(EventExecutor[] executors) {
+            this.executors = executors;
+        }
+
+        @Override
+        public EventExecutor next() {
+            return executors[(int) Math.abs(idx.getAndIncrement() % executors.length)];
+        }
+    }
+
+    private static final class LeastLoadedChooser implements EventExecutorChooser {
+        private final AtomicLong idx = new AtomicLong();
+        private final EventExecutor[] executors;
+        private final ToIntFunction<? super EventExecutor> load;
+
+        LeastLoadedChooser(EventExecutor[] executors, ToIntFunction<? super EventExecutor> load) {
+            this.executors = executors;
+            this.load = load;
+        }
+
+        @Override
+        public EventExecutor next() {
+            int length = executors.length;
+            int start = (int) Math.abs(idx.getAndIncrement() % length);
+            EventExecutor best = executors[start];
+            int bestLoad = load.applyAsInt(best);
+            for (int i = 1; i < length && bestLoad > 0; i++) {
+                EventExecutor executor = executors[(start + i) % length];
+                int executorLoad = load.applyAsInt(executor);
+                if (executorLoad < bestLoad) {
+                    best = executor;
+                    bestLoad = executorLoad;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class PowerOfTwoChoicesChooser implements EventExecutorChooser {
+        private final EventExecutor[] executors;
+        private final ToIntFunction<? super EventExecutor> load;
+
+        PowerOfTwoChoicesChooser(EventExecutor[] executors, ToIntFunction<? super EventExecutor> load) {
+            this.executors = executors;
+            this.load = load;
+        }
+
+        @Override
+        public EventExecutor next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int length = executors.length;
+            int first = random.nextInt(length);
+            // Pick a second index which is always different from the first one.
+            int second = (first + 1 + random.nextInt(length - 1)) % length;
+            EventExecutor a = executors[first];
+            EventExecutor b = executors[second];
+            return load.applyAsInt(b) < load.applyAsInt(a) ? b : a;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.UnstableApi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Metrics of a {@link SingleThreadEventExecutor}, which are recorded without any allocations and can be read from
+ * any thread. They are only recorded if enabled via {@code -Dio.netty.eventexecutor.metrics=true} or by overriding
+ * {@link SingleThreadEventExecutor#newMetrics()}, see {@link SingleThreadEventExecutor#metrics()}.
+ * <p>
+ * All values are accumulated since the executor was started, so the rates are calculated by reading them
+ * periodically. An iteration is one pass of the run loop of the executor, which for an {@code EventLoop} consists of
+ * processing the IO and then running the tasks.
+ * <p>
+ * The histograms use buckets whose bounds are powers of two: bucket {@code 0} counts the value {@code 0} and bucket
+ * {@code i} counts all values in {@code [2^(i - 1), 2^i)}, see {@link #bucketUpperBound(int)}. The queue latency,
+ * the time from the submission of a task until it was taken out of the queue, is measured for a single task at a
+ * time, so only a sample of the tasks is recorded.
+ */
+@UnstableApi
+public final class EventExecutorMetrics {
+
+    /**
+     * The number of buckets of every histogram.
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private static final AtomicReferenceFieldUpdater<EventExecutorMetrics, Runnable> SAMPLED_TASK_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(EventExecutorMetrics.class, Runnable.class, "sampledTask");
+
+    private static final int ITERATIONS = 0;
+    private static final int IO_TIME = 1;
+    private static final int TASK_TIME = 2;
+    private static final int SCHEDULED_TASK_TIME = 3;
+    private static final int TASKS = 4;
+    private static final int SCHEDULED_TASKS = 5;
+    private static final int LAST_ITERATION_TASKS = 6;
+    private static final int SLOWEST_TASK_TIME = 7;
+    private static final int QUEUE_LATENCY_SAMPLES = 8;
+    private static final int COUNTERS = 9;
+
+    // All values except the wakeups are only written by the executor thread, so lazySet is enough to publish them.
+    private final AtomicLongArray counters = new AtomicLongArray(COUNTERS);
+    private final AtomicLongArray tasksPerIteration = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final AtomicLongArray queueLatency = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private final AtomicLong wakeups = new AtomicLong();
+    private volatile Class<?> slowestTaskClass;
+
+    @SuppressWarnings("unused")
+    private volatile Runnable sampledTask;
+    private volatile long sampledTaskSubmitNanos;
+
+    /**
+     * Returns the index of the histogram bucket which counts the given value.
+     */
+    public static int bucket(long value) {
+        return value <= 0 ? 0 : Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Returns the exclusive upper bound of the values counted by the given histogram bucket.
+     */
+    public static long bucketUpperBound(int bucket) {
+        return bucket >= HISTOGRAM_BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    private void add(AtomicLongArray array, int index, long delta) {
+        array.lazySet(index, array.get(index) + delta);
+    }
+
+    void recordIoTime(long nanos) {
+        add(counters, IO_TIME, nanos);
+    }
+
+    void recordIteration(int tasks) {
+        add(counters, ITERATIONS, 1);
+        counters.lazySet(LAST_ITERATION_TASKS, tasks);
+        add(tasksPerIteration, bucket(tasks), 1);
+    }
+
+    void recordTask(Runnable task, long nanos) {
+        if (task instanceof RunnableScheduledFuture) {
+            add(counters, SCHEDULED_TASKS, 1);
+            add(counters, SCHEDULED_TASK_TIME, nanos);
+        } else {
+            add(counters, TASKS, 1);
+            add(counters, TASK_TIME, nanos);
+        }
+        if (nanos > counters.get(SLOWEST_TASK_TIME)) {
+            slowestTaskClass = task.getClass();
+            counters.lazySet(SLOWEST_TASK_TIME, nanos);
+        }
+    }
+
+    void recordWakeup() {
+        wakeups.getAndIncrement();
+    }
+
+    /**
+     * Called before the task is added to the queue. Returns {@code true} if the task is sampled.
+     */
+    boolean sampleSubmit(Runnable task) {
+        if (sampledTask != null) {
+            return false;
+        }
+        long nanoTime = System.nanoTime();
+        if (!SAMPLED_TASK_UPDATER.compareAndSet(this, null, task)) {
+            return false;
+        }
+        // Only read once the task was taken out of the queue, which happens after it was added.
+        sampledTaskSubmitNanos = nanoTime;
+        return true;
+    }
+
+    /**
+     * Called if a sampled task was not added to the queue or removed from it again.
+     */
+    void cancelSample(Runnable task) {
+        SAMPLED_TASK_UPDATER.compareAndSet(this, task, null);
+    }
+
+    void recordPoll(Runnable task, long nanoTime) {
+        if (sampledTask == task) {
+            add(queueLatency, bucket(nanoTime - sampledTaskSubmitNanos), 1);
+            add(counters, QUEUE_LATENCY_SAMPLES, 1);
+            sampledTask = null;
+        }
+    }
+
+    /**
+     * Returns the number of iterations of the run loop.
+     */
+    public long iterations() {
+        return counters.get(ITERATIONS);
+    }
+
+    /**
+     * Returns the time in nanoseconds which was spent to process IO. This includes the time the executor thread was
+     * blocked while waiting for IO because there were no tasks to run.
+     */
+    public long ioTimeNanos() {
+        return counters.get(IO_TIME);
+    }
+
+    /**
+     * Returns the time in nanoseconds which was spent to run the tasks, excluding scheduled tasks.
+     */
+    public long taskTimeNanos() {
+        return counters.get(TASK_TIME);
+    }
+
+    /**
+     * Returns the time in nanoseconds which was spent to run the scheduled tasks.
+     */
+    public long scheduledTaskTimeNanos() {
+        return counters.get(SCHEDULED_TASK_TIME);
+    }
+
+    /**
+     * Returns the number of tasks which were run, excluding scheduled tasks.
+     */
+    public long tasks() {
+        return counters.get(TASKS);
+    }
+
+    /**
+     * Returns the number of scheduled tasks which were run.
+     */
+    public long scheduledTasks() {
+        return counters.get(SCHEDULED_TASKS);
+    }
+
+    /**
+     * Returns the number of tasks, including scheduled tasks, which were run in the last iteration.
+     */
+    public int lastIterationTasks() {
+        return (int) counters.get(LAST_ITERATION_TASKS);
+    }
+
+    /**
+     * Returns a copy of the histogram of the number of tasks, including scheduled tasks, which were run per
+     * iteration.
+     */
+    public long[] tasksPerIterationHistogram() {
+        return copy(tasksPerIteration);
+    }
+
+    /**
+     * Returns a copy of the histogram of the sampled queue latencies in nanoseconds.
+     */
+    public long[] queueLatencyHistogram() {
+        return copy(queueLatency);
+    }
+
+    /**
+     * Returns the number of sampled queue latencies.
+     */
+    public long queueLatencySamples() {
+        return counters.get(QUEUE_LATENCY_SAMPLES);
+    }
+
+    /**
+     * Returns how often a task which was submitted from another thread requested to wake up the executor thread.
+     * This stays {@code 0} if the task queue wakes up the thread by itself, which is the case for a plain
+     * {@link SingleThreadEventExecutor}.
+     */
+    public long wakeups() {
+        return wakeups.get();
+    }
+
+    /**
+     * Returns the run time of the slowest task in nanoseconds, or {@code 0} if no task was run yet.
+     */
+    public long slowestTaskNanos() {
+        return counters.get(SLOWEST_TASK_TIME);
+    }
+
+    /**
+     * Returns the class of the slowest task, or {@code null} if no task was run yet. It may belong to a slightly
+     * older slowest task than {@link #slowestTaskNanos()} if it is read while a new slowest task is recorded.
+     */
+    public Class<?> slowestTaskClass() {
+        return slowestTaskClass;
+    }
+
+    private static long[] copy(AtomicLongArray array) {
+        long[] copy = new long[array.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = array.get(i);
+        }
+        return copy;
+    }
+}
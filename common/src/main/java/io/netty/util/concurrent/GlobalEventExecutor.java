@@ -23,7 +23,6 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -82,8 +81,8 @@ public final class GlobalEventExecutor extends AbstractScheduledEventExecutor im
     private Runnable takeTask() {
         BlockingQueue<Runnable> taskQueue = this.taskQueue;
         for (;;) {
-            RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-            if (scheduledTask == null) {
+            long deadlineNanos = nextScheduledTaskDeadlineNanos();
+            if (deadlineNanos == -1) {
                 Runnable task = null;
                 try {
                     task = taskQueue.take();
@@ -92,7 +91,7 @@ public final class GlobalEventExecutor extends AbstractScheduledEventExecutor im
                 }
                 return task;
             } else {
-                long delayNanos = scheduledTask.delayNanos();
+                long delayNanos = deadlineNanos - nanoTime();
                 Runnable task = null;
                 if (delayNanos > 0) {
                     try {
@@ -254,9 +253,8 @@ public final class GlobalEventExecutor extends AbstractScheduledEventExecutor im
                     }
                 }
 
-                Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = scheduledTaskQueue();
                 // Terminate if there is no task in the queue (except the noop task).
-                if (taskQueue.isEmpty() && scheduledTaskQueue.size() <= 1) {
+                if (taskQueue.isEmpty() && scheduledTaskCount() <= 1) {
                     // Mark the current thread as stopped.
                     // The following CAS must always success and must be uncontended,
                     // because only one thread should be running at the same time.
@@ -264,7 +262,7 @@ public final class GlobalEventExecutor extends AbstractScheduledEventExecutor im
                     assert stopped;
 
                     // Check if there are pending entries added by execute() or schedule*() while we do CAS above.
-                    if (taskQueue.isEmpty() && scheduledTaskQueue.size() <= 1) {
+                    if (taskQueue.isEmpty() && scheduledTaskCount() <= 1) {
                         // A) No new task was added and thus there's nothing to handle
                         //    -> safe to terminate because there's nothing left to do
                         // B) A new thread started and handled all the new tasks.
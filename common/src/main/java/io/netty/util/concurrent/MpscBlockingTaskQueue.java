@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link BlockingQueue} for the tasks of a {@link SingleThreadEventExecutor}, which is backed by a lock-free MPSC
+ * queue created via {@link PlatformDependent#newMpscQueue(int)}. Only the executor thread may consume from it.
+ * <p>
+ * Offering a task never takes a lock and only unparks the consumer if it announced that it is about to block, so
+ * a busy executor is never signalled. The consumer publishes itself before it checks the queue a last time and the
+ * producers check for it after they added their task, so at least one side sees the other.
+ * <p>
+ * Producers never block: {@link #put(Object)} and {@link #offer(Object, long, TimeUnit)} fail immediately if the
+ * queue is full, and {@link #remove(Object)} never removes a task. Iterating is weakly consistent. The
+ * capacity may be rounded up by the MPSC queue.
+ */
+final class MpscBlockingTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final Queue<Runnable> queue;
+    private final int maxCapacity;
+    private volatile Thread waiter;
+
+    MpscBlockingTaskQueue(int maxCapacity) {
+        queue = PlatformDependent.newMpscQueue(maxCapacity);
+        this.maxCapacity = maxCapacity;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        if (!queue.offer(task)) {
+            return false;
+        }
+        Thread waiter = this.waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(Runnable task) {
+        if (!offer(task)) {
+            throw new IllegalStateException("queue full");
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public Runnable poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public Runnable peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        Runnable task = queue.poll();
+        if (task != null) {
+            return task;
+        }
+        waiter = Thread.currentThread();
+        try {
+            for (;;) {
+                task = queue.poll();
+                if (task != null) {
+                    return task;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Runnable task = queue.poll();
+        if (task != null) {
+            return task;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        waiter = Thread.currentThread();
+        try {
+            for (;;) {
+                task = queue.poll();
+                if (task != null) {
+                    return task;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, maxCapacity - size());
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int drained = 0;
+        Runnable task;
+        while (drained < maxElements && (task = queue.poll()) != null) {
+            c.add(task);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Returns a weakly consistent {@link Iterator} which does not support {@link Iterator#remove()}.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        return queue.iterator();
+    }
+
+    /**
+     * The MPSC queue can not remove a task that is not the head, so this never removes anything and always returns
+     * {@code false}. The task is then either run by the consumer or drained and reported once the executor terminated.
+     */
+    @Override
+    public boolean remove(Object o) {
+        return false;
+    }
+}
@@ -25,7 +25,8 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * {@link EventExecutorGroup} implementation that handles their tasks with multiple threads at
@@ -37,7 +38,7 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
     private final List<EventExecutor> readonlyChildren;
     private final AtomicInteger terminatedChildren = new AtomicInteger();
     private final Promise<?> terminationFuture = new DefaultPromise(GlobalEventExecutor.INSTANCE);
-    private final boolean powerOfTwo;
+    private final EventExecutorChooserFactory.EventExecutorChooser chooser;
 
     /**
      * Create a new instance.
@@ -87,6 +88,37 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
         this(nThreads, executor, maxPendingTasks, rejectedHandler, EmptyArrays.EMPTY_OBJECTS);
     }
 
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param threadFactory     the ThreadFactory to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     */
+    public MultithreadEventExecutorGroup(int nThreads, ThreadFactory threadFactory,
+                                         EventExecutorChooserFactory chooserFactory,
+                                         int maxPendingTasks, RejectedExecutionHandler rejectedHandler) {
+        this(nThreads, threadFactory == null ? null : new ThreadPerTaskExecutor(threadFactory), chooserFactory,
+                maxPendingTasks, rejectedHandler, EmptyArrays.EMPTY_OBJECTS);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the Executor to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     */
+    public MultithreadEventExecutorGroup(int nThreads, Executor executor,
+                                         EventExecutorChooserFactory chooserFactory,
+                                         int maxPendingTasks, RejectedExecutionHandler rejectedHandler) {
+        this(nThreads, executor, chooserFactory, maxPendingTasks, rejectedHandler, EmptyArrays.EMPTY_OBJECTS);
+    }
+
     /**
      * Create a new instance.
      *
@@ -115,6 +147,23 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
      */
     protected MultithreadEventExecutorGroup(int nThreads, Executor executor, int maxPendingTasks,
                                             RejectedExecutionHandler rejectedHandler, Object... args) {
+        this(nThreads, executor, EventExecutorChoosers.roundRobin(), maxPendingTasks, rejectedHandler, args);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the Executor to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @param args              arguments which will passed to each {@link #newChild(Executor, int,
+     * RejectedExecutionHandler, Object...)} call
+     */
+    protected MultithreadEventExecutorGroup(int nThreads, Executor executor,
+                                            EventExecutorChooserFactory chooserFactory, int maxPendingTasks,
+                                            RejectedExecutionHandler rejectedHandler, Object... args) {
         if (nThreads <= 0) {
             throw new IllegalArgumentException(String.format("nThreads: %d (expected: > 0)", nThreads));
         }
@@ -123,8 +172,9 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
             executor = new ThreadPerTaskExecutor(new DefaultThreadFactory(getClass()));
         }
 
+        requireNonNull(chooserFactory, "chooserFactory");
+
         children = new EventExecutor[nThreads];
-        powerOfTwo = isPowerOfTwo(children.length);
         for (int i = 0; i < nThreads; i ++) {
             boolean success = false;
             try {
@@ -165,13 +215,9 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
             e.terminationFuture().addListener(terminationListener);
         }
         readonlyChildren = Collections.unmodifiableList(Arrays.asList(children));
+        chooser = chooserFactory.newChooser(readonlyChildren);
     }
 
-    // Use a 'long' counter to avoid non-round-robin behaviour at the 32-bit overflow boundary.
-    // The 64-bit long solves this by placing the overflow so far into the future, that no system
-    // will encounter this in practice.
-    private final AtomicLong idx = new AtomicLong();
-
     /**
      * The {@link EventExecutor}s that are used by this {@link MultithreadEventExecutorGroup}.
      */
@@ -180,19 +226,13 @@ public class MultithreadEventExecutorGroup extends AbstractEventExecutorGroup {
     }
 
     /**
-     * Returns the next {@link EventExecutor} to use. The default implementation will use round-robin, but you may
-     * override this to change the selection algorithm.
+     * Returns the next {@link EventExecutor} to use. The default implementation asks the
+     * {@link EventExecutorChooserFactory.EventExecutorChooser} of this group, which uses round-robin unless another
+     * {@link EventExecutorChooserFactory} was given, but you may override this to change the selection algorithm.
      */
     @Override
     public EventExecutor next() {
-        if (powerOfTwo) {
-            return children[(int) idx.getAndIncrement() & children.length - 1];
-        }
-        return children[(int) Math.abs(idx.getAndIncrement() % children.length)];
-    }
-
-    private static boolean isPowerOfTwo(int val) {
-        return (val & -val) == val;
+        return chooser.next();
     }
 
     @Override
@@ -40,6 +40,13 @@ final class RunnableScheduledFutureAdapter<V> implements RunnableScheduledFuture
 
     private int queueIndex = INDEX_NOT_IN_QUEUE;
 
+    // Only used by the ScheduledTaskWheel of the executor.
+    ScheduledTaskWheel.Bucket bucket;
+    RunnableScheduledFutureAdapter<?> prev;
+    RunnableScheduledFutureAdapter<?> next;
+    /* true if the task must not be put into the ScheduledTaskWheel */
+    boolean exact;
+
     private final AbstractScheduledEventExecutor executor;
     private final Promise<V> promise;
     private final Callable<V> callable;
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+/**
+ * Hierarchical timing wheel which holds the scheduled tasks of an {@link AbstractScheduledEventExecutor} that do not
+ * need an exact deadline, so adding and cancelling such a task is O(1) instead of O(log n).
+ * <p>
+ * The time is divided into ticks and a task is due in the first tick that starts at or after its deadline, so it never
+ * runs early but may run up to one tick late. Every level consists of 64 slots which each cover all 64 slots of the
+ * level below, and of a bitmap of its non empty slots. A task is put into the lowest level on which its tick differs
+ * from the current tick and moves down to the lower levels once the current tick reaches its slot. The bitmaps allow
+ * to skip empty slots and to find the next deadline without touching the tasks.
+ * <p>
+ * This class is not thread-safe and must only be used from the event loop.
+ */
+final class ScheduledTaskWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // Enough levels to hold every positive tick.
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final long tickNanos;
+    private final Bucket[] buckets = new Bucket[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS];
+    private final Bucket expired = new Bucket(-1, 0);
+    private long currentTick;
+    private int size;
+
+    ScheduledTaskWheel(long tickNanos, long nanoTime) {
+        assert tickNanos > 0;
+        this.tickNanos = tickNanos;
+        currentTick = Math.floorDiv(nanoTime, tickNanos);
+    }
+
+    /**
+     * Returns the number of tasks in this wheel.
+     */
+    int size() {
+        return size;
+    }
+
+    void add(RunnableScheduledFutureAdapter<?> task) {
+        assert task.bucket == null;
+        place(task);
+        size++;
+    }
+
+    void remove(RunnableScheduledFutureAdapter<?> task) {
+        Bucket bucket = task.bucket;
+        assert bucket != null;
+        bucket.remove(task);
+        if (bucket.head == null && bucket.level >= 0) {
+            occupied[bucket.level] &= ~(1L << bucket.slot);
+        }
+        size--;
+    }
+
+    /**
+     * Returns {@code true} if a task is due at the given {@code nanoTime}.
+     */
+    boolean hasExpired(long nanoTime) {
+        if (expired.head == null && size != 0) {
+            advance(Math.floorDiv(nanoTime, tickNanos));
+        }
+        return expired.head != null;
+    }
+
+    /**
+     * Removes and returns a task which is due at the given {@code nanoTime} or returns {@code null} if there is none.
+     */
+    RunnableScheduledFutureAdapter<?> poll(long nanoTime) {
+        if (!hasExpired(nanoTime)) {
+            return null;
+        }
+        RunnableScheduledFutureAdapter<?> task = expired.head;
+        expired.remove(task);
+        size--;
+        return task;
+    }
+
+    /**
+     * Returns the point in time (relative to {@link AbstractScheduledEventExecutor#nanoTime()}) at which this wheel
+     * needs to be polled again or {@code -1} if it is empty. This may be before the deadline of any task if tasks need
+     * to be moved to a lower level at this time.
+     */
+    long nextDeadlineNanos() {
+        if (expired.head != null) {
+            return expired.head.deadlineNanos();
+        }
+        if (size == 0) {
+            return -1;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            long slots = pendingSlots(level);
+            if (slots != 0) {
+                long tick = slotStart(level, Long.numberOfTrailingZeros(slots));
+                return tick > Long.MAX_VALUE / tickNanos ? Long.MAX_VALUE : tick * tickNanos;
+            }
+        }
+        throw new AssertionError();
+    }
+
+    /**
+     * Cancels all tasks in this wheel.
+     */
+    void cancelAll() {
+        cancelAll(expired);
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                cancelAll(bucket);
+            }
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            occupied[level] = 0;
+        }
+        size = 0;
+    }
+
+    private static void cancelAll(Bucket bucket) {
+        RunnableScheduledFutureAdapter<?> task = bucket.head;
+        bucket.head = bucket.tail = null;
+        while (task != null) {
+            RunnableScheduledFutureAdapter<?> next = task.next;
+            unlink(task);
+            task.cancel(false);
+            task = next;
+        }
+    }
+
+    private void advance(long targetTick) {
+        while (currentTick < targetTick) {
+            int level = 0;
+            long slots;
+            while ((slots = pendingSlots(level)) == 0) {
+                if (++level == LEVELS) {
+                    // Nothing left in the wheel except for already expired tasks.
+                    currentTick = targetTick;
+                    return;
+                }
+            }
+            int slot = Long.numberOfTrailingZeros(slots);
+            long tick = slotStart(level, slot);
+            if (tick > targetTick) {
+                currentTick = targetTick;
+                return;
+            }
+
+            // Move all tasks of the slot to the lower levels or to the expired tasks.
+            currentTick = tick;
+            occupied[level] &= ~(1L << slot);
+            Bucket bucket = buckets[level << SLOT_BITS | slot];
+            RunnableScheduledFutureAdapter<?> task = bucket.head;
+            bucket.head = bucket.tail = null;
+            while (task != null) {
+                RunnableScheduledFutureAdapter<?> next = task.next;
+                unlink(task);
+                place(task);
+                task = next;
+            }
+        }
+    }
+
+    private void place(RunnableScheduledFutureAdapter<?> task) {
+        long deadlineNanos = task.deadlineNanos();
+        // Round up so the task never runs before its deadline.
+        long tick = -Math.floorDiv(-deadlineNanos, tickNanos);
+        if (tick <= currentTick) {
+            expired.add(task);
+            return;
+        }
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(tick ^ currentTick)) / SLOT_BITS;
+        int slot = (int) (tick >>> level * SLOT_BITS) & SLOT_MASK;
+        int index = level << SLOT_BITS | slot;
+        Bucket bucket = buckets[index];
+        if (bucket == null) {
+            bucket = buckets[index] = new Bucket(level, slot);
+        }
+        bucket.add(task);
+        occupied[level] |= 1L << slot;
+    }
+
+    /**
+     * Returns the bitmap of the non empty slots of the given level which lie after the current tick.
+     */
+    private long pendingSlots(int level) {
+        int currentSlot = (int) (currentTick >>> level * SLOT_BITS) & SLOT_MASK;
+        return occupied[level] & -2L << currentSlot;
+    }
+
+    /**
+     * Returns the first tick which belongs to the given slot of the given level.
+     */
+    private long slotStart(int level, int slot) {
+        int shift = (level + 1) * SLOT_BITS;
+        long prefix = shift >= Long.SIZE ? 0 : currentTick >>> shift << shift;
+        return prefix | (long) slot << level * SLOT_BITS;
+    }
+
+    private static void unlink(RunnableScheduledFutureAdapter<?> task) {
+        task.bucket = null;
+        task.prev = null;
+        task.next = null;
+    }
+
+    static final class Bucket {
+        final int level;
+        final int slot;
+        RunnableScheduledFutureAdapter<?> head;
+        RunnableScheduledFutureAdapter<?> tail;
+
+        Bucket(int level, int slot) {
+            this.level = level;
+            this.slot = slot;
+        }
+
+        void add(RunnableScheduledFutureAdapter<?> task) {
+            task.bucket = this;
+            task.prev = tail;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(RunnableScheduledFutureAdapter<?> task) {
+            RunnableScheduledFutureAdapter<?> prev = task.prev;
+            RunnableScheduledFutureAdapter<?> next = task.next;
+            if (prev == null) {
+                head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            unlink(task);
+        }
+    }
+}
@@ -35,7 +35,6 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +54,15 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
     private static final InternalLogger logger =
             InternalLoggerFactory.getInstance(SingleThreadEventExecutor.class);
 
+    private static final boolean METRICS_ENABLED =
+            SystemPropertyUtil.getBoolean("io.netty.eventexecutor.metrics", false);
+
+    static {
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty.eventexecutor.metrics: {}", METRICS_ENABLED);
+        }
+    }
+
     private static final int ST_NOT_STARTED = 1;
     private static final int ST_STARTED = 2;
     private static final int ST_SHUTTING_DOWN = 3;
@@ -75,6 +83,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
                     SingleThreadEventExecutor.class, ThreadProperties.class, "threadProperties");
 
     private final Queue<Runnable> taskQueue;
+    private final EventExecutorMetrics metrics;
 
     private volatile Thread thread;
     @SuppressWarnings("unused")
@@ -147,13 +156,43 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         taskQueue = newTaskQueue(Math.max(16, maxPendingTasks));
         this.addTaskWakesUp = taskQueue instanceof BlockingQueue;
         rejectedExecutionHandler = requireNonNull(rejectedHandler, "rejectedHandler");
+        metrics = newMetrics();
+    }
+
+    /**
+     * Returns {@code true} if {@link EventExecutorMetrics} are recorded by default - System Property:
+     * io.netty.eventexecutor.metrics - default false
+     */
+    public static boolean defaultMetricsEnabled() {
+        return METRICS_ENABLED;
+    }
+
+    /**
+     * Create a new {@link EventExecutorMetrics} which will record the metrics of this executor, or {@code null} if
+     * no metrics should be recorded. This default implementation only creates them if
+     * {@link #defaultMetricsEnabled()} returns {@code true}.
+     *
+     * As this method is called from within the constructor you can only use the parameters passed into the method when
+     * overriding this method.
+     */
+    protected EventExecutorMetrics newMetrics() {
+        return METRICS_ENABLED ? new EventExecutorMetrics() : null;
+    }
+
+    /**
+     * Returns the {@link EventExecutorMetrics} of this executor, or {@code null} if they are not recorded.
+     */
+    public final EventExecutorMetrics metrics() {
+        return metrics;
     }
 
     /**
      * Create a new {@link Queue} which will holds the tasks to execute. This default implementation will return a
-     * {@link LinkedBlockingQueue} but if your sub-class of {@link SingleThreadEventExecutor} will not do any blocking
-     * calls on the this {@link Queue} it may make sense to {@code @Override} this and return some more performant
-     * implementation that does not support blocking operations at all.
+     * lock-free {@link BlockingQueue} for multiple producers and a single consumer, which only wakes up the
+     * {@link Thread} of this executor if it is blocked in {@link #takeTask()}. If your sub-class of
+     * {@link SingleThreadEventExecutor} will not do any blocking calls on the this {@link Queue} it may make sense to
+     * {@code @Override} this and return some more performant implementation that does not support blocking operations
+     * at all.
      *
      * Be aware that the implementation of {@link #run()} depends on a {@link BlockingQueue} so you will need to
      * override {@link #run()} as well if you return a non {@link BlockingQueue} from this method.
@@ -162,7 +201,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      * overriding this method.
      */
     protected Queue<Runnable> newTaskQueue(int maxPendingTasks) {
-        return new LinkedBlockingQueue<>(maxPendingTasks);
+        return new MpscBlockingTaskQueue(maxPendingTasks);
     }
 
     /**
@@ -213,8 +252,8 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
 
         BlockingQueue<Runnable> taskQueue = (BlockingQueue<Runnable>) this.taskQueue;
         for (;;) {
-            RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-            if (scheduledTask == null) {
+            long deadlineNanos = nextScheduledTaskDeadlineNanos();
+            if (deadlineNanos == -1) {
                 Runnable task = null;
                 try {
                     task = taskQueue.take();
@@ -226,7 +265,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
                 }
                 return task;
             } else {
-                long delayNanos = scheduledTask.delayNanos();
+                long delayNanos = deadlineNanos - nanoTime();
                 Runnable task = null;
                 if (delayNanos > 0) {
                     try {
@@ -298,6 +337,14 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         if (isShutdown()) {
             reject();
         }
+        EventExecutorMetrics metrics = this.metrics;
+        if (metrics != null && metrics.sampleSubmit(task)) {
+            if (!taskQueue.offer(task)) {
+                metrics.cancelSample(task);
+                return false;
+            }
+            return true;
+        }
         return taskQueue.offer(task);
     }
 
@@ -305,7 +352,35 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      * @see Queue#remove(Object)
      */
     protected final boolean removeTask(Runnable task) {
-        return taskQueue.remove(task);
+        if (!taskQueue.remove(task)) {
+            return false;
+        }
+        EventExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.cancelSample(task);
+        }
+        return true;
+    }
+
+    private void runTask(Runnable task) {
+        EventExecutorMetrics metrics = this.metrics;
+        if (metrics == null) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.warn("A task raised an exception.", t);
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        metrics.recordPoll(task, start);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            logger.warn("A task raised an exception.", t);
+        } finally {
+            metrics.recordTask(task, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -325,11 +400,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
             }
 
             do {
-                try {
-                    task.run();
-                } catch (Throwable t) {
-                    logger.warn("A task raised an exception.", t);
-                }
+                runTask(task);
             } while ((task = pollTask()) != null);
         } while (!fetchedAll); // keep on processing until we fetched all scheduled tasks.
 
@@ -356,11 +427,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
                     break;
                 }
 
-                try {
-                    task.run();
-                } catch (Throwable t) {
-                    logger.warn("A task raised an exception.", t);
-                }
+                runTask(task);
             }
         } while (!fetchedAll && processedTasks < maxTasks); // keep on processing until we fetched all scheduled tasks.
 
@@ -378,12 +445,12 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      */
     protected final long delayNanos(long currentTimeNanos) {
         assert inEventLoop();
-        RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-        if (scheduledTask == null) {
+        long deadlineNanos = nextScheduledTaskDeadlineNanos();
+        if (deadlineNanos == -1) {
             return SCHEDULE_PURGE_INTERVAL;
         }
 
-        return scheduledTask.delayNanos(currentTimeNanos);
+        return Math.max(0, deadlineNanos - (currentTimeNanos - START_TIME));
     }
 
     /**
@@ -394,11 +461,11 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      */
     protected final long deadlineNanos() {
         assert inEventLoop();
-        RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-        if (scheduledTask == null) {
+        long deadlineNanos = nextScheduledTaskDeadlineNanos();
+        if (deadlineNanos == -1) {
             return nanoTime() + SCHEDULE_PURGE_INTERVAL;
         }
-        return scheduledTask.deadlineNanos();
+        return deadlineNanos;
     }
 
     /**
@@ -414,6 +481,25 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         lastExecutionTime = nanoTime();
     }
 
+    /**
+     * Records the end of an iteration of {@link #run()} in the {@link #metrics()}, if they are recorded.
+     * {@link #runAllTasks(int)} records the tasks automatically, so sub-classes which override {@link #run()} only
+     * need to call this method once per iteration.
+     *
+     * This method must be called from the {@link EventExecutor} thread.
+     *
+     * @param ioTimeNanos   the time that was spent to process IO in this iteration.
+     * @param tasks         the number of tasks that were run in this iteration.
+     */
+    protected final void recordIteration(long ioTimeNanos, int tasks) {
+        assert inEventLoop();
+        EventExecutorMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordIoTime(ioTimeNanos);
+            metrics.recordIteration(tasks);
+        }
+    }
+
     /**
      * Run tasks that are submitted to this {@link SingleThreadEventExecutor}.
      * The implementation depends on the fact that {@link #newTaskQueue(int)} returns a
@@ -427,7 +513,19 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         do {
             Runnable task = takeTask();
             if (task != null) {
-                task.run();
+                EventExecutorMetrics metrics = this.metrics;
+                if (metrics == null) {
+                    task.run();
+                } else {
+                    long start = System.nanoTime();
+                    metrics.recordPoll(task, start);
+                    try {
+                        task.run();
+                    } finally {
+                        metrics.recordTask(task, System.nanoTime() - start);
+                        metrics.recordIteration(1);
+                    }
+                }
                 updateLastExecutionTime();
             }
         } while (!confirmShutdown());
@@ -729,6 +827,9 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         }
 
         if (!addTaskWakesUp && wakesUpForTask(task)) {
+            if (!inEventLoop && metrics != null) {
+                metrics.recordWakeup();
+            }
             wakeup(inEventLoop);
         }
     }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * A batch of tasks which is submitted to an {@link EventExecutor} as a single task.
+ *
+ * @see EventExecutor#executeBatch(Runnable...)
+ * @see EventExecutor#executeBatch(Consumer, Object[])
+ */
+final class TaskBatch<T> implements Runnable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(TaskBatch.class);
+
+    static final Consumer<Runnable> RUN = Runnable::run;
+
+    private final Consumer<? super T> action;
+    private final T[] args;
+
+    TaskBatch(Consumer<? super T> action, T[] args) {
+        this.action = action;
+        this.args = args;
+    }
+
+    @Override
+    public void run() {
+        for (T arg : args) {
+            try {
+                action.accept(arg);
+            } catch (Throwable t) {
+                logger.warn("A task raised an exception. Task: {}", arg, t);
+            }
+        }
+    }
+}
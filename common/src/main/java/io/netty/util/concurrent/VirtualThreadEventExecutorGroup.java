@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.internal.UnstableApi;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@link MultithreadEventExecutorGroup} which runs each of its {@link SingleThreadEventExecutor}s on its own virtual
+ * thread. Like {@link DefaultEventExecutorGroup} every handler that is added to a pipeline with this group is bound to
+ * a single executor, so all events of a channel are still processed in order, but a handler may block without
+ * occupying a platform thread. As virtual threads are cheap, the group can consist of a lot more executors than there
+ * are CPU cores, which reduces the number of channels that are delayed by a single blocking call.
+ * <p>
+ * Virtual threads are detected via reflection, so this class can be loaded on every Java version, but it can only be
+ * instantiated on Java 21 or later. Use {@link #isAvailable()} to check this upfront.
+ */
+@UnstableApi
+public final class VirtualThreadEventExecutorGroup extends MultithreadEventExecutorGroup {
+
+    private static final InternalLogger logger =
+            InternalLoggerFactory.getInstance(VirtualThreadEventExecutorGroup.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Throwable UNAVAILABILITY_CAUSE;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Throwable cause = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            // Ensure that virtual threads are not only a preview feature which was not enabled.
+            factory.invoke(ofVirtual.invoke(null));
+        } catch (Throwable t) {
+            cause = t;
+        }
+        if (cause == null) {
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+        } else {
+            OF_VIRTUAL = null;
+            NAME = null;
+            FACTORY = null;
+        }
+        UNAVAILABILITY_CAUSE = cause;
+        logger.debug("Virtual threads available: {}", cause == null);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of executors and so virtual threads of this instance.
+     */
+    public VirtualThreadEventExecutorGroup(int nThreads) {
+        this(nThreads, SingleThreadEventExecutor.DEFAULT_MAX_PENDING_EXECUTOR_TASKS,
+                RejectedExecutionHandlers.reject());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of executors and so virtual threads of this instance.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM.
+     */
+    public VirtualThreadEventExecutorGroup(int nThreads, int maxPendingTasks,
+                                           RejectedExecutionHandler rejectedHandler) {
+        super(nThreads, newThreadFactory(), maxPendingTasks, rejectedHandler);
+    }
+
+    /**
+     * Returns {@code true} if virtual threads are supported by the current JVM.
+     */
+    public static boolean isAvailable() {
+        return UNAVAILABILITY_CAUSE == null;
+    }
+
+    /**
+     * Returns the reason why virtual threads are not supported or {@code null} if they are.
+     */
+    public static Throwable unavailabilityCause() {
+        return UNAVAILABILITY_CAUSE;
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        if (UNAVAILABILITY_CAUSE != null) {
+            throw new UnsupportedOperationException("virtual threads are not available", UNAVAILABILITY_CAUSE);
+        }
+        String prefix = DefaultThreadFactory.toPoolName(VirtualThreadEventExecutorGroup.class) + '-';
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("failed to create a virtual thread factory", e);
+        }
+    }
+}
@@ -603,6 +603,10 @@ public final class PlatformDependent {
         PlatformDependent0.putLong(data, index, value);
     }
 
+    public static void putLong(Object data, long offset, long value) {
+        PlatformDependent0.putLong(data, offset, value);
+    }
+
     public static void putObject(Object o, long offset, Object x) {
         PlatformDependent0.putObject(o, offset, x);
     }
@@ -554,6 +554,10 @@ final class PlatformDependent0 {
         UNSAFE.putLong(data, BYTE_ARRAY_BASE_OFFSET + index, value);
     }
 
+    static void putLong(Object data, long offset, long value) {
+        UNSAFE.putLong(data, offset, value);
+    }
+
     static void putObject(Object o, long offset, Object x) {
         UNSAFE.putObject(o, offset, x);
     }
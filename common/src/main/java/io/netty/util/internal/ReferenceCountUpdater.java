@@ -132,6 +132,38 @@ public abstract class ReferenceCountUpdater<T extends ReferenceCounted> {
         return instance;
     }
 
+    /**
+     * Like {@link #retain(ReferenceCounted)} but uses a plain read-modify-write instead of an atomic update. Must only
+     * be used while the instance is confined to the calling thread.
+     */
+    public final T retainNonAtomic(T instance) {
+        return retainNonAtomic0(instance, 1, 2);
+    }
+
+    /**
+     * Like {@link #retain(ReferenceCounted, int)} but uses a plain read-modify-write instead of an atomic update. Must
+     * only be used while the instance is confined to the calling thread.
+     */
+    public final T retainNonAtomic(T instance, int increment) {
+        int rawIncrement = checkPositive(increment, "increment") << 1;
+        return retainNonAtomic0(instance, increment, rawIncrement);
+    }
+
+    // rawIncrement == increment << 1
+    private T retainNonAtomic0(T instance, final int increment, final int rawIncrement) {
+        int oldRef = nonVolatileRawCnt(instance);
+        if (oldRef != 2 && oldRef != 4 && (oldRef & 1) != 0) {
+            throw new IllegalReferenceCountException(0, increment);
+        }
+        int newRef = oldRef + rawIncrement;
+        if ((oldRef <= 0 && newRef >= 0) || (oldRef >= 0 && newRef < oldRef)) {
+            // overflow case
+            throw new IllegalReferenceCountException(realRefCnt(oldRef), increment);
+        }
+        updater().lazySet(instance, newRef);
+        return instance;
+    }
+
     public final boolean release(T instance) {
         int rawCnt = nonVolatileRawCnt(instance);
         return rawCnt == 2 ? tryFinalRelease0(instance, 2) || retryRelease0(instance, 1)
@@ -145,6 +177,42 @@ public abstract class ReferenceCountUpdater<T extends ReferenceCounted> {
                 : nonFinalRelease0(instance, decrement, rawCnt, realCnt);
     }
 
+    /**
+     * Like {@link #release(ReferenceCounted)} but uses a plain read-modify-write instead of an atomic update. Must only
+     * be used while the instance is confined to the calling thread.
+     */
+    public final boolean releaseNonAtomic(T instance) {
+        int rawCnt = nonVolatileRawCnt(instance);
+        if (rawCnt == 2) {
+            updater().lazySet(instance, 1); // any odd number will work
+            return true;
+        }
+        return releaseNonAtomic0(instance, 1, rawCnt, toLiveRealRefCnt(rawCnt, 1));
+    }
+
+    /**
+     * Like {@link #release(ReferenceCounted, int)} but uses a plain read-modify-write instead of an atomic update.
+     * Must only be used while the instance is confined to the calling thread.
+     */
+    public final boolean releaseNonAtomic(T instance, int decrement) {
+        int rawCnt = nonVolatileRawCnt(instance);
+        int realCnt = toLiveRealRefCnt(rawCnt, checkPositive(decrement, "decrement"));
+        return releaseNonAtomic0(instance, decrement, rawCnt, realCnt);
+    }
+
+    private boolean releaseNonAtomic0(T instance, int decrement, int rawCnt, int realCnt) {
+        if (decrement == realCnt) {
+            updater().lazySet(instance, 1);
+            return true;
+        }
+        if (decrement < realCnt) {
+            // all changes to the raw count are 2x the "real" change
+            updater().lazySet(instance, rawCnt - (decrement << 1));
+            return false;
+        }
+        throw new IllegalReferenceCountException(realCnt, -decrement);
+    }
+
     private boolean tryFinalRelease0(T instance, int expectRawCnt) {
         return updater().compareAndSet(instance, expectRawCnt, 1); // any odd number will work
     }
@@ -15,6 +15,8 @@
  */
 package io.netty.util;
 
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.Test;
 
 import java.util.concurrent.BlockingQueue;
@@ -223,4 +225,65 @@ public class HashedWheelTimerTest {
     private static TimerTask createCountDownLatchTimerTask(final CountDownLatch latch) {
         return timeout -> latch.countDown();
     }
+
+    @Test(timeout = 5000)
+    public void testTaskExecutor() throws InterruptedException {
+        final EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        final HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 10,
+                TimeUnit.MILLISECONDS, 8, true, -1, group);
+        try {
+            final BlockingQueue<Thread> threads = new LinkedBlockingQueue<>();
+            for (int i = 0; i < 3; i++) {
+                timer.newTimeout(timeout -> threads.add(Thread.currentThread()), 20, TimeUnit.MILLISECONDS);
+            }
+            Timeout cancelled = timer.newTimeout(timeout -> fail("cancelled"), 20, TimeUnit.MILLISECONDS);
+            assertTrue(cancelled.cancel());
+            for (int i = 0; i < 3; i++) {
+                assertTrue(group.next().inEventLoop(threads.take()));
+            }
+            assertTrue(timer.maxTickLagNanos() >= timer.tickLagNanos());
+            assertTrue(timer.tickLagNanos() >= 0);
+        } finally {
+            timer.stop();
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testCancelDispatchedTimeouts() throws InterruptedException {
+        final EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        final HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 10,
+                TimeUnit.MILLISECONDS, 8, true, -1, group);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Block the taskExecutor, so the expired timeouts are dispatched but can not run yet.
+            group.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Timeout[] timeouts = new Timeout[4];
+            for (int i = 0; i < timeouts.length; i++) {
+                timeouts[i] = timer.newTimeout(timeout -> fail("cancelled"), 20, TimeUnit.MILLISECONDS);
+            }
+            while (timer.pendingTimeouts() != 0) {
+                Thread.sleep(10);
+            }
+            for (Timeout timeout : timeouts) {
+                assertTrue(timeout.cancel());
+            }
+            // The cancellations are processed before another timeout can be dispatched.
+            timer.newTimeout(timeout -> { }, 20, TimeUnit.MILLISECONDS);
+            while (timer.pendingTimeouts() > 0) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, timer.pendingTimeouts());
+        } finally {
+            release.countDown();
+            timer.stop();
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util;
+
+import io.netty.util.RecyclerTest.HandledObject;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MagazineRecyclerTest {
+
+    private static Recycler<HandledObject> newRecycler(int maxCapacityPerThread, int ratio) {
+        return newRecycler(maxCapacityPerThread, ratio, new AtomicInteger());
+    }
+
+    private static Recycler<HandledObject> newRecycler(int maxCapacityPerThread, int ratio,
+                                                       final AtomicInteger instances) {
+        return new Recycler<HandledObject>(maxCapacityPerThread, 2, ratio, 2, ratio, true) {
+            @Override
+            protected HandledObject newObject(Handle<HandledObject> handle) {
+                instances.incrementAndGet();
+                return new HandledObject(handle);
+            }
+        };
+    }
+
+    @Test
+    public void testRecycle() {
+        Recycler<HandledObject> recycler = newRecycler(1024, 0);
+        HandledObject object = recycler.get();
+        object.recycle();
+        HandledObject object2 = recycler.get();
+        assertSame(object, object2);
+        object2.recycle();
+        assertEquals(1, recycler.threadLocalSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMultipleRecycle() {
+        Recycler<HandledObject> recycler = newRecycler(1024, 0);
+        HandledObject object = recycler.get();
+        object.recycle();
+        object.recycle();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMultipleRecycleAtDifferentThread() throws InterruptedException {
+        Recycler<HandledObject> recycler = newRecycler(1024, 0);
+        final HandledObject object = recycler.get();
+        final AtomicReference<IllegalStateException> exceptionStore = new AtomicReference<>();
+        Thread thread1 = new Thread(object::recycle);
+        thread1.start();
+        thread1.join();
+
+        Thread thread2 = new Thread(() -> {
+            try {
+                object.recycle();
+            } catch (IllegalStateException e) {
+                exceptionStore.set(e);
+            }
+        });
+        thread2.start();
+        thread2.join();
+        IllegalStateException exception = exceptionStore.get();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Test
+    public void testRecycleAtDifferentThread() throws Exception {
+        Recycler<HandledObject> recycler = newRecycler(256, 2);
+        final HandledObject o = recycler.get();
+        final HandledObject o2 = recycler.get();
+
+        Thread thread = new Thread(() -> {
+            o.recycle();
+            o2.recycle();
+        });
+        thread.start();
+        thread.join();
+
+        // The second object is dropped because of the ratio.
+        assertSame(o, recycler.get());
+        assertNotSame(o2, recycler.get());
+    }
+
+    @Test
+    public void testMaxCapacity() {
+        int maxCapacity = 300;
+        Recycler<HandledObject> recycler = newRecycler(maxCapacity, 0);
+        HandledObject[] objects = new HandledObject[maxCapacity * 3];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = recycler.get();
+        }
+        for (HandledObject object : objects) {
+            object.recycle();
+        }
+        assertEquals(maxCapacity, recycler.threadLocalSize());
+        assertTrue(maxCapacity >= recycler.threadLocalCapacity());
+    }
+
+    @Test
+    public void testReturnQueueIsBounded() throws Exception {
+        AtomicInteger instances = new AtomicInteger();
+        Recycler<HandledObject> recycler = newRecycler(32, 0, instances);
+        final HandledObject[] array = new HandledObject[128];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = recycler.get();
+        }
+        instances.set(0);
+
+        Thread thread = new Thread(() -> {
+            for (HandledObject object : array) {
+                object.recycle();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        for (int i = 0; i < array.length; i++) {
+            recycler.get();
+        }
+        // At most maxCapacity / maxSharedCapacityFactor objects fit into the return queue.
+        assertTrue(instances.get() >= array.length - 16);
+        assertTrue(instances.get() < array.length);
+    }
+
+    @Test(timeout = 5000L)
+    public void testThreadCanBeCollectedEvenIfHandledObjectIsReferenced() throws Exception {
+        final Recycler<HandledObject> recycler = newRecycler(1024, 0);
+        final AtomicBoolean collected = new AtomicBoolean();
+        final AtomicReference<HandledObject> reference = new AtomicReference<>();
+        Thread thread = new Thread(() -> reference.set(recycler.get())) {
+            @Override
+            protected void finalize() throws Throwable {
+                super.finalize();
+                collected.set(true);
+            }
+        };
+        assertFalse(collected.get());
+        thread.start();
+        thread.join();
+
+        // Null out so it can be collected.
+        thread = null;
+
+        // Loop until the Thread was collected. If we can not collect it the Test will fail due of a timeout.
+        while (!collected.get()) {
+            System.gc();
+            System.runFinalization();
+            Thread.sleep(50);
+        }
+
+        // Now call recycle after the Thread was collected to ensure this still works...
+        reference.getAndSet(null).recycle();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.netty.util;
 
+import io.netty.util.internal.PlatformDependent;
 import org.junit.Test;
 
 import java.util.ArrayDeque;
@@ -23,6 +24,13 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static io.netty.util.internal.StringUtil.EMPTY_STRING;
+import static io.netty.util.internal.StringUtil.NEWLINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
 public class ResourceLeakDetectorTest {
 
     @Test(timeout = 60000)
@@ -95,6 +103,66 @@ public class ResourceLeakDetectorTest {
         assertNoErrors(error);
     }
 
+    @Test
+    public void testLightweightRecords() {
+        ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.LIGHTWEIGHT);
+        try {
+            // Track an object outside of this package as the call sites in the package of the object are skipped.
+            StringBuilder resource = new StringBuilder();
+            TestResourceLeakDetector<StringBuilder> detector =
+                    new TestResourceLeakDetector<>(StringBuilder.class, 1, Integer.MAX_VALUE);
+            ResourceLeakTracker<StringBuilder> leak = detector.track(resource);
+            for (int i = 0; i < 6; i++) {
+                touch(leak);
+            }
+
+            String records = leak.toString();
+            assertTrue(records, records.contains("#1:" + NEWLINE + "\tio.netty.util.ResourceLeakDetectorTest.touch("));
+            assertFalse(records, records.contains("#5:"));
+            assertTrue(records, records.contains("Created at:" + NEWLINE +
+                    "\tio.netty.util.ResourceLeakDetectorTest.testLightweightRecords("));
+            assertTrue(records, records.contains(": 2 leak records were discarded"));
+            // The records can only be reported once.
+            assertEquals(EMPTY_STRING, leak.toString());
+            assertTrue(leak.close(resource));
+        } finally {
+            ResourceLeakDetector.setLevel(level);
+        }
+    }
+
+    @Test
+    public void testLightweightClose() {
+        ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.LIGHTWEIGHT);
+        try {
+            StringBuilder resource = new StringBuilder();
+            TestResourceLeakDetector<StringBuilder> detector =
+                    new TestResourceLeakDetector<>(StringBuilder.class, 1, Integer.MAX_VALUE);
+            ResourceLeakTracker<StringBuilder> leak = detector.track(resource);
+            touch(leak);
+            assertTrue(leak.close(resource));
+            touch(leak);
+            assertEquals(EMPTY_STRING, leak.toString());
+        } finally {
+            ResourceLeakDetector.setLevel(level);
+        }
+    }
+
+    @Test
+    public void testLightweightUsesStackWalker() {
+        assumeTrue(PlatformDependent.javaVersion() >= 9);
+        assertTrue(LeakCallSites.isStackWalkerUsed());
+        int site = LeakCallSites.currentSite(LeakCallSites.skipPrefix(StringBuilder.class));
+        assertTrue(LeakCallSites.describe(site),
+                LeakCallSites.describe(site).startsWith(
+                        "io.netty.util.ResourceLeakDetectorTest.testLightweightUsesStackWalker("));
+    }
+
+    private static void touch(ResourceLeakTracker<?> leak) {
+        leak.record();
+    }
+
     // Mimic the way how we implement our classes that should help with leak detection
     private static final  class LeakAwareResource implements Resource {
         private final Resource resource;
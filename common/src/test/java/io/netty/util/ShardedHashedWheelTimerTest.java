@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util;
+
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShardedHashedWheelTimerTest {
+
+    @Test(timeout = 5000)
+    public void testTimeoutsRunOnAllShards() throws InterruptedException {
+        ShardedHashedWheelTimer timer = new ShardedHashedWheelTimer(Executors.defaultThreadFactory(), 10,
+                TimeUnit.MILLISECONDS, 8, 4);
+        try {
+            int count = 1000;
+            CountDownLatch latch = new CountDownLatch(count);
+            Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            for (int i = 0; i < count; i++) {
+                timer.newTimeout(timeout -> {
+                    threads.add(Thread.currentThread());
+                    latch.countDown();
+                }, 10, TimeUnit.MILLISECONDS);
+            }
+            latch.await();
+            assertEquals(4, threads.size());
+            assertTrue(timer.maxTickLagNanos() >= timer.tickLagNanos());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testTaskExecutor() throws InterruptedException {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        ShardedHashedWheelTimer timer = new ShardedHashedWheelTimer(Executors.defaultThreadFactory(), 10,
+                TimeUnit.MILLISECONDS, 8, 2, -1, group);
+        try {
+            int count = 100;
+            CountDownLatch latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                timer.newTimeout(timeout -> {
+                    if (group.next().inEventLoop() || group.next().inEventLoop()) {
+                        latch.countDown();
+                    }
+                }, 10, TimeUnit.MILLISECONDS);
+            }
+            latch.await();
+        } finally {
+            timer.stop();
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testStop() {
+        ShardedHashedWheelTimer timer = new ShardedHashedWheelTimer(2);
+        for (int i = 0; i < 10; i++) {
+            timer.newTimeout(timeout -> { }, 1, TimeUnit.MINUTES);
+        }
+        assertEquals(10, timer.pendingTimeouts());
+        Set<Timeout> unprocessed = timer.stop();
+        assertEquals(10, unprocessed.size());
+        for (Timeout timeout : unprocessed) {
+            assertFalse(timeout.isExpired());
+        }
+    }
+}
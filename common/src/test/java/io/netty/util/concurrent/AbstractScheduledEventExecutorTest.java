@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class AbstractScheduledEventExecutorTest {
     private static final Runnable TEST_RUNNABLE = () -> {
@@ -97,7 +98,49 @@ public class AbstractScheduledEventExecutorTest {
         Assert.assertEquals(Long.MAX_VALUE, AbstractScheduledEventExecutor.deadlineNanos(Long.MAX_VALUE));
     }
 
+    @Test
+    public void testTimingWheel() {
+        TestScheduledEventExecutor executor = new TestScheduledEventExecutor(1, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> future = executor.schedule(TEST_RUNNABLE, 1, TimeUnit.DAYS);
+        ScheduledFuture<?> exact = executor.scheduleExact(TEST_RUNNABLE, 1, TimeUnit.DAYS);
+        assertEquals(2, executor.scheduledTaskCount());
+        // The wheel may need to be polled before the deadline to move the task to a lower level.
+        assertTrue(executor.nextScheduledTaskDeadlineNanos() <= ((RunnableScheduledFuture<?>) future).deadlineNanos());
+
+        assertTrue(future.cancel(false));
+        assertEquals(1, executor.scheduledTaskCount());
+        assertTrue(exact.cancel(false));
+        assertEquals(0, executor.scheduledTaskCount());
+        assertEquals(-1, executor.nextScheduledTaskNano());
+
+        executor.schedule(TEST_RUNNABLE, 0, TimeUnit.NANOSECONDS);
+        executor.scheduleExact(TEST_RUNNABLE, 0, TimeUnit.NANOSECONDS);
+        // Tasks in the wheel may run up to one tick after their deadline.
+        long nanoTime = AbstractScheduledEventExecutor.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1);
+        assertNotNull(executor.pollScheduledTask(nanoTime));
+        assertNotNull(executor.pollScheduledTask(nanoTime));
+        assertNull(executor.pollScheduledTask(nanoTime));
+    }
+
+    @Test
+    public void testTimingWheelCancelScheduledTasks() {
+        TestScheduledEventExecutor executor = new TestScheduledEventExecutor(1, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> future = executor.schedule(TEST_RUNNABLE, 1, TimeUnit.DAYS);
+        ScheduledFuture<?> exact = executor.scheduleExact(TEST_RUNNABLE, 1, TimeUnit.DAYS);
+        executor.cancelScheduledTasks();
+        assertTrue(future.isCancelled());
+        assertTrue(exact.isCancelled());
+        assertEquals(0, executor.scheduledTaskCount());
+    }
+
     private static final class TestScheduledEventExecutor extends AbstractScheduledEventExecutor {
+        TestScheduledEventExecutor() {
+        }
+
+        TestScheduledEventExecutor(long timingWheelTick, TimeUnit unit) {
+            super(timingWheelTick, unit);
+        }
+
         @Override
         public boolean isShuttingDown() {
             return false;
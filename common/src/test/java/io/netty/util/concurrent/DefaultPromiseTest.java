@@ -307,6 +307,45 @@ public class DefaultPromiseTest {
         assertEquals("success", promise.getNow());
     }
 
+    @Test
+    public void setUncancellableWithListeners() {
+        final Promise<String> promise = new DefaultPromise<>(ImmediateEventExecutor.INSTANCE);
+        final AtomicInteger notified = new AtomicInteger();
+        promise.addListener(future -> notified.incrementAndGet());
+        assertTrue(promise.isCancellable());
+        assertTrue(promise.setUncancellable());
+        assertFalse(promise.isCancellable());
+        promise.addListener(future -> notified.incrementAndGet());
+        assertFalse(promise.cancel(false));
+        assertFalse(promise.isDone());
+
+        promise.setSuccess("success");
+        assertEquals(2, notified.get());
+        assertEquals("success", promise.getNow());
+    }
+
+    @Test
+    public void testRemoveListener() {
+        final Promise<Void> promise = new DefaultPromise<>(ImmediateEventExecutor.INSTANCE);
+        final StringBuilder order = new StringBuilder();
+        GenericFutureListener<Future<Void>> a = future -> order.append('a');
+        GenericFutureListener<Future<Void>> b = future -> order.append('b');
+        GenericFutureListener<Future<Void>> c = future -> order.append('c');
+        promise.addListener(a).addListener(b).addListener(c).addListener(b);
+        promise.removeListener(b);
+        promise.removeListener(a);
+        promise.setUncancellable();
+        promise.removeListener(c);
+        assertFalse(promise.isCancellable());
+        promise.addListener(a).addListener(a);
+        promise.setSuccess(null);
+        assertEquals("baa", order.toString());
+
+        promise.removeListener(a);
+        promise.addListener(c);
+        assertEquals("baac", order.toString());
+    }
+
     @Test
     public void throwUncheckedSync() throws InterruptedException {
         Exception exception = new Exception();
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import io.netty.util.concurrent.EventExecutorChooserFactory.EventExecutorChooser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventExecutorChoosersTest {
+
+    private static List<EventExecutor> newExecutors(int num) {
+        List<EventExecutor> executors = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+            executors.add(new SingleThreadEventExecutor());
+        }
+        return executors;
+    }
+
+    @Test
+    public void testRoundRobin() {
+        testRoundRobin(4);
+        testRoundRobin(3);
+    }
+
+    private static void testRoundRobin(int num) {
+        List<EventExecutor> executors = newExecutors(num);
+        EventExecutorChooser chooser = EventExecutorChoosers.roundRobin().newChooser(executors);
+        for (int i = 0; i < num * 3; i++) {
+            assertSame(executors.get(i % num), chooser.next());
+        }
+    }
+
+    @Test
+    public void testLeastLoaded() {
+        List<EventExecutor> executors = newExecutors(4);
+        Map<EventExecutor, Integer> loads = new HashMap<>();
+        for (EventExecutor executor : executors) {
+            loads.put(executor, 10);
+        }
+        loads.put(executors.get(2), 5);
+        EventExecutorChooser chooser = EventExecutorChoosers.leastLoaded(loads::get).newChooser(executors);
+        for (int i = 0; i < 8; i++) {
+            assertSame(executors.get(2), chooser.next());
+        }
+
+        // Executors with the same load are used in round-robin order.
+        loads.put(executors.get(2), 10);
+        List<EventExecutor> chosen = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            EventExecutor executor = chooser.next();
+            assertTrue(!chosen.contains(executor));
+            chosen.add(executor);
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() {
+        List<EventExecutor> executors = newExecutors(2);
+        Map<EventExecutor, Integer> loads = new HashMap<>();
+        loads.put(executors.get(0), 3);
+        loads.put(executors.get(1), 1);
+        EventExecutorChooser chooser = EventExecutorChoosers.powerOfTwoChoices(loads::get).newChooser(executors);
+        // With two executors both are always compared.
+        for (int i = 0; i < 16; i++) {
+            assertSame(executors.get(1), chooser.next());
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesNeverPicksMostLoaded() {
+        List<EventExecutor> executors = newExecutors(5);
+        Map<EventExecutor, Integer> loads = new HashMap<>();
+        for (int i = 0; i < executors.size(); i++) {
+            loads.put(executors.get(i), i);
+        }
+        EventExecutorChooser chooser = EventExecutorChoosers.powerOfTwoChoices(loads::get).newChooser(executors);
+        for (int i = 0; i < 1000; i++) {
+            assertNotSame(executors.get(4), chooser.next());
+        }
+    }
+
+    @Test
+    public void testSingleExecutor() {
+        List<EventExecutor> executors = newExecutors(1);
+        assertSame(executors.get(0), EventExecutorChoosers.powerOfTwoChoices(e -> 0).newChooser(executors).next());
+        assertSame(executors.get(0), EventExecutorChoosers.leastPendingTasks().newChooser(executors).next());
+    }
+
+    @Test(timeout = 10000)
+    public void testLeastPendingTasks() throws Exception {
+        MultithreadEventExecutorGroup group = new MultithreadEventExecutorGroup(2, (Executor) null,
+                EventExecutorChoosers.leastPendingTasks(), Integer.MAX_VALUE, RejectedExecutionHandlers.reject());
+        try {
+            EventExecutor busy = group.executors().get(0);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch latch = new CountDownLatch(1);
+            busy.execute(() -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+            for (int i = 0; i < 10; i++) {
+                busy.execute(() -> { });
+            }
+            assertEquals(10, EventExecutorChoosers.pendingTasks(busy));
+            for (int i = 0; i < 4; i++) {
+                assertSame(group.executors().get(1), group.next());
+            }
+            latch.countDown();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventExecutorMetricsTest {
+
+    private static final class MetricsEventExecutor extends SingleThreadEventExecutor {
+        MetricsEventExecutor() {
+            super(Executors.defaultThreadFactory());
+        }
+
+        @Override
+        protected EventExecutorMetrics newMetrics() {
+            return new EventExecutorMetrics();
+        }
+    }
+
+    private static final class SlowTask implements Runnable {
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        assertEquals(0, EventExecutorMetrics.bucket(0));
+        assertEquals(1, EventExecutorMetrics.bucket(1));
+        assertEquals(2, EventExecutorMetrics.bucket(2));
+        assertEquals(2, EventExecutorMetrics.bucket(3));
+        assertEquals(3, EventExecutorMetrics.bucket(4));
+        assertEquals(EventExecutorMetrics.HISTOGRAM_BUCKETS - 1, EventExecutorMetrics.bucket(Long.MAX_VALUE));
+        for (int i = 1; i < EventExecutorMetrics.HISTOGRAM_BUCKETS - 1; i++) {
+            long upperBound = EventExecutorMetrics.bucketUpperBound(i);
+            assertEquals(i, EventExecutorMetrics.bucket(upperBound - 1));
+            assertEquals(i + 1, EventExecutorMetrics.bucket(upperBound));
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        SingleThreadEventExecutor executor = new SingleThreadEventExecutor();
+        assertEquals(SingleThreadEventExecutor.defaultMetricsEnabled(), executor.metrics() != null);
+    }
+
+    @Test(timeout = 10000)
+    public void testMetrics() throws Exception {
+        MetricsEventExecutor executor = new MetricsEventExecutor();
+        try {
+            EventExecutorMetrics metrics = executor.metrics();
+            assertNull(metrics.slowestTaskClass());
+            assertEquals(0, metrics.slowestTaskNanos());
+
+            for (int i = 0; i < 100; i++) {
+                executor.execute(() -> { });
+            }
+            executor.execute(new SlowTask());
+            executor.schedule(() -> { }, 10, TimeUnit.MILLISECONDS).sync();
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(latch::countDown);
+            latch.await();
+            // Ensure the last task is recorded.
+            executor.submit(() -> { }).sync();
+
+            assertTrue(metrics.tasks() >= 102);
+            assertEquals(1, metrics.scheduledTasks());
+            assertTrue(metrics.iterations() >= metrics.tasks());
+            assertSame(SlowTask.class, metrics.slowestTaskClass());
+            assertTrue(metrics.slowestTaskNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(metrics.taskTimeNanos() >= metrics.slowestTaskNanos());
+            assertTrue(metrics.queueLatencySamples() > 0);
+
+            long samples = 0;
+            for (long count : metrics.queueLatencyHistogram()) {
+                samples += count;
+            }
+            assertEquals(metrics.queueLatencySamples(), samples);
+
+            long iterations = 0;
+            for (long count : metrics.tasksPerIterationHistogram()) {
+                iterations += count;
+            }
+            assertEquals(metrics.iterations(), iterations);
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        }
+    }
+}
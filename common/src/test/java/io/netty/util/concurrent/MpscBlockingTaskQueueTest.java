@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MpscBlockingTaskQueueTest {
+
+    private static final Runnable TASK = () -> {
+        // NOOP
+    };
+
+    @Test(timeout = 10000)
+    public void testTakeIsWokenUpByOffer() throws Exception {
+        final MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(16);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            queue.offer(TASK);
+        });
+        producer.start();
+        assertSame(TASK, queue.take());
+        producer.join();
+    }
+
+    @Test(timeout = 10000)
+    public void testPollTimeout() throws Exception {
+        MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(16);
+        long start = System.nanoTime();
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        queue.offer(TASK);
+        assertSame(TASK, queue.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000, expected = InterruptedException.class)
+    public void testTakeInterrupted() throws Exception {
+        MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(16);
+        Thread.currentThread().interrupt();
+        queue.take();
+    }
+
+    @Test
+    public void testCapacity() {
+        // Use a power of two which is big enough to be used as is by the MPSC queue.
+        MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(4096);
+        for (int i = 0; i < 4096; i++) {
+            assertTrue(queue.offer(TASK));
+        }
+        assertFalse(queue.offer(TASK));
+        assertEquals(0, queue.remainingCapacity());
+
+        List<Runnable> drained = new ArrayList<>();
+        assertEquals(4096, queue.drainTo(drained));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(16);
+        Runnable other = () -> {
+            // NOOP
+        };
+        queue.offer(TASK);
+        assertTrue(queue.contains(TASK));
+        assertFalse(queue.contains(other));
+        assertEquals("[" + TASK + ']', queue.toString());
+
+        queue.offer(other);
+        assertSame(TASK, queue.poll());
+        assertFalse(queue.contains(TASK));
+        assertTrue(queue.contains(other));
+    }
+
+    @Test
+    public void testRemoveNeverRemoves() {
+        MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(16);
+        queue.offer(TASK);
+        assertFalse(queue.remove(TASK));
+        assertSame(TASK, queue.poll());
+    }
+
+    @Test(timeout = 30000)
+    public void testMultipleProducers() throws Exception {
+        final int producers = 4;
+        final int tasks = 100000;
+        final MpscBlockingTaskQueue queue = new MpscBlockingTaskQueue(Integer.MAX_VALUE);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger executed = new AtomicInteger();
+        Runnable task = executed::incrementAndGet;
+        for (int i = 0; i < producers; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < tasks; j++) {
+                    queue.offer(task);
+                    if (j % 1000 == 0) {
+                        // Give the consumer a chance to block.
+                        Thread.yield();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        for (int i = 0; i < producers * tasks; i++) {
+            queue.take().run();
+        }
+        assertEquals(producers * tasks, executed.get());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduledTaskWheelTest {
+    private static final Callable<Void> NOOP = () -> null;
+    private static final long TICK = 1000;
+
+    private static RunnableScheduledFutureAdapter<Void> newTask(long deadlineNanos) {
+        return new RunnableScheduledFutureAdapter<>(GlobalEventExecutor.INSTANCE,
+                new DefaultPromise<>(ImmediateEventExecutor.INSTANCE), NOOP, deadlineNanos, 0);
+    }
+
+    @Test
+    public void testNeverRunsEarlyAndAtMostOneTickLate() {
+        Random random = new Random(42);
+        ScheduledTaskWheel wheel = new ScheduledTaskWheel(TICK, 0);
+        List<RunnableScheduledFutureAdapter<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            // Spread the deadlines over several levels of the wheel.
+            long deadline = (long) (Math.pow(random.nextDouble(), 4) * TICK * 64 * 64 * 64 * 4);
+            RunnableScheduledFutureAdapter<Void> task = newTask(deadline);
+            tasks.add(task);
+            wheel.add(task);
+        }
+        assertEquals(tasks.size(), wheel.size());
+
+        int polled = 0;
+        long now = 0;
+        while (wheel.size() != 0) {
+            long next = wheel.nextDeadlineNanos();
+            assertTrue(next >= now - TICK);
+            now += 1 + random.nextInt((int) TICK * 100);
+            RunnableScheduledFutureAdapter<?> task;
+            while ((task = wheel.poll(now)) != null) {
+                assertTrue(task.deadlineNanos() <= now);
+                polled++;
+            }
+            for (RunnableScheduledFutureAdapter<Void> t : tasks) {
+                if (t.bucket != null) {
+                    // Every task which is still in the wheel is not due yet.
+                    assertTrue(t.deadlineNanos() > now - TICK);
+                }
+            }
+        }
+        assertEquals(tasks.size(), polled);
+        assertEquals(-1, wheel.nextDeadlineNanos());
+    }
+
+    @Test
+    public void testPollInTickOrder() {
+        ScheduledTaskWheel wheel = new ScheduledTaskWheel(TICK, 0);
+        long[] deadlines = { TICK * 5000, 1, TICK * 64, TICK * 62 + 1, TICK * 300000, TICK * 65 };
+        for (long deadline : deadlines) {
+            wheel.add(newTask(deadline));
+        }
+        long last = 0;
+        for (long now = 0; wheel.size() != 0; now += TICK) {
+            RunnableScheduledFutureAdapter<?> task = wheel.poll(now);
+            if (task != null) {
+                assertTrue(task.deadlineNanos() <= now);
+                assertTrue(task.deadlineNanos() > now - TICK);
+                assertTrue(task.deadlineNanos() >= last);
+                last = task.deadlineNanos();
+                assertNull(wheel.poll(now));
+            }
+        }
+    }
+
+    @Test
+    public void testNextDeadline() {
+        ScheduledTaskWheel wheel = new ScheduledTaskWheel(TICK, 0);
+        assertEquals(-1, wheel.nextDeadlineNanos());
+        wheel.add(newTask(TICK * 10 - 1));
+        assertEquals(TICK * 10, wheel.nextDeadlineNanos());
+        wheel.add(newTask(TICK * 3));
+        assertEquals(TICK * 3, wheel.nextDeadlineNanos());
+
+        // A task on a higher level needs to be moved down when its slot is reached.
+        ScheduledTaskWheel wheel2 = new ScheduledTaskWheel(TICK, 0);
+        wheel2.add(newTask(TICK * 130));
+        assertEquals(TICK * 128, wheel2.nextDeadlineNanos());
+        assertNull(wheel2.poll(TICK * 128));
+        assertEquals(TICK * 130, wheel2.nextDeadlineNanos());
+        assertNull(wheel2.poll(TICK * 130 - 1));
+        assertTrue(wheel2.poll(TICK * 130) != null);
+    }
+
+    @Test
+    public void testRemove() {
+        ScheduledTaskWheel wheel = new ScheduledTaskWheel(TICK, 0);
+        List<RunnableScheduledFutureAdapter<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            RunnableScheduledFutureAdapter<Void> task = newTask(i * TICK * 7);
+            tasks.add(task);
+            wheel.add(task);
+        }
+        for (int i = 0; i < tasks.size(); i += 2) {
+            wheel.remove(tasks.get(i));
+            assertNull(tasks.get(i).bucket);
+        }
+        assertEquals(tasks.size() / 2, wheel.size());
+
+        int i = 1;
+        RunnableScheduledFutureAdapter<?> task;
+        while ((task = wheel.poll(Long.MAX_VALUE)) != null) {
+            assertSame(tasks.get(i), task);
+            i += 2;
+        }
+        assertEquals(tasks.size() + 1, i);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelAll() {
+        ScheduledTaskWheel wheel = new ScheduledTaskWheel(TICK, 0);
+        RunnableScheduledFutureAdapter<Void> expired = newTask(0);
+        RunnableScheduledFutureAdapter<Void> pending = newTask(TICK * 100000);
+        wheel.add(expired);
+        wheel.add(pending);
+        wheel.cancelAll();
+        assertTrue(expired.isCancelled());
+        assertTrue(pending.isCancelled());
+        assertEquals(0, wheel.size());
+        assertEquals(-1, wheel.nextDeadlineNanos());
+        assertNull(wheel.poll(Long.MAX_VALUE));
+        assertFalse(wheel.hasExpired(Long.MAX_VALUE));
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -333,6 +334,69 @@ public class SingleThreadEventExecutorTest {
         }
     }
 
+    @Test(timeout = 5000)
+    public void testRemoveTaskNeverRemoves() throws Exception {
+        final SingleThreadEventExecutor executor = new SingleThreadEventExecutor(Executors.defaultThreadFactory());
+        try {
+            assertFalse(executor.removeTask(() -> { }));
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).sync();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testExecuteConcurrentlyWithShutdownDoesNotBlock() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            final SingleThreadEventExecutor executor =
+                    new SingleThreadEventExecutor(Executors.defaultThreadFactory());
+            executor.submit(() -> { }).sync();
+
+            final AtomicInteger accepted = new AtomicInteger();
+            final AtomicInteger ran = new AtomicInteger();
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (;;) {
+                    try {
+                        executor.execute(ran::incrementAndGet);
+                        accepted.incrementAndGet();
+                    } catch (RejectedExecutionException e) {
+                        return;
+                    }
+                }
+            });
+            producer.start();
+            start.countDown();
+            executor.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).sync();
+            // The producer is never parked, it stops as soon as a task is rejected.
+            producer.join();
+
+            // A task that raced with the shutdown may not run, but it is never run after it was rejected.
+            assertTrue(ran.get() <= accepted.get());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testExecuteBatch() throws Exception {
+        final SingleThreadEventExecutor executor = new SingleThreadEventExecutor(Executors.defaultThreadFactory());
+        try {
+            final Queue<Integer> executed = new LinkedBlockingQueue<>();
+            executor.executeBatch(() -> executed.add(1), () -> {
+                throw new IllegalStateException("expected");
+            }, () -> executed.add(2));
+            executor.executeBatch(executed::add, new Integer[] { 3, 4 });
+            executor.submit(() -> { }).sync();
+            assertArrayEquals(new Integer[] { 1, 2, 3, 4 }, executed.toArray());
+        } finally {
+            executor.shutdownGracefully().syncUninterruptibly();
+        }
+    }
+
     private static final class TestRunnable implements Runnable {
         final AtomicBoolean ran = new AtomicBoolean();
 
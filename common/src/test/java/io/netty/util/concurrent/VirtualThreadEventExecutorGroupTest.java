@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadEventExecutorGroupTest {
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNotAvailable() {
+        assumeFalse(VirtualThreadEventExecutorGroup.isAvailable());
+        assertNotNull(VirtualThreadEventExecutorGroup.unavailabilityCause());
+        new VirtualThreadEventExecutorGroup(1);
+    }
+
+    @Test(timeout = 10000)
+    public void testOrderedExecutionOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadEventExecutorGroup.isAvailable());
+        VirtualThreadEventExecutorGroup group = new VirtualThreadEventExecutorGroup(4);
+        try {
+            EventExecutor executor = group.next();
+            List<Integer> order = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(100);
+            for (int i = 0; i < 100; i++) {
+                final int value = i;
+                executor.execute(() -> {
+                    // Blocking must not break the order of the tasks of this executor.
+                    if (value % 10 == 0) {
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    order.add(value);
+                    latch.countDown();
+                });
+            }
+            latch.await();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, (int) order.get(i));
+            }
+
+            Thread thread = executor.submit(Thread::currentThread).get();
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+}
@@ -2039,19 +2039,28 @@ public class SslHandler extends ByteToMessageDecoder {
             return;
         }
 
-        final ScheduledFuture<?> timeoutFuture = ctx.executor().schedule(() -> {
-            if (localHandshakePromise.isDone()) {
-                return;
-            }
+        final ScheduledFuture<?> timeoutFuture = ctx.executor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (localHandshakePromise.isDone()) {
+                    return;
+                }
+                EventExecutor executor = ctx.executor();
+                if (!executor.inEventLoop()) {
+                    // The Channel was migrated to another EventLoop after the timeout was scheduled.
+                    executor.execute(this);
+                    return;
+                }
 
-            SSLException exception =
-                    new SslHandshakeTimeoutException("handshake timed out after " + handshakeTimeoutMillis + "ms");
-            try {
-                if (localHandshakePromise.tryFailure(exception)) {
-                    SslUtils.handleHandshakeFailure(ctx, exception, true);
+                SSLException exception = new SslHandshakeTimeoutException(
+                        "handshake timed out after " + handshakeTimeoutMillis + "ms");
+                try {
+                    if (localHandshakePromise.tryFailure(exception)) {
+                        SslUtils.handleHandshakeFailure(ctx, exception, true);
+                    }
+                } finally {
+                    releaseAndFailAll(ctx, exception);
                 }
-            } finally {
-                releaseAndFailAll(ctx, exception);
             }
         }, handshakeTimeoutMillis, TimeUnit.MILLISECONDS);
 
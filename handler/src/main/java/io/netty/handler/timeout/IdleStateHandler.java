@@ -27,6 +27,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.EventExecutor;
 
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -460,7 +461,7 @@ public class IdleStateHandler implements ChannelHandler {
         return false;
     }
 
-    private abstract static class AbstractIdleTask implements Runnable {
+    private abstract class AbstractIdleTask implements Runnable {
 
         private final ChannelHandlerContext ctx;
 
@@ -473,6 +474,16 @@ public class IdleStateHandler implements ChannelHandler {
             if (!ctx.channel().isOpen()) {
                 return;
             }
+            EventExecutor executor = ctx.executor();
+            if (!executor.inEventLoop()) {
+                // The Channel was migrated to another EventLoop after the task was scheduled, so continue there.
+                executor.execute(this);
+                return;
+            }
+            if (state != 1) {
+                // Destroyed while the task was moved to the new EventLoop.
+                return;
+            }
 
             run(ctx);
         }
@@ -25,6 +25,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.EventExecutor;
 
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -197,6 +198,12 @@ public class WriteTimeoutHandler implements ChannelHandler {
 
         @Override
         public void run() {
+            EventExecutor executor = ctx.executor();
+            if (!executor.inEventLoop()) {
+                // The Channel was migrated to another EventLoop after the timeout was scheduled.
+                executor.execute(this);
+                return;
+            }
             // Was not written yet so issue a write timeout
             // The promise itself will be failed with a ClosedChannelException once the close() was issued
             // See https://github.com/netty/netty/issues/2159
@@ -22,15 +22,30 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.NetUtil;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
 
+import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -304,6 +319,51 @@ public class IdleStateHandlerTest {
         }
     }
 
+    @Test(timeout = 10000)
+    public void testMigrateWhileTimeoutIsPending() throws Exception {
+        EventLoopGroup group = new MultithreadEventLoopGroup(2, NioHandler.newFactory());
+        Iterator<EventExecutor> executors = group.iterator();
+        EventLoop first = (EventLoop) executors.next();
+        EventLoop second = (EventLoop) executors.next();
+        Channel server = null;
+        Channel client = null;
+        try {
+            server = new ServerBootstrap()
+                    .group(first)
+                    .channel(NioServerSocketChannel.class)
+                    .childHandler(new ChannelHandler() { })
+                    .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).syncUninterruptibly().channel();
+
+            BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+            client = new Bootstrap()
+                    .group(first)
+                    .channel(NioSocketChannel.class)
+                    .handler(new IdleStateHandler(0, 0, 500, TimeUnit.MILLISECONDS) {
+                        @Override
+                        protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
+                            events.add(ctx.executor().inEventLoop() ? evt
+                                    : new AssertionError("idle event fired outside of " + ctx.executor()));
+                        }
+                    })
+                    .connect(server.localAddress()).syncUninterruptibly().channel();
+
+            // The timeout was scheduled on the first EventLoop and is still pending, so it has to fire on the second
+            // one after the migration.
+            client.migrate(second).syncUninterruptibly();
+            assertSame(second, client.eventLoop());
+            assertSame(IdleStateEvent.FIRST_ALL_IDLE_STATE_EVENT, events.poll(5, TimeUnit.SECONDS));
+            assertSame(IdleStateEvent.ALL_IDLE_STATE_EVENT, events.poll(5, TimeUnit.SECONDS));
+        } finally {
+            if (client != null) {
+                client.close().syncUninterruptibly();
+            }
+            if (server != null) {
+                server.close().syncUninterruptibly();
+            }
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
     private static void assertNotNullAndRelease(Object msg) {
         assertNotNull(msg);
         ReferenceCountUtil.release(msg);
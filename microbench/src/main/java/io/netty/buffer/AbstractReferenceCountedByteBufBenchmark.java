@@ -30,6 +30,11 @@ import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Measures the cost of {@link ByteBuf#retain()} and {@link ByteBuf#release()}. The {@code ThreadConfined} benchmarks
+ * compare buffers of a {@link PooledByteBufAllocator} which update their reference count atomically with buffers that
+ * are confined to the allocating thread via {@link PooledByteBufAllocator#setThreadConfinedRefCnt(boolean)}.
+ */
 @State(Scope.Benchmark)
 public class AbstractReferenceCountedByteBufBenchmark extends AbstractMicrobenchmark {
 
@@ -66,4 +71,45 @@ public class AbstractReferenceCountedByteBufBenchmark extends AbstractMicrobench
         Blackhole.consumeCPU(delay);
         return buf.release();
     }
+
+    @State(Scope.Thread)
+    public static class PooledBuffers {
+        ByteBuf atomic;
+        ByteBuf confined;
+
+        @Setup
+        public void setUp() {
+            // Allocate from the benchmark thread so the confined buffer is owned by it.
+            PooledByteBufAllocator allocator = new PooledByteBufAllocator(false);
+            atomic = allocator.heapBuffer(1);
+            allocator.setThreadConfinedRefCnt(true);
+            confined = allocator.heapBuffer(1);
+        }
+
+        @TearDown
+        public void tearDown() {
+            atomic.release();
+            confined.release();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean retainReleaseAtomicPooled(PooledBuffers buffers) {
+        ByteBuf buf = buffers.atomic;
+        buf.retain();
+        Blackhole.consumeCPU(delay);
+        return buf.release();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean retainReleaseThreadConfined(PooledBuffers buffers) {
+        ByteBuf buf = buffers.confined;
+        buf.retain();
+        Blackhole.consumeCPU(delay);
+        return buf.release();
+    }
 }
@@ -75,7 +75,7 @@ public class ByteBufUtilDecodeStringBenchmark extends AbstractMicrobenchmark {
     @Param({ "8", "64", "1024", "10240", "1073741824" })
     public int size;
 
-    @Param({ "US-ASCII", "UTF-8" })
+    @Param({ "US-ASCII", "ISO-8859-1", "UTF-8" })
     public String charsetName;
 
     @Param
@@ -109,4 +109,14 @@ public class ByteBufUtilDecodeStringBenchmark extends AbstractMicrobenchmark {
     public String decodeString() {
         return ByteBufUtil.decodeString(buffer, buffer.readerIndex(), size, charset);
     }
+
+    @Benchmark
+    public CharSequence getCharSequence() {
+        return buffer.getCharSequence(buffer.readerIndex(), size, charset);
+    }
+
+    @Benchmark
+    public boolean isText() {
+        return ByteBufUtil.isText(buffer, buffer.readerIndex(), size, charset);
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses a {@link CompositeByteBuf} as a queue which always holds {@code components} components: every operation adds
+ * a component to the end and removes the first one, either via {@link CompositeByteBuf#discardReadComponents()} or
+ * {@link CompositeByteBuf#discardReadBytes()}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class CompositeByteBufQueueBenchmark extends AbstractMicrobenchmark {
+
+    private static final int COMPONENT_SIZE = 64;
+
+    @Param({ "16", "256", "1024" })
+    public int components;
+
+    private ByteBuf component;
+    private CompositeByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        component = Unpooled.unreleasableBuffer(Unpooled.buffer(COMPONENT_SIZE).writeZero(COMPONENT_SIZE));
+        buffer = new CompositeByteBuf(UnpooledByteBufAllocator.DEFAULT, false, Integer.MAX_VALUE);
+        for (int i = 0; i < components; i++) {
+            buffer.addComponent(true, component.duplicate());
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf addAndDiscardReadComponents() {
+        buffer.addComponent(true, component.duplicate());
+        buffer.skipBytes(COMPONENT_SIZE);
+        return buffer.discardReadComponents();
+    }
+
+    @Benchmark
+    public ByteBuf addAndDiscardReadBytes() {
+        buffer.addComponent(true, component.duplicate());
+        buffer.skipBytes(COMPONENT_SIZE);
+        return buffer.discardReadBytes();
+    }
+
+    @Benchmark
+    public long addAndRandomAccess() {
+        buffer.addComponent(true, component.duplicate());
+        buffer.skipBytes(COMPONENT_SIZE);
+        buffer.discardReadComponents();
+        return buffer.getLong(buffer.writerIndex() >>> 1);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the collection of the memory regions of a {@link CompositeByteBuf} for a gathering write via
+ * {@link ByteBuf#nioBuffers(int, int)} with {@link ByteBuf#forEachRegion(int, int, ByteBufRegionProcessor)}, which
+ * is what {@code IovArray} does to fill its {@code iovec}s.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class CompositeByteBufRegionBenchmark extends AbstractMicrobenchmark {
+
+    private static final int COMPONENT_SIZE = 64;
+
+    @Param({ "8", "200" })
+    public int components;
+
+    private CompositeByteBuf buffer;
+    private long sum;
+    private final ByteBufRegionProcessor addressSum = (buf, index, length) -> {
+        sum += buf.memoryAddress() + index + length;
+        return true;
+    };
+
+    @Setup
+    public void setup() {
+        ByteBuf parent = PooledByteBufAllocator.DEFAULT.directBuffer(components * COMPONENT_SIZE)
+                .writeZero(components * COMPONENT_SIZE);
+        buffer = new CompositeByteBuf(PooledByteBufAllocator.DEFAULT, true, Integer.MAX_VALUE);
+        for (int i = 0; i < components; i++) {
+            buffer.addComponent(true, parent.retainedSlice(i * COMPONENT_SIZE, COMPONENT_SIZE));
+        }
+        parent.release();
+    }
+
+    @TearDown
+    public void teardown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public long nioBuffers() {
+        long sum = 0;
+        for (ByteBuffer buf : buffer.nioBuffers(buffer.readerIndex(), buffer.readableBytes())) {
+            sum += buf.remaining();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachRegion() {
+        sum = 0;
+        buffer.forEachRegion(buffer.readerIndex(), buffer.readableBytes(), addressSum);
+        return sum;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.buffer;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of sizes and page counts to size class indexes in isolation from the actual allocation, via
+ * the lookup tables of {@link SizeClasses} and via the arithmetic they replaced.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class SizeClassesBenchmark extends AbstractMicrobenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int PAGE_SIZE = 8192;
+    private static final int PAGE_SHIFTS = 13;
+    private static final int CHUNK_SIZE = PAGE_SIZE << 11;
+
+    public enum SizeRange {
+        SMALL(4096),
+        NORMAL(CHUNK_SIZE);
+
+        final int maxSize;
+
+        SizeRange(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    @Param
+    public SizeRange sizeRange;
+
+    private PoolArena<ByteBuffer> arena;
+    private int[] sizes;
+    private int[] pages;
+
+    @Setup
+    public void setup() {
+        arena = new PoolArena.DirectArena(null, PAGE_SIZE, PAGE_SHIFTS, CHUNK_SIZE, 0);
+        Random random = new Random(42);
+        sizes = new int[SAMPLES];
+        pages = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            sizes[i] = 1 + random.nextInt(sizeRange.maxSize);
+            pages[i] = 1 + random.nextInt(CHUNK_SIZE >> PAGE_SHIFTS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void size2SizeIdx(Blackhole bh) {
+        for (int size : sizes) {
+            bh.consume(arena.size2SizeIdx(size));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void size2SizeIdxCompute(Blackhole bh) {
+        for (int size : sizes) {
+            bh.consume(arena.size2SizeIdxCompute(size));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void pages2pageIdx(Blackhole bh) {
+        for (int n : pages) {
+            bh.consume(arena.pages2pageIdx(n));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void pages2pageIdxCompute(Blackhole bh) {
+        for (int n : pages) {
+            bh.consume(arena.pages2pageIdxCompute(n, false));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.buffer;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Measures how the allocation throughput of a single {@link PooledByteBufAllocator} arena scales with the number of
+ * threads when the thread local caches are disabled, so that every allocation has to go through the arena.
+ * Each thread allocates its own size class so that with {@code arenaLockStripes > 1} threads end up in different
+ * stripes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ByteBufAllocatorStripedConcurrentBenchmark extends AbstractMicrobenchmark {
+
+    private static final int[] SIZES = {
+            16, 32, 48, 64, 80, 96, 112, 128, 512, 1024, 2048, 4096, 8192, 16384, 32768, 65536
+    };
+
+    @Param({ "1", "4", "16" })
+    public int arenaLockStripes;
+
+    private ByteBufAllocator allocator;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int size;
+
+        @Setup(Level.Trial)
+        public void setup(ThreadParams params) {
+            size = SIZES[params.getThreadIndex() % SIZES.length];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        allocator = new PooledByteBufAllocator(true, 1, 1, PooledByteBufAllocator.defaultPageSize(),
+                PooledByteBufAllocator.defaultMaxOrder(), 0, 0, false, 0, arenaLockStripes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean allocateRelease1Thread(ThreadState state) {
+        return allocator.directBuffer(state.size).release();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean allocateRelease4Threads(ThreadState state) {
+        return allocator.directBuffer(state.size).release();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean allocateRelease16Threads(ThreadState state) {
+        return allocator.directBuffer(state.size).release();
+    }
+}
@@ -69,6 +69,8 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
 
     // experiment test input
     private String[] strings;
+    private String[] asciiOnlyStrings;
+    private StringBuilder[] asciiOnlyStringBuilders;
     private StringBuilder[] stringBuilders;
     private AnotherCharSequence[] anotherCharSequences;
     private AsciiString[] asciiStrings;
@@ -87,6 +89,8 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
         BufferedReader buffReader = null;
         int maxExpectedSize = 0;
         List<String> strings = new ArrayList<String>();
+        List<String> asciiOnlyStrings = new ArrayList<String>();
+        List<StringBuilder> asciiOnlyStringBuilders = new ArrayList<StringBuilder>();
         List<StringBuilder> stringBuilders = new ArrayList<StringBuilder>();
         List<AnotherCharSequence> anotherCharSequenceList = new ArrayList<AnotherCharSequence>();
         List<AsciiString> asciiStrings = new ArrayList<AsciiString>();
@@ -97,6 +101,9 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
             String line;
             while ((line = buffReader.readLine()) != null) {
                 strings.add(line);
+                String asciiOnly = toAsciiOnly(line);
+                asciiOnlyStrings.add(asciiOnly);
+                asciiOnlyStringBuilders.add(new StringBuilder(asciiOnly));
                 stringBuilders.add(new StringBuilder(line));
                 anotherCharSequenceList.add(new AnotherCharSequence(line));
                 asciiStrings.add(new AsciiString(line));
@@ -113,6 +120,9 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
                 Unpooled.buffer(maxExpectedSize, maxExpectedSize);
         buffer.setByte(maxExpectedSize - 1, 0);
         this.strings = strings.toArray(new String[strings.size()]);
+        this.asciiOnlyStrings = asciiOnlyStrings.toArray(new String[asciiOnlyStrings.size()]);
+        this.asciiOnlyStringBuilders =
+                asciiOnlyStringBuilders.toArray(new StringBuilder[asciiOnlyStringBuilders.size()]);
         this.stringBuilders = stringBuilders.toArray(new StringBuilder[stringBuilders.size()]);
         this.anotherCharSequences =
                 anotherCharSequenceList.toArray(new AnotherCharSequence[anotherCharSequenceList.size()]);
@@ -120,6 +130,16 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
         this.dataSetLength = this.strings.length;
     }
 
+    private static String toAsciiOnly(String line) {
+        char[] chars = line.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 0x80) {
+                chars[i] = '?';
+            }
+        }
+        return new String(chars);
+    }
+
     private static void closeStream(InputStream inStream) {
         if (inStream != null) {
             try {
@@ -189,6 +209,30 @@ public class Utf8EncodingBenchmark extends AbstractMicrobenchmark {
         return countBytes;
     }
 
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int byteBufUtilWriteUtf8AsciiOnlyString() {
+        int countBytes = 0;
+        for (String string : asciiOnlyStrings) {
+            buffer.writerIndex(0);
+            ByteBufUtil.writeUtf8(buffer, string, 0, string.length());
+            countBytes += buffer.writerIndex();
+        }
+        return countBytes;
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int byteBufUtilWriteUtf8AsciiOnlyStringBuilder() {
+        int countBytes = 0;
+        for (StringBuilder stringBuilder : asciiOnlyStringBuilders) {
+            buffer.writerIndex(0);
+            ByteBufUtil.writeUtf8(buffer, stringBuilder, 0, stringBuilder.length());
+            countBytes += buffer.writerIndex();
+        }
+        return countBytes;
+    }
+
     @Benchmark
     @CompilerControl(Mode.DONT_INLINE)
     public int byteBufUtilWriteUtf8Bimorphic() {
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.channel;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the life cycle of a write {@link ChannelPromise}: it is created, gets {@code listeners} listeners, is
+ * completed and the listeners are notified by the {@link io.netty.channel.EventLoop}.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public class ChannelPromiseCompletionBenchmark extends AbstractMicrobenchmark {
+
+    private static final ChannelFutureListener NOOP_LISTENER = future -> {
+        // NOOP
+    };
+
+    @Param({ "0", "1", "2" })
+    public int listeners;
+
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void setup() {
+        channel = new EmbeddedChannel();
+    }
+
+    @TearDown
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public boolean completeWritePromise() {
+        ChannelPromise promise = channel.newPromise();
+        for (int i = 0; i < listeners; i++) {
+            promise.addListener(NOOP_LISTENER);
+        }
+        boolean completed = promise.trySuccess();
+        channel.runPendingTasks();
+        return completed;
+    }
+}
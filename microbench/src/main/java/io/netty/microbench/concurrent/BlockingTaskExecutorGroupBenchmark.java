@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.concurrent;
+
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.VirtualThreadEventExecutorGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submits one task per channel to an {@link EventExecutorGroup}, each of them blocking for {@code blockingMillis}
+ * like a handler which does blocking I/O, and measures how long it takes until all of them completed. The
+ * {@code virtual} group requires Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BlockingTaskExecutorGroupBenchmark extends AbstractMicrobenchmark {
+
+    public enum GroupType {
+        DEFAULT, VIRTUAL
+    }
+
+    @Param
+    public GroupType groupType;
+
+    @Param({ "16", "1024" })
+    public int executors;
+
+    @Param({ "1024" })
+    public int channels;
+
+    @Param({ "1" })
+    public int blockingMillis;
+
+    private EventExecutorGroup group;
+
+    @Setup
+    public void setup() {
+        switch (groupType) {
+            case DEFAULT:
+                group = new DefaultEventExecutorGroup(executors);
+                break;
+            case VIRTUAL:
+                group = new VirtualThreadEventExecutorGroup(executors);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown group type: " + groupType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    public void blockingTasks() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(channels);
+        for (int i = 0; i < channels; i++) {
+            group.next().execute(() -> {
+                try {
+                    Thread.sleep(blockingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+    }
+}
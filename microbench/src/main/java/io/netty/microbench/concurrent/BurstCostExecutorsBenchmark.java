@@ -46,6 +46,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -163,9 +164,21 @@ public class BurstCostExecutorsBenchmark extends AbstractMicrobenchmark {
         }
     }
 
+    /**
+     * {@link SingleThreadEventExecutor} with the {@link LinkedBlockingQueue} it used before its default task queue
+     * became lock-free, to compare the cost of the cross-thread hand-off.
+     */
+    private static final class LockingEventExecutor extends SingleThreadEventExecutor {
+        @Override
+        protected Queue<Runnable> newTaskQueue(int maxPendingTasks) {
+            return new LinkedBlockingQueue<>(maxPendingTasks);
+        }
+    }
+
     private enum ExecutorType {
         spinning,
         defaultEventExecutor,
+        lockingEventExecutor,
         juc,
         nioEventLoop,
         epollEventLoop,
@@ -174,7 +187,8 @@ public class BurstCostExecutorsBenchmark extends AbstractMicrobenchmark {
 
     @Param({ "1", "10" })
     private int burstLength;
-    @Param({ "spinning", "epollEventLoop", "nioEventLoop", "defaultEventExecutor", "juc", "kqueueEventLoop" })
+    @Param({ "spinning", "epollEventLoop", "nioEventLoop", "defaultEventExecutor", "lockingEventExecutor", "juc",
+            "kqueueEventLoop" })
     private String executorType;
     @Param({ "0", "10" })
     private int work;
@@ -198,6 +212,10 @@ public class BurstCostExecutorsBenchmark extends AbstractMicrobenchmark {
             executor = new SingleThreadEventExecutor();
             executorToShutdown = executor;
             break;
+        case lockingEventExecutor:
+            executor = new LockingEventExecutor();
+            executorToShutdown = executor;
+            break;
         case juc:
             executor = Executors.newSingleThreadScheduledExecutor();
             executorToShutdown = executor;
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.search;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.search.AbstractBulkSearchProcessorFactory;
+import io.netty.buffer.search.AbstractMultiSearchProcessorFactory;
+import io.netty.buffer.search.BulkSearchProcessor;
+import io.netty.buffer.search.MultiSearchProcessor;
+import io.netty.buffer.search.MultiSearchProcessorFactory;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.internal.ResourcesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.CompilerControl.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds all occurrences of all the needles of {@link SearchRealDataBenchmark} at once, either with a
+ * {@link MultiSearchProcessor} that is called back for every byte or with a {@link BulkSearchProcessor}.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkSearchRealDataBenchmark extends AbstractMicrobenchmark {
+
+    @Param
+    public ByteBufType bufferType;
+
+    private ByteBuf haystack;
+    private int haystackLength;
+    private MultiSearchProcessorFactory ahoCorasicFactory;
+    private BulkSearchProcessor teddyProcessor;
+    private int[] matchIndexes;
+    private int[] needleIds;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] haystackBytes = SearchRealDataBenchmark.readBytes(
+                ResourcesUtil.getFile(SearchRealDataBenchmark.class, "netty-io-news.html"));
+        haystack = bufferType.newBuffer(haystackBytes);
+        haystackLength = haystack.readableBytes();
+
+        ahoCorasicFactory = AbstractMultiSearchProcessorFactory.newAhoCorasicSearchProcessorFactory(
+                SearchRealDataBenchmark.NEEDLES);
+        teddyProcessor = AbstractBulkSearchProcessorFactory.newTeddySearchProcessorFactory(
+                SearchRealDataBenchmark.NEEDLES).newBulkSearchProcessor();
+        matchIndexes = new int[1024];
+        needleIds = new int[1024];
+    }
+
+    @TearDown
+    public void teardown() {
+        haystack.release();
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public void findAllAhoCorasic(Blackhole blackHole) {
+        MultiSearchProcessor searchProcessor = ahoCorasicFactory.newSearchProcessor();
+        int pos = 0;
+        do {
+            pos = haystack.forEachByte(pos, haystackLength - pos, searchProcessor) + 1;
+            blackHole.consume(searchProcessor.getFoundNeedleId());
+        } while (pos > 0);
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public void findAllTeddy(Blackhole blackHole) {
+        int pos = 0;
+        for (;;) {
+            int found = haystack.searchAll(pos, haystackLength - pos, teddyProcessor, matchIndexes, needleIds);
+            for (int i = 0; i < found; i++) {
+                blackHole.consume(needleIds[i]);
+            }
+            if (found <= matchIndexes.length - teddyProcessor.maxMatchesPerIndex()) {
+                break;
+            }
+            pos = matchIndexes[found - 1] + 1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.microbench.search;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.microbench.util.AbstractMicrobenchmark;
+import io.netty.util.ByteProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.CompilerControl.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the search for single bytes via the well known {@link ByteProcessor}s, which are searched 8 bytes at once,
+ * with a byte by byte search via a custom {@link ByteProcessor}. The haystack consists of random printable ASCII
+ * characters without any {@code CR} or {@code LF} and ends with {@code "\r\n"} and a non ASCII byte.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ByteSearchBenchmark extends AbstractMicrobenchmark {
+
+    private static final long SEED = 123;
+
+    private static final ByteProcessor FIND_LF_BYTE_BY_BYTE = new ByteProcessor.IndexOfProcessor((byte) '\n');
+
+    @Param({ "16", "256", "2048" })
+    public int size;
+
+    @Param
+    public ByteBufType bufferType;
+
+    private ByteBuf haystack;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(SEED);
+        byte[] bytes = new byte[size + 3];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (' ' + rnd.nextInt(127 - ' '));
+        }
+        bytes[size] = '\r';
+        bytes[size + 1] = '\n';
+        bytes[size + 2] = (byte) 0x80;
+        haystack = bufferType.newBuffer(bytes);
+    }
+
+    @TearDown
+    public void teardown() {
+        haystack.release();
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int findLfByteByByte() {
+        return haystack.forEachByte(FIND_LF_BYTE_BY_BYTE);
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int findLf() {
+        return haystack.forEachByte(ByteProcessor.FIND_LF);
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int findCrlf() {
+        return haystack.forEachByte(ByteProcessor.FIND_CRLF);
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int findNonAscii() {
+        return haystack.forEachByte(ByteProcessor.FIND_NON_ASCII);
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int indexOf() {
+        return haystack.indexOf(haystack.readerIndex(), haystack.writerIndex(), (byte) '\n');
+    }
+
+    @Benchmark
+    @CompilerControl(Mode.DONT_INLINE)
+    public int indexOfCrlf() {
+        return ByteBufUtil.indexOfCrlf(haystack, haystack.readerIndex(), haystack.writerIndex());
+    }
+}
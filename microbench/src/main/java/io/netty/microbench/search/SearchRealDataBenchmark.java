@@ -81,7 +81,7 @@ public class SearchRealDataBenchmark extends AbstractMicrobenchmark {
     private SearchProcessorFactory[] searchProcessorFactories;
     private SearchProcessorFactory searchProcessorFactory;
 
-    private static final byte[][] NEEDLES = {
+    static final byte[][] NEEDLES = {
             "Thank You".getBytes(),
             "* Does not exist *".getBytes(),
             "<li>".getBytes(),
@@ -148,7 +148,7 @@ public class SearchRealDataBenchmark extends AbstractMicrobenchmark {
         } while (pos > 0);
     }
 
-    private static byte[] readBytes(File file) throws IOException {
+    static byte[] readBytes(File file) throws IOException {
         InputStream in = new FileInputStream(file);
         try {
             ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -30,6 +30,8 @@ public class ResourceLeakDetectorRecordBenchmark extends AbstractMicrobenchmark
 
     @Param({ "8", "16" })
     private int recordTimes;
+    @Param({ "PARANOID", "LIGHTWEIGHT" })
+    private ResourceLeakDetector.Level leakLevel;
     private ResourceLeakDetector.Level level;
 
     ResourceLeakDetector<Object> detector = new ResourceLeakDetector<Object>(
@@ -53,7 +55,7 @@ public class ResourceLeakDetectorRecordBenchmark extends AbstractMicrobenchmark
     @Setup(Level.Trial)
     public void setup() {
         level = ResourceLeakDetector.getLevel();
-        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        ResourceLeakDetector.setLevel(leakLevel);
     }
 
     @TearDown(Level.Trial)
@@ -42,6 +42,7 @@
 
 #include "netty_epoll_linuxsocket.h"
 #include "netty_unix_buffer.h"
+#include "netty_unix_memory.h"
 #include "netty_unix_errors.h"
 #include "netty_unix_filedescriptor.h"
 #include "netty_unix_jni.h"
@@ -569,6 +570,7 @@ static jint netty_epoll_native_JNI_OnLoad(JNIEnv* env, const char* packagePrefix
     int filedescriptorOnLoadCalled = 0;
     int socketOnLoadCalled = 0;
     int bufferOnLoadCalled = 0;
+    int memoryOnLoadCalled = 0;
     int linuxsocketOnLoadCalled = 0;
     char* nettyClassName = NULL;
     jclass nativeDatagramPacketCls = NULL;
@@ -621,6 +623,11 @@ static jint netty_epoll_native_JNI_OnLoad(JNIEnv* env, const char* packagePrefix
     }
     bufferOnLoadCalled = 1;
 
+    if (netty_unix_memory_JNI_OnLoad(env, packagePrefix) == JNI_ERR) {
+        goto done;
+    }
+    memoryOnLoadCalled = 1;
+
     if (netty_epoll_linuxsocket_JNI_OnLoad(env, packagePrefix) == JNI_ERR) {
         goto done;
     }
@@ -660,6 +667,9 @@ done:
         if (bufferOnLoadCalled == 1) {
             netty_unix_buffer_JNI_OnUnLoad(env);
         }
+        if (memoryOnLoadCalled == 1) {
+            netty_unix_memory_JNI_OnUnLoad(env);
+        }
         if (linuxsocketOnLoadCalled == 1) {
             netty_epoll_linuxsocket_JNI_OnUnLoad(env);
         }
@@ -679,6 +689,7 @@ static void netty_epoll_native_JNI_OnUnLoad(JNIEnv* env) {
     netty_unix_filedescriptor_JNI_OnUnLoad(env);
     netty_unix_socket_JNI_OnUnLoad(env);
     netty_unix_buffer_JNI_OnUnLoad(env);
+    netty_unix_memory_JNI_OnUnLoad(env);
     netty_epoll_linuxsocket_JNI_OnUnLoad(env);
 
     packetAddrFieldId = NULL;
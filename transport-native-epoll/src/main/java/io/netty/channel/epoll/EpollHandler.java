@@ -182,6 +182,11 @@ public class EpollHandler implements IoHandler {
         return datagramPacketArray;
     }
 
+    @Override
+    public boolean isCompatible(Channel channel) {
+        return channel instanceof AbstractEpollChannel;
+    }
+
     @Override
     public final void register(Channel channel) throws Exception {
         final AbstractEpollChannel epollChannel = cast(channel);
@@ -114,6 +114,11 @@ public final class KQueueHandler implements IoHandler {
         return () -> new KQueueHandler(maxEvents, selectStrategyFactory.newSelectStrategy());
     }
 
+    @Override
+    public boolean isCompatible(Channel channel) {
+        return channel instanceof AbstractKQueueChannel;
+    }
+
     @Override
     public void register(Channel channel) {
         final AbstractKQueueChannel kQueueChannel = cast(channel);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.unix.tests;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.unix.NativeChunkMemoryAllocator;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public abstract class NativeChunkMemoryAllocatorTest {
+    private static final int HUGE_PAGE_SIZE = 2 * 1024 * 1024;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHugePageSizeNotPowerOfTwo() {
+        new NativeChunkMemoryAllocator(true, HUGE_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void testCurrentNode() {
+        NativeChunkMemoryAllocator allocator = new NativeChunkMemoryAllocator();
+        assertTrue(allocator.numNodes() >= 1);
+        int node = allocator.currentNode();
+        assertTrue(node >= 0 && node < allocator.numNodes());
+    }
+
+    @Test
+    public void testAllocateWithHugePages() {
+        // If no huge pages are reserved this falls back to transparent huge pages. The capacity is not a multiple of
+        // the huge page size, so the mapping is rounded up.
+        testAllocate(new NativeChunkMemoryAllocator(), HUGE_PAGE_SIZE + 8192);
+    }
+
+    @Test
+    public void testAllocateWithoutHugePages() {
+        testAllocate(new NativeChunkMemoryAllocator(false, HUGE_PAGE_SIZE), 8192 + 1);
+    }
+
+    private static void testAllocate(NativeChunkMemoryAllocator allocator, int capacity) {
+        for (int node = 0; node < allocator.numNodes(); node++) {
+            ByteBuffer memory = allocator.allocate(capacity, node);
+            try {
+                assertTrue(memory.isDirect());
+                assertEquals(capacity, memory.capacity());
+                for (int i = 0; i < capacity; i++) {
+                    memory.put(i, (byte) i);
+                }
+                for (int i = 0; i < capacity; i++) {
+                    assertEquals((byte) i, memory.get(i));
+                }
+            } finally {
+                allocator.free(memory);
+            }
+        }
+    }
+
+    @Test
+    public void testPooledByteBufAllocator() {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true, 0, 2, 8192, 11, 0, 0, false, 0, 1,
+                false, 0, new NativeChunkMemoryAllocator());
+        ByteBuf buf = allocator.directBuffer(1024);
+        try {
+            buf.writeLong(42);
+            assertEquals(42, buf.readLong());
+        } finally {
+            buf.release();
+        }
+    }
+}
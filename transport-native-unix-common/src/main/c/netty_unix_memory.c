@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+#include <errno.h>
+#include <stdint.h>
+#include <sys/mman.h>
+#include <unistd.h>
+
+#ifdef __linux__
+#include <sys/syscall.h>
+#endif /* __linux__ */
+
+#include "netty_unix_errors.h"
+#include "netty_unix_jni.h"
+#include "netty_unix_memory.h"
+#include "netty_unix_util.h"
+
+#ifndef MAP_ANONYMOUS
+#define MAP_ANONYMOUS MAP_ANON
+#endif /* MAP_ANONYMOUS */
+
+// Use the constants directly as the headers of older glibc versions may not contain them.
+#ifdef __linux__
+#ifndef MAP_HUGETLB
+#define MAP_HUGETLB 0x40000
+#endif /* MAP_HUGETLB */
+
+#ifndef MADV_HUGEPAGE
+#define MADV_HUGEPAGE 14
+#endif /* MADV_HUGEPAGE */
+
+#ifndef MPOL_PREFERRED
+#define MPOL_PREFERRED 1
+#endif /* MPOL_PREFERRED */
+#endif /* __linux__ */
+
+static size_t roundUp(jlong size, jlong alignment) {
+    return (size_t) ((size + alignment - 1) & ~(alignment - 1));
+}
+
+// JNI Registered Methods Begin
+// The alignment is the huge page size if huge pages are used and 1 otherwise, as MAP_HUGETLB requires a multiple of it.
+static jobject netty_unix_memory_allocate0(JNIEnv* env, jclass clazz, jint capacity, jint node, jboolean hugePages, jlong alignment) {
+    size_t length = roundUp(capacity, alignment);
+    void* addr = MAP_FAILED;
+
+#ifdef __linux__
+    if (hugePages == JNI_TRUE) {
+        // Try to use explicit huge pages first and fallback to transparent huge pages if none are reserved.
+        addr = mmap(NULL, length, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_HUGETLB, -1, 0);
+    }
+#endif /* __linux__ */
+    if (addr == MAP_FAILED) {
+        addr = mmap(NULL, length, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+        if (addr == MAP_FAILED) {
+            netty_unix_errors_throwOutOfMemoryError(env);
+            return NULL;
+        }
+#ifdef __linux__
+        if (hugePages == JNI_TRUE) {
+            // This is only a hint, so ignore failures.
+            madvise(addr, length, MADV_HUGEPAGE);
+        }
+#endif /* __linux__ */
+    }
+
+#ifdef __linux__
+    if (node >= 0 && node < (jint) (sizeof(unsigned long) * 8)) {
+        unsigned long nodemask = 1UL << node;
+        // Only a preference, if the node has no free memory left the kernel falls back to other nodes.
+        // Must be called before the memory is touched for the first time to have any effect.
+        syscall(SYS_mbind, addr, length, MPOL_PREFERRED, &nodemask, sizeof(nodemask) * 8, 0);
+    }
+#endif /* __linux__ */
+
+    jobject buffer = (*env)->NewDirectByteBuffer(env, addr, capacity);
+    if (buffer == NULL) {
+        munmap(addr, length);
+    }
+    return buffer;
+}
+
+static void netty_unix_memory_free0(JNIEnv* env, jclass clazz, jlong address, jint capacity, jlong alignment) {
+    munmap((void*) (intptr_t) address, roundUp(capacity, alignment));
+}
+
+static jint netty_unix_memory_currentNode0(JNIEnv* env, jclass clazz) {
+#ifdef __linux__
+    unsigned int cpu;
+    unsigned int node;
+    if (syscall(SYS_getcpu, &cpu, &node, NULL) == 0) {
+        return (jint) node;
+    }
+#endif /* __linux__ */
+    return 0;
+}
+// JNI Registered Methods End
+
+// JNI Method Registration Table Begin
+static const JNINativeMethod fixed_method_table[] = {
+  { "allocate0", "(IIZJ)Ljava/nio/ByteBuffer;", (void *) netty_unix_memory_allocate0 },
+  { "free0", "(JIJ)V", (void *) netty_unix_memory_free0 },
+  { "currentNode0", "()I", (void *) netty_unix_memory_currentNode0 }
+};
+static const jint fixed_method_table_size = sizeof(fixed_method_table) / sizeof(fixed_method_table[0]);
+// JNI Method Registration Table End
+
+jint netty_unix_memory_JNI_OnLoad(JNIEnv* env, const char* packagePrefix) {
+    if (netty_unix_util_register_natives(env,
+            packagePrefix,
+            "io/netty/channel/unix/NativeChunkMemoryAllocator",
+            fixed_method_table,
+            fixed_method_table_size) != 0) {
+        return JNI_ERR;
+    }
+
+    return NETTY_JNI_VERSION;
+}
+
+void netty_unix_memory_JNI_OnUnLoad(JNIEnv* env) { }
@@ -16,6 +16,7 @@
 package io.netty.channel.unix;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufRegionProcessor;
 import io.netty.channel.ChannelOutboundBuffer.MessageProcessor;
 import io.netty.util.internal.PlatformDependent;
 
@@ -65,6 +66,7 @@ public final class IovArray implements MessageProcessor {
     private int count;
     private long size;
     private long maxBytes = SSIZE_MAX;
+    private final ByteBufRegionProcessor regionProcessor = this::addRegion;
 
     public IovArray() {
         memory = Buffer.allocateDirectWithNativeOrder(CAPACITY);
@@ -89,25 +91,23 @@ public final class IovArray implements MessageProcessor {
             // No more room!
             return false;
         } else if (buf.nioBufferCount() == 1) {
-            if (len == 0) {
-                return true;
-            }
-            if (buf.hasMemoryAddress()) {
-                return add(buf.memoryAddress() + offset, len);
-            } else {
-                ByteBuffer nioBuffer = buf.internalNioBuffer(offset, len);
-                return add(Buffer.memoryAddress(nioBuffer) + nioBuffer.position(), len);
-            }
+            return len == 0 || addContiguous(buf, offset, len);
         } else {
-            ByteBuffer[] buffers = buf.nioBuffers(offset, len);
-            for (ByteBuffer nioBuffer : buffers) {
-                final int remaining = nioBuffer.remaining();
-                if (remaining != 0 &&
-                        (!add(Buffer.memoryAddress(nioBuffer) + nioBuffer.position(), remaining) || count == IOV_MAX)) {
-                    return false;
-                }
-            }
-            return true;
+            // Walk the regions of the buffer directly so no ByteBuffer[] needs to be created for composite buffers.
+            return buf.forEachRegion(offset, len, regionProcessor);
+        }
+    }
+
+    private boolean addRegion(ByteBuf buf, int offset, int len) {
+        return len == 0 || addContiguous(buf, offset, len) && count != IOV_MAX;
+    }
+
+    private boolean addContiguous(ByteBuf buf, int offset, int len) {
+        if (buf.hasMemoryAddress()) {
+            return add(buf.memoryAddress() + offset, len);
+        } else {
+            ByteBuffer nioBuffer = buf.internalNioBuffer(offset, len);
+            return add(Buffer.memoryAddress(nioBuffer) + nioBuffer.position(), len);
         }
     }
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.unix;
+
+import io.netty.buffer.ChunkMemoryAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.internal.UnstableApi;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * {@link ChunkMemoryAllocator} which maps the memory of the chunks of a {@link PooledByteBufAllocator} directly via
+ * {@code mmap}, optionally backed by huge pages, and binds it to the NUMA node of the arena that uses it.
+ * <p>
+ * On Linux explicit huge pages ({@code MAP_HUGETLB}) are tried first. If none are reserved the memory is mapped
+ * normally and transparent huge pages are requested via {@code madvise}. The node binding is only a preference, so
+ * allocations never fail because a single node ran out of memory. On other platforms there is only a single node and
+ * huge pages are not used.
+ * <p>
+ * The native library of the transport must be loaded before this class is used, for example by calling
+ * {@code Epoll.ensureAvailability()} or {@code KQueue.ensureAvailability()}.
+ */
+@UnstableApi
+public final class NativeChunkMemoryAllocator implements ChunkMemoryAllocator {
+
+    private static final int DEFAULT_HUGE_PAGE_SIZE = 2 * 1024 * 1024;
+    private static final Pattern NODE_PATTERN = Pattern.compile("node([0-9]+)");
+
+    private final boolean hugePages;
+    // The size allocations are rounded up to, which is only needed for huge pages.
+    private final long alignment;
+    // The ids of the nodes, sorted. Node ids may be sparse, so the index of a node is not necessarily its id.
+    private final int[] nodeIds;
+
+    /**
+     * Creates a new instance which uses huge pages with a size of 2MB.
+     */
+    public NativeChunkMemoryAllocator() {
+        this(true, DEFAULT_HUGE_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param hugePages {@code true} if the memory should be backed by huge pages if possible.
+     * @param hugePageSize the size of a huge page, which must be a power of two. If huge pages are used all
+     *                     allocations are rounded up to a multiple of it.
+     */
+    public NativeChunkMemoryAllocator(boolean hugePages, int hugePageSize) {
+        checkPositive(hugePageSize, "hugePageSize");
+        if ((hugePageSize & hugePageSize - 1) != 0) {
+            throw new IllegalArgumentException("hugePageSize: " + hugePageSize + " (expected: power of 2)");
+        }
+        this.hugePages = hugePages;
+        alignment = hugePages ? hugePageSize : 1;
+        nodeIds = detectNodeIds();
+    }
+
+    private static int[] detectNodeIds() {
+        String[] names = new File("/sys/devices/system/node").list();
+        if (names == null) {
+            return new int[] { 0 };
+        }
+        int[] ids = new int[names.length];
+        int nodes = 0;
+        for (String name : names) {
+            Matcher matcher = NODE_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                try {
+                    ids[nodes] = Integer.parseInt(matcher.group(1));
+                    nodes++;
+                } catch (NumberFormatException ignore) {
+                    // Not a valid node id.
+                }
+            }
+        }
+        if (nodes == 0) {
+            return new int[] { 0 };
+        }
+        ids = Arrays.copyOf(ids, nodes);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Override
+    public int numNodes() {
+        return nodeIds.length;
+    }
+
+    @Override
+    public int currentNode() {
+        if (nodeIds.length == 1) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(nodeIds, currentNode0());
+        return index < 0 ? 0 : index;
+    }
+
+    @Override
+    public ByteBuffer allocate(int capacity, int node) {
+        return allocate0(capacity, nodeIds.length == 1 ? -1 : nodeIds[node], hugePages, alignment);
+    }
+
+    @Override
+    public void free(ByteBuffer memory) {
+        free0(Buffer.memoryAddress(memory), memory.capacity(), alignment);
+    }
+
+    private static native ByteBuffer allocate0(int capacity, int node, boolean hugePages, long alignment);
+    private static native void free0(long address, int capacity, long alignment);
+    private static native int currentNode0();
+}
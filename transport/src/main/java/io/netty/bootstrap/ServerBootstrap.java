@@ -85,6 +85,11 @@ public class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, ServerCh
      * Set the {@link EventLoopGroup} for the parent (acceptor) and the child (client). These
      * {@link EventLoopGroup}'s are used to handle all the events and IO for {@link ServerChannel} and
      * {@link Channel}'s.
+     * <p>
+     * Each accepted {@link Channel} is registered on {@link EventLoopGroup#next()} of the child group. To place
+     * them by load instead of round-robin create the child group with an
+     * {@link io.netty.util.concurrent.EventExecutorChooserFactory}, for example
+     * {@link io.netty.channel.EventLoopChoosers#leastRegisteredChannels()}.
      */
     public ServerBootstrap group(EventLoopGroup parentGroup, EventLoopGroup childGroup) {
         super.group(parentGroup);
@@ -57,7 +57,8 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
 
     private volatile SocketAddress localAddress;
     private volatile SocketAddress remoteAddress;
-    private final EventLoop eventLoop;
+    // Only changed by migrate(...) while the Channel is not registered.
+    private volatile EventLoop eventLoop;
     private volatile boolean registered;
     private boolean closeInitiated;
     private Throwable initialCloseCause;
@@ -75,8 +76,9 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
     protected AbstractChannel(Channel parent, EventLoop eventLoop) {
         this.parent = parent;
         this.eventLoop = validateEventLoop(eventLoop);
-        closeFuture = new CloseFuture(this, eventLoop);
-        succeedFuture = new SucceededChannelFuture(this, eventLoop);
+        closeFuture = new CloseFuture(this);
+        // Without an executor the future always notifies on the current EventLoop, even after migrate(...).
+        succeedFuture = new SucceededChannelFuture(this, null);
         id = newId();
         unsafe = newUnsafe();
         pipeline = newChannelPipeline();
@@ -91,8 +93,8 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
     protected AbstractChannel(Channel parent, EventLoop eventLoop, ChannelId id) {
         this.parent = parent;
         this.eventLoop = validateEventLoop(eventLoop);
-        closeFuture = new CloseFuture(this, eventLoop);
-        succeedFuture = new SucceededChannelFuture(this, eventLoop);
+        closeFuture = new CloseFuture(this);
+        succeedFuture = new SucceededChannelFuture(this, null);
         this.id = id;
         unsafe = newUnsafe();
         pipeline = newChannelPipeline();
@@ -253,6 +255,19 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
         return pipeline.deregister();
     }
 
+    @Override
+    public ChannelFuture migrate(EventLoop eventLoop) {
+        ChannelPromise promise = new DefaultChannelPromise(this, validateEventLoop(eventLoop));
+        if (!eventLoop.unsafe().isCompatible(this)) {
+            // Fail before the Channel is deregistered, as registering it on the EventLoop would close it.
+            promise.setFailure(new IllegalArgumentException(
+                    "incompatible event loop type: " + eventLoop.getClass().getName()));
+            return promise;
+        }
+        ((AbstractUnsafe) unsafe).migrate(eventLoop, promise);
+        return promise;
+    }
+
     @Override
     public Channel flush() {
         pipeline.flush();
@@ -322,7 +337,7 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
 
     @Override
     public ChannelPromise newPromise() {
-        return new DefaultChannelPromise(this, eventLoop);
+        return new DefaultChannelPromise(this);
     }
 
     @Override
@@ -516,6 +531,75 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
             }
         }
 
+        final void migrate(final EventLoop newEventLoop, final ChannelPromise promise) {
+            final EventLoop oldEventLoop = eventLoop;
+            if (!oldEventLoop.inEventLoop()) {
+                try {
+                    oldEventLoop.execute(() -> migrate(newEventLoop, promise));
+                } catch (RejectedExecutionException e) {
+                    promise.tryFailure(e);
+                }
+                return;
+            }
+            if (!promise.setUncancellable()) {
+                return;
+            }
+            if (newEventLoop == oldEventLoop) {
+                promise.trySuccess();
+                return;
+            }
+            if (!isOpen()) {
+                promise.tryFailure(new ClosedChannelException());
+                return;
+            }
+            if (!registered) {
+                promise.tryFailure(new IllegalStateException("not registered to an event loop"));
+                return;
+            }
+
+            ChannelPromise deregisterPromise = newPromise();
+            deregister(deregisterPromise, false);
+            deregisterPromise.addListener((ChannelFutureListener) future -> {
+                if (!future.isSuccess()) {
+                    promise.tryFailure(future.cause());
+                    return;
+                }
+                if (!isOpen()) {
+                    promise.tryFailure(new ClosedChannelException());
+                    return;
+                }
+                // Tasks which were submitted to the old EventLoop before are still in its queue, so only switch to
+                // the new EventLoop once they are done to ensure they do not run concurrently with it. From then on
+                // all operations are submitted to the new EventLoop, and the pipeline moves tasks which still end up
+                // on the old one over to it.
+                Runnable handOver = () -> {
+                    eventLoop = newEventLoop;
+                    try {
+                        newEventLoop.execute(() -> registerMigrated(promise));
+                    } catch (RejectedExecutionException e) {
+                        // The new EventLoop can not take the Channel, so register it on the old one again.
+                        eventLoop = oldEventLoop;
+                        registerMigrated(newPromise());
+                        promise.tryFailure(e);
+                    }
+                };
+                try {
+                    oldEventLoop.execute(handOver);
+                } catch (RejectedExecutionException e) {
+                    handOver.run();
+                }
+            });
+        }
+
+        private void registerMigrated(ChannelPromise promise) {
+            register(promise);
+            if (promise.isSuccess()) {
+                // Writes which were flushed while the Channel was not registered may not have been able to
+                // request a notification once the Channel becomes writable again, so try them now.
+                flush0();
+            }
+        }
+
         @Override
         public final void bind(final SocketAddress localAddress, final ChannelPromise promise) {
             assertEventLoop();
@@ -1098,8 +1182,8 @@ public abstract class AbstractChannel extends DefaultAttributeMap implements Cha
 
     static final class CloseFuture extends DefaultChannelPromise {
 
-        CloseFuture(AbstractChannel ch, EventExecutor eventExecutor) {
-            super(ch, eventExecutor);
+        CloseFuture(AbstractChannel ch) {
+            super(ch);
         }
 
         @Override
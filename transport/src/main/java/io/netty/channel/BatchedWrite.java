@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+
+import java.util.function.Consumer;
+
+/**
+ * Writes a batch of messages to a {@link Channel} and flushes it after the last one.
+ *
+ * @see Channel#writeAndFlushAll(Object...)
+ */
+final class BatchedWrite implements Consumer<Object> {
+
+    private final Channel channel;
+    private final ChannelPromise promise;
+    private final PromiseCombiner combiner;
+    private int remaining;
+
+    BatchedWrite(Channel channel, int messages) {
+        this.channel = channel;
+        promise = channel.newPromise();
+        combiner = new PromiseCombiner(channel.eventLoop());
+        remaining = messages;
+    }
+
+    ChannelFuture promise() {
+        return promise;
+    }
+
+    /**
+     * Releases all messages and fails the promise, used if the batch could not be handed over to the
+     * {@link EventLoop}.
+     */
+    void fail(Object[] msgs, Throwable cause) {
+        try {
+            for (Object msg : msgs) {
+                ReferenceCountUtil.safeRelease(msg);
+            }
+        } finally {
+            promise.setFailure(cause);
+        }
+    }
+
+    @Override
+    public void accept(Object msg) {
+        try {
+            combiner.add(channel.write(msg));
+        } finally {
+            if (--remaining == 0) {
+                channel.flush();
+                combiner.finish(promise);
+            }
+        }
+    }
+}
@@ -25,6 +25,9 @@ import io.netty.util.AttributeMap;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
 
 
 /**
@@ -193,6 +196,63 @@ public interface Channel extends AttributeMap, ChannelOutboundInvoker, Comparabl
     @Override
     Channel flush();
 
+    /**
+     * Writes all the given messages and flushes them once. If this method is called from outside of the
+     * {@link EventLoop}, all messages are handed over via {@link EventLoop#executeBatch(Consumer, Object[])}, which
+     * costs a single task submission and at most one wakeup instead of one per message. The array must not be
+     * modified until the messages were written.
+     *
+     * @return the {@link ChannelFuture} which is notified once all messages were written, or failed if at least one
+     *         of them could not be written. If the messages could not be handed over to the {@link EventLoop}, they
+     *         are released and the {@link ChannelFuture} is failed.
+     */
+    default ChannelFuture writeAndFlushAll(Object... msgs) {
+        requireNonNull(msgs, "msgs");
+        if (msgs.length == 0) {
+            return flush().newSucceededFuture();
+        }
+        BatchedWrite write = new BatchedWrite(this, msgs.length);
+        EventLoop eventLoop = eventLoop();
+        if (eventLoop.inEventLoop()) {
+            for (Object msg : msgs) {
+                write.accept(msg);
+            }
+        } else {
+            try {
+                eventLoop.executeBatch(write, msgs);
+            } catch (Throwable cause) {
+                write.fail(msgs, cause);
+            }
+        }
+        return write.promise();
+    }
+
+    /**
+     * Moves this registered {@link Channel} to the given {@link EventLoop}, which must be compatible with the
+     * transport of the {@link Channel}, for example another {@link EventLoop} of the same {@link EventLoopGroup}.
+     * <p>
+     * The {@link Channel} is deregistered from its current {@link EventLoop} and registered on the new one, so its
+     * {@link ChannelHandler}s receive {@code channelUnregistered} and {@code channelRegistered} but no
+     * {@code channelInactive} or {@code channelActive}. The handlers, pending writes
+     * and the interest in read and write readiness are kept. Operations that other threads submitted to the old
+     * {@link EventLoop} via the {@link ChannelPipeline} are moved over to the new one if they did not run before the
+     * switch. The promises returned by {@link #newPromise()}, the {@link #closeFuture()} and the futures returned by
+     * {@link #newSucceededFuture()} always notify their listeners on the current {@link EventLoop}.
+     * <p>
+     * Tasks that a {@link ChannelHandler} scheduled on {@link ChannelHandlerContext#executor()} before the migration
+     * still fire on the old {@link EventLoop}. Such tasks must check {@link EventLoop#inEventLoop()} of
+     * {@link ChannelHandlerContext#executor()} when they run and re-submit themselves to it if needed, as the
+     * timeout handlers of Netty do.
+     *
+     * @return the {@link ChannelFuture} which is notified once the {@link Channel} was registered on the new
+     *         {@link EventLoop}. If it failed the {@link Channel} is either still registered on the old one or closed.
+     *         An incompatible {@link EventLoop} fails it with an {@link IllegalArgumentException} right away.
+     */
+    default ChannelFuture migrate(EventLoop eventLoop) {
+        return newFailedFuture(new UnsupportedOperationException(
+                "migrate is not supported by " + getClass().getSimpleName()));
+    }
+
     /**
      * <em>Unsafe</em> operations that should <em>never</em> be called from user-code. These methods
      * are only provided to implement the actual transport, and must be invoked from an I/O thread except for the
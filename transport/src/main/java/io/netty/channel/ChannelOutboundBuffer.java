@@ -17,6 +17,7 @@ package io.netty.channel;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.ByteBufRegionProcessor;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.ReferenceCountUtil;
@@ -469,7 +470,7 @@ public final class ChannelOutboundBuffer {
         if (nioBufs == null) {
             // cached ByteBuffers as they may be expensive to create in terms
             // of Object allocation
-            entry.bufs = nioBufs = buf.nioBuffers();
+            nioBufs = entry.collectNioBuffers(buf);
         }
         for (int i = 0; i < nioBufs.length && nioBufferCount < maxCount; ++i) {
             ByteBuffer nioBuf = nioBufs[i];
@@ -786,7 +787,7 @@ public final class ChannelOutboundBuffer {
         boolean processMessage(Object msg) throws Exception;
     }
 
-    static final class Entry {
+    static final class Entry implements ByteBufRegionProcessor {
         private static final ObjectPool<Entry> RECYCLER = ObjectPool.newPool(Entry::new);
 
         private final Handle<Entry> handle;
@@ -799,6 +800,7 @@ public final class ChannelOutboundBuffer {
         long total;
         int pendingSize;
         int count = -1;
+        private int collected;
         boolean cancelled;
 
         private Entry(Handle<Entry> handle) {
@@ -814,6 +816,30 @@ public final class ChannelOutboundBuffer {
             return entry;
         }
 
+        /**
+         * Collects the {@link ByteBuffer}s of the readable bytes of {@code buf} directly into {@link #bufs}, which
+         * avoids the intermediate list and arrays that {@link ByteBuf#nioBuffers()} creates for composite buffers.
+         */
+        ByteBuffer[] collectNioBuffers(ByteBuf buf) {
+            bufs = new ByteBuffer[Math.max(1, count)];
+            collected = 0;
+            buf.forEachRegion(buf.readerIndex(), buf.readableBytes(), this);
+            return bufs;
+        }
+
+        @Override
+        public boolean process(ByteBuf buf, int index, int length) {
+            if (length != 0) {
+                if (collected == bufs.length) {
+                    bufs = Arrays.copyOf(bufs, collected << 1);
+                }
+                // A new ByteBuffer is needed for each region as internalNioBuffer(...) may be shared between
+                // derived buffers of the same parent.
+                bufs[collected++] = buf.nioBuffer(index, length);
+            }
+            return true;
+        }
+
         int cancel() {
             if (!cancelled) {
                 cancelled = true;
@@ -141,7 +141,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeChannelRegistered();
         } else {
-            executor.execute(this::findAndInvokeChannelRegistered);
+            executor.execute(onCurrentEventLoop(this::findAndInvokeChannelRegistered));
         }
         return this;
     }
@@ -169,7 +169,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeChannelUnregistered();
         } else {
-            executor.execute(this::findAndInvokeChannelUnregistered);
+            executor.execute(onCurrentEventLoop(this::findAndInvokeChannelUnregistered));
         }
         return this;
     }
@@ -197,7 +197,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeChannelActive();
         } else {
-            executor.execute(this::findAndInvokeChannelActive);
+            executor.execute(onCurrentEventLoop(this::findAndInvokeChannelActive));
         }
         return this;
     }
@@ -225,7 +225,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeChannelInactive();
         } else {
-            executor.execute(this::findAndInvokeChannelInactive);
+            executor.execute(onCurrentEventLoop(this::findAndInvokeChannelInactive));
         }
         return this;
     }
@@ -255,7 +255,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
             findAndInvokeExceptionCaught(cause);
         } else {
             try {
-                executor.execute(() -> findAndInvokeExceptionCaught(cause));
+                executor.execute(onCurrentEventLoop(() -> findAndInvokeExceptionCaught(cause)));
             } catch (Throwable t) {
                 if (logger.isWarnEnabled()) {
                     logger.warn("Failed to submit an exceptionCaught() event.", t);
@@ -301,7 +301,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeUserEventTriggered(event);
         } else {
-            executor.execute(() -> findAndInvokeUserEventTriggered(event));
+            executor.execute(onCurrentEventLoop(() -> findAndInvokeUserEventTriggered(event)));
         }
         return this;
     }
@@ -332,7 +332,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
             findAndInvokeChannelRead(msg);
         } else {
             try {
-                executor.execute(() -> findAndInvokeChannelRead(msg));
+                executor.execute(onCurrentEventLoop(() -> findAndInvokeChannelRead(msg)));
             } catch (Throwable cause) {
                 ReferenceCountUtil.release(msg);
                 throw cause;
@@ -465,7 +465,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeBind(localAddress, promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeBind(localAddress, promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeBind(localAddress, promise), promise), promise, null);
         }
         return promise;
     }
@@ -505,7 +505,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeConnect(remoteAddress, localAddress, promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeConnect(remoteAddress, localAddress, promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeConnect(remoteAddress, localAddress, promise), promise), promise, null);
         }
         return promise;
     }
@@ -544,7 +544,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeDisconnect(promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeDisconnect(promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeDisconnect(promise), promise), promise, null);
         }
         return promise;
     }
@@ -577,7 +577,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeClose(promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeClose(promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeClose(promise), promise), promise, null);
         }
         return promise;
     }
@@ -610,7 +610,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeRegister(promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeRegister(promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeRegister(promise), promise), promise, null);
         }
         return promise;
     }
@@ -643,7 +643,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         if (executor.inEventLoop()) {
             findAndInvokeDeregister(promise);
         } else {
-            safeExecute(executor, () -> findAndInvokeDeregister(promise), promise, null);
+            safeExecute(executor, onCurrentEventLoop(() -> findAndInvokeDeregister(promise), promise), promise, null);
         }
         return promise;
     }
@@ -967,6 +967,14 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         return channel().hasAttr(key);
     }
 
+    private Runnable onCurrentEventLoop(Runnable task) {
+        return onCurrentEventLoop(task, null);
+    }
+
+    private Runnable onCurrentEventLoop(Runnable task, ChannelPromise promise) {
+        return new CurrentEventLoopTask(this, task, promise);
+    }
+
     private static boolean safeExecute(EventExecutor executor, Runnable runnable, ChannelPromise promise, Object msg) {
         try {
             executor.execute(runnable);
@@ -1030,6 +1038,14 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         protected abstract DefaultChannelHandlerContext findContext(DefaultChannelHandlerContext ctx);
         @Override
         public final void run() {
+            EventExecutor executor = ctx.executor();
+            if (!executor.inEventLoop()) {
+                // The Channel was migrated to another EventLoop after the task was submitted.
+                if (!safeExecute(executor, this, promise, msg)) {
+                    cancel();
+                }
+                return;
+            }
             try {
                 decrementPendingOutboundBytes();
                 DefaultChannelHandlerContext next = findContext(ctx);
@@ -1119,6 +1135,35 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         }
     }
 
+    /**
+     * Runs a task which was submitted from outside the {@link EventExecutor} of the {@link Channel} on the
+     * {@link EventExecutor} the {@link Channel} uses when the task runs, which differs from the one it was submitted to
+     * if the {@link Channel} was {@linkplain Channel#migrate(EventLoop) migrated} in the meantime.
+     */
+    private static final class CurrentEventLoopTask implements Runnable {
+        private final DefaultChannelHandlerContext ctx;
+        private final Runnable task;
+        private final ChannelPromise promise;
+
+        CurrentEventLoopTask(DefaultChannelHandlerContext ctx, Runnable task, ChannelPromise promise) {
+            this.ctx = ctx;
+            this.task = task;
+            this.promise = promise;
+        }
+
+        @Override
+        public void run() {
+            EventExecutor executor = ctx.executor();
+            if (executor.inEventLoop()) {
+                task.run();
+            } else if (promise == null) {
+                executor.execute(this);
+            } else {
+                safeExecute(executor, this, promise, null);
+            }
+        }
+    }
+
     private static final class Tasks {
         private final Runnable invokeChannelReadCompleteTask;
         private final Runnable invokeReadTask;
@@ -1126,10 +1171,10 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         private final Runnable invokeFlushTask;
 
         Tasks(DefaultChannelHandlerContext ctx) {
-            invokeChannelReadCompleteTask = ctx::findAndInvokeChannelReadComplete;
-            invokeReadTask = ctx::findAndInvokeRead;
-            invokeChannelWritableStateChangedTask = ctx::invokeChannelWritabilityChanged;
-            invokeFlushTask = ctx::findAndInvokeFlush;
+            invokeChannelReadCompleteTask = ctx.onCurrentEventLoop(ctx::findAndInvokeChannelReadComplete);
+            invokeReadTask = ctx.onCurrentEventLoop(ctx::findAndInvokeRead);
+            invokeChannelWritableStateChangedTask = ctx.onCurrentEventLoop(ctx::invokeChannelWritabilityChanged);
+            invokeFlushTask = ctx.onCurrentEventLoop(ctx::findAndInvokeFlush);
         }
     }
 }
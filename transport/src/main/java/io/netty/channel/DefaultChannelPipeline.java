@@ -76,7 +76,9 @@ public class DefaultChannelPipeline implements ChannelPipeline {
 
     public DefaultChannelPipeline(Channel channel) {
         this.channel = requireNonNull(channel, "channel");
-        succeededFuture = new SucceededChannelFuture(channel, channel.eventLoop());
+        // Without an executor the future always notifies on the current EventLoop of the Channel, which may change
+        // when the Channel is migrated.
+        succeededFuture = new SucceededChannelFuture(channel, null);
         voidPromise =  new VoidChannelPromise(channel, true);
 
         tail = new DefaultChannelHandlerContext(this, TAIL_NAME, TAIL_HANDLER);
@@ -944,7 +946,7 @@ public class DefaultChannelPipeline implements ChannelPipeline {
 
     @Override
     public final ChannelPromise newPromise() {
-        return new DefaultChannelPromise(channel(), executor());
+        return new DefaultChannelPromise(channel());
     }
 
     @Override
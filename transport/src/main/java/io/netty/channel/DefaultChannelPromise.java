@@ -30,16 +30,21 @@ import static java.util.Objects.requireNonNull;
 public class DefaultChannelPromise extends DefaultPromise<Void> implements ChannelPromise, FlushCheckpoint {
 
     private final Channel channel;
+    // true if the listeners are notified on the current EventLoop of the Channel, which changes when it is migrated.
+    private final boolean currentEventLoop;
     private long checkpoint;
 
     /**
-     * Creates a new instance.
+     * Creates a new instance which notifies its listeners on the current {@link EventLoop} of the {@link Channel},
+     * even if the {@link Channel} was {@linkplain Channel#migrate(EventLoop) migrated} after the promise was created.
      *
      * @param channel
      *        the {@link Channel} associated with this future
      */
     public DefaultChannelPromise(Channel channel) {
-        this(channel, channel.eventLoop());
+        super(channel.eventLoop());
+        this.channel = channel;
+        currentEventLoop = true;
     }
 
     /**
@@ -51,6 +56,12 @@ public class DefaultChannelPromise extends DefaultPromise<Void> implements Chann
     public DefaultChannelPromise(Channel channel, EventExecutor executor) {
         super(executor);
         this.channel = requireNonNull(channel, "channel");
+        currentEventLoop = false;
+    }
+
+    @Override
+    public EventExecutor executor() {
+        return currentEventLoop ? channel.eventLoop() : super.executor();
     }
 
     @Override
@@ -45,5 +45,13 @@ public interface EventLoop extends OrderedEventExecutor, EventLoopGroup {
          * Deregister the {@link Channel} from the {@link EventLoop}.
          */
         void deregister(Channel channel) throws Exception;
+
+        /**
+         * Returns {@code true} if the given {@link Channel} can be registered to the {@link EventLoop}. Unlike the
+         * other methods this may be called from any thread.
+         */
+        default boolean isCompatible(Channel channel) {
+            return true;
+        }
     }
 }
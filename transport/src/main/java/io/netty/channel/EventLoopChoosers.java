@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorChooserFactory;
+import io.netty.util.concurrent.EventExecutorChoosers;
+import io.netty.util.internal.UnstableApi;
+
+/**
+ * Provides {@link EventExecutorChooserFactory} implementations which choose the {@link EventLoop} of a
+ * {@link MultithreadEventLoopGroup} by the number of {@link Channel}s that are registered on it. Use them for the
+ * child group of a {@link io.netty.bootstrap.ServerBootstrap} to spread accepted {@link Channel}s evenly even if
+ * some of them live much longer than others.
+ * <p>
+ * See {@link EventExecutorChoosers} for choosers that are not specific to {@link EventLoop}s.
+ */
+@UnstableApi
+public final class EventLoopChoosers {
+
+    private static final EventExecutorChooserFactory LEAST_REGISTERED_CHANNELS =
+            EventExecutorChoosers.leastLoaded(EventLoopChoosers::registeredChannels);
+
+    private static final EventExecutorChooserFactory POWER_OF_TWO_CHOICES =
+            EventExecutorChoosers.powerOfTwoChoices(EventLoopChoosers::registeredChannels);
+
+    private EventLoopChoosers() { }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which chooses the {@link EventLoop} with the least
+     * {@link #registeredChannels(EventExecutor) registered channels}.
+     */
+    public static EventExecutorChooserFactory leastRegisteredChannels() {
+        return LEAST_REGISTERED_CHANNELS;
+    }
+
+    /**
+     * Returns a {@link EventExecutorChooserFactory} which compares the
+     * {@link #registeredChannels(EventExecutor) registered channels} of two randomly picked {@link EventLoop}s and
+     * chooses the one with less of them.
+     */
+    public static EventExecutorChooserFactory powerOfTwoChoices() {
+        return POWER_OF_TWO_CHOICES;
+    }
+
+    /**
+     * Returns the number of {@link Channel}s that are registered on the given {@link EventExecutor} if it is a
+     * {@link SingleThreadEventLoop} and {@code 0} otherwise.
+     */
+    public static int registeredChannels(EventExecutor executor) {
+        return executor instanceof SingleThreadEventLoop ?
+                ((SingleThreadEventLoop) executor).registeredChannels() : 0;
+    }
+}
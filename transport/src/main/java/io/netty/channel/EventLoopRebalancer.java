@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.UnstableApi;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static io.netty.util.internal.ObjectUtil.checkPositive;
+import static io.netty.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Moves {@link Channel}s between the {@link EventLoop}s of an {@link EventLoopGroup} via
+ * {@link Channel#migrate(EventLoop)} to even out their load.
+ * <p>
+ * Only {@link Channel}s which were {@link #add(Channel) added} are moved, which are typically long-lived connections
+ * that are safe to migrate as described by {@link Channel#migrate(EventLoop)}. Every {@link #rebalance()} compares
+ * the load of all {@link EventLoop}s and moves {@link Channel}s from the most to the least loaded one if the
+ * difference is above the threshold. It can be called manually or periodically via
+ * {@link #start(EventExecutor, long, TimeUnit)}.
+ */
+@UnstableApi
+public final class EventLoopRebalancer {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(EventLoopRebalancer.class);
+
+    private final EventLoopGroup group;
+    private final ToIntFunction<? super EventExecutor> load;
+    private final int threshold;
+    private final int maxMigrationsPerRun;
+    private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger migrating = new AtomicInteger();
+    private final ChannelFutureListener removeOnClose = future -> channels.remove(future.channel());
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    /**
+     * Creates a new instance which balances the number of {@link EventLoopChoosers#registeredChannels(EventExecutor)
+     * registered channels} and moves up to {@code 16} {@link Channel}s per run.
+     *
+     * @param group the {@link EventLoopGroup} whose {@link EventLoop}s are balanced.
+     */
+    public EventLoopRebalancer(EventLoopGroup group) {
+        this(group, EventLoopChoosers::registeredChannels, 1, 16);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param group the {@link EventLoopGroup} whose {@link EventLoop}s are balanced.
+     * @param load the function which returns the current load of an {@link EventLoop}.
+     * @param threshold the difference of the load between the most and least loaded {@link EventLoop} which is
+     *                  tolerated.
+     * @param maxMigrationsPerRun the maximum number of {@link Channel}s which are moved by one
+     *                            {@link #rebalance()}.
+     */
+    public EventLoopRebalancer(EventLoopGroup group, ToIntFunction<? super EventExecutor> load,
+                               int threshold, int maxMigrationsPerRun) {
+        this.group = requireNonNull(group, "group");
+        this.load = requireNonNull(load, "load");
+        this.threshold = checkPositiveOrZero(threshold, "threshold");
+        this.maxMigrationsPerRun = checkPositive(maxMigrationsPerRun, "maxMigrationsPerRun");
+    }
+
+    /**
+     * Adds the given {@link Channel} to the {@link Channel}s which may be moved. It is removed automatically once it
+     * is closed.
+     *
+     * @return {@code true} if the {@link Channel} was not added before.
+     */
+    public boolean add(Channel channel) {
+        requireNonNull(channel, "channel");
+        if (!channels.add(channel)) {
+            return false;
+        }
+        channel.closeFuture().addListener(removeOnClose);
+        return true;
+    }
+
+    /**
+     * Removes the given {@link Channel}, so it is not moved anymore.
+     *
+     * @return {@code true} if the {@link Channel} was added before.
+     */
+    public boolean remove(Channel channel) {
+        return channels.remove(channel);
+    }
+
+    /**
+     * Compares the load of all {@link EventLoop}s and starts moving {@link Channel}s from the most to the least loaded
+     * one if the difference is above the threshold. Nothing is done while the migrations of the last run are still in
+     * progress, as the load may not reflect them yet.
+     *
+     * @return the number of {@link Channel}s which are moved.
+     */
+    public int rebalance() {
+        if (migrating.get() != 0) {
+            return 0;
+        }
+        EventLoop mostLoaded = null;
+        EventLoop leastLoaded = null;
+        int maxLoad = Integer.MIN_VALUE;
+        int minLoad = Integer.MAX_VALUE;
+        for (EventExecutor executor : group) {
+            if (!(executor instanceof EventLoop) || executor.isShuttingDown()) {
+                continue;
+            }
+            int executorLoad = load.applyAsInt(executor);
+            if (executorLoad > maxLoad) {
+                maxLoad = executorLoad;
+                mostLoaded = (EventLoop) executor;
+            }
+            if (executorLoad < minLoad) {
+                minLoad = executorLoad;
+                leastLoaded = (EventLoop) executor;
+            }
+        }
+        if (mostLoaded == null || mostLoaded == leastLoaded || maxLoad - minLoad <= threshold) {
+            return 0;
+        }
+
+        int toMove = Math.max(1, Math.min(maxMigrationsPerRun, (maxLoad - minLoad) / 2));
+        int moved = 0;
+        for (Channel channel : channels) {
+            if (moved == toMove) {
+                break;
+            }
+            if (channel.eventLoop() != mostLoaded || !channel.isRegistered()) {
+                continue;
+            }
+            migrating.incrementAndGet();
+            moved++;
+            channel.migrate(leastLoaded).addListener(future -> {
+                migrating.decrementAndGet();
+                if (!future.isSuccess() && logger.isDebugEnabled()) {
+                    logger.debug("Failed to migrate a channel: {}", channel, future.cause());
+                }
+            });
+        }
+        return moved;
+    }
+
+    /**
+     * Calls {@link #rebalance()} periodically on the given {@link EventExecutor} until {@link #stop()} is called.
+     */
+    public synchronized EventLoopRebalancer start(EventExecutor executor, long period, TimeUnit unit) {
+        requireNonNull(executor, "executor");
+        requireNonNull(unit, "unit");
+        checkPositive(period, "period");
+        if (scheduledFuture != null) {
+            throw new IllegalStateException("started already");
+        }
+        scheduledFuture = executor.scheduleAtFixedRate(() -> {
+            try {
+                rebalance();
+            } catch (Throwable t) {
+                logger.warn("Unexpected exception while rebalancing the event loops.", t);
+            }
+        }, period, period, unit);
+        return this;
+    }
+
+    /**
+     * Stops the periodic {@link #rebalance()} which was started by {@link #start(EventExecutor, long, TimeUnit)}.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
+        if (scheduledFuture != null) {
+            this.scheduledFuture = null;
+            scheduledFuture.cancel(false);
+        }
+    }
+}
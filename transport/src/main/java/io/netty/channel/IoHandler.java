@@ -17,7 +17,7 @@ package io.netty.channel;
 
 /**
  * Handles IO dispatching for an {@link EventLoop}
- * All operations except {@link #wakeup(boolean)} <strong>MUST</strong> be executed
+ * All operations except {@link #wakeup(boolean)} and {@link #isCompatible(Channel)} <strong>MUST</strong> be executed
  * on the {@link EventLoop} thread and should never be called from the user-directly.
  */
 public interface IoHandler extends EventLoop.Unsafe {
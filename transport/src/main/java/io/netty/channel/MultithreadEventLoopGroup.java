@@ -17,6 +17,9 @@ package io.netty.channel;
 
 import io.netty.util.NettyRuntime;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorChooserFactory;
+import io.netty.util.concurrent.EventExecutorChoosers;
 import io.netty.util.concurrent.MultithreadEventExecutorGroup;
 import io.netty.util.concurrent.RejectedExecutionHandler;
 import io.netty.util.concurrent.RejectedExecutionHandlers;
@@ -31,8 +34,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * {@link EventLoopGroup} implementation that will handle its tasks with multiple threads.
  */
@@ -42,6 +48,13 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
 
     public static final int DEFAULT_EVENT_LOOP_THREADS;
 
+    // Marks a group whose EventLoops can not steal work from each other.
+    private static final WorkStealingGroup NO_WORK_STEALING = new WorkStealingGroup(new SingleThreadEventLoop[0]);
+
+    // Created by the first executeUnordered(Runnable) call, so EventLoops of groups which never submit unordered
+    // tasks do not look for them.
+    private volatile WorkStealingGroup workStealingGroup;
+
     static {
         DEFAULT_EVENT_LOOP_THREADS = Math.max(1, SystemPropertyUtil.getInt(
                 "io.netty.eventLoopThreads", NettyRuntime.availableProcessors() * 2));
@@ -212,6 +225,49 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
                 maxPendingTasks, rejectedHandler, maxTasksPerRun, EmptyArrays.EMPTY_OBJECTS);
     }
 
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns,
+     *                          for example {@link EventLoopChoosers#leastRegisteredChannels()}.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @param maxTasksPerRun    the maximum number of tasks per {@link EventLoop} run that will be processed
+     *                          before trying to handle IO again.
+     */
+    public MultithreadEventLoopGroup(int nThreads, Executor executor,
+                                     EventExecutorChooserFactory chooserFactory,
+                                     IoHandlerFactory ioHandlerFactory,
+                                     int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
+                                     int maxTasksPerRun) {
+        this(nThreads, executor, chooserFactory, ioHandlerFactory,
+                maxPendingTasks, rejectedHandler, maxTasksPerRun, EmptyArrays.EMPTY_OBJECTS);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param threadFactory     the {@link ThreadFactory} to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns,
+     *                          for example {@link EventLoopChoosers#leastRegisteredChannels()}.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     */
+    public MultithreadEventLoopGroup(int nThreads, ThreadFactory threadFactory,
+                                     EventExecutorChooserFactory chooserFactory,
+                                     IoHandlerFactory ioHandlerFactory) {
+        this(nThreads, new ThreadPerTaskExecutor(threadFactory == null ? newDefaultThreadFactory() : threadFactory),
+                chooserFactory, ioHandlerFactory, SingleThreadEventLoop.DEFAULT_MAX_PENDING_TASKS,
+                RejectedExecutionHandlers.reject(), SingleThreadEventLoop.DEFAULT_MAX_TASKS_PER_RUN);
+    }
+
     // Constructors provided for sub-classes that want to pass more args to newChild(...).
 
     /**
@@ -233,8 +289,33 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
                                      IoHandlerFactory ioHandlerFactory,
                                      int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
                                      int maxTasksPerRun, Object... args) {
+        this(nThreads, executor, EventExecutorChoosers.roundRobin(), ioHandlerFactory,
+                maxPendingTasks, rejectedHandler, maxTasksPerRun, args);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} which decides what {@link #next()} returns.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @param maxTasksPerRun    the maximum number of tasks per {@link EventLoop} run that will be processed
+     *                          before trying to handle IO again.
+     * @param args              extra arguments passed to {@link #newChild(Executor, int, RejectedExecutionHandler,
+     *                          IoHandler, int, Object...)}
+     */
+    protected MultithreadEventLoopGroup(int nThreads, Executor executor,
+                                     EventExecutorChooserFactory chooserFactory,
+                                     IoHandlerFactory ioHandlerFactory,
+                                     int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
+                                     int maxTasksPerRun, Object... args) {
         super(pickThreadCount(nThreads),
-                executor == null ? new ThreadPerTaskExecutor(newDefaultThreadFactory()) : executor,
+                executor == null ? new ThreadPerTaskExecutor(newDefaultThreadFactory()) : executor, chooserFactory,
                 maxPendingTasks, rejectedHandler, merge(ioHandlerFactory, maxTasksPerRun, args));
     }
 
@@ -261,6 +342,33 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
                 maxPendingTasks, rejectedHandler, merge(ioHandlerFactory, maxTasksPerRun, args));
     }
 
+    private WorkStealingGroup workStealingGroup() {
+        WorkStealingGroup workStealingGroup = this.workStealingGroup;
+        if (workStealingGroup == null) {
+            synchronized (this) {
+                workStealingGroup = this.workStealingGroup;
+                if (workStealingGroup == null) {
+                    workStealingGroup = newWorkStealingGroup();
+                    this.workStealingGroup = workStealingGroup;
+                }
+            }
+        }
+        return workStealingGroup;
+    }
+
+    private WorkStealingGroup newWorkStealingGroup() {
+        List<EventExecutor> executors = executors();
+        SingleThreadEventLoop[] loops = new SingleThreadEventLoop[executors.size()];
+        for (int i = 0; i < loops.length; i++) {
+            EventExecutor executor = executors.get(i);
+            if (!(executor instanceof SingleThreadEventLoop)) {
+                return NO_WORK_STEALING;
+            }
+            loops[i] = (SingleThreadEventLoop) executor;
+        }
+        return new WorkStealingGroup(loops);
+    }
+
     private static ThreadFactory newDefaultThreadFactory() {
         return new DefaultThreadFactory(MultithreadEventLoopGroup.class, Thread.MAX_PRIORITY);
     }
@@ -286,6 +394,33 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
         return (EventLoop) super.next();
     }
 
+    /**
+     * Executes the given task on any {@link EventLoop} of this group, without any ordering guarantee in respect to
+     * other tasks. This is meant for work that does not touch any {@link Channel}, for example CPU bound side work
+     * which would otherwise be handed to an extra thread pool like {@code UnorderedThreadPoolEventExecutor}.
+     * <p>
+     * The task is queued on the current {@link EventLoop}, if called from one of this group, or else on
+     * {@link #next()}. {@link EventLoop}s which have neither tasks nor unordered tasks of their own steal unordered
+     * tasks from the others before they block for IO, so idle {@link EventLoop}s help busy ones. The
+     * {@link EventLoop}s only start to look for unordered tasks once the first one is submitted. Tasks submitted via
+     * {@link #execute(Runnable)} or to a specific {@link EventLoop} are never moved and run before the unordered
+     * tasks of the same {@link EventLoop}.
+     * <p>
+     * If the {@link EventLoop}s of this group are not {@link SingleThreadEventLoop}s this is the same as
+     * {@code next().execute(task)}.
+     *
+     * @throws RejectedExecutionException if the {@link EventLoop} was shut down.
+     */
+    public final void executeUnordered(Runnable task) {
+        requireNonNull(task, "task");
+        WorkStealingGroup workStealingGroup = workStealingGroup();
+        if (workStealingGroup == NO_WORK_STEALING) {
+            next().execute(task);
+        } else {
+            workStealingGroup.execute(next(), task);
+        }
+    }
+
     @Override
     protected final EventLoop newChild(Executor executor, int maxPendingTasks,
                                        RejectedExecutionHandler rejectedExecutionHandler, Object... args) {
@@ -23,10 +23,16 @@ import io.netty.util.concurrent.RejectedExecutionHandlers;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.SystemPropertyUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
+import java.util.Deque;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * {@link EventLoop} that execute all its submitted tasks in a single thread and uses an {@link IoHandler} for
@@ -34,6 +40,8 @@ import java.util.concurrent.ThreadFactory;
  */
 public class SingleThreadEventLoop extends SingleThreadEventExecutor implements EventLoop {
 
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SingleThreadEventLoop.class);
+
     protected static final int DEFAULT_MAX_PENDING_TASKS = Math.max(16,
             SystemPropertyUtil.getInt("io.netty.eventLoop.maxPendingTasks", Integer.MAX_VALUE));
 
@@ -41,11 +49,33 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     protected static final int DEFAULT_MAX_TASKS_PER_RUN = Math.max(1,
             SystemPropertyUtil.getInt("io.netty.eventLoop.maxTaskPerRun", 1024 * 4));
 
+    private static final AtomicIntegerFieldUpdater<SingleThreadEventLoop> IDLE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(SingleThreadEventLoop.class, "idle");
+
+    private static final Runnable UNORDERED_WAKEUP_TASK = () -> {
+        // Do nothing, only wakes up the EventLoop so it runs or steals unordered tasks.
+    };
+
     private final IoExecutionContext context = new IoExecutionContext() {
         @Override
         public boolean canBlock() {
             assert inEventLoop();
-            return !SingleThreadEventLoop.this.hasTasks() && !SingleThreadEventLoop.this.hasScheduledTasks();
+            if (SingleThreadEventLoop.this.hasTasks() || SingleThreadEventLoop.this.hasScheduledTasks()) {
+                return false;
+            }
+            WorkStealingGroup workStealingGroup = SingleThreadEventLoop.this.workStealingGroup;
+            if (workStealingGroup == null) {
+                return true;
+            }
+            // Mark this EventLoop as idle before looking for unordered tasks, and the submitter adds the task before
+            // it looks for idle EventLoops. So either we see the task here or the submitter sees us as idle and
+            // wakes us up.
+            idle = 1;
+            if (workStealingGroup.hasTasks()) {
+                idle = 0;
+                return false;
+            }
+            return true;
         }
 
         @Override
@@ -71,10 +101,25 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
         public void deregister(Channel channel) throws Exception {
             SingleThreadEventLoop.this.deregister(channel);
         }
+
+        @Override
+        public boolean isCompatible(Channel channel) {
+            return ioHandler.isCompatible(channel);
+        }
     };
 
     private final IoHandler ioHandler;
     private final int maxTasksPerRun;
+    // Only modified by the EventLoop thread, so a volatile is enough to read it from other threads.
+    private volatile int registeredChannels;
+
+    // Set once the MultithreadEventLoopGroup receives its first unordered task, which may be after the EventLoop was
+    // started. workStealingIndex and unorderedTasks are written before and so are visible once workStealingGroup is.
+    private volatile WorkStealingGroup workStealingGroup;
+    private int workStealingIndex;
+    private Deque<Runnable> unorderedTasks;
+    // 1 while the EventLoop may block for IO, or was not started yet. Only maintained while workStealingGroup is set.
+    private volatile int idle = 1;
 
     /**
      * Create a new instance
@@ -192,12 +237,26 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     @Override
     protected void run() {
         assert inEventLoop();
+        boolean recordMetrics = metrics() != null;
         do {
+            long ioStart = recordMetrics ? System.nanoTime() : 0;
             runIo();
+            // This includes the time the IoHandler was blocked while waiting for IO.
+            long ioTime = recordMetrics ? System.nanoTime() - ioStart : 0;
+            WorkStealingGroup workStealingGroup = this.workStealingGroup;
+            if (workStealingGroup != null && idle != 0) {
+                idle = 0;
+            }
             if (isShuttingDown()) {
                 ioHandler.prepareToDestroy();
             }
-            runAllTasks(maxTasksPerRun);
+            int tasks = runAllTasks(maxTasksPerRun);
+            if (workStealingGroup != null) {
+                tasks += runUnorderedTasks(workStealingGroup);
+            }
+            if (recordMetrics) {
+                recordIteration(ioTime, tasks);
+            }
         } while (!confirmShutdown());
     }
 
@@ -220,6 +279,7 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     protected void register(Channel channel) throws Exception {
         assert inEventLoop();
         ioHandler.register(channel);
+        registeredChannels++;
     }
 
     /**
@@ -228,6 +288,101 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     protected void deregister(Channel channel) throws Exception {
         assert inEventLoop();
         ioHandler.deregister(channel);
+        registeredChannels--;
+    }
+
+    /**
+     * Returns the number of {@link Channel}s that are currently registered on this {@link SingleThreadEventLoop}.
+     * This is cheap and can be called from any thread, for example to choose the {@link EventLoop} of a new
+     * {@link Channel}.
+     */
+    public final int registeredChannels() {
+        return registeredChannels;
+    }
+
+    /**
+     * Runs the unordered tasks of this {@link SingleThreadEventLoop}. If there are none and no other tasks are pending
+     * the unordered tasks of the other {@link SingleThreadEventLoop}s of the {@link MultithreadEventLoopGroup} are
+     * stolen until either {@code maxTasksPerRun} tasks were run or a task was submitted to this
+     * {@link SingleThreadEventLoop}.
+     */
+    private int runUnorderedTasks(WorkStealingGroup workStealingGroup) {
+        int maxTasks = isShuttingDown() ? Integer.MAX_VALUE : maxTasksPerRun;
+        int tasks = 0;
+        Runnable task;
+        while (tasks < maxTasks && (task = unorderedTasks.pollFirst()) != null) {
+            runUnorderedTask(task);
+            tasks++;
+        }
+        if (tasks == 0 && !isShuttingDown()) {
+            while (tasks < maxTasks && !hasTasks() && (task = workStealingGroup.steal(workStealingIndex)) != null) {
+                runUnorderedTask(task);
+                tasks++;
+            }
+        }
+        if (tasks > 0) {
+            updateLastExecutionTime();
+        }
+        return tasks;
+    }
+
+    private static void runUnorderedTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            logger.warn("An unordered task raised an exception. Task: {}", task, t);
+        }
+    }
+
+    /**
+     * Adds this {@link SingleThreadEventLoop} to the given {@link WorkStealingGroup}. Until then it neither holds
+     * unordered tasks nor looks for them.
+     */
+    final void workStealingGroup(WorkStealingGroup workStealingGroup, int index) {
+        workStealingIndex = index;
+        unorderedTasks = new ConcurrentLinkedDeque<>();
+        this.workStealingGroup = workStealingGroup;
+    }
+
+    final int workStealingIndex() {
+        return workStealingIndex;
+    }
+
+    /**
+     * Adds an unordered task which is run by this or any other {@link SingleThreadEventLoop} of the
+     * {@link MultithreadEventLoopGroup}, and returns {@code false} if this {@link SingleThreadEventLoop} was shut down.
+     */
+    final boolean offerUnorderedTask(Runnable task) {
+        if (isShutdown()) {
+            return false;
+        }
+        unorderedTasks.offerLast(task);
+        // The remaining tasks are run in cleanup() after the EventLoop was shut down, so only remove the task again
+        // if it was not picked up yet.
+        return !isShutdown() || !unorderedTasks.removeLastOccurrence(task);
+    }
+
+    final boolean hasUnorderedTasks() {
+        return !unorderedTasks.isEmpty();
+    }
+
+    final Runnable stealUnorderedTask() {
+        return unorderedTasks.pollLast();
+    }
+
+    /**
+     * Wakes up this {@link SingleThreadEventLoop}, or starts it, if it is idle and returns {@code true} if so.
+     */
+    final boolean wakeupIfIdle() {
+        if (idle == 0 || isShuttingDown() || !IDLE_UPDATER.compareAndSet(this, 1, 0)) {
+            return false;
+        }
+        try {
+            execute(UNORDERED_WAKEUP_TASK);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
     }
 
     @Override
@@ -238,6 +393,13 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     @Override
     protected final void cleanup() {
         assert inEventLoop();
+        if (workStealingGroup != null) {
+            // No unordered tasks can be added anymore, so run the remaining ones.
+            Runnable task;
+            while ((task = unorderedTasks.pollFirst()) != null) {
+                runUnorderedTask(task);
+            }
+        }
         ioHandler.destroy();
     }
 }
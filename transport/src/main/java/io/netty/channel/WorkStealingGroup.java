@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The {@link SingleThreadEventLoop}s of a {@link MultithreadEventLoopGroup} which steal the tasks submitted via
+ * {@link MultithreadEventLoopGroup#executeUnordered(Runnable)} from each other.
+ */
+final class WorkStealingGroup {
+
+    private final SingleThreadEventLoop[] loops;
+
+    /**
+     * Creates a new instance and adds the given {@link SingleThreadEventLoop}s to it, which must not belong to any
+     * other {@link WorkStealingGroup}. This should only be done once the first unordered task is submitted, as from
+     * then on the {@link SingleThreadEventLoop}s look for unordered tasks before they block for IO.
+     */
+    WorkStealingGroup(SingleThreadEventLoop[] loops) {
+        this.loops = loops;
+        for (int i = 0; i < loops.length; i++) {
+            loops[i].workStealingGroup(this, i);
+        }
+    }
+
+    void execute(EventLoop next, Runnable task) {
+        SingleThreadEventLoop loop = currentLoop();
+        if (loop == null) {
+            loop = (SingleThreadEventLoop) next;
+        }
+        if (!loop.offerUnorderedTask(task)) {
+            throw new RejectedExecutionException("event loop shut down");
+        }
+        wakeupIdleLoop(loop.workStealingIndex());
+    }
+
+    private SingleThreadEventLoop currentLoop() {
+        for (SingleThreadEventLoop loop : loops) {
+            if (loop.inEventLoop()) {
+                return loop;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wakes up the {@link SingleThreadEventLoop} at the given index if it is idle, or else the next idle one so it can
+     * steal the task. If none is idle all are busy and pick up the task once they are done.
+     */
+    private void wakeupIdleLoop(int start) {
+        for (int i = 0; i < loops.length; i++) {
+            if (loops[(start + i) % loops.length].wakeupIfIdle()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if any {@link SingleThreadEventLoop} of the group holds unordered tasks.
+     */
+    boolean hasTasks() {
+        for (SingleThreadEventLoop loop : loops) {
+            if (loop.hasUnorderedTasks()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Steals an unordered task from one of the other {@link SingleThreadEventLoop}s, starting with the one after the
+     * given index, or returns {@code null} if there is none.
+     */
+    Runnable steal(int thiefIndex) {
+        for (int i = 1; i < loops.length; i++) {
+            Runnable task = loops[(thiefIndex + i) % loops.length].stealUnorderedTask();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+}
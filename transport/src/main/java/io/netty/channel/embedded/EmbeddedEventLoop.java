@@ -50,6 +50,11 @@ final class EmbeddedEventLoop extends AbstractScheduledEventExecutor implements
         public void deregister(Channel channel) {
             assert inEventLoop();
         }
+
+        @Override
+        public boolean isCompatible(Channel channel) {
+            return channel instanceof EmbeddedChannel;
+        }
     };
 
     @Override
@@ -84,6 +84,11 @@ public final class LocalHandler implements IoHandler {
     public void destroy() {
     }
 
+    @Override
+    public boolean isCompatible(Channel channel) {
+        return channel.unsafe() instanceof LocalChannelUnsafe;
+    }
+
     @Override
     public void register(Channel channel) {
         LocalChannelUnsafe unsafe = cast(channel);
@@ -52,6 +52,8 @@ public abstract class AbstractNioChannel extends AbstractChannel {
     protected final int readInterestOp;
     volatile SelectionKey selectionKey;
     boolean readPending;
+    // The interest ops of the last SelectionKey, restored when the Channel is registered again.
+    private int deregisteredInterestOps;
     private final Runnable clearReadPendingRunnable = this::clearReadPending0;
 
     /**
@@ -349,24 +351,40 @@ public abstract class AbstractNioChannel extends AbstractChannel {
 
     @Override
     protected void doRegister() throws Exception {
-       eventLoop().unsafe().register(this);
+        eventLoop().unsafe().register(this);
+        int interestOps = deregisteredInterestOps;
+        if (readPending) {
+            // A read is still pending, which may have been requested while the Channel was not registered and so
+            // could not be added to the cancelled SelectionKey by doBeginRead().
+            interestOps |= readInterestOp;
+        }
+        if (interestOps != 0) {
+            deregisteredInterestOps = 0;
+            selectionKey.interestOps(interestOps);
+        }
     }
 
     @Override
     protected void doDeregister() throws Exception {
+        SelectionKey key = selectionKey;
+        if (key != null && key.isValid()) {
+            deregisteredInterestOps = key.interestOps();
+        }
         eventLoop().unsafe().deregister(this);
     }
 
     @Override
     protected void doBeginRead() throws Exception {
         // Channel.read() or ChannelHandlerContext.read() was called
+        // Record the read even if the SelectionKey is not valid, as it may be cancelled because the Channel is not
+        // registered while it is migrated. doRegister() then restores the read interest.
+        readPending = true;
+
         final SelectionKey selectionKey = this.selectionKey;
         if (!selectionKey.isValid()) {
             return;
         }
 
-        readPending = true;
-
         final int interestOps = selectionKey.interestOps();
         if ((interestOps & readInterestOp) == 0) {
             selectionKey.interestOps(interestOps | readInterestOp);
@@ -362,6 +362,11 @@ public final class NioHandler implements IoHandler {
         throw new IllegalArgumentException("Channel of type " + StringUtil.simpleClassName(channel) + " not supported");
     }
 
+    @Override
+    public boolean isCompatible(Channel channel) {
+        return channel instanceof AbstractNioChannel;
+    }
+
     @Override
     public void register(Channel channel) throws Exception {
         AbstractNioChannel nioChannel = cast(channel);
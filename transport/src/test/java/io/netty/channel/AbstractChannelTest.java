@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.RejectedExecutionException;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.NetUtil;
 import org.junit.Test;
 
@@ -180,6 +183,28 @@ public class AbstractChannelTest {
         }
     }
 
+    @Test
+    public void testWriteAndFlushAllReleasesMessagesIfRejected() {
+        EventLoop eventLoop = mock(EventLoop.class);
+        when(eventLoop.inEventLoop()).thenReturn(false);
+        RejectedExecutionException rejected = new RejectedExecutionException();
+        doThrow(rejected).when(eventLoop).executeBatch(any(), any());
+
+        TestChannel channel = new TestChannel(eventLoop);
+        ByteBuf first = Unpooled.buffer();
+        ByteBuf second = Unpooled.buffer();
+        ChannelFuture future = channel.writeAndFlushAll(first, second);
+
+        assertSame(rejected, future.cause());
+        assertEquals(0, first.refCnt());
+        assertEquals(0, second.refCnt());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWriteAndFlushAllNull() {
+        new TestChannel(mock(EventLoop.class)).writeAndFlushAll((Object[]) null);
+    }
+
     private static void assertClosedChannelException(ChannelFuture future, IOException expected)
             throws InterruptedException {
         Throwable cause = future.await().cause();
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalHandler;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class EventLoopChoosersTest {
+
+    @Test(timeout = 10000)
+    public void testLeastRegisteredChannels() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, null,
+                EventLoopChoosers.leastRegisteredChannels(), LocalHandler.newFactory());
+        try {
+            Iterator<EventExecutor> executors = group.iterator();
+            EventLoop first = (EventLoop) executors.next();
+            EventLoop second = (EventLoop) executors.next();
+            Channel a = new LocalChannel(first);
+            Channel b = new LocalChannel(first);
+            a.register().syncUninterruptibly();
+            b.register().syncUninterruptibly();
+            assertEquals(2, EventLoopChoosers.registeredChannels(first));
+            assertEquals(0, EventLoopChoosers.registeredChannels(second));
+
+            assertSame(second, group.next());
+            assertSame(second, group.next());
+
+            a.deregister().syncUninterruptibly();
+            b.deregister().syncUninterruptibly();
+            assertEquals(0, EventLoopChoosers.registeredChannels(first));
+
+            Channel c = new LocalChannel(second);
+            c.register().syncUninterruptibly();
+            assertSame(first, group.next());
+            c.deregister().syncUninterruptibly();
+            assertEquals(0, EventLoopChoosers.registeredChannels(second));
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testPowerOfTwoChoices() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, null,
+                EventLoopChoosers.powerOfTwoChoices(), LocalHandler.newFactory());
+        try {
+            EventLoop first = (EventLoop) group.iterator().next();
+            Channel channel = new LocalChannel(first);
+            channel.register().syncUninterruptibly();
+            for (int i = 0; i < 16; i++) {
+                assertNotSame(first, group.next());
+            }
+            channel.close().syncUninterruptibly();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalHandler;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventLoopRebalancerTest {
+
+    @Test(timeout = 10000)
+    public void testRebalance() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        try {
+            Iterator<EventExecutor> executors = group.iterator();
+            EventLoop first = (EventLoop) executors.next();
+            EventLoop second = (EventLoop) executors.next();
+            EventLoopRebalancer rebalancer = new EventLoopRebalancer(group);
+            List<Channel> channels = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Channel channel = new LocalChannel(first);
+                channel.register().syncUninterruptibly();
+                assertTrue(rebalancer.add(channel));
+                channels.add(channel);
+            }
+            assertFalse(rebalancer.add(channels.get(0)));
+            assertEquals(6, EventLoopChoosers.registeredChannels(first));
+
+            assertEquals(3, rebalancer.rebalance());
+            while (EventLoopChoosers.registeredChannels(second) != 3) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, EventLoopChoosers.registeredChannels(first));
+            int onSecond = 0;
+            for (Channel channel : channels) {
+                if (channel.eventLoop() == second) {
+                    assertTrue(channel.isRegistered());
+                    onSecond++;
+                }
+            }
+            assertEquals(3, onSecond);
+
+            // Wait until all migrations are done, after that the load is balanced.
+            while (rebalancer.rebalance() != 0 || EventLoopChoosers.registeredChannels(first) != 3) {
+                Thread.sleep(10);
+            }
+
+            for (Channel channel : channels) {
+                channel.close().syncUninterruptibly();
+            }
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testClosedChannelIsRemoved() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        try {
+            EventLoopRebalancer rebalancer = new EventLoopRebalancer(group);
+            Channel channel = new LocalChannel(group.next());
+            channel.register().syncUninterruptibly();
+            assertTrue(rebalancer.add(channel));
+            // Listeners are notified in order, so once this one runs the Channel was removed.
+            CountDownLatch latch = new CountDownLatch(1);
+            channel.closeFuture().addListener(future -> latch.countDown());
+            channel.close().syncUninterruptibly();
+            latch.await();
+            assertFalse(rebalancer.remove(channel));
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMigrateNotRegistered() throws Throwable {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        try {
+            Iterator<EventExecutor> executors = group.iterator();
+            Channel channel = new LocalChannel((EventLoop) executors.next());
+            ChannelFuture future = channel.migrate((EventLoop) executors.next()).awaitUninterruptibly();
+            throw future.cause();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+}
@@ -19,7 +19,9 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalHandler;
 import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorMetrics;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import org.junit.After;
 import org.junit.Before;
@@ -429,6 +431,37 @@ public class SingleThreadEventLoopTest {
         assertThat(loopA.isShutdown(), is(true));
     }
 
+    @Test(timeout = 5000)
+    public void testMetrics() throws Exception {
+        SingleThreadEventLoop loop = new SingleThreadEventLoop(Executors.defaultThreadFactory(),
+                LocalHandler.newFactory().newHandler()) {
+            @Override
+            protected EventExecutorMetrics newMetrics() {
+                return new EventExecutorMetrics();
+            }
+        };
+        try {
+            EventExecutorMetrics metrics = loop.metrics();
+            for (int i = 0; i < 10; i++) {
+                loop.submit(NOOP).sync();
+            }
+            // The metrics of an iteration are recorded once all its tasks ran.
+            long iterations = metrics.iterations();
+            loop.submit(NOOP).sync();
+            while (metrics.iterations() == iterations) {
+                Thread.sleep(10);
+            }
+
+            assertThat(metrics.tasks(), is(greaterThanOrEqualTo(11L)));
+            assertThat(metrics.iterations(), is(greaterThan(0L)));
+            assertThat(metrics.ioTimeNanos(), is(greaterThan(0L)));
+            assertThat(metrics.wakeups(), is(greaterThan(0L)));
+            assertThat(metrics.queueLatencySamples(), is(greaterThan(0L)));
+        } finally {
+            loop.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        }
+    }
+
     private static class SingleThreadEventLoopA extends SingleThreadEventExecutor implements EventLoop {
 
         final AtomicInteger cleanedUp = new AtomicInteger();
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel;
+
+import io.netty.channel.local.LocalHandler;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WorkStealingGroupTest {
+
+    @Test(timeout = 10000)
+    public void testExecuteUnordered() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(4, LocalHandler.newFactory());
+        try {
+            int tasks = 10000;
+            CountDownLatch latch = new CountDownLatch(tasks);
+            for (int i = 0; i < tasks; i++) {
+                group.executeUnordered(latch::countDown);
+            }
+            latch.await();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testIdleEventLoopStealsTasks() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        try {
+            assertIdleEventLoopStealsTasks(group, group.next(), group.next());
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testIdleEventLoopStealsTasksAfterBlockingWithoutWorkStealing() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        try {
+            EventExecutor busy = group.next();
+            EventExecutor idle = group.next();
+            // Start both EventLoops and let them block for IO before the first unordered task is submitted.
+            busy.submit(() -> { }).sync();
+            idle.submit(() -> { }).sync();
+            Thread.sleep(100);
+            assertIdleEventLoopStealsTasks(group, busy, idle);
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private static void assertIdleEventLoopStealsTasks(MultithreadEventLoopGroup group, EventExecutor busy,
+                                                       EventExecutor idle) throws InterruptedException {
+        int tasks = 100;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        busy.execute(() -> {
+            // Queue the unordered tasks on this EventLoop and block it until all of them were run.
+            for (int i = 0; i < tasks; i++) {
+                group.executeUnordered(() -> {
+                    if (!idle.inEventLoop()) {
+                        error.compareAndSet(null, new AssertionError("task did not run on the idle EventLoop"));
+                    }
+                    latch.countDown();
+                });
+            }
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                error.compareAndSet(null, e);
+            }
+        });
+        latch.await();
+        assertNull(error.get());
+    }
+
+    @Test(timeout = 10000)
+    public void testRejectedAfterShutdown() throws Exception {
+        MultithreadEventLoopGroup group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        CountDownLatch latch = new CountDownLatch(1);
+        group.executeUnordered(latch::countDown);
+        latch.await();
+        assertTrue(group.shutdownGracefully(0, 0, TimeUnit.SECONDS).await(5, TimeUnit.SECONDS));
+        try {
+            group.executeUnordered(() -> { });
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // expected
+        }
+    }
+}
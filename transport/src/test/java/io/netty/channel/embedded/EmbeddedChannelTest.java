@@ -551,6 +551,18 @@ public class EmbeddedChannelTest {
         assertTrue(inactive.get());
     }
 
+    @Test
+    public void testWriteAndFlushAll() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ChannelFuture future = channel.writeAndFlushAll(1, 2, 3);
+        assertTrue(future.isSuccess());
+        assertEquals(1, (int) channel.readOutbound());
+        assertEquals(2, (int) channel.readOutbound());
+        assertEquals(3, (int) channel.readOutbound());
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
     private static void release(ByteBuf... buffers) {
         for (ByteBuf buffer : buffers) {
             if (buffer.refCnt() > 0) {
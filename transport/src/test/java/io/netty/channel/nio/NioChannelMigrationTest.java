@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty.channel.nio;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.local.LocalHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NioChannelMigrationTest {
+
+    private static EventLoopGroup serverGroup;
+    private static EventLoopGroup clientGroup;
+    private static EventLoop first;
+    private static EventLoop second;
+    private static Channel serverChannel;
+
+    @BeforeClass
+    public static void setUp() {
+        serverGroup = new MultithreadEventLoopGroup(1, NioHandler.newFactory());
+        clientGroup = new MultithreadEventLoopGroup(2, NioHandler.newFactory());
+        Iterator<EventExecutor> executors = clientGroup.iterator();
+        first = (EventLoop) executors.next();
+        second = (EventLoop) executors.next();
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        ctx.writeAndFlush(msg);
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0)).syncUninterruptibly().channel();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        serverChannel.close().syncUninterruptibly();
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        clientGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private static Channel connect(boolean autoRead, BlockingQueue<String> received, AtomicInteger registrations) {
+        return new Bootstrap()
+                .group(first)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.AUTO_READ, autoRead)
+                .handler(new ChannelHandler() {
+                    @Override
+                    public void channelRegistered(ChannelHandlerContext ctx) {
+                        registrations.incrementAndGet();
+                        ctx.fireChannelRegistered();
+                    }
+
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        assertTrue(ctx.executor().inEventLoop());
+                        try {
+                            received.add(((ByteBuf) msg).toString(CharsetUtil.US_ASCII));
+                        } finally {
+                            ReferenceCountUtil.release(msg);
+                        }
+                    }
+                })
+                .connect(serverChannel.localAddress()).syncUninterruptibly().channel();
+    }
+
+    private static String poll(BlockingQueue<String> received, int length) throws InterruptedException {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            sb.append(received.poll(5, TimeUnit.SECONDS));
+        }
+        return sb.toString();
+    }
+
+    @Test(timeout = 10000)
+    public void testMigrate() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        AtomicInteger registrations = new AtomicInteger();
+        Channel channel = connect(true, received, registrations);
+        try {
+            channel.writeAndFlush(Unpooled.copiedBuffer("abc", CharsetUtil.US_ASCII)).syncUninterruptibly();
+            assertEquals("abc", poll(received, 3));
+
+            // Queue a write which is flushed while the migration is in progress.
+            channel.write(Unpooled.copiedBuffer("def", CharsetUtil.US_ASCII));
+            channel.migrate(second).syncUninterruptibly();
+            assertSame(second, channel.eventLoop());
+            assertSame(second, channel.newSucceededFuture().executor());
+            assertSame(second, channel.pipeline().newSucceededFuture().executor());
+            assertSame(second, channel.newPromise().executor());
+            assertSame(second, channel.closeFuture().executor());
+            assertTrue(channel.isActive());
+            // channelRegistered is fired right after the migration future was notified, so wait until it ran.
+            second.submit(() -> { }).syncUninterruptibly();
+            assertEquals(2, registrations.get());
+
+            channel.flush();
+            assertEquals("def", poll(received, 3));
+            channel.writeAndFlush(Unpooled.copiedBuffer("ghi", CharsetUtil.US_ASCII)).syncUninterruptibly();
+            assertEquals("ghi", poll(received, 3));
+
+            // Migrating to the same EventLoop does nothing.
+            channel.migrate(second).syncUninterruptibly();
+            assertEquals(2, registrations.get());
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testMigrateKeepsReadInterest() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        Channel channel = connect(false, received, new AtomicInteger());
+        try {
+            channel.read();
+            channel.migrate(second).syncUninterruptibly();
+            assertSame(second, channel.eventLoop());
+
+            // The read was requested before the migration and so must still be served.
+            channel.writeAndFlush(Unpooled.copiedBuffer("abc", CharsetUtil.US_ASCII)).syncUninterruptibly();
+            assertEquals("abc", poll(received, 3));
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testMigrateToIncompatibleEventLoop() throws Exception {
+        EventLoopGroup localGroup = new MultithreadEventLoopGroup(1, LocalHandler.newFactory());
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        AtomicInteger registrations = new AtomicInteger();
+        Channel channel = connect(true, received, registrations);
+        try {
+            Throwable cause = channel.migrate(localGroup.next()).await().cause();
+            assertTrue(cause instanceof IllegalArgumentException);
+
+            // The Channel must stay usable on its current EventLoop.
+            assertSame(first, channel.eventLoop());
+            assertTrue(channel.isActive());
+            assertEquals(1, registrations.get());
+            channel.writeAndFlush(Unpooled.copiedBuffer("abc", CharsetUtil.US_ASCII)).syncUninterruptibly();
+            assertEquals("abc", poll(received, 3));
+        } finally {
+            channel.close().syncUninterruptibly();
+            localGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testMigrateBack() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        Channel channel = connect(true, received, new AtomicInteger());
+        try {
+            for (int i = 0; i < 10; i++) {
+                channel.migrate(i % 2 == 0 ? second : first).syncUninterruptibly();
+                channel.writeAndFlush(Unpooled.copiedBuffer("x" + i, CharsetUtil.US_ASCII));
+            }
+            assertSame(first, channel.eventLoop());
+            assertEquals("x0x1x2x3x4x5x6x7x8x9", poll(received, 20));
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+}